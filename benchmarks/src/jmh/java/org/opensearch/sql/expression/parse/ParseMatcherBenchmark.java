@@ -0,0 +1,92 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.parse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.sql.ast.expression.ParseMethod;
+import org.opensearch.sql.expression.DSL;
+import org.opensearch.sql.expression.LiteralExpression;
+import org.opensearch.sql.utils.ParseUtils;
+
+/**
+ * Parses access log lines with the parse and grok commands, one {@link ParseExpression} per named
+ * group as the Calcite path used to, against a single {@link ParseMatcher}.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class ParseMatcherBenchmark {
+
+  private static final List<String> ACCESS_LOGS =
+      List.of(
+          "12.132.31.17 - - [22/Jul/2018:05:36:25 +0000] \"GET /opensearch HTTP/1.1\" 200 9797",
+          "129.138.185.193 - admin [22/Jul/2018:05:39:39 +0000] \"POST /_search HTTP/1.1\" 404"
+              + " 9920",
+          "240.58.187.246 - - [22/Jul/2018:06:02:46 +0000] \"GET /static/app.js HTTP/2.0\" 500"
+              + " 6936",
+          "not an access log line");
+
+  private static final Map<String, String> PATTERNS =
+      Map.of(
+          "GROK",
+          "%{COMMONAPACHELOG}",
+          "REGEX",
+          "(?<ip>[\\d.]+) \\S+ (?<user>\\S+) \\[(?<time>[^\\]]+)\\] \"(?<verb>\\w+)"
+              + " (?<path>\\S+) (?<proto>[^\"]+)\" (?<status>\\d+) (?<bytes>\\d+)");
+
+  @Param({"GROK", "REGEX"})
+  public String method;
+
+  private String pattern;
+
+  @Setup
+  public void setUp() {
+    pattern = PATTERNS.get(method);
+  }
+
+  @Benchmark
+  public void parsePerGroup(Blackhole blackhole) {
+    ParseMethod parseMethod = ParseMethod.valueOf(method);
+    for (String log : ACCESS_LOGS) {
+      List<String> groups = ParseUtils.getNamedGroupCandidates(parseMethod, pattern, Map.of());
+      LiteralExpression input = DSL.literal(log);
+      Map<String, String> values = new HashMap<>();
+      for (String group : groups) {
+        ParseExpression expression =
+            ParseUtils.createParseExpression(
+                parseMethod, input, DSL.literal(pattern), DSL.literal(group));
+        values.put(group, expression.parseValue(input.valueOf()).stringValue());
+      }
+      blackhole.consume(values);
+    }
+  }
+
+  @Benchmark
+  public void parseWithMatcher(Blackhole blackhole) {
+    ParseMatcher matcher = ParseMatcher.of(method, pattern);
+    for (String log : ACCESS_LOGS) {
+      blackhole.consume(matcher.parse(log));
+    }
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.executor;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.sql.ast.statement.Explain;
+import org.opensearch.sql.common.response.ResponseListener;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.executor.ExecutionEngine;
+import org.opensearch.sql.executor.QueryId;
+import org.opensearch.sql.executor.QueryType;
+import org.opensearch.sql.executor.execution.AbstractPlan;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.node.NodeClient;
+
+/**
+ * Load test of the query manager with slow shards: bursts of queries are submitted, each blocking
+ * its thread as long as a slow search, and the score is the number of queries completed per
+ * second.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+public class QueryManagerBenchmark {
+
+  private static final int WORKER_THREADS = 8;
+
+  private static final int QUERIES = 256;
+
+  @Param({"false", "true"})
+  public boolean virtualThreads;
+
+  @Param({"50"})
+  public long searchLatencyMillis;
+
+  private ThreadPool threadPool;
+
+  private OpenSearchQueryManager queryManager;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    org.opensearch.common.settings.Settings nodeSettings =
+        org.opensearch.common.settings.Settings.builder().put("node.name", "benchmark").build();
+    threadPool =
+        new ThreadPool(
+            nodeSettings,
+            new FixedExecutorBuilder(nodeSettings, "sql-worker", WORKER_THREADS, 1000, null));
+    queryManager =
+        new OpenSearchQueryManager(new NodeClient(nodeSettings, threadPool), new QuerySettings());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    ThreadPool.terminate(threadPool, 10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(QUERIES)
+  public void submitSlowQueries() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(QUERIES);
+    for (int i = 0; i < QUERIES; i++) {
+      queryManager.submit(new SlowQueryPlan(done));
+    }
+    done.await();
+  }
+
+  /** Plan waiting as long as a search on slow shards. */
+  private class SlowQueryPlan extends AbstractPlan {
+    private final CountDownLatch done;
+
+    SlowQueryPlan(CountDownLatch done) {
+      super(QueryId.queryId(), QueryType.PPL);
+      this.done = done;
+    }
+
+    @Override
+    public void execute() {
+      try {
+        Thread.sleep(searchLatencyMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        done.countDown();
+      }
+    }
+
+    @Override
+    public void explain(
+        ResponseListener<ExecutionEngine.ExplainResponse> listener,
+        Explain.ExplainFormat format) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private class QuerySettings extends Settings {
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getSettingValue(Key key) {
+      switch (key) {
+        case QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED:
+          return (T) Boolean.valueOf(virtualThreads);
+        case QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES:
+          return (T) Integer.valueOf(QUERIES);
+        default:
+          return null;
+      }
+    }
+
+    @Override
+    public List<?> getSettings() {
+      return List.of();
+    }
+  }
+}
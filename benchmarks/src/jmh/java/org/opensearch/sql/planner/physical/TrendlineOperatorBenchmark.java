@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.planner.physical;
+
+import com.google.common.collect.ImmutableMap;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opensearch.sql.ast.dsl.AstDSL;
+import org.opensearch.sql.ast.tree.Trendline;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.type.ExprCoreType;
+
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class TrendlineOperatorBenchmark {
+
+  private static final int ROWS = 10_000_000;
+  private static final int DISTINCT_TUPLES = 1024;
+
+  @Param({"SMA", "WMA"})
+  public Trendline.TrendlineType type;
+
+  @Param({"10", "100"})
+  public int dataPoints;
+
+  private ExprValue[] tuples;
+
+  @Setup
+  public void setUp() {
+    tuples = new ExprValue[DISTINCT_TUPLES];
+    for (int i = 0; i < DISTINCT_TUPLES; i++) {
+      tuples[i] =
+          ExprValueUtils.tupleValue(
+              ImmutableMap.of(
+                  "distance",
+                  (double) (i * 7919 % 1000),
+                  "timestamp",
+                  ExprValueUtils.timestampValue(Instant.EPOCH.plusSeconds(i))));
+    }
+  }
+
+  @Benchmark
+  public void testDouble(Blackhole blackhole) {
+    run(blackhole, "distance", ExprCoreType.DOUBLE);
+  }
+
+  @Benchmark
+  public void testTimestamp(Blackhole blackhole) {
+    run(blackhole, "timestamp", ExprCoreType.TIMESTAMP);
+  }
+
+  private void run(Blackhole blackhole, String field, ExprCoreType fieldType) {
+    TrendlineOperator trendline =
+        new TrendlineOperator(
+            new TupleInput(tuples, ROWS),
+            Collections.singletonList(
+                Pair.of(
+                    AstDSL.computation(dataPoints, AstDSL.field(field), "trend", type),
+                    fieldType)));
+    trendline.open();
+    while (trendline.hasNext()) {
+      blackhole.consume(trendline.next());
+    }
+    trendline.close();
+  }
+
+  /** Input plan cycling over pre-built tuples, so the input does not dominate the measurement. */
+  private static class TupleInput extends PhysicalPlan {
+    private final ExprValue[] tuples;
+    private final int rows;
+    private int position = 0;
+
+    TupleInput(ExprValue[] tuples, int rows) {
+      this.tuples = tuples;
+      this.rows = rows;
+    }
+
+    @Override
+    public <R, C> R accept(PhysicalPlanNodeVisitor<R, C> visitor, C context) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<PhysicalPlan> getChild() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return position < rows;
+    }
+
+    @Override
+    public ExprValue next() {
+      return tuples[position++ % tuples.length];
+    }
+  }
+}
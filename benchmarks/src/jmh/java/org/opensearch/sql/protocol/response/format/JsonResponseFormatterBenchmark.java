@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import static org.opensearch.sql.data.type.ExprCoreType.DOUBLE;
+import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
+import static org.opensearch.sql.data.type.ExprCoreType.STRING;
+import static org.opensearch.sql.data.type.ExprCoreType.STRUCT;
+import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.executor.ExecutionEngine.Schema;
+import org.opensearch.sql.protocol.response.QueryResult;
+
+/**
+ * Compare formatting a large response into string from its object model with streaming it to the
+ * output. Run with {@code -prof gc} to compare the memory allocated per response too.
+ */
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class JsonResponseFormatterBenchmark {
+
+  @Param({"100000"})
+  public int rows;
+
+  @Param({"JDBC", "SIMPLE"})
+  public String format;
+
+  @Param({"PRETTY", "COMPACT"})
+  public JsonResponseFormatter.Style style;
+
+  private JsonResponseFormatter<QueryResult> formatter;
+
+  private QueryResult response;
+
+  @Setup
+  public void setUp() {
+    formatter =
+        format.equals("JDBC")
+            ? new JdbcResponseFormatter(style)
+            : new SimpleJsonResponseFormatter(style);
+    Schema schema =
+        new Schema(
+            List.of(
+                new Schema.Column("name", null, STRING),
+                new Schema.Column("age", null, INTEGER),
+                new Schema.Column("balance", null, DOUBLE),
+                new Schema.Column("@timestamp", null, TIMESTAMP),
+                new Schema.Column("address", null, STRUCT)));
+    List<ExprValue> results = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Map<String, Object> row = new LinkedHashMap<>();
+      row.put("name", "name" + i);
+      row.put("age", i % 100);
+      row.put("balance", i * 1.5);
+      row.put("@timestamp", new ExprTimestampValue("2020-01-01 00:00:00"));
+      row.put("address", Map.of("city", "city" + i % 10));
+      results.add(ExprValueUtils.tupleValue(row));
+    }
+    response = new QueryResult(schema, results);
+  }
+
+  @Benchmark
+  public String formatObjectModel() {
+    return formatter.jsonify(formatter.buildJsonObject(response));
+  }
+
+  @Benchmark
+  public void formatStreaming() throws IOException {
+    formatter.format(response, OutputStream.nullOutputStream());
+  }
+}
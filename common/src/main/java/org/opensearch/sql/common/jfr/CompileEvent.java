@@ -0,0 +1,27 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Generation and Janino compilation of the code of a plan or of a script. */
+@Name("org.opensearch.sql.Compile")
+@Label("Code Compilation")
+@Description("Generation and compilation of the code of a physical plan or a script")
+public class CompileEvent extends QueryEvent {
+
+  public static final String PLAN = "plan";
+  public static final String SCRIPT = "script";
+
+  @Label("Target")
+  public String target;
+
+  public CompileEvent(String target) {
+    this.target = target;
+  }
+}
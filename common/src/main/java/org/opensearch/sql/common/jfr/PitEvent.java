@@ -0,0 +1,30 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Creation or deletion of a point in time. */
+@Name("org.opensearch.sql.Pit")
+@Label("Point In Time")
+@Description("Creation or deletion of a point in time")
+public class PitEvent extends QueryEvent {
+
+  public static final String CREATE = "create";
+  public static final String DELETE = "delete";
+
+  @Label("Action")
+  public String action;
+
+  @Label("Indices")
+  public String indices;
+
+  public PitEvent(String action) {
+    this.action = action;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import org.opensearch.sql.common.utils.QueryContext;
+
+/**
+ * Base of the JDK Flight Recorder events of the plugin. Each event carries the request id of the
+ * query it is recorded for, so a continuous recording can attribute CPU, allocation and latency to
+ * individual queries. The events are disabled unless a recording enables them, and cost next to
+ * nothing when disabled.
+ *
+ * <p>Usage: create the event, call {@link #begin()} before the work and {@link #finish()} after
+ * it.
+ */
+@Category({"OpenSearch", "SQL"})
+public abstract class QueryEvent extends jdk.jfr.Event {
+
+  @Label("Query Id")
+  String queryId;
+
+  /**
+   * End the event and commit it with the request id of the current query, if the recording wants
+   * it. The request id is only looked up for the committed events.
+   */
+  public void finish() {
+    end();
+    if (shouldCommit()) {
+      commitForQuery();
+    }
+  }
+
+  /**
+   * Commit an ended event with the request id of the current query, for the events whose fields
+   * are only worth filling in once {@link #shouldCommit()} says so. The request id is left empty
+   * for the events recorded outside of a query, e.g. the scripts compiled on the shards.
+   */
+  public void commitForQuery() {
+    queryId = QueryContext.peekRequestId();
+    commit();
+  }
+}
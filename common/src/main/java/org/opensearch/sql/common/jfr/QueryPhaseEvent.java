@@ -0,0 +1,29 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A phase of a query on the coordinator, from parsing it to formatting its response. */
+@Name("org.opensearch.sql.QueryPhase")
+@Label("Query Phase")
+@Description("Parse, analyze, optimize or format phase of a query")
+public class QueryPhaseEvent extends QueryEvent {
+
+  public static final String PARSE = "parse";
+  public static final String ANALYZE = "analyze";
+  public static final String OPTIMIZE = "optimize";
+  public static final String FORMAT = "format";
+
+  @Label("Phase")
+  public String phase;
+
+  public QueryPhaseEvent(String phase) {
+    this.phase = phase;
+  }
+}
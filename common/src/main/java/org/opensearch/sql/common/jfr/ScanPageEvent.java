@@ -0,0 +1,38 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A page of hits fetched by an index scan. The duration of the event is the time the scan waited
+ * for the page, which is shorter than the search time if the page was prefetched.
+ */
+@Name("org.opensearch.sql.ScanPage")
+@Label("Scan Page")
+@Description("Page of search hits fetched by an index scan")
+public class ScanPageEvent extends QueryEvent {
+
+  @Label("Index")
+  public String index;
+
+  @Label("Hits")
+  public int hits;
+
+  @Label("Source Bytes")
+  @Description("Size of the _source of the hits")
+  @DataAmount
+  public long sourceBytes;
+
+  @Label("Took")
+  @Description("Search time reported by the cluster, or -1 if unknown")
+  @Timespan(Timespan.MILLISECONDS)
+  public long took;
+}
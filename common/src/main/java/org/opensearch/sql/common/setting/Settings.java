@@ -39,7 +39,16 @@ public abstract class Settings {
     CALCITE_PUSHDOWN_ENABLED("plugins.calcite.pushdown.enabled"),
     CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR(
         "plugins.calcite.pushdown.rowcount.estimation.factor"),
+    CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED(
+        "plugins.calcite.pushdown.window_aggregation.enabled"),
     CALCITE_SUPPORT_ALL_JOIN_TYPES("plugins.calcite.all_join_types.allowed"),
+    CALCITE_STATISTICS_ENABLED("plugins.calcite.statistics.enabled"),
+    CALCITE_STATISTICS_TTL("plugins.calcite.statistics.ttl"),
+    CALCITE_JOIN_SPILL_ENABLED("plugins.calcite.join.spill.enabled"),
+    CALCITE_JOIN_SPILL_MEMORY_LIMIT("plugins.calcite.join.spill.memory_limit"),
+    CALCITE_SCAN_PREFETCH_ENABLED("plugins.calcite.scan.prefetch.enabled"),
+    CALCITE_SUBQUERY_MATERIALIZATION_ENABLED("plugins.calcite.subquery.materialization.enabled"),
+    CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED("plugins.calcite.pushdown.script_fields.enabled"),
 
     /** Query Settings. */
     FIELD_TYPE_TOLERANCE("plugins.query.field_type_tolerance"),
@@ -47,6 +56,14 @@ public abstract class Settings {
     /** Common Settings for SQL and PPL. */
     QUERY_MEMORY_LIMIT("plugins.query.memory_limit"),
     QUERY_SIZE_LIMIT("plugins.query.size_limit"),
+    QUERY_BATCH_SIZE("plugins.query.batch_size"),
+    QUERY_RESULT_CACHE_ENABLED("plugins.query.result_cache.enabled"),
+    QUERY_RESULT_CACHE_SIZE("plugins.query.result_cache.size"),
+    QUERY_RESULT_CACHE_EXPIRE("plugins.query.result_cache.expire"),
+    QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED("plugins.query.executor.virtual_threads.enabled"),
+    QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES("plugins.query.executor.max_concurrent_queries"),
+    QUERY_PIT_REUSE_WINDOW("plugins.query.pit.reuse_window"),
+    QUERY_FETCH_DOC_VALUES_ENABLED("plugins.query.fetch.doc_values.enabled"),
     ENCYRPTION_MASTER_KEY("plugins.query.datasources.encryption.masterkey"),
     DATASOURCES_URI_HOSTS_DENY_LIST("plugins.query.datasources.uri.hosts.denylist"),
     DATASOURCES_LIMIT("plugins.query.datasources.limit"),
@@ -47,6 +47,16 @@ public class QueryContext {
     return id;
   }
 
+  /**
+   * Get the request id without generating one, for the callers which may run outside of a request,
+   * such as the shards running a script.
+   *
+   * @return the current request id from {@link ThreadContext}, or null if there is none.
+   */
+  public static String peekRequestId() {
+    return ThreadContext.get(REQUEST_ID_KEY);
+  }
+
   /**
    * Wraps a given instance of {@link Runnable} into a new one which gets all the entries from
    * current ThreadContext map.
@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.common.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.common.utils.QueryContext;
+
+class QueryEventTest {
+
+  @AfterEach
+  void clearContext() {
+    ThreadContext.clearAll();
+  }
+
+  @Test
+  void event_carries_request_id_of_query() throws Exception {
+    String requestId = QueryContext.addRequestId();
+
+    List<RecordedEvent> events =
+        record(
+            "org.opensearch.sql.QueryPhase",
+            () -> {
+              QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.ANALYZE);
+              event.begin();
+              event.finish();
+            });
+
+    assertEquals(1, events.size());
+    assertEquals(requestId, events.getFirst().getString("queryId"));
+    assertEquals(QueryPhaseEvent.ANALYZE, events.getFirst().getString("phase"));
+  }
+
+  @Test
+  void event_outside_of_query_has_no_request_id() throws Exception {
+    List<RecordedEvent> events =
+        record(
+            "org.opensearch.sql.Compile",
+            () -> {
+              CompileEvent event = new CompileEvent(CompileEvent.SCRIPT);
+              event.begin();
+              event.finish();
+            });
+
+    assertEquals(1, events.size());
+    assertNull(events.getFirst().getString("queryId"));
+    assertNull(ThreadContext.get("request_id"));
+  }
+
+  private static List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+    Path file = Files.createTempFile("query-event", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(eventName);
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+      return RecordingFile.readAllEvents(file);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+}
@@ -88,6 +88,7 @@ import org.opensearch.sql.ast.tree.Rename;
 import org.opensearch.sql.ast.tree.Reverse;
 import org.opensearch.sql.ast.tree.Rex;
 import org.opensearch.sql.ast.tree.SPath;
+import org.opensearch.sql.ast.tree.Sample;
 import org.opensearch.sql.ast.tree.Search;
 import org.opensearch.sql.ast.tree.Sort;
 import org.opensearch.sql.ast.tree.Sort.SortOption;
@@ -769,6 +770,11 @@ public class Analyzer extends AbstractNodeVisitor<LogicalPlan, AnalysisContext>
     throw getOnlyForCalciteException("Reverse");
   }
 
+  @Override
+  public LogicalPlan visitSample(Sample node, AnalysisContext context) {
+    throw getOnlyForCalciteException("Sample");
+  }
+
   @Override
   public LogicalPlan visitSpath(SPath node, AnalysisContext context) {
     throw getOnlyForCalciteException("Spath");
@@ -48,6 +48,7 @@ import org.apache.calcite.rel.hint.HintStrategyTable;
 import org.apache.calcite.rel.hint.RelHint;
 import org.apache.calcite.rel.logical.LogicalAggregate;
 import org.apache.calcite.rel.logical.LogicalValues;
+import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexCorrelVariable;
@@ -121,6 +122,7 @@ import org.opensearch.sql.ast.tree.Relation;
 import org.opensearch.sql.ast.tree.Rename;
 import org.opensearch.sql.ast.tree.Rex;
 import org.opensearch.sql.ast.tree.SPath;
+import org.opensearch.sql.ast.tree.Sample;
 import org.opensearch.sql.ast.tree.Search;
 import org.opensearch.sql.ast.tree.Sort;
 import org.opensearch.sql.ast.tree.Sort.SortOption;
@@ -131,6 +133,7 @@ import org.opensearch.sql.ast.tree.Trendline.TrendlineType;
 import org.opensearch.sql.ast.tree.UnresolvedPlan;
 import org.opensearch.sql.ast.tree.Values;
 import org.opensearch.sql.ast.tree.Window;
+import org.opensearch.sql.calcite.plan.LogicalSample;
 import org.opensearch.sql.calcite.plan.OpenSearchConstants;
 import org.opensearch.sql.calcite.utils.BinUtils;
 import org.opensearch.sql.calcite.utils.JoinAndLookupUtils;
@@ -624,6 +627,14 @@ public class CalciteRelNodeVisitor extends AbstractNodeVisitor<RelNode, CalciteP
     return context.relBuilder.peek();
   }
 
+  @Override
+  public RelNode visitSample(Sample node, CalcitePlanContext context) {
+    visitChildren(node, context);
+    context.relBuilder.push(
+        LogicalSample.create(context.relBuilder.build(), node.getRatio(), node.getSeed()));
+    return context.relBuilder.peek();
+  }
+
   private static final String REVERSE_ROW_NUM = "__reverse_row_num__";
 
   @Override
@@ -1007,7 +1018,11 @@ public class CalciteRelNodeVisitor extends AbstractNodeVisitor<RelNode, CalciteP
   public RelNode visitAggregation(Aggregation node, CalcitePlanContext context) {
     visitChildren(node, context);
 
-    List<UnresolvedExpression> aggExprList = node.getAggExprList();
+    double sampleRatio = sampleRatio(context.relBuilder.peek());
+    List<UnresolvedExpression> aggExprList =
+        sampleRatio < 1
+            ? withSampleSumsOfSquares(node.getAggExprList())
+            : node.getAggExprList();
     List<UnresolvedExpression> groupExprList = new ArrayList<>();
     // The span column is always the first column in result whatever
     // the order of span in query is first or last one
@@ -1089,9 +1104,118 @@ public class CalciteRelNodeVisitor extends AbstractNodeVisitor<RelNode, CalciteP
     reordered.addAll(aliasedGroupByList);
     context.relBuilder.project(reordered);
 
+    if (sampleRatio < 1) {
+      scaleSampledAggregates(node.getAggExprList(), numOfAggList, sampleRatio, context);
+    }
     return context.relBuilder.peek();
   }
 
+  private static final String SAMPLE_SUM_OF_SQUARES = "__sample_sum_of_squares_%d__";
+
+  /** z-score of the 95% confidence interval of the error columns of sampled aggregates. */
+  private static final double SAMPLE_ERROR_Z_SCORE = 1.96;
+
+  /**
+   * The fraction of the rows an aggregation over the plan sees, 1 if it is not sampled. Stops at
+   * the first aggregation or limit, after which the rows are no longer a sample of the source.
+   */
+  private static double sampleRatio(RelNode node) {
+    double ratio = 1;
+    while (node.getInputs().size() == 1
+        && !(node instanceof Aggregate)
+        && !(node instanceof org.apache.calcite.rel.core.Sort sort && sort.fetch != null)) {
+      if (node instanceof LogicalSample sample) {
+        ratio *= sample.getRatio();
+      }
+      node = node.getInput(0);
+    }
+    return ratio;
+  }
+
+  /** COUNT or SUM if the aggregation is scaled when it runs over a sample, null otherwise. */
+  private static @Nullable BuiltinFunctionName scaledSampleAggregation(UnresolvedExpression expr) {
+    if (expr instanceof Alias alias
+        && alias.getDelegated() instanceof AggregateFunction function
+        && !Boolean.TRUE.equals(function.getDistinct())
+        && function.getCondition() == null) {
+      return BuiltinFunctionName.ofAggregation(function.getFuncName())
+          .filter(name -> name == BuiltinFunctionName.COUNT || name == BuiltinFunctionName.SUM)
+          .orElse(null);
+    }
+    return null;
+  }
+
+  /** Append the sum of squares of each sampled sum, which its error is estimated from. */
+  private static List<UnresolvedExpression> withSampleSumsOfSquares(
+      List<UnresolvedExpression> aggExprList) {
+    List<UnresolvedExpression> withSquares = new ArrayList<>(aggExprList);
+    for (int i = 0; i < aggExprList.size(); i++) {
+      if (scaledSampleAggregation(aggExprList.get(i)) == BuiltinFunctionName.SUM) {
+        UnresolvedExpression field =
+            ((AggregateFunction) ((Alias) aggExprList.get(i)).getDelegated()).getField();
+        withSquares.add(
+            new Alias(
+                StringUtils.format(SAMPLE_SUM_OF_SQUARES, i),
+                new AggregateFunction("sum", new Function("*", List.of(field, field)))));
+      }
+    }
+    return withSquares;
+  }
+
+  /**
+   * Scale the counts and sums of an aggregation over a sample by the inverse of the ratio, and
+   * follow each of them with a {@code <name>_error} column, the half width of its 95% confidence
+   * interval. The sums of squares the errors of sums are computed from are dropped.
+   */
+  private void scaleSampledAggregates(
+      List<UnresolvedExpression> aggExprList,
+      int numOfAggListWithSquares,
+      double ratio,
+      CalcitePlanContext context) {
+    RelBuilder relBuilder = context.relBuilder;
+    List<String> fieldNames = relBuilder.peek().getRowType().getFieldNames();
+    RelDataType doubleType = context.rexBuilder.getTypeFactory().createSqlType(SqlTypeName.DOUBLE);
+    RexNode errorFactor =
+        relBuilder.literal(SAMPLE_ERROR_Z_SCORE * Math.sqrt(1 - ratio) / ratio);
+    List<RexNode> projects = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < fieldNames.size(); i++) {
+      if (i >= aggExprList.size() && i < numOfAggListWithSquares) {
+        continue;
+      }
+      RexNode field = relBuilder.field(i);
+      BuiltinFunctionName aggregation =
+          i < aggExprList.size() ? scaledSampleAggregation(aggExprList.get(i)) : null;
+      projects.add(field);
+      names.add(fieldNames.get(i));
+      if (aggregation == null) {
+        continue;
+      }
+      RexNode scaled =
+          relBuilder.call(SqlStdOperatorTable.MULTIPLY, field, relBuilder.literal(1 / ratio));
+      if (SqlTypeName.INT_TYPES.contains(field.getType().getSqlTypeName())) {
+        scaled = relBuilder.call(SqlStdOperatorTable.ROUND, scaled);
+      }
+      projects.set(
+          projects.size() - 1, context.rexBuilder.makeCast(field.getType(), scaled, true, false));
+      // The variance of a sampled count grows with the count, the one of a sum with its squares
+      RexNode variance =
+          aggregation == BuiltinFunctionName.COUNT
+              ? field
+              : relBuilder.field(StringUtils.format(SAMPLE_SUM_OF_SQUARES, i));
+      projects.add(
+          relBuilder.call(
+              SqlStdOperatorTable.MULTIPLY,
+              errorFactor,
+              relBuilder.call(
+                  SqlStdOperatorTable.POWER,
+                  context.rexBuilder.makeCast(doubleType, variance),
+                  relBuilder.literal(0.5))));
+      names.add(fieldNames.get(i) + "_error");
+    }
+    relBuilder.project(projects, names);
+  }
+
   private Optional<UnresolvedExpression> getTimeSpanField(UnresolvedExpression expr) {
     if (Objects.isNull(expr)) return Optional.empty();
     if (expr instanceof Span span && SpanUnit.isTimeUnit(span.getUnit())) {
@@ -0,0 +1,98 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.calcite.plan;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Random;
+import lombok.Getter;
+import org.apache.calcite.adapter.enumerable.EnumerableRel;
+import org.apache.calcite.adapter.enumerable.EnumerableRelImplementor;
+import org.apache.calcite.linq4j.AbstractEnumerable;
+import org.apache.calcite.linq4j.Enumerable;
+import org.apache.calcite.linq4j.Enumerator;
+import org.apache.calcite.linq4j.tree.BlockBuilder;
+import org.apache.calcite.linq4j.tree.Expression;
+import org.apache.calcite.linq4j.tree.Expressions;
+import org.apache.calcite.linq4j.tree.Types;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/** Physical implementation of {@link LogicalSample}, keeping each row with the ratio. */
+@Getter
+public class EnumerableSample extends SingleRel implements EnumerableRel {
+
+  private static final Method SAMPLE_METHOD =
+      Types.lookupMethod(
+          EnumerableSample.class, "sample", Enumerable.class, double.class, Integer.class);
+
+  private final double ratio;
+
+  private final @Nullable Integer seed;
+
+  public EnumerableSample(
+      RelOptCluster cluster,
+      RelTraitSet traitSet,
+      RelNode input,
+      double ratio,
+      @Nullable Integer seed) {
+    super(cluster, traitSet, input);
+    this.ratio = ratio;
+    this.seed = seed;
+  }
+
+  @Override
+  public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+    return new EnumerableSample(getCluster(), traitSet, sole(inputs), ratio, seed);
+  }
+
+  @Override
+  public double estimateRowCount(RelMetadataQuery mq) {
+    return mq.getRowCount(getInput()) * ratio;
+  }
+
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw).item("ratio", ratio).itemIf("seed", seed, seed != null);
+  }
+
+  @Override
+  public Result implement(EnumerableRelImplementor implementor, Prefer pref) {
+    BlockBuilder builder = new BlockBuilder();
+    Result result = implementor.visitChild(this, 0, (EnumerableRel) getInput(), pref);
+    Expression rows = builder.append("input", result.block);
+    return implementor.result(
+        result.physType,
+        builder
+            .append(
+                Expressions.call(
+                    SAMPLE_METHOD,
+                    rows,
+                    Expressions.constant(ratio),
+                    Expressions.constant(seed, Integer.class)))
+            .toBlock());
+  }
+
+  /**
+   * Keep each row with the probability of the ratio. Each enumeration draws from a new generator,
+   * so a seeded sample is the same every time its input is.
+   */
+  public static <T> Enumerable<T> sample(
+      Enumerable<T> input, double ratio, @Nullable Integer seed) {
+    return new AbstractEnumerable<>() {
+      @Override
+      public Enumerator<T> enumerator() {
+        Random random = seed == null ? new Random() : new Random(seed);
+        return input.where(row -> random.nextDouble() < ratio).enumerator();
+      }
+    };
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.calcite.plan;
+
+import org.apache.calcite.adapter.enumerable.EnumerableConvention;
+import org.apache.calcite.plan.Convention;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.convert.ConverterRule;
+
+/** Rule to convert a {@link LogicalSample} to an {@link EnumerableSample}. */
+public class EnumerableSampleRule extends ConverterRule {
+  /** Default configuration. */
+  public static final Config DEFAULT_CONFIG =
+      Config.INSTANCE
+          .as(Config.class)
+          .withConversion(
+              LogicalSample.class,
+              Convention.NONE,
+              EnumerableConvention.INSTANCE,
+              "EnumerableSampleRule")
+          .withRuleFactory(EnumerableSampleRule::new);
+
+  /** Creates an EnumerableSampleRule. */
+  protected EnumerableSampleRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public RelNode convert(RelNode rel) {
+    final LogicalSample sample = (LogicalSample) rel;
+    return new EnumerableSample(
+        sample.getCluster(),
+        sample.getTraitSet().replace(EnumerableConvention.INSTANCE),
+        convert(
+            sample.getInput(),
+            sample.getInput().getTraitSet().replace(EnumerableConvention.INSTANCE)),
+        sample.getRatio(),
+        sample.getSeed());
+  }
+}
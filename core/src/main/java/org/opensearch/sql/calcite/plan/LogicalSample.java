@@ -0,0 +1,65 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.calcite.plan;
+
+import java.util.List;
+import lombok.Getter;
+import org.apache.calcite.plan.Convention;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.SingleRel;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps a random fraction of the rows of its input, for the PPL sample command. Aggregations over
+ * a sample scale their counts and sums by the inverse of the ratio.
+ *
+ * <p>It is not a {@link org.apache.calcite.rel.core.Filter} on a random predicate, which Calcite
+ * would merge with other filters and push down as a script.
+ */
+@Getter
+public class LogicalSample extends SingleRel {
+
+  /** Fraction of the rows kept, between 0 and 1 exclusive. */
+  private final double ratio;
+
+  /** Seed of the random selection, making the sample repeatable, or null. */
+  private final @Nullable Integer seed;
+
+  private LogicalSample(
+      RelOptCluster cluster,
+      RelTraitSet traitSet,
+      RelNode input,
+      double ratio,
+      @Nullable Integer seed) {
+    super(cluster, traitSet, input);
+    this.ratio = ratio;
+    this.seed = seed;
+  }
+
+  public static LogicalSample create(RelNode input, double ratio, @Nullable Integer seed) {
+    RelTraitSet traitSet = input.getTraitSet().replace(Convention.NONE);
+    return new LogicalSample(input.getCluster(), traitSet, input, ratio, seed);
+  }
+
+  @Override
+  public RelNode copy(RelTraitSet traitSet, List<RelNode> inputs) {
+    return new LogicalSample(getCluster(), traitSet, sole(inputs), ratio, seed);
+  }
+
+  @Override
+  public double estimateRowCount(RelMetadataQuery mq) {
+    return mq.getRowCount(getInput()) * ratio;
+  }
+
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw).item("ratio", ratio).itemIf("seed", seed, seed != null);
+  }
+}
@@ -12,9 +12,11 @@ import org.apache.calcite.plan.RelOptRule;
 public class OpenSearchRules {
   private static final PPLAggregateConvertRule AGGREGATE_CONVERT_RULE =
       PPLAggregateConvertRule.Config.SUM_CONVERTER.toRule();
+  private static final EnumerableSampleRule ENUMERABLE_SAMPLE_RULE =
+      EnumerableSampleRule.DEFAULT_CONFIG.toRule(EnumerableSampleRule.class);
 
   public static final List<RelOptRule> OPEN_SEARCH_OPT_RULES =
-      ImmutableList.of(AGGREGATE_CONVERT_RULE);
+      ImmutableList.of(AGGREGATE_CONVERT_RULE, ENUMERABLE_SAMPLE_RULE);
 
   // prevent instantiation
   private OpenSearchRules() {}
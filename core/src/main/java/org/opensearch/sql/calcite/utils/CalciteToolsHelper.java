@@ -35,6 +35,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Properties;
 import java.util.function.Consumer;
 import org.apache.calcite.adapter.enumerable.EnumerableConvention;
@@ -62,6 +63,7 @@ import org.apache.calcite.plan.RelOptSchema;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.prepare.CalciteCatalogReader;
 import org.apache.calcite.prepare.CalcitePrepareImpl;
+import org.apache.calcite.prepare.Prepare;
 import org.apache.calcite.rel.RelHomogeneousShuttle;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.RelRoot;
@@ -89,6 +91,8 @@ import org.apache.calcite.util.Util;
 import org.opensearch.sql.calcite.CalcitePlanContext;
 import org.opensearch.sql.calcite.plan.OpenSearchRules;
 import org.opensearch.sql.calcite.plan.Scannable;
+import org.opensearch.sql.common.jfr.CompileEvent;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.expression.function.PPLBuiltinOperators;
 
 /**
@@ -291,8 +295,34 @@ public class CalciteToolsHelper {
           convertletTable);
     }
 
+    /** Runs the rules of the planner, which pick the physical plan and push operators down. */
+    @Override
+    protected RelRoot optimize(
+        RelRoot root,
+        List<Prepare.Materialization> materializations,
+        List<CalciteSchema.LatticeEntry> lattices) {
+      QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.OPTIMIZE);
+      event.begin();
+      try {
+        return super.optimize(root, materializations, lattices);
+      } finally {
+        event.finish();
+      }
+    }
+
+    /** Generates and compiles the code of the optimized plan. */
     @Override
     protected PreparedResult implement(RelRoot root) {
+      CompileEvent event = new CompileEvent(CompileEvent.PLAN);
+      event.begin();
+      try {
+        return implementPlan(root);
+      } finally {
+        event.finish();
+      }
+    }
+
+    private PreparedResult implementPlan(RelRoot root) {
       Hook.PLAN_BEFORE_IMPLEMENTATION.run(root);
       RelDataType resultType = root.rel.getRowType();
       boolean isDml = root.kind.belongsTo(SqlKind.DML);
@@ -335,6 +365,20 @@ public class CalciteToolsHelper {
      * org.apache.calcite.tools.RelRunners#run(RelNode)}
      */
     public static PreparedStatement run(CalcitePlanContext context, RelNode rel) {
+      // the line we changed here
+      try (Connection connection = context.connection) {
+        return prepare(connection, rel);
+      } catch (SQLException e) {
+        throw Util.throwAsRuntime(e);
+      }
+    }
+
+    /**
+     * Prepares a relational expression without closing the connection, e.g. for the subqueries run
+     * before the query.
+     */
+    public static PreparedStatement prepare(Connection connection, RelNode rel)
+        throws SQLException {
       final RelShuttle shuttle =
           new RelHomogeneousShuttle() {
             @Override
@@ -350,13 +394,8 @@ public class CalciteToolsHelper {
             }
           };
       rel = rel.accept(shuttle);
-      // the line we changed here
-      try (Connection connection = context.connection) {
-        final RelRunner runner = connection.unwrap(RelRunner.class);
-        return runner.prepareStatement(rel);
-      } catch (SQLException e) {
-        throw Util.throwAsRuntime(e);
-      }
+      final RelRunner runner = connection.unwrap(RelRunner.class);
+      return runner.prepareStatement(rel);
     }
   }
 }
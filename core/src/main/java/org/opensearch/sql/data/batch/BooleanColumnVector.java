@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprBooleanValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/** Vector of BOOLEAN values. */
+public class BooleanColumnVector extends ColumnVector {
+  private final boolean[] values;
+
+  public BooleanColumnVector(boolean[] values, BitSet nulls, BitSet missing) {
+    super(values.length, nulls, missing);
+    this.values = values;
+  }
+
+  @Override
+  public ExprType type() {
+    return ExprCoreType.BOOLEAN;
+  }
+
+  /** The value at the position, which is undefined for NULL and MISSING. */
+  public boolean getBoolean(int position) {
+    return values[position];
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return ExprBooleanValue.of(values[position]);
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    boolean[] selected = new boolean[count];
+    for (int i = 0; i < count; i++) {
+      selected[i] = values[positions[i]];
+    }
+    return new BooleanColumnVector(
+        selected, select(getNulls(), positions, count), select(getMissing(), positions, count));
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.model.TupleSchema;
+import org.opensearch.sql.data.type.ExprCoreType;
+
+/**
+ * A batch of rows stored column by column, which is what the operators supporting batch execution
+ * exchange instead of one {@link ExprValue} per row. The batch is immutable, operators derive new
+ * batches from it.
+ */
+public class ColumnBatch {
+  /** Number of rows in the batch. */
+  @Getter private final int size;
+
+  private final LinkedHashMap<String, ColumnVector> columns;
+
+  /** The rows, built on demand unless the batch was built from rows. */
+  private final ExprValue[] rows;
+
+  /** Schema shared by the rows built on demand, one slot per column. */
+  private TupleSchema rowSchema;
+
+  public ColumnBatch(int size, LinkedHashMap<String, ColumnVector> columns) {
+    this(size, columns, new ExprValue[size]);
+  }
+
+  private ColumnBatch(int size, LinkedHashMap<String, ColumnVector> columns, ExprValue[] rows) {
+    this.size = size;
+    this.columns = columns;
+    this.rows = rows;
+  }
+
+  /** Batch without rows, which ends batch execution. */
+  public static ColumnBatch empty() {
+    return new ColumnBatch(0, new LinkedHashMap<>());
+  }
+
+  /**
+   * Build a batch from tuple rows. The columns are the union of the fields of the rows, in the
+   * order they are first seen, and a field missing from a row is an absent entry of its column.
+   *
+   * @param rows tuple rows.
+   * @return column batch.
+   */
+  public static ColumnBatch fromRows(List<ExprValue> rows) {
+    final int size = rows.size();
+    final LinkedHashMap<String, ExprValue[]> values = new LinkedHashMap<>();
+    for (int i = 0; i < size; i++) {
+      ExprValue row = rows.get(i);
+      if (row.type() != ExprCoreType.STRUCT) {
+        continue;
+      }
+      for (Map.Entry<String, ExprValue> field : row.tupleValue().entrySet()) {
+        values.computeIfAbsent(field.getKey(), key -> new ExprValue[size])[i] = field.getValue();
+      }
+    }
+    final LinkedHashMap<String, ColumnVector> columns = new LinkedHashMap<>();
+    values.forEach((name, column) -> columns.put(name, ColumnVector.of(column)));
+    return new ColumnBatch(size, columns, rows.toArray(new ExprValue[0]));
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public Map<String, ColumnVector> getColumns() {
+    return Collections.unmodifiableMap(columns);
+  }
+
+  /** The column of the given name, or null if the batch has no such column. */
+  public ColumnVector getColumn(String name) {
+    return columns.get(name);
+  }
+
+  /**
+   * Add a column to the batch, or replace the column of the same name in place.
+   *
+   * @param name column name.
+   * @param vector column values.
+   * @return the new batch.
+   */
+  public ColumnBatch withColumn(String name, ColumnVector vector) {
+    LinkedHashMap<String, ColumnVector> newColumns = new LinkedHashMap<>(columns);
+    newColumns.put(name, vector);
+    return new ColumnBatch(size, newColumns);
+  }
+
+  /**
+   * Keep the rows at the given positions only.
+   *
+   * @param positions positions in ascending order.
+   * @param count number of positions to use.
+   * @return the new batch.
+   */
+  public ColumnBatch select(int[] positions, int count) {
+    if (count == size) {
+      return this;
+    }
+    LinkedHashMap<String, ColumnVector> newColumns = new LinkedHashMap<>();
+    columns.forEach((name, vector) -> newColumns.put(name, vector.select(positions, count)));
+    ExprValue[] newRows = new ExprValue[count];
+    for (int i = 0; i < count; i++) {
+      newRows[i] = rows[positions[i]];
+    }
+    return new ColumnBatch(count, newColumns, newRows);
+  }
+
+  /** The row at the position as a tuple. */
+  public ExprValue getRow(int position) {
+    if (rows[position] == null) {
+      if (rowSchema == null) {
+        rowSchema = TupleSchema.of(columns.keySet());
+      }
+      ExprValue[] values = new ExprValue[columns.size()];
+      int ordinal = 0;
+      for (ColumnVector vector : columns.values()) {
+        values[ordinal++] = vector.isAbsent(position) ? null : vector.getValue(position);
+      }
+      rows[position] = ExprTupleValue.fromSchema(rowSchema, values);
+    }
+    return rows[position];
+  }
+
+  /** All the rows as tuples. */
+  public List<ExprValue> toRows() {
+    for (int i = 0; i < size; i++) {
+      getRow(i);
+    }
+    return Arrays.asList(rows);
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import lombok.Getter;
+import org.opensearch.sql.data.model.ExprBooleanValue;
+import org.opensearch.sql.data.model.ExprByteValue;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprDoubleValue;
+import org.opensearch.sql.data.model.ExprFloatValue;
+import org.opensearch.sql.data.model.ExprIntegerValue;
+import org.opensearch.sql.data.model.ExprLongValue;
+import org.opensearch.sql.data.model.ExprMissingValue;
+import org.opensearch.sql.data.model.ExprNullValue;
+import org.opensearch.sql.data.model.ExprShortValue;
+import org.opensearch.sql.data.model.ExprTimeValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/**
+ * The values of one column of a {@link ColumnBatch}. The non-null values are kept by the
+ * subclasses, in a primitive array where the type allows it, and the positions holding NULL or
+ * MISSING are tracked by bitmaps.
+ */
+public abstract class ColumnVector {
+  /** Number of values in the vector. */
+  @Getter private final int size;
+
+  /** Positions holding NULL. */
+  @Getter private final BitSet nulls;
+
+  /** Positions holding MISSING. */
+  @Getter private final BitSet missing;
+
+  protected ColumnVector(int size, BitSet nulls, BitSet missing) {
+    this.size = size;
+    this.nulls = nulls;
+    this.missing = missing;
+  }
+
+  /**
+   * The type of the non-null values.
+   *
+   * @return the type, or {@link ExprCoreType#UNKNOWN} if the values are not all of the same type.
+   */
+  public abstract ExprType type();
+
+  public boolean isNull(int position) {
+    return nulls.get(position);
+  }
+
+  public boolean isMissing(int position) {
+    return missing.get(position);
+  }
+
+  public boolean isNullOrMissing(int position) {
+    return nulls.get(position) || missing.get(position);
+  }
+
+  /**
+   * Whether the row at the position has no entry at all for this column, as opposed to an entry
+   * holding MISSING. Only vectors built from rows with different fields have absent positions.
+   */
+  public boolean isAbsent(int position) {
+    return false;
+  }
+
+  /** The vector with its absent entries turned into MISSING, as an expression would read them. */
+  public ColumnVector withoutAbsent() {
+    return this;
+  }
+
+  /** The value at the position, NULL and MISSING included. */
+  public ExprValue getValue(int position) {
+    if (missing.get(position)) {
+      return ExprMissingValue.of();
+    } else if (nulls.get(position)) {
+      return ExprNullValue.of();
+    }
+    return valueAt(position);
+  }
+
+  /** The non-null value at the position. */
+  protected abstract ExprValue valueAt(int position);
+
+  /**
+   * Keep the values at the given positions only.
+   *
+   * @param positions positions in ascending order.
+   * @param count number of positions to use.
+   * @return the vector of the selected values.
+   */
+  public abstract ColumnVector select(int[] positions, int count);
+
+  protected static BitSet select(BitSet bits, int[] positions, int count) {
+    BitSet selected = new BitSet(count);
+    if (!bits.isEmpty()) {
+      for (int i = 0; i < count; i++) {
+        if (bits.get(positions[i])) {
+          selected.set(i);
+        }
+      }
+    }
+    return selected;
+  }
+
+  /**
+   * Build a vector repeating a value, as a primitive vector if the value type has one.
+   *
+   * @param value value to repeat.
+   * @param size size of the vector.
+   * @return column vector.
+   */
+  public static ColumnVector constant(ExprValue value, int size) {
+    if (value.isNull() || value.isMissing()) {
+      return new ConstantColumnVector(value, size);
+    }
+    ExprValue[] values = new ExprValue[size];
+    Arrays.fill(values, value);
+    return of(values);
+  }
+
+  /**
+   * Build a vector from values, using a primitive vector if all the non-null values are of the
+   * same primitive type.
+   *
+   * @param values values of the column, a null element stands for an absent entry.
+   * @return column vector.
+   */
+  public static ColumnVector of(ExprValue[] values) {
+    final int size = values.length;
+    Class<?> valueClass = null;
+    ExprType valueType = null;
+    boolean primitive = true;
+    for (ExprValue value : values) {
+      if (value == null) {
+        primitive = false;
+        break;
+      } else if (value.isNull() || value.isMissing()) {
+        continue;
+      }
+      if (valueClass == null) {
+        valueClass = value.getClass();
+        valueType = value.type();
+      } else if (valueClass != value.getClass()) {
+        primitive = false;
+        break;
+      }
+    }
+    if (!primitive || !(valueType instanceof ExprCoreType type)) {
+      return new ValueColumnVector(values);
+    }
+
+    final BitSet nulls = new BitSet(size);
+    final BitSet missing = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      if (values[i].isMissing()) {
+        missing.set(i);
+      } else if (values[i].isNull()) {
+        nulls.set(i);
+      }
+    }
+    if (valueClass == ExprByteValue.class
+        || valueClass == ExprShortValue.class
+        || valueClass == ExprIntegerValue.class
+        || valueClass == ExprLongValue.class) {
+      long[] longs = new long[size];
+      for (int i = 0; i < size; i++) {
+        if (!values[i].isNull() && !values[i].isMissing()) {
+          longs[i] = values[i].longValue();
+        }
+      }
+      return new LongColumnVector(type, longs, nulls, missing);
+    } else if (valueClass == ExprFloatValue.class || valueClass == ExprDoubleValue.class) {
+      double[] doubles = new double[size];
+      for (int i = 0; i < size; i++) {
+        if (!values[i].isNull() && !values[i].isMissing()) {
+          doubles[i] = values[i].doubleValue();
+        }
+      }
+      return new DoubleColumnVector(type, doubles, nulls, missing);
+    } else if (valueClass == ExprBooleanValue.class) {
+      boolean[] booleans = new boolean[size];
+      for (int i = 0; i < size; i++) {
+        if (!values[i].isNull() && !values[i].isMissing()) {
+          booleans[i] = values[i].booleanValue();
+        }
+      }
+      return new BooleanColumnVector(booleans, nulls, missing);
+    } else if (valueClass == ExprDateValue.class
+        || valueClass == ExprTimeValue.class
+        || valueClass == ExprTimestampValue.class) {
+      long[] longs = new long[size];
+      for (int i = 0; i < size; i++) {
+        if (!values[i].isNull() && !values[i].isMissing()) {
+          if (!TemporalColumnVector.isRepresentable(type, values[i])) {
+            return new ValueColumnVector(values);
+          }
+          longs[i] = TemporalColumnVector.encode(type, values[i]);
+        }
+      }
+      return new TemporalColumnVector(type, longs, nulls, missing);
+    }
+    return new ValueColumnVector(values);
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprType;
+
+/** Vector repeating the same value, for literals. */
+public class ConstantColumnVector extends ColumnVector {
+  private final ExprValue value;
+
+  public ConstantColumnVector(ExprValue value, int size) {
+    super(size, bits(value.isNull() && !value.isMissing(), size), bits(value.isMissing(), size));
+    this.value = value;
+  }
+
+  @Override
+  public ExprType type() {
+    return value.type();
+  }
+
+  /** The repeated value. */
+  public ExprValue getConstant() {
+    return value;
+  }
+
+  @Override
+  public ExprValue getValue(int position) {
+    return value;
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return value;
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    return new ConstantColumnVector(value, count);
+  }
+
+  private static BitSet bits(boolean set, int size) {
+    BitSet bits = new BitSet(size);
+    if (set) {
+      bits.set(0, size);
+    }
+    return bits;
+  }
+}
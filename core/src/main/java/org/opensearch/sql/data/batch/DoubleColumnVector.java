@@ -0,0 +1,55 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprDoubleValue;
+import org.opensearch.sql.data.model.ExprFloatValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/** Vector of FLOAT or DOUBLE values, all widened to double. */
+public class DoubleColumnVector extends ColumnVector {
+  private final ExprCoreType type;
+  private final double[] values;
+
+  public DoubleColumnVector(ExprCoreType type, double[] values, BitSet nulls, BitSet missing) {
+    super(values.length, nulls, missing);
+    this.type = type;
+    this.values = values;
+  }
+
+  @Override
+  public ExprType type() {
+    return type;
+  }
+
+  /** The value at the position, which is undefined for NULL and MISSING. */
+  public double getDouble(int position) {
+    return values[position];
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return type == ExprCoreType.FLOAT
+        ? new ExprFloatValue((float) values[position])
+        : new ExprDoubleValue(values[position]);
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    double[] selected = new double[count];
+    for (int i = 0; i < count; i++) {
+      selected[i] = values[positions[i]];
+    }
+    return new DoubleColumnVector(
+        type,
+        selected,
+        select(getNulls(), positions, count),
+        select(getMissing(), positions, count));
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprByteValue;
+import org.opensearch.sql.data.model.ExprIntegerValue;
+import org.opensearch.sql.data.model.ExprLongValue;
+import org.opensearch.sql.data.model.ExprShortValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/** Vector of BYTE, SHORT, INTEGER or LONG values, all widened to long. */
+public class LongColumnVector extends ColumnVector {
+  private final ExprCoreType type;
+  private final long[] values;
+
+  public LongColumnVector(ExprCoreType type, long[] values, BitSet nulls, BitSet missing) {
+    super(values.length, nulls, missing);
+    this.type = type;
+    this.values = values;
+  }
+
+  @Override
+  public ExprType type() {
+    return type;
+  }
+
+  /** The value at the position, which is undefined for NULL and MISSING. */
+  public long getLong(int position) {
+    return values[position];
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return switch (type) {
+      case BYTE -> new ExprByteValue((byte) values[position]);
+      case SHORT -> new ExprShortValue((short) values[position]);
+      case INTEGER -> new ExprIntegerValue((int) values[position]);
+      default -> new ExprLongValue(values[position]);
+    };
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    long[] selected = new long[count];
+    for (int i = 0; i < count; i++) {
+      selected[i] = values[positions[i]];
+    }
+    return new LongColumnVector(
+        type,
+        selected,
+        select(getNulls(), positions, count),
+        select(getMissing(), positions, count));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprTimeValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/**
+ * Vector of DATE, TIME or TIMESTAMP values encoded as long: days since epoch for DATE, nanoseconds
+ * of the day for TIME and nanoseconds since epoch for TIMESTAMP. The encoding keeps the natural
+ * order of the values, so they can be compared as long.
+ */
+public class TemporalColumnVector extends ColumnVector {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  /** Timestamps outside of this range of epoch seconds don't fit in a long of nanoseconds. */
+  private static final long MAX_EPOCH_SECOND = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+
+  private static final long MIN_EPOCH_SECOND = Long.MIN_VALUE / NANOS_PER_SECOND + 1;
+
+  private final ExprCoreType type;
+  private final long[] values;
+
+  public TemporalColumnVector(ExprCoreType type, long[] values, BitSet nulls, BitSet missing) {
+    super(values.length, nulls, missing);
+    this.type = type;
+    this.values = values;
+  }
+
+  @Override
+  public ExprType type() {
+    return type;
+  }
+
+  /** The encoded value at the position, which is undefined for NULL and MISSING. */
+  public long getEncoded(int position) {
+    return values[position];
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return decode(type, values[position]);
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    long[] selected = new long[count];
+    for (int i = 0; i < count; i++) {
+      selected[i] = values[positions[i]];
+    }
+    return new TemporalColumnVector(
+        type,
+        selected,
+        select(getNulls(), positions, count),
+        select(getMissing(), positions, count));
+  }
+
+  /** Whether the value can be encoded as long. */
+  public static boolean isRepresentable(ExprCoreType type, ExprValue value) {
+    if (type != ExprCoreType.TIMESTAMP) {
+      return true;
+    }
+    long epochSecond = value.timestampValue().getEpochSecond();
+    return epochSecond >= MIN_EPOCH_SECOND && epochSecond <= MAX_EPOCH_SECOND;
+  }
+
+  /** Encode the value as long, the value must be representable. */
+  public static long encode(ExprCoreType type, ExprValue value) {
+    return switch (type) {
+      case DATE -> value.dateValue().toEpochDay();
+      case TIME -> value.timeValue().toNanoOfDay();
+      case TIMESTAMP -> {
+        Instant instant = value.timestampValue();
+        yield instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+      }
+      default -> throw new IllegalArgumentException(
+          String.format("Type %s is not a datetime type", type));
+    };
+  }
+
+  /** Decode the value from its long encoding. */
+  public static ExprValue decode(ExprCoreType type, long encoded) {
+    return switch (type) {
+      case DATE -> new ExprDateValue(LocalDate.ofEpochDay(encoded));
+      case TIME -> new ExprTimeValue(LocalTime.ofNanoOfDay(encoded));
+      case TIMESTAMP -> new ExprTimestampValue(
+          Instant.ofEpochSecond(
+              Math.floorDiv(encoded, NANOS_PER_SECOND), Math.floorMod(encoded, NANOS_PER_SECOND)));
+      default -> throw new IllegalArgumentException(
+          String.format("Type %s is not a datetime type", type));
+    };
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import java.util.BitSet;
+import org.opensearch.sql.data.model.ExprMissingValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/**
+ * Vector of {@link ExprValue}, for the types without primitive representation and for columns
+ * mixing types. A null element stands for an entry absent from the row, which reads as MISSING.
+ */
+public class ValueColumnVector extends ColumnVector {
+  private final ExprValue[] values;
+  private final ExprType type;
+
+  public ValueColumnVector(ExprValue[] values) {
+    super(values.length, new BitSet(values.length), new BitSet(values.length));
+    this.values = values;
+    ExprType valueType = null;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null || values[i].isMissing()) {
+        getMissing().set(i);
+      } else if (values[i].isNull()) {
+        getNulls().set(i);
+      } else if (valueType == null) {
+        valueType = values[i].type();
+      } else if (!valueType.equals(values[i].type())) {
+        valueType = ExprCoreType.UNKNOWN;
+      }
+    }
+    this.type = valueType == null ? ExprCoreType.UNKNOWN : valueType;
+  }
+
+  @Override
+  public ExprType type() {
+    return type;
+  }
+
+  @Override
+  public boolean isAbsent(int position) {
+    return values[position] == null;
+  }
+
+  @Override
+  public ColumnVector withoutAbsent() {
+    ExprValue[] present = null;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        if (present == null) {
+          present = values.clone();
+        }
+        present[i] = ExprMissingValue.of();
+      }
+    }
+    return present == null ? this : ColumnVector.of(present);
+  }
+
+  @Override
+  public ExprValue getValue(int position) {
+    return values[position] == null ? ExprMissingValue.of() : values[position];
+  }
+
+  @Override
+  protected ExprValue valueAt(int position) {
+    return values[position];
+  }
+
+  @Override
+  public ColumnVector select(int[] positions, int count) {
+    ExprValue[] selected = new ExprValue[count];
+    for (int i = 0; i < count; i++) {
+      selected[i] = values[positions[i]];
+    }
+    return new ValueColumnVector(selected);
+  }
+}
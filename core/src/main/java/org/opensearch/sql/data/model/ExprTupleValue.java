@@ -5,23 +5,66 @@
 
 package org.opensearch.sql.data.model;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import org.opensearch.sql.data.type.ExprCoreType;
 import org.opensearch.sql.data.type.ExprType;
 import org.opensearch.sql.storage.bindingtuple.BindingTuple;
 import org.opensearch.sql.storage.bindingtuple.LazyBindingTuple;
 
-/** Expression Tuple Value. */
-@RequiredArgsConstructor
+/**
+ * Expression Tuple Value. The values are either in a map of their own, or in an array indexed by
+ * the ordinals of a {@link TupleSchema} shared with the other tuples of the same operator. The
+ * array-backed tuples are presented as a map to the callers of {@link #tupleValue()}, and turn into
+ * map-backed tuples if a field outside of their schema is added.
+ */
 public class ExprTupleValue extends AbstractExprValue {
 
-  private final LinkedHashMap<String, ExprValue> valueMap;
+  /** The values by name, or null if the tuple is array-backed. */
+  private LinkedHashMap<String, ExprValue> valueMap;
+
+  /** Schema of the values of an array-backed tuple. */
+  @Getter private final TupleSchema schema;
+
+  /** Values of an array-backed tuple by ordinal, null for the fields absent from the tuple. */
+  private final ExprValue[] values;
+
+  public ExprTupleValue(LinkedHashMap<String, ExprValue> valueMap) {
+    this.valueMap = valueMap;
+    this.schema = null;
+    this.values = null;
+  }
+
+  private ExprTupleValue(TupleSchema schema, ExprValue[] values) {
+    this.schema = schema;
+    this.values = values;
+  }
+
+  /**
+   * Create an array-backed tuple.
+   *
+   * @param schema schema shared by the tuples of the same operator.
+   * @param values values by ordinal, null for the fields absent from the tuple.
+   * @return tuple value.
+   */
+  public static ExprTupleValue fromSchema(TupleSchema schema, ExprValue[] values) {
+    if (schema.size() != values.length) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected %d values for tuple schema %s, got %d",
+              schema.size(), schema.getNames(), values.length));
+    }
+    return new ExprTupleValue(schema, values);
+  }
 
   public static ExprTupleValue fromExprValueMap(Map<String, ExprValue> map) {
     LinkedHashMap<String, ExprValue> linkedHashMap = new LinkedHashMap<>(map);
@@ -36,7 +79,7 @@ public class ExprTupleValue extends AbstractExprValue {
   @Override
   public Object value() {
     LinkedHashMap<String, Object> resultMap = new LinkedHashMap<>();
-    for (Entry<String, ExprValue> entry : valueMap.entrySet()) {
+    for (Entry<String, ExprValue> entry : tupleValue().entrySet()) {
       resultMap.put(entry.getKey(), entry.getValue().value());
     }
     return resultMap;
@@ -45,7 +88,7 @@ public class ExprTupleValue extends AbstractExprValue {
   @Override
   public Object valueForCalcite() {
     LinkedHashMap<String, Object> resultMap = new LinkedHashMap<>();
-    for (Entry<String, ExprValue> entry : valueMap.entrySet()) {
+    for (Entry<String, ExprValue> entry : tupleValue().entrySet()) {
       resultMap.put(entry.getKey(), entry.getValue().valueForCalcite());
     }
     return resultMap;
@@ -58,7 +101,7 @@ public class ExprTupleValue extends AbstractExprValue {
 
   @Override
   public String toString() {
-    return valueMap.entrySet().stream()
+    return tupleValue().entrySet().stream()
         .map(entry -> String.format("%s:%s", entry.getKey(), entry.getValue()))
         .collect(Collectors.joining(",", "{", "}"));
   }
@@ -70,12 +113,27 @@ public class ExprTupleValue extends AbstractExprValue {
 
   @Override
   public Map<String, ExprValue> tupleValue() {
-    return valueMap;
+    return valueMap != null ? valueMap : new SchemaMap();
   }
 
   @Override
   public ExprValue keyValue(String key) {
-    return valueMap.getOrDefault(key, ExprMissingValue.of());
+    if (valueMap != null) {
+      return valueMap.getOrDefault(key, ExprMissingValue.of());
+    }
+    ExprValue value = get(schema.ordinal(key));
+    return value == null ? ExprMissingValue.of() : value;
+  }
+
+  /**
+   * The value of a field by its ordinal in the schema of the tuple, for the references resolved
+   * against the schema of their input once.
+   *
+   * @param ordinal ordinal of the field in {@link #getSchema()}.
+   * @return the value, or null if the tuple has no such field or isn't array-backed any more.
+   */
+  public ExprValue get(int ordinal) {
+    return valueMap != null || ordinal < 0 ? null : values[ordinal];
   }
 
   /**
@@ -88,8 +146,8 @@ public class ExprTupleValue extends AbstractExprValue {
       return false;
     } else {
       ExprTupleValue other = (ExprTupleValue) o;
-      Iterator<Entry<String, ExprValue>> thisIterator = this.valueMap.entrySet().iterator();
-      Iterator<Entry<String, ExprValue>> otherIterator = other.valueMap.entrySet().iterator();
+      Iterator<Entry<String, ExprValue>> thisIterator = this.tupleValue().entrySet().iterator();
+      Iterator<Entry<String, ExprValue>> otherIterator = other.tupleValue().entrySet().iterator();
       while (thisIterator.hasNext() && otherIterator.hasNext()) {
         Entry<String, ExprValue> thisEntry = thisIterator.next();
         Entry<String, ExprValue> otherEntry = otherIterator.next();
@@ -105,12 +163,12 @@ public class ExprTupleValue extends AbstractExprValue {
   /** Only compare the size of the map. */
   @Override
   public int compare(ExprValue other) {
-    return Integer.compare(valueMap.size(), other.tupleValue().size());
+    return Integer.compare(tupleValue().size(), other.tupleValue().size());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hashCode(valueMap);
+    return Objects.hashCode(tupleValue());
   }
 
   /** Implements mergeTo by merging deeply */
@@ -125,4 +183,110 @@ public class ExprTupleValue extends AbstractExprValue {
     }
     return this;
   }
+
+  /** Copy the values into a map of the tuple, to add the fields outside of its schema. */
+  private LinkedHashMap<String, ExprValue> toValueMap() {
+    if (valueMap == null) {
+      LinkedHashMap<String, ExprValue> map = new LinkedHashMap<>();
+      for (int i = 0; i < values.length; i++) {
+        if (values[i] != null) {
+          map.put(schema.getNames().get(i), values[i]);
+        }
+      }
+      valueMap = map;
+    }
+    return valueMap;
+  }
+
+  /** Map view of an array-backed tuple, the values of the fields absent from it excluded. */
+  private class SchemaMap extends AbstractMap<String, ExprValue> {
+
+    @Override
+    public ExprValue get(Object key) {
+      if (valueMap != null) {
+        return valueMap.get(key);
+      }
+      return key instanceof String name ? ExprTupleValue.this.get(schema.ordinal(name)) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return valueMap != null ? valueMap.containsKey(key) : get(key) != null;
+    }
+
+    /**
+     * Set the value of a field in the array, or in the map of the tuple for a field outside of its
+     * schema. A null value, which the array holds for an absent field, is put in the map as well,
+     * so the field is still contained with a null value as in a map-backed tuple.
+     */
+    @Override
+    public ExprValue put(String key, ExprValue value) {
+      int ordinal = valueMap == null ? schema.ordinal(key) : -1;
+      if (ordinal < 0 || value == null) {
+        return toValueMap().put(key, value);
+      }
+      ExprValue previous = values[ordinal];
+      values[ordinal] = value;
+      return previous;
+    }
+
+    @Override
+    public ExprValue remove(Object key) {
+      return toValueMap().remove(key);
+    }
+
+    @Override
+    public void clear() {
+      toValueMap().clear();
+    }
+
+    @Override
+    public Set<Entry<String, ExprValue>> entrySet() {
+      if (valueMap != null) {
+        return valueMap.entrySet();
+      }
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, ExprValue>> iterator() {
+          return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+              int i = from;
+              while (i < values.length && values[i] == null) {
+                i++;
+              }
+              return i;
+            }
+
+            @Override
+            public boolean hasNext() {
+              return next < values.length;
+            }
+
+            @Override
+            public Entry<String, ExprValue> next() {
+              if (!hasNext()) {
+                throw new NoSuchElementException();
+              }
+              int ordinal = next;
+              next = advance(next + 1);
+              return new SimpleImmutableEntry<>(schema.getNames().get(ordinal), values[ordinal]);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          int size = 0;
+          for (ExprValue value : values) {
+            if (value != null) {
+              size++;
+            }
+          }
+          return size;
+        }
+      };
+    }
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.model;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Field names of the tuples an operator outputs, in order, with the ordinal of each name. One
+ * schema is shared by all the tuples of the operator, which store their values in an array indexed
+ * by the ordinals instead of a map of their own.
+ */
+@EqualsAndHashCode(of = "names")
+public class TupleSchema implements Serializable {
+
+  /** Field names, the index of a name is its ordinal. */
+  @Getter private final List<String> names;
+
+  private final Map<String, Integer> ordinals;
+
+  private TupleSchema(List<String> names) {
+    this.names = names;
+    this.ordinals = new HashMap<>(names.size() * 4 / 3 + 1);
+    for (int i = 0; i < names.size(); i++) {
+      if (ordinals.putIfAbsent(names.get(i), i) != null) {
+        throw new IllegalArgumentException("Duplicate field name in tuple schema: " + names.get(i));
+      }
+    }
+  }
+
+  /**
+   * Create the schema of the given field names.
+   *
+   * @param names distinct field names.
+   * @return tuple schema.
+   */
+  public static TupleSchema of(Collection<String> names) {
+    return new TupleSchema(List.copyOf(names));
+  }
+
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * The ordinal of a field.
+   *
+   * @param name field name.
+   * @return ordinal of the field, or -1 if the schema has no such field.
+   */
+  public int ordinal(String name) {
+    Integer ordinal = ordinals.get(name);
+    return ordinal == null ? -1 : ordinal;
+  }
+
+  /**
+   * Whether the schema has the given field names, in the same order.
+   *
+   * @param otherNames field names.
+   * @return true if the names are the names of the schema.
+   */
+  public boolean matches(Collection<String> otherNames) {
+    if (otherNames.size() != names.size()) {
+      return false;
+    }
+    Iterator<String> iterator = otherNames.iterator();
+    for (String name : names) {
+      if (!name.equals(iterator.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -14,21 +14,30 @@ public class ExecutionContext {
   @Getter private final Optional<Split> split;
   @Getter private final Integer querySizeLimit;
 
+  /** Number of rows to pull from the plan per batch, null or 0 to pull the rows one by one. */
+  @Getter private final Integer batchSize;
+
   public ExecutionContext(Split split) {
     this.split = Optional.of(split);
     this.querySizeLimit = null;
+    this.batchSize = null;
   }
 
-  private ExecutionContext(Optional<Split> split, Integer querySizeLimit) {
+  private ExecutionContext(Optional<Split> split, Integer querySizeLimit, Integer batchSize) {
     this.split = split;
     this.querySizeLimit = querySizeLimit;
+    this.batchSize = batchSize;
   }
 
   public static ExecutionContext querySizeLimit(Integer querySizeLimit) {
-    return new ExecutionContext(Optional.empty(), querySizeLimit);
+    return new ExecutionContext(Optional.empty(), querySizeLimit, null);
+  }
+
+  public static ExecutionContext querySizeLimit(Integer querySizeLimit, Integer batchSize) {
+    return new ExecutionContext(Optional.empty(), querySizeLimit, batchSize);
   }
 
   public static ExecutionContext emptyExecutionContext() {
-    return new ExecutionContext(Optional.empty(), null);
+    return new ExecutionContext(Optional.empty(), null, null);
   }
 }
@@ -35,6 +35,7 @@ import org.opensearch.sql.calcite.CalciteRelNodeVisitor;
 import org.opensearch.sql.calcite.OpenSearchSchema;
 import org.opensearch.sql.calcite.plan.LogicalSystemLimit;
 import org.opensearch.sql.calcite.plan.LogicalSystemLimit.SystemLimitType;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.common.response.ResponseListener;
 import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.common.setting.Settings.Key;
@@ -230,7 +231,8 @@ public class QueryService {
                       ExecutionContext.querySizeLimit(
                           // For pagination, querySizeLimit shouldn't take effect.
                           // See {@link PaginationWindowIT::testQuerySizeLimitDoesNotEffectPageSize}
-                          plan instanceof LogicalPaginate ? null : getQuerySizeLimit()),
+                          plan instanceof LogicalPaginate ? null : getQuerySizeLimit(),
+                          getBatchSize()),
                       listener));
     } catch (Exception e) {
       listener.onFailure(e);
@@ -238,12 +240,24 @@ public class QueryService {
   }
 
   public RelNode analyze(UnresolvedPlan plan, CalcitePlanContext context) {
-    return getRelNodeVisitor().analyze(plan, context);
+    QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.ANALYZE);
+    event.begin();
+    try {
+      return getRelNodeVisitor().analyze(plan, context);
+    } finally {
+      event.finish();
+    }
   }
 
   /** Analyze {@link UnresolvedPlan}. */
   public LogicalPlan analyze(UnresolvedPlan plan, QueryType queryType) {
-    return analyzer.analyze(plan, new AnalysisContext(queryType));
+    QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.ANALYZE);
+    event.begin();
+    try {
+      return analyzer.analyze(plan, new AnalysisContext(queryType));
+    } finally {
+      event.finish();
+    }
   }
 
   /** Translate {@link LogicalPlan} to {@link PhysicalPlan}. */
@@ -290,6 +304,10 @@ public class QueryService {
     return settings == null ? null : settings.getSettingValue(Key.QUERY_SIZE_LIMIT);
   }
 
+  private Integer getBatchSize() {
+    return settings == null ? null : settings.getSettingValue(Key.QUERY_BATCH_SIZE);
+  }
+
   // TODO https://github.com/opensearch-project/sql/issues/3457
   // Calcite is not available for SQL query now. Maybe release in 3.1.0?
   private boolean shouldUseCalcite(QueryType queryType) {
@@ -5,6 +5,8 @@
 
 package org.opensearch.sql.expression;
 
+import static org.opensearch.sql.utils.ExpressionUtils.PATH_SEP;
+
 import java.util.Arrays;
 import java.util.List;
 import lombok.EqualsAndHashCode;
@@ -13,6 +15,7 @@ import lombok.RequiredArgsConstructor;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.model.TupleSchema;
 import org.opensearch.sql.data.type.ExprType;
 import org.opensearch.sql.expression.env.Environment;
 
@@ -27,6 +30,12 @@ public class ReferenceExpression implements Expression {
 
   @Getter private final ExprType type;
 
+  /**
+   * Ordinal of the whole path in the schema of the array-backed tuples last resolved. The tuples of
+   * an operator share their schema, so the reference is resolved to an ordinal once per input.
+   */
+  @EqualsAndHashCode.Exclude private transient Binding binding;
+
   /**
    * Constructor of ReferenceExpression.
    *
@@ -100,6 +109,21 @@ public class ReferenceExpression implements Expression {
    * </pre>
    */
   public ExprValue resolve(ExprTupleValue value) {
+    TupleSchema schema = value.getSchema();
+    if (schema != null) {
+      Binding current = binding;
+      if (current == null || current.schema() != schema) {
+        current = new Binding(schema, schema.ordinal(String.join(PATH_SEP, paths)));
+        binding = current;
+      }
+      // The whole path is resolved first, see resolveRefPaths
+      ExprValue resolved = value.get(current.ordinal());
+      if (resolved != null) {
+        return resolved;
+      }
+    }
     return ExprValueUtils.resolveRefPaths(value, paths);
   }
+
+  private record Binding(TupleSchema schema, int ordinal) {}
 }
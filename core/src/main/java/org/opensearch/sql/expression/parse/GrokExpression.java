@@ -25,7 +25,7 @@ import org.opensearch.sql.expression.Expression;
 @ToString
 public class GrokExpression extends ParseExpression {
   private static final Logger log = LogManager.getLogger(GrokExpression.class);
-  private static final GrokCompiler grokCompiler = GrokCompiler.newInstance();
+  static final GrokCompiler grokCompiler = GrokCompiler.newInstance();
 
   static {
     grokCompiler.registerDefaultPatterns();
@@ -0,0 +1,170 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.parse;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.Getter;
+import org.apache.calcite.linq4j.function.Deterministic;
+import org.opensearch.sql.ast.expression.ParseMethod;
+import org.opensearch.sql.common.grok.Grok;
+import org.opensearch.sql.expression.DSL;
+import org.opensearch.sql.expression.LiteralExpression;
+import org.opensearch.sql.utils.ParseUtils;
+
+/**
+ * Parse pattern compiled once, which extracts all the named groups of an input with a single
+ * match. Used by the parse and grok commands on the Calcite path, where a {@link ParseExpression}
+ * per named group would compile the pattern and match the input once per group.
+ */
+public abstract class ParseMatcher {
+
+  private static final int MAX_CACHE_SIZE = 1000;
+
+  private static final Map<List<String>, ParseMatcher> matcherCache =
+      Collections.synchronizedMap(
+          new LinkedHashMap<>(MAX_CACHE_SIZE + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<String>, ParseMatcher> eldest) {
+              return size() > MAX_CACHE_SIZE;
+            }
+          });
+
+  /** Names of the derived fields, see {@link ParseUtils#getNamedGroupCandidates}. */
+  @Getter protected final List<String> namedGroups;
+
+  private ParseMatcher(List<String> namedGroups) {
+    this.namedGroups = namedGroups;
+  }
+
+  /**
+   * Get the matcher of a pattern from cache or compile and cache it. Deterministic, so the code
+   * generated by Calcite calls it once for a constant pattern.
+   *
+   * @param parseMethod name of the {@link ParseMethod}
+   * @param pattern pattern used for parsing
+   * @return the compiled matcher
+   */
+  @Deterministic
+  public static ParseMatcher of(String parseMethod, String pattern) {
+    String method = parseMethod.toUpperCase(Locale.ROOT);
+    List<String> key = List.of(method, pattern);
+    ParseMatcher matcher = matcherCache.get(key);
+    if (matcher == null) {
+      matcher = compile(ParseMethod.valueOf(method), pattern);
+      matcherCache.put(key, matcher);
+    }
+    return matcher;
+  }
+
+  private static ParseMatcher compile(ParseMethod method, String pattern) {
+    return switch (method) {
+      case REGEX -> new RegexMatcher(RegexCommonUtils.getCompiledPattern(pattern));
+      case GROK -> new GrokMatcher(GrokExpression.grokCompiler.compile(pattern));
+      default -> new ExpressionMatcher(method, pattern);
+    };
+  }
+
+  /**
+   * Parse the input into the value of each named group, an empty string for the groups it does not
+   * match.
+   *
+   * @param input text to parse, or null
+   * @return map of named group to value
+   */
+  public Map<String, String> parse(String input) {
+    Map<String, String> values = HashMap.newHashMap(namedGroups.size());
+    if (input == null) {
+      namedGroups.forEach(group -> values.put(group, ""));
+    } else {
+      parse(input, values);
+    }
+    return values;
+  }
+
+  protected abstract void parse(String input, Map<String, String> values);
+
+  private static class RegexMatcher extends ParseMatcher {
+    private final Pattern pattern;
+
+    RegexMatcher(Pattern pattern) {
+      super(RegexCommonUtils.getNamedGroupCandidates(pattern.pattern()));
+      this.pattern = pattern;
+    }
+
+    @Override
+    protected void parse(String input, Map<String, String> values) {
+      Matcher matcher = pattern.matcher(input);
+      boolean matches = matcher.matches();
+      for (String group : namedGroups) {
+        values.put(group, matches ? group(matcher, group) : "");
+      }
+    }
+
+    private static String group(Matcher matcher, String group) {
+      try {
+        String value = matcher.group(group);
+        return value == null ? "" : value;
+      } catch (IllegalArgumentException e) {
+        return "";
+      }
+    }
+  }
+
+  private static class GrokMatcher extends ParseMatcher {
+    private final Grok grok;
+
+    GrokMatcher(Grok grok) {
+      super(
+          grok.namedGroups.stream()
+              .map(grok::getNamedRegexCollectionById)
+              .filter(group -> !group.equals("UNWANTED"))
+              .toList());
+      this.grok = grok;
+    }
+
+    @Override
+    protected void parse(String input, Map<String, String> values) {
+      Map<String, Object> capture = grok.match(input).capture();
+      for (String group : namedGroups) {
+        Object value = capture.get(group);
+        values.put(group, value == null ? "" : value.toString());
+      }
+    }
+  }
+
+  /** Falls back to a {@link ParseExpression} per named group, built once. */
+  private static class ExpressionMatcher extends ParseMatcher {
+    private final List<ParseExpression> expressions;
+
+    ExpressionMatcher(ParseMethod method, String pattern) {
+      super(ParseUtils.getNamedGroupCandidates(method, pattern, Collections.emptyMap()));
+      LiteralExpression patternExpr = DSL.literal(pattern);
+      this.expressions =
+          namedGroups.stream()
+              .map(
+                  group ->
+                      ParseUtils.createParseExpression(
+                          method, patternExpr, patternExpr, DSL.literal(group)))
+              .toList();
+    }
+
+    @Override
+    protected void parse(String input, Map<String, String> values) {
+      LiteralExpression inputExpr = DSL.literal(input);
+      for (ParseExpression expression : expressions) {
+        values.put(
+            expression.identifierStr, expression.parseValue(inputExpr.valueOf()).stringValue());
+      }
+    }
+  }
+}
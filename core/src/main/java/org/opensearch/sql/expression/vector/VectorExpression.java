@@ -0,0 +1,22 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.vector;
+
+import org.opensearch.sql.data.batch.ColumnBatch;
+import org.opensearch.sql.data.batch.ColumnVector;
+
+/** Expression evaluated over all the rows of a {@link ColumnBatch} at once. */
+@FunctionalInterface
+public interface VectorExpression {
+
+  /**
+   * Evaluate the expression.
+   *
+   * @param batch rows to evaluate the expression on.
+   * @return the value of the expression for each row of the batch.
+   */
+  ColumnVector evaluate(ColumnBatch batch);
+}
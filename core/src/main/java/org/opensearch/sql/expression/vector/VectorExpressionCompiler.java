@@ -0,0 +1,124 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.vector;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.opensearch.sql.data.batch.ColumnVector;
+import org.opensearch.sql.data.batch.ConstantColumnVector;
+import org.opensearch.sql.data.model.ExprMissingValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.expression.Expression;
+import org.opensearch.sql.expression.ExpressionNodeVisitor;
+import org.opensearch.sql.expression.FunctionExpression;
+import org.opensearch.sql.expression.LiteralExpression;
+import org.opensearch.sql.expression.ReferenceExpression;
+import org.opensearch.sql.expression.aggregation.Aggregator;
+import org.opensearch.sql.expression.aggregation.NamedAggregator;
+import org.opensearch.sql.expression.env.Environment;
+import org.opensearch.sql.expression.vector.VectorFunctions.VectorFunction;
+
+/**
+ * Compile an {@link Expression} into a {@link VectorExpression}. References read the columns of
+ * the batch, and the functions of {@link VectorFunctions} evaluate over the vectors of their
+ * arguments. Any other expression is evaluated row by row on the rows of the batch, so that every
+ * expression can be compiled.
+ */
+public class VectorExpressionCompiler extends ExpressionNodeVisitor<VectorExpression, Void> {
+  private static final VectorExpressionCompiler INSTANCE = new VectorExpressionCompiler();
+
+  /**
+   * Compile the expression.
+   *
+   * @param expression expression.
+   * @return the expression evaluated over batches.
+   */
+  public static VectorExpression compile(Expression expression) {
+    return expression.accept(INSTANCE, null);
+  }
+
+  @Override
+  public VectorExpression visitNode(Expression node, Void context) {
+    return rowByRow(node);
+  }
+
+  @Override
+  public VectorExpression visitLiteral(LiteralExpression node, Void context) {
+    ExprValue value = node.valueOf();
+    return batch -> ColumnVector.constant(value, batch.getSize());
+  }
+
+  @Override
+  public VectorExpression visitReference(ReferenceExpression node, Void context) {
+    // Resolve the same way as ReferenceExpression#resolve: the whole path first, which is the only
+    // lookup for a top level field, then the nested fields, which stay row by row.
+    final String name = String.join(".", node.getPaths());
+    final boolean topLevel = node.getPaths().size() == 1;
+    final VectorExpression rowByRow = rowByRow(node);
+    return batch -> {
+      ColumnVector column = batch.getColumn(name);
+      if (column == null) {
+        return topLevel
+            ? new ConstantColumnVector(ExprMissingValue.of(), batch.getSize())
+            : rowByRow.evaluate(batch);
+      }
+      return topLevel || column.getMissing().isEmpty()
+          ? column.withoutAbsent()
+          : rowByRow.evaluate(batch);
+    };
+  }
+
+  @Override
+  public VectorExpression visitFunction(FunctionExpression node, Void context) {
+    Optional<VectorFunction> function = VectorFunctions.resolve(node);
+    if (function.isEmpty()) {
+      return rowByRow(node);
+    }
+    final VectorFunction vectorFunction = function.get();
+    final List<VectorExpression> arguments =
+        node.getArguments().stream().map(arg -> arg.accept(this, context)).toList();
+    return batch -> {
+      ColumnVector[] vectors = new ColumnVector[arguments.size()];
+      for (int i = 0; i < vectors.length; i++) {
+        vectors[i] = arguments.get(i).evaluate(batch);
+      }
+      return vectorFunction.apply(vectors);
+    };
+  }
+
+  @Override
+  public VectorExpression visitAggregator(Aggregator<?> node, Void context) {
+    return rowByRow(node);
+  }
+
+  @Override
+  public VectorExpression visitNamedAggregator(NamedAggregator node, Void context) {
+    return rowByRow(node);
+  }
+
+  /**
+   * Evaluate a function on the environment of each row of the batch, for the expressions without
+   * vectorized implementation.
+   *
+   * @param function function of the row environment.
+   * @return the function evaluated over batches.
+   */
+  public static VectorExpression rowByRow(
+      Function<Environment<Expression, ExprValue>, ExprValue> function) {
+    return batch -> {
+      ExprValue[] values = new ExprValue[batch.getSize()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = function.apply(batch.getRow(i).bindingTuples());
+      }
+      return ColumnVector.of(values);
+    };
+  }
+
+  private static VectorExpression rowByRow(Expression expression) {
+    return rowByRow(expression::valueOf);
+  }
+}
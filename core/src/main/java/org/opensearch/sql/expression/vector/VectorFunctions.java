@@ -0,0 +1,482 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.vector;
+
+import static java.time.temporal.ChronoUnit.HOURS;
+import static java.time.temporal.ChronoUnit.MINUTES;
+import static java.time.temporal.ChronoUnit.SECONDS;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Optional;
+import lombok.experimental.UtilityClass;
+import org.opensearch.sql.data.batch.BooleanColumnVector;
+import org.opensearch.sql.data.batch.ColumnVector;
+import org.opensearch.sql.data.batch.DoubleColumnVector;
+import org.opensearch.sql.data.batch.LongColumnVector;
+import org.opensearch.sql.data.batch.TemporalColumnVector;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.expression.FunctionExpression;
+import org.opensearch.sql.expression.function.BuiltinFunctionName;
+
+/**
+ * Vectorized implementations of the arithmetic, comparison, logical and datetime functions. They
+ * follow the semantics of the row by row implementations, NULL and MISSING handling included, and
+ * read the values from the primitive arrays of the vectors when the vectors have the expected
+ * type, or from {@link ExprValue} otherwise.
+ */
+@UtilityClass
+public class VectorFunctions {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  private static final long SECONDS_PER_DAY = 86_400L;
+
+  /** Function evaluated over the vectors of its arguments. */
+  @FunctionalInterface
+  public interface VectorFunction {
+    ColumnVector apply(ColumnVector[] arguments);
+  }
+
+  /**
+   * Resolve the vectorized implementation of a function.
+   *
+   * @param node function expression.
+   * @return the implementation, or empty if the function, or its signature, is not vectorized.
+   */
+  public static Optional<VectorFunction> resolve(FunctionExpression node) {
+    Optional<BuiltinFunctionName> name =
+        BuiltinFunctionName.of(node.getFunctionName().getFunctionName());
+    if (name.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(
+        switch (name.get()) {
+          case ADD, ADDFUNCTION -> arithmetic(node, Arithmetic.ADD);
+          case SUBTRACT, SUBTRACTFUNCTION -> arithmetic(node, Arithmetic.SUBTRACT);
+          case MULTIPLY, MULTIPLYFUNCTION -> arithmetic(node, Arithmetic.MULTIPLY);
+          case DIVIDE, DIVIDEFUNCTION -> arithmetic(node, Arithmetic.DIVIDE);
+          case MODULUS, MODULUSFUNCTION -> arithmetic(node, Arithmetic.MODULUS);
+          case EQUAL -> comparison(node, Comparison.EQUAL);
+          case NOTEQUAL -> comparison(node, Comparison.NOT_EQUAL);
+          case LESS -> comparison(node, Comparison.LESS);
+          case LTE -> comparison(node, Comparison.LTE);
+          case GREATER -> comparison(node, Comparison.GREATER);
+          case GTE -> comparison(node, Comparison.GTE);
+          case AND -> logical(node, Logical.AND);
+          case OR -> logical(node, Logical.OR);
+          case XOR -> logical(node, Logical.XOR);
+          case NOT -> not(node);
+          case YEAR -> datePart(node, DatePart.YEAR);
+          case MONTH, MONTH_OF_YEAR -> datePart(node, DatePart.MONTH);
+          case DAY, DAYOFMONTH, DAY_OF_MONTH -> datePart(node, DatePart.DAY_OF_MONTH);
+          case HOUR, HOUR_OF_DAY -> datePart(node, DatePart.HOUR);
+          case MINUTE, MINUTE_OF_HOUR -> datePart(node, DatePart.MINUTE);
+          case SECOND, SECOND_OF_MINUTE -> datePart(node, DatePart.SECOND);
+          default -> null;
+        });
+  }
+
+  private enum Arithmetic {
+    ADD,
+    SUBTRACT,
+    MULTIPLY,
+    DIVIDE,
+    MODULUS
+  }
+
+  private static VectorFunction arithmetic(FunctionExpression node, Arithmetic op) {
+    if (node.getArguments().size() != 2 || !(node.type() instanceof ExprCoreType type)) {
+      return null;
+    }
+    return switch (type) {
+      case BYTE, SHORT, INTEGER, LONG -> args -> integralArithmetic(op, type, args[0], args[1]);
+      case FLOAT, DOUBLE -> args -> floatingArithmetic(op, type, args[0], args[1]);
+      default -> null;
+    };
+  }
+
+  private static ColumnVector integralArithmetic(
+      Arithmetic op, ExprCoreType type, ColumnVector left, ColumnVector right) {
+    final int size = left.getSize();
+    final BitSet missing = union(left.getMissing(), right.getMissing());
+    final BitSet nulls = union(left.getNulls(), right.getNulls());
+    nulls.andNot(missing);
+    final long[] result = new long[size];
+    for (int i = 0; i < size; i++) {
+      if (nulls.get(i) || missing.get(i)) {
+        continue;
+      }
+      final long x = integral(left, i, type);
+      final long y = integral(right, i, type);
+      switch (op) {
+        case ADD ->
+            result[i] =
+                switch (type) {
+                  case INTEGER -> Math.addExact((int) x, (int) y);
+                  case LONG -> Math.addExact(x, y);
+                  default -> narrow(x + y, type);
+                };
+        case SUBTRACT ->
+            result[i] =
+                switch (type) {
+                  case INTEGER -> Math.subtractExact((int) x, (int) y);
+                  case LONG -> Math.subtractExact(x, y);
+                  default -> narrow(x - y, type);
+                };
+        case MULTIPLY ->
+            result[i] =
+                switch (type) {
+                  case INTEGER -> Math.multiplyExact((int) x, (int) y);
+                  case LONG -> Math.multiplyExact(x, y);
+                  default -> narrow(x * y, type);
+                };
+        case DIVIDE -> {
+          if (y == 0) {
+            nulls.set(i);
+          } else {
+            result[i] = narrow(x / y, type);
+          }
+        }
+        case MODULUS -> {
+          if (y == 0) {
+            nulls.set(i);
+          } else {
+            result[i] = narrow(x % y, type);
+          }
+        }
+      }
+    }
+    return new LongColumnVector(type, result, nulls, missing);
+  }
+
+  private static ColumnVector floatingArithmetic(
+      Arithmetic op, ExprCoreType type, ColumnVector left, ColumnVector right) {
+    final int size = left.getSize();
+    final boolean isFloat = type == ExprCoreType.FLOAT;
+    final BitSet missing = union(left.getMissing(), right.getMissing());
+    final BitSet nulls = union(left.getNulls(), right.getNulls());
+    nulls.andNot(missing);
+    final double[] result = new double[size];
+    for (int i = 0; i < size; i++) {
+      if (nulls.get(i) || missing.get(i)) {
+        continue;
+      }
+      final double x = floating(left, i, isFloat);
+      final double y = floating(right, i, isFloat);
+      if ((op == Arithmetic.DIVIDE || op == Arithmetic.MODULUS) && y == 0) {
+        nulls.set(i);
+      } else if (isFloat) {
+        result[i] = floatOp(op, (float) x, (float) y);
+      } else {
+        result[i] = doubleOp(op, x, y);
+      }
+    }
+    return new DoubleColumnVector(type, result, nulls, missing);
+  }
+
+  private static float floatOp(Arithmetic op, float x, float y) {
+    return switch (op) {
+      case ADD -> x + y;
+      case SUBTRACT -> x - y;
+      case MULTIPLY -> x * y;
+      case DIVIDE -> x / y;
+      case MODULUS -> x % y;
+    };
+  }
+
+  private static double doubleOp(Arithmetic op, double x, double y) {
+    return switch (op) {
+      case ADD -> x + y;
+      case SUBTRACT -> x - y;
+      case MULTIPLY -> x * y;
+      case DIVIDE -> x / y;
+      case MODULUS -> x % y;
+    };
+  }
+
+  /** Read a value as the integral type, like {@link ExprValue#integerValue()} and the others. */
+  private static long integral(ColumnVector vector, int position, ExprCoreType type) {
+    if (vector instanceof LongColumnVector longs) {
+      return narrow(longs.getLong(position), type);
+    }
+    ExprValue value = vector.getValue(position);
+    return switch (type) {
+      case BYTE -> value.byteValue();
+      case SHORT -> value.shortValue();
+      case INTEGER -> value.integerValue();
+      default -> value.longValue();
+    };
+  }
+
+  private static long narrow(long value, ExprCoreType type) {
+    return switch (type) {
+      case BYTE -> (byte) value;
+      case SHORT -> (short) value;
+      case INTEGER -> (int) value;
+      default -> value;
+    };
+  }
+
+  /** Read a value as float or double, like {@link ExprValue#floatValue()} and the other. */
+  private static double floating(ColumnVector vector, int position, boolean isFloat) {
+    if (vector instanceof DoubleColumnVector doubles) {
+      return isFloat ? (float) doubles.getDouble(position) : doubles.getDouble(position);
+    } else if (vector instanceof LongColumnVector longs) {
+      return isFloat ? (float) longs.getLong(position) : (double) longs.getLong(position);
+    }
+    ExprValue value = vector.getValue(position);
+    return isFloat ? value.floatValue() : value.doubleValue();
+  }
+
+  private enum Comparison {
+    EQUAL,
+    NOT_EQUAL,
+    LESS,
+    LTE,
+    GREATER,
+    GTE;
+
+    boolean test(int compared) {
+      return switch (this) {
+        case EQUAL -> compared == 0;
+        case NOT_EQUAL -> compared != 0;
+        case LESS -> compared < 0;
+        case LTE -> compared <= 0;
+        case GREATER -> compared > 0;
+        case GTE -> compared >= 0;
+      };
+    }
+  }
+
+  private static VectorFunction comparison(FunctionExpression node, Comparison op) {
+    if (node.getArguments().size() != 2) {
+      return null;
+    }
+    return args -> compare(op, args[0], args[1]);
+  }
+
+  private static ColumnVector compare(Comparison op, ColumnVector left, ColumnVector right) {
+    final int size = left.getSize();
+    final BitSet missing = union(left.getMissing(), right.getMissing());
+    final BitSet nulls = union(left.getNulls(), right.getNulls());
+    nulls.andNot(missing);
+    final boolean[] result = new boolean[size];
+    final boolean sameType = left.type().equals(right.type());
+    for (int i = 0; i < size; i++) {
+      if (nulls.get(i) || missing.get(i)) {
+        continue;
+      }
+      final int compared;
+      if (sameType && left instanceof LongColumnVector l && right instanceof LongColumnVector r) {
+        compared = Long.compare(l.getLong(i), r.getLong(i));
+      } else if (sameType
+          && left instanceof DoubleColumnVector l
+          && right instanceof DoubleColumnVector r) {
+        compared = Double.compare(l.getDouble(i), r.getDouble(i));
+      } else if (sameType
+          && left instanceof TemporalColumnVector l
+          && right instanceof TemporalColumnVector r) {
+        compared = Long.compare(l.getEncoded(i), r.getEncoded(i));
+      } else if (left instanceof BooleanColumnVector l && right instanceof BooleanColumnVector r) {
+        compared = Boolean.compare(l.getBoolean(i), r.getBoolean(i));
+      } else if (op == Comparison.EQUAL || op == Comparison.NOT_EQUAL) {
+        compared = left.getValue(i).equals(right.getValue(i)) ? 0 : 1;
+      } else {
+        compared = left.getValue(i).compareTo(right.getValue(i));
+      }
+      result[i] = op.test(compared);
+    }
+    return new BooleanColumnVector(result, nulls, missing);
+  }
+
+  /** States of a logical value. */
+  private static final int FALSE = 0;
+  private static final int TRUE = 1;
+  private static final int NULL = 2;
+  private static final int MISSING = 3;
+
+  /** Truth tables of the logical functions, indexed by the {@link #state} of the arguments. */
+  private enum Logical {
+    AND(
+        new int[][] {
+          {FALSE, FALSE, FALSE, FALSE},
+          {FALSE, TRUE, NULL, MISSING},
+          {FALSE, NULL, NULL, MISSING},
+          {FALSE, MISSING, MISSING, MISSING}
+        }),
+    OR(
+        new int[][] {
+          {FALSE, TRUE, NULL, MISSING},
+          {TRUE, TRUE, TRUE, TRUE},
+          {NULL, TRUE, NULL, NULL},
+          {MISSING, TRUE, NULL, MISSING}
+        }),
+    XOR(
+        new int[][] {
+          {FALSE, TRUE, NULL, MISSING},
+          {TRUE, FALSE, TRUE, TRUE},
+          {NULL, TRUE, NULL, NULL},
+          {MISSING, TRUE, NULL, MISSING}
+        });
+
+    private final int[][] table;
+
+    Logical(int[][] table) {
+      this.table = table;
+    }
+  }
+
+  private static VectorFunction logical(FunctionExpression node, Logical op) {
+    if (node.getArguments().size() != 2) {
+      return null;
+    }
+    return args -> {
+      final ColumnVector left = args[0];
+      final ColumnVector right = args[1];
+      final int size = left.getSize();
+      final int[] states = new int[size];
+      for (int i = 0; i < size; i++) {
+        states[i] = op.table[state(left, i)][state(right, i)];
+      }
+      return fromStates(states);
+    };
+  }
+
+  private static VectorFunction not(FunctionExpression node) {
+    if (node.getArguments().size() != 1) {
+      return null;
+    }
+    return args -> {
+      final ColumnVector arg = args[0];
+      final int size = arg.getSize();
+      final int[] states = new int[size];
+      for (int i = 0; i < size; i++) {
+        int state = state(arg, i);
+        states[i] = state == TRUE ? FALSE : state == FALSE ? TRUE : state;
+      }
+      return fromStates(states);
+    };
+  }
+
+  private static int state(ColumnVector vector, int position) {
+    if (vector.isMissing(position)) {
+      return MISSING;
+    } else if (vector.isNull(position)) {
+      return NULL;
+    } else if (vector instanceof BooleanColumnVector booleans) {
+      return booleans.getBoolean(position) ? TRUE : FALSE;
+    }
+    return vector.getValue(position).booleanValue() ? TRUE : FALSE;
+  }
+
+  private static ColumnVector fromStates(int[] states) {
+    final boolean[] values = new boolean[states.length];
+    final BitSet nulls = new BitSet(states.length);
+    final BitSet missing = new BitSet(states.length);
+    for (int i = 0; i < states.length; i++) {
+      switch (states[i]) {
+        case TRUE -> values[i] = true;
+        case NULL -> nulls.set(i);
+        case MISSING -> missing.set(i);
+        default -> {}
+      }
+    }
+    return new BooleanColumnVector(values, nulls, missing);
+  }
+
+  private enum DatePart {
+    YEAR,
+    MONTH,
+    DAY_OF_MONTH,
+    HOUR,
+    MINUTE,
+    SECOND;
+
+    boolean isDate() {
+      return this == YEAR || this == MONTH || this == DAY_OF_MONTH;
+    }
+  }
+
+  private static VectorFunction datePart(FunctionExpression node, DatePart part) {
+    if (node.getArguments().size() != 1 || node.type() != ExprCoreType.INTEGER) {
+      return null;
+    }
+    // The date parts of a TIME are taken from the current date, which stays row by row.
+    if (part.isDate() && "TIME".equals(node.getArguments().getFirst().type().typeName())) {
+      return null;
+    }
+    return args -> extract(part, args[0]);
+  }
+
+  private static ColumnVector extract(DatePart part, ColumnVector arg) {
+    final int size = arg.getSize();
+    final BitSet missing = (BitSet) arg.getMissing().clone();
+    final BitSet nulls = (BitSet) arg.getNulls().clone();
+    nulls.andNot(missing);
+    final long[] result = new long[size];
+    final boolean encoded =
+        arg instanceof TemporalColumnVector
+            && (!part.isDate() || arg.type() != ExprCoreType.TIME);
+    for (int i = 0; i < size; i++) {
+      if (nulls.get(i) || missing.get(i)) {
+        continue;
+      }
+      result[i] =
+          encoded
+              ? extractEncoded(part, (ExprCoreType) arg.type(), ((TemporalColumnVector) arg), i)
+              : extractValue(part, arg.getValue(i));
+    }
+    return new LongColumnVector(ExprCoreType.INTEGER, result, nulls, missing);
+  }
+
+  private static long extractEncoded(
+      DatePart part, ExprCoreType type, TemporalColumnVector vector, int position) {
+    final long encoded = vector.getEncoded(position);
+    final long epochDay;
+    final long secondOfDay;
+    switch (type) {
+      case DATE -> {
+        epochDay = encoded;
+        secondOfDay = 0;
+      }
+      case TIME -> {
+        epochDay = 0;
+        secondOfDay = encoded / NANOS_PER_SECOND;
+      }
+      default -> {
+        long epochSecond = Math.floorDiv(encoded, NANOS_PER_SECOND);
+        epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+        secondOfDay = Math.floorMod(epochSecond, SECONDS_PER_DAY);
+      }
+    }
+    return switch (part) {
+      case YEAR -> LocalDate.ofEpochDay(epochDay).getYear();
+      case MONTH -> LocalDate.ofEpochDay(epochDay).getMonthValue();
+      case DAY_OF_MONTH -> LocalDate.ofEpochDay(epochDay).getDayOfMonth();
+      case HOUR -> secondOfDay / 3600;
+      case MINUTE -> secondOfDay / 60 % 60;
+      case SECOND -> secondOfDay % 60;
+    };
+  }
+
+  private static long extractValue(DatePart part, ExprValue value) {
+    return switch (part) {
+      case YEAR -> value.dateValue().getYear();
+      case MONTH -> value.dateValue().getMonthValue();
+      case DAY_OF_MONTH -> value.dateValue().getDayOfMonth();
+      case HOUR -> HOURS.between(LocalTime.MIN, value.timeValue());
+      case MINUTE -> MINUTES.between(LocalTime.MIN, value.timeValue()) % 60;
+      case SECOND -> SECONDS.between(LocalTime.MIN, value.timeValue()) % 60;
+    };
+  }
+
+  private static BitSet union(BitSet left, BitSet right) {
+    BitSet union = (BitSet) left.clone();
+    union.or(right);
+    return union;
+  }
+}
@@ -20,12 +20,15 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.sql.data.batch.ColumnBatch;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.expression.Expression;
 import org.opensearch.sql.expression.ReferenceExpression;
 import org.opensearch.sql.expression.env.Environment;
+import org.opensearch.sql.expression.vector.VectorExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 
 /**
  * The eval operator evaluate the {@link EvalOperator#expressionList} and put the result into to
@@ -43,6 +46,9 @@ public class EvalOperator extends PhysicalPlan {
   @Getter private final PhysicalPlan input;
   @Getter private final List<Pair<ReferenceExpression, Expression>> expressionList;
 
+  /** Expressions compiled on the first batch, and reused by the next batches. */
+  @ToString.Exclude @EqualsAndHashCode.Exclude private List<VectorExpression> vectorExpressions;
+
   @Override
   public <R, C> R accept(PhysicalPlanNodeVisitor<R, C> visitor, C context) {
     return visitor.visitEval(this, context);
@@ -81,6 +87,33 @@ public class EvalOperator extends PhysicalPlan {
     }
   }
 
+  @Override
+  public ColumnBatch nextBatch(int maxRows) {
+    ColumnBatch batch = input.nextBatch(maxRows);
+    if (batch.isEmpty()) {
+      return batch;
+    }
+    if (vectorExpressions == null) {
+      vectorExpressions = expressionList.stream().map(pair -> compile(pair.getValue())).toList();
+    }
+    for (int i = 0; i < expressionList.size(); i++) {
+      batch =
+          batch.withColumn(
+              expressionList.get(i).getKey().toString(), vectorExpressions.get(i).evaluate(batch));
+    }
+    return batch;
+  }
+
+  /**
+   * Compile the expression for {@link #nextBatch}, once per operator.
+   *
+   * @param expression {@link Expression}
+   * @return the expression evaluated over batches.
+   */
+  protected VectorExpression compile(Expression expression) {
+    return VectorExpressionCompiler.compile(expression);
+  }
+
   /**
    * Evaluate the expression in the {@link EvalOperator#expressionList} with {@link Environment}.
    *
@@ -11,9 +11,14 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.opensearch.sql.data.batch.BooleanColumnVector;
+import org.opensearch.sql.data.batch.ColumnBatch;
+import org.opensearch.sql.data.batch.ColumnVector;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.expression.Expression;
 import org.opensearch.sql.expression.operator.predicate.BinaryPredicateOperators;
+import org.opensearch.sql.expression.vector.VectorExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 import org.opensearch.sql.storage.bindingtuple.BindingTuple;
 
 /**
@@ -30,6 +35,9 @@ public class FilterOperator extends PhysicalPlan {
   @ToString.Exclude private ExprValue next = null;
   @ToString.Exclude private boolean nextPrepared = false;
 
+  /** Conditions compiled on the first batch, and reused by the next batches. */
+  @ToString.Exclude @EqualsAndHashCode.Exclude private VectorExpression vectorConditions;
+
   @Override
   public <R, C> R accept(PhysicalPlanNodeVisitor<R, C> visitor, C context) {
     return visitor.visitFilter(this, context);
@@ -72,4 +80,30 @@ public class FilterOperator extends PhysicalPlan {
     next = null;
     nextPrepared = true;
   }
+
+  @Override
+  public ColumnBatch nextBatch(int maxRows) {
+    if (vectorConditions == null) {
+      vectorConditions = VectorExpressionCompiler.compile(conditions);
+    }
+    ColumnBatch batch = input.nextBatch(maxRows);
+    while (!batch.isEmpty()) {
+      ColumnVector matched = vectorConditions.evaluate(batch);
+      int[] positions = new int[batch.getSize()];
+      int count = 0;
+      for (int i = 0; i < batch.getSize(); i++) {
+        if (!matched.isNullOrMissing(i)
+            && (matched instanceof BooleanColumnVector booleans
+                ? booleans.getBoolean(i)
+                : matched.getValue(i).booleanValue())) {
+          positions[count++] = i;
+        }
+      }
+      if (count > 0) {
+        return batch.select(positions, count);
+      }
+      batch = input.nextBatch(maxRows);
+    }
+    return batch;
+  }
 }
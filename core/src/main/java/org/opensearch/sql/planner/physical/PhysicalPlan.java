@@ -5,7 +5,10 @@
 
 package org.opensearch.sql.planner.physical;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import org.opensearch.sql.data.batch.ColumnBatch;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.executor.ExecutionEngine;
 import org.opensearch.sql.planner.PlanNode;
@@ -83,6 +86,23 @@ public abstract class PhysicalPlan
     }
   }
 
+  /**
+   * Return the next rows as a batch of columns. The default implementation collects the rows
+   * returned by {@link #next()}, the operators with a vectorized implementation override it to
+   * evaluate whole batches from their input. A plan is consumed either row by row or batch by
+   * batch, never both.
+   *
+   * @param maxRows maximum number of rows in the batch.
+   * @return the next batch, which is empty only once there are no more rows.
+   */
+  public ColumnBatch nextBatch(int maxRows) {
+    List<ExprValue> rows = new ArrayList<>();
+    while (rows.size() < maxRows && hasNext()) {
+      rows.add(next());
+    }
+    return ColumnBatch.fromRows(rows);
+  }
+
   public ExecutionEngine.Schema schema() {
     throw new IllegalStateException(
         String.format(
@@ -11,30 +11,55 @@ import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
+import org.opensearch.sql.data.batch.ColumnBatch;
+import org.opensearch.sql.data.batch.ColumnVector;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.model.TupleSchema;
 import org.opensearch.sql.executor.ExecutionEngine;
 import org.opensearch.sql.expression.NamedExpression;
 import org.opensearch.sql.expression.parse.ParseExpression;
+import org.opensearch.sql.expression.vector.VectorExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 import org.opensearch.sql.planner.SerializablePlan;
+import org.opensearch.sql.storage.bindingtuple.BindingTuple;
 
 /** Project the fields specified in {@link ProjectOperator#projectList} from input. */
 @ToString
 @EqualsAndHashCode(callSuper = false)
-@AllArgsConstructor
 public class ProjectOperator extends PhysicalPlan implements SerializablePlan {
   @Getter private PhysicalPlan input;
   @Getter private List<NamedExpression> projectList;
   @Getter private List<NamedExpression> namedParseExpressions;
 
+  /**
+   * Schema shared by the output tuples, built on the first row. Null if the output can't be
+   * array-backed because of parse expressions or duplicated names.
+   */
+  @ToString.Exclude @EqualsAndHashCode.Exclude private TupleSchema outputSchema;
+
+  @ToString.Exclude @EqualsAndHashCode.Exclude private boolean outputSchemaResolved;
+
+  /** Project list compiled on the first batch, and reused by the next batches. */
+  @ToString.Exclude @EqualsAndHashCode.Exclude private List<VectorExpression> vectorProjections;
+
+  public ProjectOperator(
+      PhysicalPlan input,
+      List<NamedExpression> projectList,
+      List<NamedExpression> namedParseExpressions) {
+    this.input = input;
+    this.projectList = projectList;
+    this.namedParseExpressions = namedParseExpressions;
+  }
+
   @Override
   public <R, C> R accept(PhysicalPlanNodeVisitor<R, C> visitor, C context) {
     return visitor.visitProject(this, context);
@@ -53,6 +78,16 @@ public class ProjectOperator extends PhysicalPlan implements SerializablePlan {
   @Override
   public ExprValue next() {
     ExprValue inputValue = input.next();
+    TupleSchema schema = outputSchema();
+    if (schema != null) {
+      BindingTuple bindings = inputValue.bindingTuples();
+      ExprValue[] values = new ExprValue[projectList.size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = projectList.get(i).valueOf(bindings);
+      }
+      return ExprTupleValue.fromSchema(schema, values);
+    }
+
     ImmutableMap.Builder<String, ExprValue> mapBuilder = new Builder<>();
 
     // ParseExpression will always override NamedExpression when identifier conflicts
@@ -89,6 +124,40 @@ public class ProjectOperator extends PhysicalPlan implements SerializablePlan {
     return ExprTupleValue.fromExprValueMap(mapBuilder.build());
   }
 
+  private TupleSchema outputSchema() {
+    if (!outputSchemaResolved) {
+      List<String> names = projectList.stream().map(NamedExpression::getNameOrAlias).toList();
+      if (namedParseExpressions.isEmpty() && names.stream().distinct().count() == names.size()) {
+        outputSchema = TupleSchema.of(names);
+      }
+      outputSchemaResolved = true;
+    }
+    return outputSchema;
+  }
+
+  /**
+   * Evaluate the project list over the input batch. Parse expressions, and duplicated names which
+   * fail in {@link #next()}, are left to the row by row implementation.
+   */
+  @Override
+  public ColumnBatch nextBatch(int maxRows) {
+    if (outputSchema() == null) {
+      return super.nextBatch(maxRows);
+    }
+    if (vectorProjections == null) {
+      vectorProjections =
+          projectList.stream()
+              .map(expr -> VectorExpressionCompiler.compile(expr.getDelegated()))
+              .toList();
+    }
+    ColumnBatch batch = input.nextBatch(maxRows);
+    LinkedHashMap<String, ColumnVector> columns = new LinkedHashMap<>();
+    for (int i = 0; i < projectList.size(); i++) {
+      columns.put(projectList.get(i).getNameOrAlias(), vectorProjections.get(i).evaluate(batch));
+    }
+    return new ColumnBatch(batch.getSize(), columns);
+  }
+
   @Override
   public ExecutionEngine.Schema schema() {
     return new ExecutionEngine.Schema(
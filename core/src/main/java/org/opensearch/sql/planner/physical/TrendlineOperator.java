@@ -7,7 +7,6 @@ package org.opensearch.sql.planner.physical;
 
 import static java.time.temporal.ChronoUnit.MILLIS;
 
-import com.google.common.collect.EvictingQueue;
 import com.google.common.collect.ImmutableMap.Builder;
 import java.time.Instant;
 import java.time.LocalTime;
@@ -16,8 +15,11 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.ToString;
 import org.apache.commons.lang3.tuple.Pair;
 import org.opensearch.sql.ast.tree.Trendline;
@@ -25,9 +27,6 @@ import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.data.type.ExprCoreType;
-import org.opensearch.sql.expression.DSL;
-import org.opensearch.sql.expression.Expression;
-import org.opensearch.sql.expression.LiteralExpression;
 
 /** Trendline command implementation */
 @ToString
@@ -106,9 +105,12 @@ public class TrendlineOperator extends PhysicalPlan {
 
   private static TrendlineAccumulator createAccumulator(
       Pair<Trendline.TrendlineComputation, ExprCoreType> computation) {
-    // Add a switch statement based on computation type to choose the accumulator when more
-    // types of computations are supported.
-    return new SimpleMovingAverageAccumulator(computation.getKey(), computation.getValue());
+    final int dataPoints = computation.getKey().getNumberOfDataPoints();
+    final ValueConverter converter = ValueConverter.of(computation.getValue());
+    return switch (computation.getKey().getComputationType()) {
+      case SMA -> new SimpleMovingAverageAccumulator(dataPoints, converter);
+      case WMA -> new WeightedMovingAverageAccumulator(dataPoints, converter);
+    };
   }
 
   /** Maintains stateful information for calculating the trendline. */
@@ -116,202 +118,214 @@ public class TrendlineOperator extends PhysicalPlan {
     void accumulate(ExprValue value);
 
     ExprValue calculate();
-
-    static ArithmeticEvaluator getEvaluator(ExprCoreType type) {
-      switch (type) {
-        case DOUBLE:
-          return NumericArithmeticEvaluator.INSTANCE;
-        case DATE:
-          return DateArithmeticEvaluator.INSTANCE;
-        case TIME:
-          return TimeArithmeticEvaluator.INSTANCE;
-        case TIMESTAMP:
-          return TimestampArithmeticEvaluator.INSTANCE;
-      }
-      throw new IllegalArgumentException(
-          String.format("Invalid type %s used for moving average.", type.typeName()));
-    }
   }
 
-  private static class SimpleMovingAverageAccumulator implements TrendlineAccumulator {
-    private final LiteralExpression dataPointsNeeded;
-    private final EvictingQueue<ExprValue> receivedValues;
-    private final ArithmeticEvaluator evaluator;
-    private Expression runningTotal = null;
-
-    public SimpleMovingAverageAccumulator(
-        Trendline.TrendlineComputation computation, ExprCoreType type) {
-      dataPointsNeeded = DSL.literal(computation.getNumberOfDataPoints().doubleValue());
-      receivedValues = EvictingQueue.create(computation.getNumberOfDataPoints());
-      evaluator = TrendlineAccumulator.getEvaluator(type);
+  /**
+   * Moving average over the last data points, kept as primitives in a ring buffer. Subclasses
+   * update their running totals in O(1) per value, and recompute them from the ring buffer once
+   * per full rotation to bound the rounding error of the incremental updates.
+   */
+  private abstract static class MovingAverageAccumulator implements TrendlineAccumulator {
+    protected final int dataPoints;
+    private final ValueConverter converter;
+
+    /** Received values, ordered from the oldest at {@code head} to the newest once full. */
+    protected final double[] window;
+
+    private int size = 0;
+    private int head = 0;
+    private ExprValue lastValue;
+
+    protected MovingAverageAccumulator(int dataPoints, ValueConverter converter) {
+      this.dataPoints = dataPoints;
+      this.converter = converter;
+      this.window = new double[dataPoints];
     }
 
     @Override
     public void accumulate(ExprValue value) {
-      if (dataPointsNeeded.valueOf().integerValue() == 1) {
-        runningTotal = evaluator.calculateFirstTotal(Collections.singletonList(value));
-        receivedValues.add(value);
+      lastValue = value;
+      final double incoming = converter.toDouble(value);
+      if (size < dataPoints) {
+        window[size++] = incoming;
+        add(incoming, size);
         return;
       }
-
-      final ExprValue valueToRemove;
-      if (receivedValues.size() == dataPointsNeeded.valueOf().integerValue()) {
-        valueToRemove = receivedValues.remove();
-      } else {
-        valueToRemove = null;
-      }
-      receivedValues.add(value);
-
-      if (receivedValues.size() == dataPointsNeeded.valueOf().integerValue()) {
-        if (runningTotal != null) {
-          // We can use the previous calculation.
-          // Subtract the evicted value and add the new value.
-          // Refactored, that would be previous + (newValue - oldValue).
-          runningTotal = evaluator.add(runningTotal, value, valueToRemove);
-        } else {
-          // This is the first average calculation so sum the entire receivedValues dataset.
-          final List<ExprValue> data = receivedValues.stream().toList();
-          runningTotal = evaluator.calculateFirstTotal(data);
-        }
+      final double evicted = window[head];
+      window[head] = incoming;
+      head = (head + 1) % dataPoints;
+      slide(incoming, evicted);
+      if (head == 0) {
+        recompute();
       }
     }
 
     @Override
     public ExprValue calculate() {
-      if (receivedValues.size() < dataPointsNeeded.valueOf().integerValue()) {
+      if (size < dataPoints) {
         return null;
-      } else if (dataPointsNeeded.valueOf().integerValue() == 1) {
-        return receivedValues.peek();
+      } else if (dataPoints == 1) {
+        return lastValue;
       }
-      return evaluator.evaluate(runningTotal, dataPointsNeeded);
+      return converter.fromDouble(average());
     }
-  }
 
-  private interface ArithmeticEvaluator {
-    Expression calculateFirstTotal(List<ExprValue> dataPoints);
+    /** Add the value at the given 1-based position while the window is filling up. */
+    protected abstract void add(double incoming, int position);
+
+    /** Shift the full window by one value. */
+    protected abstract void slide(double incoming, double evicted);
 
-    Expression add(Expression runningTotal, ExprValue incomingValue, ExprValue evictedValue);
+    /** Recompute the running totals from the window, ordered from the oldest value. */
+    protected abstract void recompute();
 
-    ExprValue evaluate(Expression runningTotal, LiteralExpression numberOfDataPoints);
+    protected abstract double average();
   }
 
-  private static class NumericArithmeticEvaluator implements ArithmeticEvaluator {
-    private static final NumericArithmeticEvaluator INSTANCE = new NumericArithmeticEvaluator();
+  private static class SimpleMovingAverageAccumulator extends MovingAverageAccumulator {
+    private double sum = 0;
 
-    private NumericArithmeticEvaluator() {}
+    SimpleMovingAverageAccumulator(int dataPoints, ValueConverter converter) {
+      super(dataPoints, converter);
+    }
 
     @Override
-    public Expression calculateFirstTotal(List<ExprValue> dataPoints) {
-      Expression total = DSL.literal(0.0D);
-      for (ExprValue dataPoint : dataPoints) {
-        total = DSL.add(total, DSL.literal(dataPoint.doubleValue()));
-      }
-      return DSL.literal(total.valueOf().doubleValue());
+    protected void add(double incoming, int position) {
+      sum += incoming;
+    }
+
+    @Override
+    protected void slide(double incoming, double evicted) {
+      sum += incoming - evicted;
     }
 
     @Override
-    public Expression add(
-        Expression runningTotal, ExprValue incomingValue, ExprValue evictedValue) {
-      return DSL.literal(
-          DSL.add(runningTotal, DSL.subtract(DSL.literal(incomingValue), DSL.literal(evictedValue)))
-              .valueOf()
-              .doubleValue());
+    protected void recompute() {
+      sum = 0;
+      for (double value : window) {
+        sum += value;
+      }
     }
 
     @Override
-    public ExprValue evaluate(Expression runningTotal, LiteralExpression numberOfDataPoints) {
-      return DSL.divide(runningTotal, numberOfDataPoints).valueOf();
+    protected double average() {
+      return sum / dataPoints;
     }
   }
 
-  private static class DateArithmeticEvaluator implements ArithmeticEvaluator {
-    private static final DateArithmeticEvaluator INSTANCE = new DateArithmeticEvaluator();
+  /**
+   * Weights the values from 1 for the oldest to the number of data points for the newest. Sliding
+   * the window lowers the weight of every value by one, so the weighted sum is updated by
+   * subtracting the plain sum before adding the new value with the highest weight.
+   */
+  private static class WeightedMovingAverageAccumulator extends MovingAverageAccumulator {
+    private final double divisor;
+    private double sum = 0;
+    private double weightedSum = 0;
+
+    WeightedMovingAverageAccumulator(int dataPoints, ValueConverter converter) {
+      super(dataPoints, converter);
+      divisor = dataPoints * (dataPoints + 1) / 2.0;
+    }
 
-    private DateArithmeticEvaluator() {}
+    @Override
+    protected void add(double incoming, int position) {
+      sum += incoming;
+      weightedSum += position * incoming;
+    }
 
     @Override
-    public Expression calculateFirstTotal(List<ExprValue> dataPoints) {
-      return TimestampArithmeticEvaluator.INSTANCE.calculateFirstTotal(dataPoints);
+    protected void slide(double incoming, double evicted) {
+      weightedSum += dataPoints * incoming - sum;
+      sum += incoming - evicted;
     }
 
     @Override
-    public Expression add(
-        Expression runningTotal, ExprValue incomingValue, ExprValue evictedValue) {
-      return TimestampArithmeticEvaluator.INSTANCE.add(runningTotal, incomingValue, evictedValue);
+    protected void recompute() {
+      sum = 0;
+      weightedSum = 0;
+      for (int i = 0; i < dataPoints; i++) {
+        sum += window[i];
+        weightedSum += (i + 1) * window[i];
+      }
     }
 
     @Override
-    public ExprValue evaluate(Expression runningTotal, LiteralExpression numberOfDataPoints) {
-      final ExprValue timestampResult =
-          TimestampArithmeticEvaluator.INSTANCE.evaluate(runningTotal, numberOfDataPoints);
-      return ExprValueUtils.dateValue(timestampResult.dateValue());
+    protected double average() {
+      return weightedSum / divisor;
     }
   }
 
-  private static class TimeArithmeticEvaluator implements ArithmeticEvaluator {
-    private static final TimeArithmeticEvaluator INSTANCE = new TimeArithmeticEvaluator();
+  /** Converts values of a trendline field to and from the doubles the averages are computed on. */
+  private interface ValueConverter {
+    double toDouble(ExprValue value);
 
-    private TimeArithmeticEvaluator() {}
+    ExprValue fromDouble(double average);
 
-    @Override
-    public Expression calculateFirstTotal(List<ExprValue> dataPoints) {
-      Expression total = DSL.literal(0);
-      for (ExprValue dataPoint : dataPoints) {
-        total = DSL.add(total, DSL.literal(MILLIS.between(LocalTime.MIN, dataPoint.timeValue())));
+    static ValueConverter of(ExprCoreType type) {
+      switch (type) {
+        case DOUBLE:
+          return NumericConverter.INSTANCE;
+        case DATE:
+          return new EpochMillisConverter(
+              value -> value.timestampValue().toEpochMilli(),
+              millis ->
+                  ExprValueUtils.dateValue(
+                      ExprValueUtils.timestampValue(Instant.ofEpochMilli(millis)).dateValue()));
+        case TIME:
+          return new EpochMillisConverter(
+              value -> MILLIS.between(LocalTime.MIN, value.timeValue()),
+              millis -> ExprValueUtils.timeValue(LocalTime.MIN.plus(millis, MILLIS)));
+        case TIMESTAMP:
+          return new EpochMillisConverter(
+              value -> value.timestampValue().toEpochMilli(),
+              millis -> ExprValueUtils.timestampValue(Instant.ofEpochMilli(millis)));
       }
-      return DSL.literal(total.valueOf().longValue());
+      throw new IllegalArgumentException(
+          String.format("Invalid type %s used for moving average.", type.typeName()));
     }
+  }
+
+  private static class NumericConverter implements ValueConverter {
+    private static final NumericConverter INSTANCE = new NumericConverter();
+
+    private NumericConverter() {}
 
     @Override
-    public Expression add(
-        Expression runningTotal, ExprValue incomingValue, ExprValue evictedValue) {
-      return DSL.literal(
-          DSL.add(
-                  runningTotal,
-                  DSL.subtract(
-                      DSL.literal(MILLIS.between(LocalTime.MIN, incomingValue.timeValue())),
-                      DSL.literal(MILLIS.between(LocalTime.MIN, evictedValue.timeValue()))))
-              .valueOf());
+    public double toDouble(ExprValue value) {
+      return value.doubleValue();
     }
 
     @Override
-    public ExprValue evaluate(Expression runningTotal, LiteralExpression numberOfDataPoints) {
-      return ExprValueUtils.timeValue(
-          LocalTime.MIN.plus(
-              DSL.divide(runningTotal, numberOfDataPoints).valueOf().longValue(), MILLIS));
+    public ExprValue fromDouble(double average) {
+      return ExprValueUtils.doubleValue(average);
     }
   }
 
-  private static class TimestampArithmeticEvaluator implements ArithmeticEvaluator {
-    private static final TimestampArithmeticEvaluator INSTANCE = new TimestampArithmeticEvaluator();
-
-    private TimestampArithmeticEvaluator() {}
+  /**
+   * Datetime values are averaged as milliseconds relative to the first value, which keeps the
+   * running totals small enough to be exact in a double.
+   */
+  @RequiredArgsConstructor
+  private static class EpochMillisConverter implements ValueConverter {
+    private final ToLongFunction<ExprValue> toMillis;
+    private final LongFunction<ExprValue> fromMillis;
+    private long base;
+    private boolean hasBase = false;
 
     @Override
-    public Expression calculateFirstTotal(List<ExprValue> dataPoints) {
-      Expression total = DSL.literal(0);
-      for (ExprValue dataPoint : dataPoints) {
-        total = DSL.add(total, DSL.literal(dataPoint.timestampValue().toEpochMilli()));
+    public double toDouble(ExprValue value) {
+      final long millis = toMillis.applyAsLong(value);
+      if (!hasBase) {
+        base = millis;
+        hasBase = true;
       }
-      return DSL.literal(total.valueOf().longValue());
-    }
-
-    @Override
-    public Expression add(
-        Expression runningTotal, ExprValue incomingValue, ExprValue evictedValue) {
-      return DSL.literal(
-          DSL.add(
-                  runningTotal,
-                  DSL.subtract(
-                      DSL.literal(incomingValue.timestampValue().toEpochMilli()),
-                      DSL.literal(evictedValue.timestampValue().toEpochMilli())))
-              .valueOf());
+      return millis - base;
     }
 
     @Override
-    public ExprValue evaluate(Expression runningTotal, LiteralExpression numberOfDataPoints) {
-      return ExprValueUtils.timestampValue(
-          Instant.ofEpochMilli(DSL.divide(runningTotal, numberOfDataPoints).valueOf().longValue()));
+    public ExprValue fromDouble(double average) {
+      return fromMillis.apply(base + (long) Math.floor(average));
     }
   }
 }
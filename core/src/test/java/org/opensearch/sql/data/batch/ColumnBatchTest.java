@@ -0,0 +1,144 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.data.batch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_MISSING;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_NULL;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprTimeValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.type.ExprCoreType;
+
+class ColumnBatchTest {
+
+  @Test
+  public void from_rows_builds_primitive_vectors() {
+    ColumnBatch batch =
+        ColumnBatch.fromRows(
+            List.of(
+                ExprValueUtils.tupleValue(
+                    ImmutableMap.of("int", 1, "double", 1.5, "bool", true, "string", "a")),
+                ExprValueUtils.tupleValue(
+                    ImmutableMap.of("int", 2, "double", 2.5, "bool", false, "string", "b"))));
+
+    assertEquals(2, batch.getSize());
+    assertInstanceOf(LongColumnVector.class, batch.getColumn("int"));
+    assertEquals(ExprCoreType.INTEGER, batch.getColumn("int").type());
+    assertInstanceOf(DoubleColumnVector.class, batch.getColumn("double"));
+    assertInstanceOf(BooleanColumnVector.class, batch.getColumn("bool"));
+    assertInstanceOf(ValueColumnVector.class, batch.getColumn("string"));
+    assertNull(batch.getColumn("unknown"));
+  }
+
+  @Test
+  public void from_rows_keeps_null_missing_and_absent_values() {
+    LinkedHashMap<String, ExprValue> first = new LinkedHashMap<>();
+    first.put("a", LITERAL_NULL);
+    first.put("b", ExprValueUtils.integerValue(1));
+    LinkedHashMap<String, ExprValue> second = new LinkedHashMap<>();
+    second.put("a", ExprValueUtils.integerValue(2));
+    second.put("c", LITERAL_MISSING);
+    List<ExprValue> rows = List.of(new ExprTupleValue(first), new ExprTupleValue(second));
+    ColumnBatch batch = ColumnBatch.fromRows(rows);
+
+    assertTrue(batch.getColumn("a").isNull(0));
+    assertEquals(ExprValueUtils.integerValue(2), batch.getColumn("a").getValue(1));
+    assertTrue(batch.getColumn("b").isAbsent(1));
+    assertTrue(batch.getColumn("c").isMissing(1));
+    assertEquals(rows, batch.toRows());
+  }
+
+  @Test
+  public void rows_are_rebuilt_from_columns() {
+    LinkedHashMap<String, ExprValue> first = new LinkedHashMap<>();
+    first.put("a", ExprValueUtils.integerValue(1));
+    LinkedHashMap<String, ExprValue> second = new LinkedHashMap<>();
+    second.put("b", ExprValueUtils.stringValue("x"));
+    ColumnBatch batch =
+        ColumnBatch.fromRows(List.of(new ExprTupleValue(first), new ExprTupleValue(second)))
+            .withColumn(
+                "c",
+                ColumnVector.of(
+                    new ExprValue[] {ExprValueUtils.longValue(3L), ExprValueUtils.LITERAL_NULL}));
+
+    assertEquals(
+        List.of(
+            ExprValueUtils.tupleValue(ImmutableMap.of("a", 1, "c", 3L)),
+            new ExprTupleValue(
+                new LinkedHashMap<>(
+                    ImmutableMap.of("b", ExprValueUtils.stringValue("x"), "c", LITERAL_NULL)))),
+        batch.toRows());
+  }
+
+  @Test
+  public void with_column_replaces_column_in_place() {
+    ColumnBatch batch =
+        ColumnBatch.fromRows(List.of(ExprValueUtils.tupleValue(ImmutableMap.of("a", 1, "b", 2))))
+            .withColumn("a", ColumnVector.constant(ExprValueUtils.stringValue("x"), 1));
+
+    assertEquals(
+        ExprValueUtils.tupleValue(ImmutableMap.of("a", "x", "b", 2)), batch.toRows().get(0));
+  }
+
+  @Test
+  public void select_keeps_the_selected_positions() {
+    ColumnBatch batch =
+        ColumnBatch.fromRows(
+                List.of(
+                    ExprValueUtils.tupleValue(ImmutableMap.of("a", 1)),
+                    ExprValueUtils.tupleValue(ImmutableMap.of("a", 2)),
+                    ExprValueUtils.tupleValue(ImmutableMap.of("a", 3))))
+            .withColumn(
+                "b",
+                ColumnVector.of(
+                    new ExprValue[] {
+                      LITERAL_NULL, ExprValueUtils.doubleValue(2.0), LITERAL_MISSING
+                    }));
+    ColumnBatch selected = batch.select(new int[] {0, 2}, 2);
+
+    assertEquals(2, selected.getSize());
+    assertEquals(ExprValueUtils.integerValue(3), selected.getColumn("a").getValue(1));
+    assertTrue(selected.getColumn("b").isNull(0));
+    assertTrue(selected.getColumn("b").isMissing(1));
+  }
+
+  @Test
+  public void temporal_values_round_trip() {
+    ExprValue[] values = {
+      new ExprTimestampValue("1969-12-31 23:59:59.123456789"),
+      new ExprTimestampValue("2020-03-01 01:02:03")
+    };
+    ColumnVector vector = ColumnVector.of(values);
+
+    assertInstanceOf(TemporalColumnVector.class, vector);
+    assertEquals(values[0], vector.getValue(0));
+    assertEquals(values[1], vector.getValue(1));
+    assertEquals(
+        new ExprDateValue("1900-01-01"),
+        ColumnVector.of(new ExprValue[] {new ExprDateValue("1900-01-01")}).getValue(0));
+    assertEquals(
+        new ExprTimeValue("12:34:56.789"),
+        ColumnVector.of(new ExprValue[] {new ExprTimeValue("12:34:56.789")}).getValue(0));
+  }
+
+  @Test
+  public void empty_batch() {
+    assertTrue(ColumnBatch.empty().isEmpty());
+    assertTrue(ColumnBatch.fromRows(List.of()).toRows().isEmpty());
+  }
+}
@@ -8,11 +8,15 @@ package org.opensearch.sql.data.model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.opensearch.sql.utils.ComparisonUtil.compare;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.opensearch.sql.exception.ExpressionEvaluationException;
 
@@ -72,4 +76,47 @@ class ExprTupleValueTest {
                 "v2", 2));
     assertEquals(expectedMergedValue, tupleValue1.mergeTo(tupleValue2));
   }
+
+  @Test
+  public void array_backed_tuple_equals_map_backed_tuple() {
+    TupleSchema schema = TupleSchema.of(List.of("integer_value", "float_value", "absent"));
+    ExprValue arrayBacked =
+        ExprTupleValue.fromSchema(
+            schema,
+            new ExprValue[] {ExprValueUtils.integerValue(2), ExprValueUtils.floatValue(1f), null});
+    ExprValue mapBacked =
+        ExprValueUtils.tupleValue(ImmutableMap.of("integer_value", 2, "float_value", 1f));
+    assertEquals(mapBacked, arrayBacked);
+    assertEquals(arrayBacked, mapBacked);
+    assertEquals(mapBacked.hashCode(), arrayBacked.hashCode());
+    assertEquals(mapBacked.toString(), arrayBacked.toString());
+    assertEquals(ExprValueUtils.integerValue(2), arrayBacked.keyValue("integer_value"));
+    assertTrue(arrayBacked.keyValue("absent").isMissing());
+  }
+
+  @Test
+  public void array_backed_tuple_turns_into_map_for_field_outside_schema() {
+    ExprTupleValue tupleValue =
+        ExprTupleValue.fromSchema(
+            TupleSchema.of(List.of("v1")), new ExprValue[] {ExprValueUtils.integerValue(1)});
+    tupleValue.tupleValue().put("v2", ExprValueUtils.integerValue(2));
+    assertEquals(ExprValueUtils.tupleValue(ImmutableMap.of("v1", 1, "v2", 2)), tupleValue);
+    assertNull(tupleValue.get(0));
+  }
+
+  @Test
+  public void array_backed_tuple_keeps_null_value_like_map() {
+    ExprTupleValue tupleValue =
+        ExprTupleValue.fromSchema(
+            TupleSchema.of(List.of("v1", "v2")),
+            new ExprValue[] {ExprValueUtils.integerValue(1), ExprValueUtils.integerValue(2)});
+    Map<String, ExprValue> map = new LinkedHashMap<>(tupleValue.tupleValue());
+    tupleValue.tupleValue().put("v2", null);
+    map.put("v2", null);
+
+    assertTrue(tupleValue.tupleValue().containsKey("v2"));
+    assertNull(tupleValue.tupleValue().get("v2"));
+    assertEquals(map, tupleValue.tupleValue());
+    assertEquals(ExprValueUtils.integerValue(1), tupleValue.keyValue("v1"));
+  }
 }
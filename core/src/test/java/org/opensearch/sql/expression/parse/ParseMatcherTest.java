@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.parse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.expression.DSL;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class ParseMatcherTest {
+
+  private static final String LOG =
+      "145.128.75.121 - - [29/Aug/2022:13:26:44 -0700] \"GET /deliverables HTTP/2.0\" 501 2721";
+
+  @Test
+  public void regex_groups_are_extracted_with_one_match() {
+    ParseMatcher matcher = ParseMatcher.of("regex", "(?<ip>[\\d.]+) .* (?<status>\\d+) \\d+");
+
+    assertEquals(List.of("ip", "status"), matcher.getNamedGroups());
+    assertEquals(Map.of("ip", "145.128.75.121", "status", "501"), matcher.parse(LOG));
+    assertEquals(Map.of("ip", "", "status", ""), matcher.parse("no match"));
+  }
+
+  @Test
+  public void grok_groups_match_grok_expression() {
+    String pattern = "%{COMMONAPACHELOG}";
+    Map<String, String> values = ParseMatcher.of("grok", pattern).parse(LOG);
+
+    for (String group : GrokExpression.getNamedGroupCandidates(pattern)) {
+      GrokExpression expression =
+          new GrokExpression(DSL.literal(LOG), DSL.literal(pattern), DSL.literal(group));
+      assertEquals(
+          expression.parseValue(DSL.literal(LOG).valueOf()).stringValue(), values.get(group));
+    }
+    assertEquals("145.128.75.121", values.get("clientip"));
+  }
+
+  @Test
+  public void null_input_is_parsed_to_empty_values() {
+    assertEquals(Map.of("ip", ""), ParseMatcher.of("regex", "(?<ip>[\\d.]+).*").parse(null));
+  }
+
+  @Test
+  public void matcher_is_compiled_once_per_pattern() {
+    assertSame(ParseMatcher.of("grok", "%{IP:ip}"), ParseMatcher.of("GROK", "%{IP:ip}"));
+  }
+}
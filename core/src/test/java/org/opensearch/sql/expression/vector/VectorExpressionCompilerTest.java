@@ -0,0 +1,148 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.expression.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_MISSING;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_NULL;
+import static org.opensearch.sql.data.type.ExprCoreType.BOOLEAN;
+import static org.opensearch.sql.data.type.ExprCoreType.DATE;
+import static org.opensearch.sql.data.type.ExprCoreType.DOUBLE;
+import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
+import static org.opensearch.sql.data.type.ExprCoreType.LONG;
+import static org.opensearch.sql.data.type.ExprCoreType.STRING;
+import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.opensearch.sql.data.batch.BooleanColumnVector;
+import org.opensearch.sql.data.batch.ColumnBatch;
+import org.opensearch.sql.data.batch.ColumnVector;
+import org.opensearch.sql.data.batch.DoubleColumnVector;
+import org.opensearch.sql.data.batch.LongColumnVector;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.expression.DSL;
+import org.opensearch.sql.expression.Expression;
+
+class VectorExpressionCompilerTest {
+
+  private static final ColumnBatch BATCH = ColumnBatch.fromRows(rows());
+
+  private static List<ExprValue> rows() {
+    List<ExprValue> rows = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      LinkedHashMap<String, ExprValue> row = new LinkedHashMap<>();
+      row.put("int_value", i % 5 == 4 ? LITERAL_NULL : ExprValueUtils.integerValue(i - 6));
+      row.put("long_value", i % 6 == 5 ? LITERAL_MISSING : ExprValueUtils.longValue(i * 1000L));
+      row.put("double_value", ExprValueUtils.doubleValue(i / 4.0));
+      row.put(
+          "bool_value",
+          i % 4 == 3
+              ? LITERAL_NULL
+              : i % 4 == 2 ? LITERAL_MISSING : ExprValueUtils.booleanValue(i % 3 == 0));
+      row.put("other_bool", ExprValueUtils.booleanValue(i % 2 == 0));
+      row.put(
+          "timestamp_value",
+          i == 7
+              ? LITERAL_NULL
+              : new ExprTimestampValue(LocalDateTime.of(2020, 3, 1, 22, 59, 59).plusSeconds(i)));
+      row.put("date_value", new ExprDateValue("1969-12-31"));
+      row.put("string_value", ExprValueUtils.stringValue("s" + i));
+      rows.add(new ExprTupleValue(row));
+    }
+    return rows;
+  }
+
+  private static Stream<Expression> expressions() {
+    return Stream.of(
+        DSL.add(DSL.ref("int_value", INTEGER), DSL.literal(3)),
+        DSL.subtract(DSL.ref("long_value", LONG), DSL.literal(7L)),
+        DSL.multiply(DSL.ref("double_value", DOUBLE), DSL.literal(2.5)),
+        DSL.divide(DSL.literal(100), DSL.ref("int_value", INTEGER)),
+        DSL.modulus(DSL.ref("long_value", LONG), DSL.literal(0L)),
+        DSL.add(DSL.ref("int_value", INTEGER), DSL.ref("long_value", LONG)),
+        DSL.equal(DSL.ref("int_value", INTEGER), DSL.literal(-2)),
+        DSL.less(DSL.ref("double_value", DOUBLE), DSL.literal(1.5)),
+        DSL.gte(DSL.ref("long_value", LONG), DSL.literal(4000L)),
+        DSL.notequal(DSL.ref("string_value", STRING), DSL.literal("s3")),
+        DSL.greater(
+            DSL.ref("timestamp_value", TIMESTAMP),
+            DSL.literal(new ExprTimestampValue("2020-03-01 23:00:03"))),
+        DSL.and(DSL.ref("bool_value", BOOLEAN), DSL.ref("other_bool", BOOLEAN)),
+        DSL.or(DSL.ref("bool_value", BOOLEAN), DSL.ref("other_bool", BOOLEAN)),
+        DSL.xor(DSL.ref("bool_value", BOOLEAN), DSL.ref("other_bool", BOOLEAN)),
+        DSL.and(DSL.ref("bool_value", BOOLEAN), DSL.literal(LITERAL_NULL)),
+        DSL.or(DSL.literal(LITERAL_MISSING), DSL.ref("bool_value", BOOLEAN)),
+        DSL.not(DSL.ref("bool_value", BOOLEAN)),
+        DSL.year(DSL.ref("timestamp_value", TIMESTAMP)),
+        DSL.minute(DSL.ref("timestamp_value", TIMESTAMP)),
+        DSL.second(DSL.ref("timestamp_value", TIMESTAMP)),
+        DSL.month(DSL.ref("date_value", DATE)),
+        DSL.day(DSL.ref("date_value", DATE)),
+        DSL.abs(DSL.ref("int_value", INTEGER)),
+        DSL.add(DSL.abs(DSL.ref("int_value", INTEGER)), DSL.literal(1)),
+        DSL.add(DSL.ref("absent_value", INTEGER), DSL.literal(1)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("expressions")
+  public void batch_evaluation_returns_the_values_of_row_evaluation(Expression expression) {
+    ColumnVector vector = VectorExpressionCompiler.compile(expression).evaluate(BATCH);
+
+    assertEquals(BATCH.getSize(), vector.getSize());
+    for (int i = 0; i < BATCH.getSize(); i++) {
+      assertEquals(
+          expression.valueOf(BATCH.getRow(i).bindingTuples()),
+          vector.getValue(i),
+          "position " + i + " of " + expression);
+    }
+  }
+
+  @Test
+  public void vectorized_functions_produce_primitive_vectors() {
+    assertInstanceOf(
+        LongColumnVector.class,
+        VectorExpressionCompiler.compile(DSL.add(DSL.ref("int_value", INTEGER), DSL.literal(3)))
+            .evaluate(BATCH));
+    assertInstanceOf(
+        DoubleColumnVector.class,
+        VectorExpressionCompiler.compile(
+                DSL.multiply(DSL.ref("double_value", DOUBLE), DSL.literal(2.5)))
+            .evaluate(BATCH));
+    assertInstanceOf(
+        BooleanColumnVector.class,
+        VectorExpressionCompiler.compile(
+                DSL.and(DSL.ref("bool_value", BOOLEAN), DSL.ref("other_bool", BOOLEAN)))
+            .evaluate(BATCH));
+  }
+
+  @Test
+  public void integer_overflow_fails_as_in_row_evaluation() {
+    ColumnBatch batch =
+        ColumnBatch.fromRows(
+            List.of(ExprValueUtils.tupleValue(Map.of("int_value", Integer.MAX_VALUE))));
+    Expression expression = DSL.add(DSL.ref("int_value", INTEGER), DSL.literal(1));
+
+    assertThrows(
+        ArithmeticException.class, () -> expression.valueOf(batch.getRow(0).bindingTuples()));
+    assertThrows(
+        ArithmeticException.class,
+        () -> VectorExpressionCompiler.compile(expression).evaluate(batch));
+  }
+}
@@ -9,7 +9,11 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.iterableWithSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
+import static org.opensearch.sql.data.type.ExprCoreType.BOOLEAN;
 import static org.opensearch.sql.data.type.ExprCoreType.DOUBLE;
 import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
 import static org.opensearch.sql.data.type.ExprCoreType.STRING;
@@ -20,11 +24,16 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.expression.DSL;
+import org.opensearch.sql.expression.Expression;
+import org.opensearch.sql.expression.ReferenceExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 
 @ExtendWith(MockitoExtension.class)
 class EvalOperatorTest extends PhysicalPlanTestBase {
@@ -130,4 +139,41 @@ class EvalOperatorTest extends PhysicalPlanTestBase {
 
     assertThat(result, allOf(iterableWithSize(1), hasItems(ExprValueUtils.integerValue(1))));
   }
+
+  @Test
+  public void next_batch_returns_the_rows_of_row_mode() {
+    List<ExprValue> rows =
+        List.of(
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 100, "time", 10)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 30, "time", 0)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 7, "time", 2)));
+    ImmutablePair<ReferenceExpression, Expression> velocity =
+        ImmutablePair.of(
+            DSL.ref("velocity", INTEGER),
+            DSL.divide(DSL.ref("distance", INTEGER), DSL.ref("time", INTEGER)));
+    ImmutablePair<ReferenceExpression, Expression> fast =
+        ImmutablePair.of(
+            DSL.ref("fast", BOOLEAN),
+            DSL.greater(DSL.ref("velocity", INTEGER), DSL.literal(5)));
+
+    assertEquals(
+        execute(eval(testScan(rows), velocity, fast)),
+        executeBatches(eval(testScan(rows), velocity, fast), 2));
+  }
+
+  @Test
+  public void next_batch_compiles_the_expressions_once() {
+    List<ExprValue> rows =
+        List.of(
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 100, "time", 10)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 7, "time", 2)));
+    Expression velocity = DSL.divide(DSL.ref("distance", INTEGER), DSL.ref("time", INTEGER));
+    PhysicalPlan plan =
+        eval(testScan(rows), ImmutablePair.of(DSL.ref("velocity", INTEGER), velocity));
+    try (MockedStatic<VectorExpressionCompiler> compiler =
+        mockStatic(VectorExpressionCompiler.class, Answers.CALLS_REAL_METHODS)) {
+      executeBatches(plan, 1);
+      compiler.verify(() -> VectorExpressionCompiler.compile(velocity), times(1));
+    }
+  }
 }
@@ -12,6 +12,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -20,6 +21,7 @@ import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_MISSING;
 import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_NULL;
 import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_TRUE;
 import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
+import static org.opensearch.sql.data.type.ExprCoreType.STRING;
 import static org.opensearch.sql.planner.physical.PhysicalPlanDSL.filter;
 
 import com.google.common.collect.ImmutableMap;
@@ -30,13 +32,16 @@ import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.expression.DSL;
 import org.opensearch.sql.expression.Expression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
@@ -166,4 +171,42 @@ class FilterOperatorTest extends PhysicalPlanTestBase {
         filterOperator.next(),
         "next() should return the matching input value even if hasNext() was not called");
   }
+
+  @Test
+  public void next_batch_returns_the_rows_of_row_mode() {
+    Expression predicate =
+        DSL.or(
+            DSL.equal(DSL.ref("action", STRING), DSL.literal("POST")),
+            DSL.greater(DSL.ref("response", INTEGER), DSL.literal(300)));
+
+    assertEquals(
+        execute(new FilterOperator(testScan(inputs), predicate)),
+        executeBatches(new FilterOperator(testScan(inputs), predicate), 2));
+  }
+
+  @Test
+  public void next_batch_skips_null_and_missing_conditions() {
+    LinkedHashMap<String, ExprValue> nullValue = new LinkedHashMap<>();
+    nullValue.put("response", LITERAL_NULL);
+    LinkedHashMap<String, ExprValue> missingValue = new LinkedHashMap<>();
+    missingValue.put("response", LITERAL_MISSING);
+    ExprValue matching = ExprValueUtils.tupleValue(ImmutableMap.of("response", 404));
+
+    FilterOperator plan =
+        new FilterOperator(
+            testScan(
+                List.of(new ExprTupleValue(nullValue), matching, new ExprTupleValue(missingValue))),
+            DSL.equal(DSL.ref("response", INTEGER), DSL.literal(404)));
+    assertEquals(List.of(matching), executeBatches(plan, 3));
+  }
+
+  @Test
+  public void next_batch_compiles_the_conditions_once() {
+    Expression predicate = DSL.equal(DSL.ref("action", STRING), DSL.literal("GET"));
+    try (MockedStatic<VectorExpressionCompiler> compiler =
+        mockStatic(VectorExpressionCompiler.class, Answers.CALLS_REAL_METHODS)) {
+      executeBatches(new FilterOperator(testScan(inputs), predicate), 1);
+      compiler.verify(() -> VectorExpressionCompiler.compile(predicate), times(1));
+    }
+  }
 }
@@ -13,6 +13,7 @@ import java.io.ObjectOutput;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import org.opensearch.sql.data.batch.ColumnBatch;
 import org.opensearch.sql.data.model.ExprDateValue;
 import org.opensearch.sql.data.model.ExprTimeValue;
 import org.opensearch.sql.data.model.ExprTimestampValue;
@@ -290,6 +291,18 @@ public class PhysicalPlanTestBase {
     return builder.build();
   }
 
+  protected List<ExprValue> executeBatches(PhysicalPlan plan, int batchSize) {
+    ImmutableList.Builder<ExprValue> builder = new ImmutableList.Builder<>();
+    plan.open();
+    for (ColumnBatch batch = plan.nextBatch(batchSize);
+        !batch.isEmpty();
+        batch = plan.nextBatch(batchSize)) {
+      builder.addAll(batch.toRows());
+    }
+    plan.close();
+    return builder.build();
+  }
+
   protected static PhysicalPlan testScan(List<ExprValue> inputs) {
     return new TestScan(inputs);
   }
@@ -11,6 +11,8 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.iterableWithSize;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_MISSING;
 import static org.opensearch.sql.data.model.ExprValueUtils.stringValue;
@@ -28,13 +30,17 @@ import java.util.List;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.executor.ExecutionEngine;
 import org.opensearch.sql.expression.DSL;
+import org.opensearch.sql.expression.NamedExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 import org.opensearch.sql.utils.TestOperator;
 
 @ExtendWith(MockitoExtension.class)
@@ -259,4 +265,35 @@ class ProjectOperatorTest extends PhysicalPlanTestBase {
     var roundTripPlan = (ProjectOperator) objectInput.readObject();
     assertEquals(project, roundTripPlan);
   }
+
+  @Test
+  public void next_batch_returns_the_rows_of_row_mode() {
+    List<ExprValue> rows =
+        List.of(
+            ExprValueUtils.tupleValue(ImmutableMap.of("action", "GET", "response", 200)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("action", "POST")),
+            ExprValueUtils.tupleValue(ImmutableMap.of("action", "GET", "response", 404)));
+    List<NamedExpression> projects =
+        List.of(
+            DSL.named("response", DSL.ref("response", INTEGER)),
+            DSL.named("ok", DSL.less(DSL.ref("response", INTEGER), DSL.literal(400))));
+
+    assertEquals(
+        execute(project(testScan(rows), projects.toArray(new NamedExpression[0]))),
+        executeBatches(project(testScan(rows), projects.toArray(new NamedExpression[0])), 2));
+  }
+
+  @Test
+  public void next_batch_compiles_the_project_list_once() {
+    List<ExprValue> rows =
+        List.of(
+            ExprValueUtils.tupleValue(ImmutableMap.of("action", "GET", "response", 200)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("action", "GET", "response", 404)));
+    NamedExpression ok = DSL.named("ok", DSL.less(DSL.ref("response", INTEGER), DSL.literal(400)));
+    try (MockedStatic<VectorExpressionCompiler> compiler =
+        mockStatic(VectorExpressionCompiler.class, Answers.CALLS_REAL_METHODS)) {
+      executeBatches(project(testScan(rows), ok), 1);
+      compiler.verify(() -> VectorExpressionCompiler.compile(ok.getDelegated()), times(1));
+    }
+  }
 }
@@ -11,13 +11,19 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.opensearch.sql.ast.tree.Trendline.TrendlineType.SMA;
+import static org.opensearch.sql.ast.tree.Trendline.TrendlineType.WMA;
 
 import com.google.common.collect.ImmutableMap;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import org.apache.commons.lang3.tuple.Pair;
 import org.junit.jupiter.api.DisplayNameGeneration;
 import org.junit.jupiter.api.DisplayNameGenerator;
@@ -27,6 +33,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.sql.ast.dsl.AstDSL;
 import org.opensearch.sql.data.model.ExprNullValue;
+import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.data.type.ExprCoreType;
 
@@ -395,4 +402,124 @@ public class TrendlineOperatorTest {
         plan.next());
     assertFalse(plan.hasNext());
   }
+
+  @Test
+  public void calculates_weighted_moving_average_one_field_three_samples_four_rows() {
+    when(inputPlan.hasNext()).thenReturn(true, true, true, true, false);
+    when(inputPlan.next())
+        .thenReturn(
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 60)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 120)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 240)),
+            ExprValueUtils.tupleValue(ImmutableMap.of("distance", 30)));
+
+    var plan =
+        new TrendlineOperator(
+            inputPlan,
+            Collections.singletonList(
+                Pair.of(
+                    AstDSL.computation(3, AstDSL.field("distance"), "distance_alias", WMA),
+                    ExprCoreType.DOUBLE)));
+
+    plan.open();
+    assertTrue(plan.hasNext());
+    assertEquals(ExprValueUtils.tupleValue(ImmutableMap.of("distance", 60)), plan.next());
+    assertTrue(plan.hasNext());
+    assertEquals(ExprValueUtils.tupleValue(ImmutableMap.of("distance", 120)), plan.next());
+    assertTrue(plan.hasNext());
+    // (1 * 60 + 2 * 120 + 3 * 240) / 6
+    assertEquals(
+        ExprValueUtils.tupleValue(ImmutableMap.of("distance", 240, "distance_alias", 170.0)),
+        plan.next());
+    assertTrue(plan.hasNext());
+    // (1 * 120 + 2 * 240 + 3 * 30) / 6
+    assertEquals(
+        ExprValueUtils.tupleValue(ImmutableMap.of("distance", 30, "distance_alias", 115.0)),
+        plan.next());
+    assertFalse(plan.hasNext());
+  }
+
+  @Test
+  public void calculates_weighted_moving_average_timestamp() {
+    when(inputPlan.hasNext()).thenReturn(true, true, false);
+    when(inputPlan.next())
+        .thenReturn(
+            ExprValueUtils.tupleValue(
+                ImmutableMap.of("timestamp", ExprValueUtils.timestampValue(Instant.EPOCH))),
+            ExprValueUtils.tupleValue(
+                ImmutableMap.of(
+                    "timestamp", ExprValueUtils.timestampValue(Instant.EPOCH.plusMillis(1500)))));
+
+    var plan =
+        new TrendlineOperator(
+            inputPlan,
+            Collections.singletonList(
+                Pair.of(
+                    AstDSL.computation(2, AstDSL.field("timestamp"), "timestamp_alias", WMA),
+                    ExprCoreType.TIMESTAMP)));
+
+    plan.open();
+    assertTrue(plan.hasNext());
+    assertEquals(
+        ExprValueUtils.tupleValue(ImmutableMap.of("timestamp", Instant.EPOCH)), plan.next());
+    assertTrue(plan.hasNext());
+    assertEquals(
+        ExprValueUtils.tupleValue(
+            ImmutableMap.of(
+                "timestamp",
+                Instant.EPOCH.plusMillis(1500),
+                "timestamp_alias",
+                Instant.EPOCH.plusMillis(1000))),
+        plan.next());
+    assertFalse(plan.hasNext());
+  }
+
+  @Test
+  public void incremental_moving_averages_match_recomputed_averages() {
+    final int rows = 1000;
+    final int dataPoints = 7;
+    final Random random = new Random(42);
+    final double[] values = new double[rows];
+    final List<ExprValue> tuples = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      values[i] = random.nextInt(1_000_000) / 100.0;
+      tuples.add(
+          ExprValueUtils.tupleValue(ImmutableMap.of("distance", values[i], "speed", values[i])));
+    }
+    final Iterator<ExprValue> iterator = tuples.iterator();
+    when(inputPlan.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+    when(inputPlan.next()).thenAnswer(invocation -> iterator.next());
+
+    var plan =
+        new TrendlineOperator(
+            inputPlan,
+            Arrays.asList(
+                Pair.of(
+                    AstDSL.computation(dataPoints, AstDSL.field("distance"), "sma", SMA),
+                    ExprCoreType.DOUBLE),
+                Pair.of(
+                    AstDSL.computation(dataPoints, AstDSL.field("speed"), "wma", WMA),
+                    ExprCoreType.DOUBLE)));
+
+    plan.open();
+    for (int i = 0; i < rows; i++) {
+      assertTrue(plan.hasNext());
+      final Map<String, ExprValue> row = ExprValueUtils.getTupleValue(plan.next());
+      if (i < dataPoints - 1) {
+        assertFalse(row.containsKey("sma"));
+        assertFalse(row.containsKey("wma"));
+        continue;
+      }
+      double sum = 0;
+      double weightedSum = 0;
+      for (int j = 0; j < dataPoints; j++) {
+        sum += values[i - dataPoints + 1 + j];
+        weightedSum += (j + 1) * values[i - dataPoints + 1 + j];
+      }
+      assertEquals(sum / dataPoints, row.get("sma").doubleValue(), 1e-6);
+      assertEquals(
+          weightedSum / (dataPoints * (dataPoints + 1) / 2.0), row.get("wma").doubleValue(), 1e-6);
+    }
+    assertFalse(plan.hasNext());
+  }
 }
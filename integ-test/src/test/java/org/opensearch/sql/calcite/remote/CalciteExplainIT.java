@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.util.Locale;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.opensearch.sql.common.setting.Settings.Key;
 import org.opensearch.sql.ppl.ExplainIT;
 
 public class CalciteExplainIT extends ExplainIT {
@@ -410,6 +411,33 @@ public class CalciteExplainIT extends ExplainIT {
     assertJsonEqualsIgnoreId(expected, result);
   }
 
+  @Test
+  public void testEventstatsWindowAggregationPushDownExplain() throws IOException {
+    enabledOnlyWhenPushdownIsEnabled();
+    withSettings(
+        Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED,
+        "true",
+        () -> {
+          try {
+            String result =
+                explainQueryToString(
+                    String.format(
+                        "source=%s | eventstats count() as cnt, avg(age) as avg by gender",
+                        TEST_INDEX_BANK));
+            // the rewrite is an alternative plan, the cost model picks one of both
+            if (result.contains("Join(condition=")) {
+              assertTrue(result.contains("AGGREGATION->"));
+              assertTrue(result.contains("BUCKET_PAGING->"));
+              assertFalse(result.contains("EnumerableWindow"));
+            } else {
+              assertTrue(result.contains("EnumerableWindow"));
+            }
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        });
+  }
+
   // Only for Calcite, as v2 gets unstable serialized string for function
   @Test
   public void testExplainOnAggregationWithSumEnhancement() throws IOException {
@@ -12,6 +12,7 @@ import java.io.IOException;
 import java.util.List;
 import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
+import org.opensearch.sql.common.setting.Settings.Key;
 import org.opensearch.sql.ppl.PPLIntegTestCase;
 
 public class CalcitePPLEventstatsIT extends PPLIntegTestCase {
@@ -165,6 +166,22 @@ public class CalcitePPLEventstatsIT extends PPLIntegTestCase {
         rows("Hello", "USA", "New York", 4, 2023, 30, 1, 30, 30, 30));
   }
 
+  @Test
+  public void testEventstatByWithWindowAggregationPushDown() throws IOException {
+    withSettings(
+        Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED,
+        "true",
+        () -> {
+          try {
+            testEventstatBy();
+            testEventstatByWithNull();
+            testEventstatWithNull();
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+        });
+  }
+
   @Test
   public void testEventstatBySpan() throws IOException {
     JSONObject actual =
@@ -21,6 +21,9 @@ public class ActionRequestRestExecutorFactory {
     switch (format) {
       case CSV:
         return new AsyncRestExecutor(new CSVResultRestExecutor());
+      case ARROW:
+        throw new IllegalArgumentException(
+            "Response in arrow format is not supported by the legacy engine");
       case JDBC:
       case RAW:
       case TABLE:
@@ -17,6 +17,8 @@ public enum Format {
   CSV("csv"),
   RAW("raw"),
   TABLE("table"),
+  // only supported by the new engine
+  ARROW("arrow"),
   // format of explain response
   SIMPLE("simple"),
   STANDARD("standard"),
@@ -35,6 +37,7 @@ public enum Format {
     builder.put(CSV.formatName, CSV);
     builder.put(RAW.formatName, RAW);
     builder.put(TABLE.formatName, TABLE);
+    builder.put(ARROW.formatName, ARROW);
     RESPONSE_FORMATS = builder.build();
 
     builder = new ImmutableMap.Builder<>();
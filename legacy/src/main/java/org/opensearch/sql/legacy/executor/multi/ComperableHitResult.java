@@ -5,10 +5,7 @@
 
 package org.opensearch.sql.legacy.executor.multi;
 
-import com.google.common.base.Joiner;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.opensearch.search.SearchHit;
 import org.opensearch.sql.legacy.utils.Util;
@@ -17,28 +14,44 @@ import org.opensearch.sql.legacy.utils.Util;
 public class ComperableHitResult {
   private final SearchHit hit;
   private final String comperator;
-  private boolean isAllNull;
   private final Map<String, Object> flattenMap;
 
-  public ComperableHitResult(SearchHit hit, String[] fieldsOrder, String seperator) {
+  public ComperableHitResult(SearchHit hit, String[] fieldsOrder) {
     this.hit = hit;
     Map<String, Object> hitAsMap = hit.getSourceAsMap();
     this.flattenMap = new HashMap<>();
-    List<String> results = new ArrayList<>();
-    this.isAllNull = true;
+    for (String field : fieldsOrder) {
+      Object result = Util.deepSearchInMap(hitAsMap, field);
+      if (result != null) {
+        this.flattenMap.put(field, result);
+      }
+    }
+    this.comperator = encodeKey(hitAsMap, fieldsOrder);
+  }
 
-    for (int i = 0; i < fieldsOrder.length; i++) {
-      String field = fieldsOrder[i];
+  /**
+   * Encode the values of the given fields of a hit into a key, without keeping the hit. Each value
+   * is prefixed by its length, so no value can be mistaken for a separator and keys of different
+   * values never collide.
+   *
+   * @param hitAsMap source of the hit.
+   * @param fieldsOrder fields to compare on, in order.
+   * @return the key, or null if all the values are null.
+   */
+  public static String encodeKey(Map<String, Object> hitAsMap, String[] fieldsOrder) {
+    StringBuilder key = new StringBuilder();
+    boolean isAllNull = true;
+    for (String field : fieldsOrder) {
       Object result = Util.deepSearchInMap(hitAsMap, field);
       if (result == null) {
-        results.add("");
+        key.append('-');
       } else {
-        this.isAllNull = false;
-        results.add(result.toString());
-        this.flattenMap.put(field, result);
+        isAllNull = false;
+        String value = result.toString();
+        key.append(value.length()).append(':').append(value);
       }
     }
-    this.comperator = Joiner.on(seperator).join(results);
+    return isAllNull ? null : key.toString();
   }
 
   @Override
@@ -52,7 +65,7 @@ public class ComperableHitResult {
 
     ComperableHitResult that = (ComperableHitResult) o;
 
-    if (!comperator.equals(that.comperator)) {
+    if (comperator == null ? that.comperator != null : !comperator.equals(that.comperator)) {
       return false;
     }
 
@@ -60,12 +73,12 @@ public class ComperableHitResult {
   }
 
   public boolean isAllNull() {
-    return isAllNull;
+    return comperator == null;
   }
 
   @Override
   public int hashCode() {
-    return comperator.hashCode();
+    return comperator == null ? 0 : comperator.hashCode();
   }
 
   public String getComperator() {
@@ -6,15 +6,18 @@
 package org.opensearch.sql.legacy.executor.multi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.TotalHits.Relation;
+import org.opensearch.action.search.SearchRequestBuilder;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.common.document.DocumentField;
 import org.opensearch.common.util.ArrayUtils;
@@ -27,18 +30,31 @@ import org.opensearch.sql.legacy.domain.Select;
 import org.opensearch.sql.legacy.domain.Where;
 import org.opensearch.sql.legacy.domain.hints.Hint;
 import org.opensearch.sql.legacy.domain.hints.HintType;
+import org.opensearch.sql.legacy.esdomain.LocalClusterState;
+import org.opensearch.sql.legacy.esdomain.mapping.FieldMappings;
 import org.opensearch.sql.legacy.exception.SqlParseException;
 import org.opensearch.sql.legacy.executor.ElasticHitsExecutor;
 import org.opensearch.sql.legacy.metrics.MetricName;
 import org.opensearch.sql.legacy.metrics.Metrics;
 import org.opensearch.sql.legacy.pit.PointInTimeHandlerImpl;
 import org.opensearch.sql.legacy.query.DefaultQueryAction;
+import org.opensearch.sql.legacy.query.join.BackOffRetryStrategy;
 import org.opensearch.sql.legacy.query.multi.MultiQueryRequestBuilder;
 import org.opensearch.sql.legacy.utils.Util;
 import org.opensearch.transport.client.Client;
 
 /** Created by Eliran on 26/8/2016. */
 public class MinusExecutor extends ElasticHitsExecutor {
+  /**
+   * Most keys of the second table to keep while streaming the first table against them, or to push
+   * into the first table query as must_not terms filters. A second table with more keys is streamed
+   * against the set of the first table instead.
+   */
+  private static final int MAX_SECOND_TABLE_KEYS = 10_000;
+
+  /** Values per must_not terms filter, well below the default index.max_terms_count. */
+  private static final int TERMS_BATCH_SIZE = 1_000;
+
   private final MultiQueryRequestBuilder builder;
   private SearchHits minusHits;
   private final boolean useTermsOptimization;
@@ -49,7 +65,6 @@ public class MinusExecutor extends ElasticHitsExecutor {
   private int maxDocsToFetchOnEachScrollShard;
   private String[] fieldsOrderFirstTable;
   private String[] fieldsOrderSecondTable;
-  private final String seperator;
 
   public MinusExecutor(Client client, MultiQueryRequestBuilder builder) {
     this.client = client;
@@ -59,7 +74,6 @@ public class MinusExecutor extends ElasticHitsExecutor {
     this.useScrolling = false;
     parseHintsIfAny(builder.getOriginalSelect(true).getHints());
     fillFieldsOrder();
-    seperator = UUID.randomUUID().toString();
   }
 
   @Override
@@ -83,20 +97,23 @@ public class MinusExecutor extends ElasticHitsExecutor {
             "Terms optimization failed: using scrolling is required for terms optimization");
       }
       if (!this.useScrolling || !this.useTermsOptimization) {
-        Set<ComperableHitResult> comperableHitResults;
+        Map<String, ComperableHitResult> comperableHitResults;
         if (!this.useScrolling) {
-          // 1. get results from first search , put in set
-          // 2. get reults from second search
-          // 2.1 for each result remove from set
+          // 1. get results from second search, keep their keys
+          // 2. get results from first search, filtered by the keys if they are few and the field
+          //    is safe to filter by terms
+          // 2.1 keep each result whose key isn't one of the second search
           comperableHitResults = simpleOneTimeQueryEach();
         } else {
           // if scrolling
-          // 1. get all results in scrolls (till some limit) . put on set
-          // 2. scroll on second table
-          // 3. on each scroll result remove items from set
+          // 1. scroll on second table, keep keys while they are few enough
+          // 2. if second table is done, scroll on first table filtered by the keys if the field
+          //    is safe to filter by terms, keeping results not in the keys
+          // 3. otherwise put first table results (till some limit) on set and go on scrolling
+          //    second table, on each scroll result remove items from set
           comperableHitResults = runWithScrollings();
         }
-        fillMinusHitsFromResults(comperableHitResults);
+        fillMinusHitsFromResults(comperableHitResults.values());
         return;
       } else {
         // if scrolling and optimization
@@ -164,12 +181,10 @@ public class MinusExecutor extends ElasticHitsExecutor {
         new SearchHits(unionHitsArr, new TotalHits(totalSize, Relation.EQUAL_TO), 1.0f);
   }
 
-  private void fillMinusHitsFromResults(Set<ComperableHitResult> comperableHitResults) {
+  private void fillMinusHitsFromResults(Collection<ComperableHitResult> comperableHitResults) {
     int currentId = 1;
-    List<SearchHit> minusHitsList = new ArrayList<>();
+    List<SearchHit> minusHitsList = new ArrayList<>(comperableHitResults.size());
     for (ComperableHitResult result : comperableHitResults) {
-      ArrayList<Object> values = new ArrayList<>();
-      values.add(result);
       SearchHit originalHit = result.getOriginalHit();
       Map<String, DocumentField> documentFields = new HashMap<>();
       Map<String, DocumentField> metaFields = new HashMap<>();
@@ -204,108 +219,283 @@ public class MinusExecutor extends ElasticHitsExecutor {
         new SearchHits(unionHitsArr, new TotalHits(totalSize, Relation.EQUAL_TO), 1.0f);
   }
 
-  private Set<ComperableHitResult> runWithScrollings() {
+  private Map<String, ComperableHitResult> runWithScrollings() throws SqlParseException {
+    // fetch from second table first, the first table is streamed against its keys if few.
+    Set<String> secondTableKeys = new HashSet<>();
+    Set<Object> secondTableValues = new HashSet<>();
+    SearchResponse secondScrollResp =
+        getResponseWithHits(
+            builder.getSecondSearchRequest(),
+            builder.getOriginalSelect(false),
+            maxDocsToFetchOnEachScrollShard,
+            null,
+            pit);
+    SearchHit[] hits = secondScrollResp.getHits().getHits();
+    int totalDocsFetchedFromSecondTable = 0;
+    boolean secondTableDone = true;
+    while (hits != null && hits.length != 0) {
+      totalDocsFetchedFromSecondTable += hits.length;
+      fillKeysFromHits(this.fieldsOrderSecondTable, hits, secondTableKeys, secondTableValues);
+      if (totalDocsFetchedFromSecondTable > this.maxDocsToFetchOnSecondTable) {
+        break;
+      }
+      if (secondTableKeys.size() > MAX_SECOND_TABLE_KEYS) {
+        // second table is the larger side, stream it against the first table set instead.
+        secondTableDone = false;
+        break;
+      }
+      checkMemoryHealth();
+      secondScrollResp =
+          getResponseWithHits(
+              builder.getSecondSearchRequest(),
+              builder.getOriginalSelect(false),
+              maxDocsToFetchOnEachScrollShard,
+              secondScrollResp,
+              pit);
+      hits = secondScrollResp.getHits().getHits();
+    }
 
+    SearchRequestBuilder firstTableRequest =
+        secondTableDone
+            ? firstTableRequestWithoutValues(secondTableValues)
+            : builder.getFirstSearchRequest();
+    secondTableValues = null;
     SearchResponse scrollResp =
         getResponseWithHits(
-            builder.getFirstSearchRequest(),
+            firstTableRequest,
             builder.getOriginalSelect(true),
             maxDocsToFetchOnEachScrollShard,
             null,
             pit);
-    Set<ComperableHitResult> results = new HashSet<>();
-
-    SearchHit[] hits = scrollResp.getHits().getHits();
-    if (hits == null || hits.length == 0) {
-      return new HashSet<>();
-    }
+    Map<String, ComperableHitResult> results = new LinkedHashMap<>();
+    hits = scrollResp.getHits().getHits();
     int totalDocsFetchedFromFirstTable = 0;
-    // fetch from first table . fill set.
+    // fetch from first table . fill set with the results whose keys aren't in second table.
     while (hits != null && hits.length != 0) {
       totalDocsFetchedFromFirstTable += hits.length;
-      fillComperableSetFromHits(this.fieldsOrderFirstTable, hits, results);
+      fillComperableMapFromHits(this.fieldsOrderFirstTable, hits, secondTableKeys, results);
       if (totalDocsFetchedFromFirstTable > this.maxDocsToFetchOnFirstTable) {
         break;
       }
+      checkMemoryHealth();
       scrollResp =
           getResponseWithHits(
-              builder.getFirstSearchRequest(),
+              firstTableRequest,
               builder.getOriginalSelect(true),
               maxDocsToFetchOnEachScrollShard,
               scrollResp,
               pit);
       hits = scrollResp.getHits().getHits();
     }
-    scrollResp =
+    if (secondTableDone || results.isEmpty()) {
+      return results;
+    }
+
+    // go on scrolling second table from where it stopped, on each scroll remove items from set
+    secondTableKeys = null;
+    secondScrollResp =
         getResponseWithHits(
-            this.builder.getSecondSearchRequest(),
+            builder.getSecondSearchRequest(),
             builder.getOriginalSelect(false),
-            this.maxDocsToFetchOnEachScrollShard,
-            null,
+            maxDocsToFetchOnEachScrollShard,
+            secondScrollResp,
             pit);
-
-    hits = scrollResp.getHits().getHits();
-    if (hits == null || hits.length == 0) {
-      return results;
-    }
-    int totalDocsFetchedFromSecondTable = 0;
+    hits = secondScrollResp.getHits().getHits();
     while (hits != null && hits.length != 0) {
       totalDocsFetchedFromSecondTable += hits.length;
-      removeValuesFromSetAccordingToHits(this.fieldsOrderSecondTable, results, hits);
+      removeValuesFromMapAccordingToHits(this.fieldsOrderSecondTable, results, hits);
       if (totalDocsFetchedFromSecondTable > this.maxDocsToFetchOnSecondTable) {
         break;
       }
-      scrollResp =
+      checkMemoryHealth();
+      secondScrollResp =
           getResponseWithHits(
               builder.getSecondSearchRequest(),
               builder.getOriginalSelect(false),
               maxDocsToFetchOnEachScrollShard,
-              scrollResp,
+              secondScrollResp,
               pit);
-      hits = scrollResp.getHits().getHits();
+      hits = secondScrollResp.getHits().getHits();
     }
 
     return results;
   }
 
-  private Set<ComperableHitResult> simpleOneTimeQueryEach() {
-    SearchHit[] firstTableHits = this.builder.getFirstSearchRequest().get().getHits().getHits();
-    if (firstTableHits == null || firstTableHits.length == 0) {
-      return new HashSet<>();
+  private Map<String, ComperableHitResult> simpleOneTimeQueryEach() throws SqlParseException {
+    Set<String> secondTableKeys = new HashSet<>();
+    Set<Object> secondTableValues = new HashSet<>();
+    SearchHit[] secondTableHits = this.builder.getSecondSearchRequest().get().getHits().getHits();
+    if (secondTableHits != null) {
+      fillKeysFromHits(
+          this.fieldsOrderSecondTable, secondTableHits, secondTableKeys, secondTableValues);
     }
 
-    Set<ComperableHitResult> result = new HashSet<>();
-    fillComperableSetFromHits(this.fieldsOrderFirstTable, firstTableHits, result);
-    SearchHit[] secondTableHits = this.builder.getSecondSearchRequest().get().getHits().getHits();
-    if (secondTableHits == null || secondTableHits.length == 0) {
-      return result;
+    Map<String, ComperableHitResult> results = new LinkedHashMap<>();
+    SearchHit[] firstTableHits =
+        firstTableRequestWithoutValues(secondTableValues).get().getHits().getHits();
+    if (firstTableHits != null) {
+      fillComperableMapFromHits(
+          this.fieldsOrderFirstTable, firstTableHits, secondTableKeys, results);
     }
-    removeValuesFromSetAccordingToHits(this.fieldsOrderSecondTable, result, secondTableHits);
-    return result;
+    return results;
   }
 
-  private void removeValuesFromSetAccordingToHits(
-      String[] fieldsOrder, Set<ComperableHitResult> set, SearchHit[] hits) {
+  /**
+   * Request of the first table, with must_not terms filters of the values of the second table if
+   * there is one field, few enough values and the field is safe to filter by terms. The filters
+   * only save fetching the first table hits which are removed anyway, so any value they miss is
+   * still removed by its key.
+   */
+  private SearchRequestBuilder firstTableRequestWithoutValues(Set<Object> secondTableValues)
+      throws SqlParseException {
+    if (this.fieldsOrderFirstTable.length != 1
+        || secondTableValues.isEmpty()
+        || secondTableValues.size() > MAX_SECOND_TABLE_KEYS) {
+      return this.builder.getFirstSearchRequest();
+    }
+    Select firstSelect = this.builder.getOriginalSelect(true);
+    String termsType = termsFieldType(firstSelect.getIndexArr(), this.fieldsOrderFirstTable[0]);
+    Object[] values =
+        termsType == null
+            ? new Object[0]
+            : secondTableValues.stream().filter(value -> isTermOf(termsType, value)).toArray();
+    if (values.length == 0) {
+      return this.builder.getFirstSearchRequest();
+    }
+    Where originalWhere = firstSelect.getWhere();
+    Where where = Where.newInstance();
+    where.setConn(Where.CONN.AND);
+    if (originalWhere != null) {
+      where.addWhere(originalWhere);
+    }
+    for (int from = 0; from < values.length; from += TERMS_BATCH_SIZE) {
+      Object[] batch =
+          Arrays.copyOfRange(values, from, Math.min(values.length, from + TERMS_BATCH_SIZE));
+      where.addWhere(
+          new Condition(
+              Where.CONN.AND,
+              this.fieldsOrderFirstTable[0],
+              null,
+              Condition.OPERATOR.NIN_TERMS,
+              batch,
+              null));
+    }
+    firstSelect.setWhere(where);
+    try {
+      DefaultQueryAction queryAction = new DefaultQueryAction(this.client, firstSelect);
+      queryAction.explain();
+      return queryAction.getRequestBuilder();
+    } finally {
+      firstSelect.setWhere(originalWhere);
+    }
+  }
+
+  /**
+   * Type of the field in every index of the first table if a terms query on it only matches the
+   * values equal to its key: keyword fields without a normalizer, which would match values of
+   * another case, and integral numeric fields, which would fail on decimals. Dates and the other
+   * types are not compared as their _source value, so they are only compared by key.
+   *
+   * <p>A terms query still matches the first table documents by their indexed values, so a
+   * document holding an array, or a value of another JSON type than the mapping such as "5" in a
+   * long field, is filtered out when one of its indexed values is in the second table.
+   *
+   * @return field type, or null if the field can't be filtered by terms.
+   */
+  private String termsFieldType(String[] indices, String field) {
+    Set<String> types = new HashSet<>();
+    try {
+      for (FieldMappings mappings :
+          LocalClusterState.state().getFieldMappings(indices).allMappings()) {
+        Map<String, Object> mapping = mappings.mapping(field);
+        if (mapping == null || mapping.containsKey("normalizer")) {
+          return null;
+        }
+        types.add(String.valueOf(mapping.get("type")));
+      }
+    } catch (RuntimeException e) {
+      LOG.debug(
+          "Failed to read the mappings of {}, minus is not filtered by terms",
+          Arrays.toString(indices),
+          e);
+      return null;
+    }
+    if (types.size() != 1) {
+      return null;
+    }
+    String type = types.iterator().next();
+    return termRange(type) != null || "keyword".equals(type) ? type : null;
+  }
+
+  /** Whether the value of the second table is a term of the given type, in its range. */
+  private static boolean isTermOf(String type, Object value) {
+    if ("keyword".equals(type)) {
+      return value instanceof String;
+    }
+    if (!(value instanceof Integer || value instanceof Long)) {
+      return false;
+    }
+    long[] range = termRange(type);
+    long number = ((Number) value).longValue();
+    return number >= range[0] && number <= range[1];
+  }
+
+  /** Range of the values of an integral numeric type, or null for the other types. */
+  private static long[] termRange(String type) {
+    switch (type) {
+      case "byte":
+        return new long[] {Byte.MIN_VALUE, Byte.MAX_VALUE};
+      case "short":
+        return new long[] {Short.MIN_VALUE, Short.MAX_VALUE};
+      case "integer":
+        return new long[] {Integer.MIN_VALUE, Integer.MAX_VALUE};
+      case "long":
+        return new long[] {Long.MIN_VALUE, Long.MAX_VALUE};
+      default:
+        return null;
+    }
+  }
+
+  private void fillKeysFromHits(
+      String[] fieldsOrder, SearchHit[] hits, Set<String> keysToFill, Set<Object> valuesToFill) {
+    for (SearchHit hit : hits) {
+      Map<String, Object> hitAsMap = hit.getSourceAsMap();
+      String key = ComperableHitResult.encodeKey(hitAsMap, fieldsOrder);
+      if (key != null && keysToFill.add(key) && fieldsOrder.length == 1) {
+        valuesToFill.add(Util.deepSearchInMap(hitAsMap, fieldsOrder[0]));
+      }
+    }
+  }
+
+  private void removeValuesFromMapAccordingToHits(
+      String[] fieldsOrder, Map<String, ComperableHitResult> mapToRemoveFrom, SearchHit[] hits) {
     for (SearchHit hit : hits) {
-      ComperableHitResult comperableHitResult =
-          new ComperableHitResult(hit, fieldsOrder, this.seperator);
-      if (!comperableHitResult.isAllNull()) {
-        set.remove(comperableHitResult);
+      String key = ComperableHitResult.encodeKey(hit.getSourceAsMap(), fieldsOrder);
+      if (key != null) {
+        mapToRemoveFrom.remove(key);
       }
     }
   }
 
-  private void fillComperableSetFromHits(
-      String[] fieldsOrder, SearchHit[] hits, Set<ComperableHitResult> setToFill) {
+  private void fillComperableMapFromHits(
+      String[] fieldsOrder,
+      SearchHit[] hits,
+      Set<String> keysToSkip,
+      Map<String, ComperableHitResult> mapToFill) {
     for (SearchHit hit : hits) {
-      ComperableHitResult comperableHitResult =
-          new ComperableHitResult(hit, fieldsOrder, this.seperator);
-      if (!comperableHitResult.isAllNull()) {
-        setToFill.add(comperableHitResult);
+      String key = ComperableHitResult.encodeKey(hit.getSourceAsMap(), fieldsOrder);
+      if (key != null && !keysToSkip.contains(key) && !mapToFill.containsKey(key)) {
+        mapToFill.put(key, new ComperableHitResult(hit, fieldsOrder));
       }
     }
   }
 
+  private void checkMemoryHealth() {
+    if (!BackOffRetryStrategy.isHealthy()) {
+      throw new IllegalStateException("Memory circuit is broken");
+    }
+  }
+
   private String getFieldName(Field field) {
     String alias = field.getAlias();
     if (alias != null && !alias.isEmpty()) {
@@ -12,12 +12,12 @@ import java.util.List;
 import java.util.Map;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.TotalHits.Relation;
-import org.opensearch.action.search.SearchResponse;
 import org.opensearch.common.document.DocumentField;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.sql.legacy.executor.ElasticHitsExecutor;
+import org.opensearch.sql.legacy.query.join.BackOffRetryStrategy;
 import org.opensearch.sql.legacy.query.multi.MultiQueryRequestBuilder;
 import org.opensearch.sql.legacy.utils.Util;
 import org.opensearch.transport.client.Client;
@@ -37,15 +37,17 @@ public class UnionExecutor extends ElasticHitsExecutor {
 
   @Override
   public void run() {
-    SearchResponse firstResponse = this.multiQueryBuilder.getFirstSearchRequest().get();
-    SearchHit[] hits = firstResponse.getHits().getHits();
-    List<SearchHit> unionHits = new ArrayList<>(hits.length);
+    // the hits of each side are copied as soon as they are fetched, so that the first response
+    // can be collected before the second one is fetched.
+    SearchHit[] hits = this.multiQueryBuilder.getFirstSearchRequest().get().getHits().getHits();
+    ArrayList<SearchHit> unionHits = new ArrayList<>(hits.length);
     fillInternalSearchHits(unionHits, hits, this.multiQueryBuilder.getFirstTableFieldToAlias());
-    SearchResponse secondResponse = this.multiQueryBuilder.getSecondSearchRequest().get();
-    fillInternalSearchHits(
-        unionHits,
-        secondResponse.getHits().getHits(),
-        this.multiQueryBuilder.getSecondTableFieldToAlias());
+    if (!BackOffRetryStrategy.isHealthy()) {
+      throw new IllegalStateException("Memory circuit is broken");
+    }
+    hits = this.multiQueryBuilder.getSecondSearchRequest().get().getHits().getHits();
+    unionHits.ensureCapacity(unionHits.size() + hits.length);
+    fillInternalSearchHits(unionHits, hits, this.multiQueryBuilder.getSecondTableFieldToAlias());
     int totalSize = unionHits.size();
     SearchHit[] unionHitsArr = unionHits.toArray(new SearchHit[totalSize]);
     this.results = new SearchHits(unionHitsArr, new TotalHits(totalSize, Relation.EQUAL_TO), 1.0f);
@@ -6,6 +6,8 @@
 package org.opensearch.sql.legacy.metrics;
 
 import org.opensearch.sql.legacy.query.join.BackOffRetryStrategy;
+import org.opensearch.sql.opensearch.client.PitManager;
+import org.opensearch.sql.opensearch.executor.QueryResultCache;
 
 public class MetricFactory {
 
@@ -19,6 +21,22 @@ public class MetricFactory {
         return new NumericMetric<>(name.getName(), new BasicCounter());
       case CIRCUIT_BREAKER:
         return new GaugeMetric<>(name.getName(), BackOffRetryStrategy.GET_CB_STATE);
+      case QUERY_RESULT_CACHE_HIT_COUNT:
+        return new GaugeMetric<>(name.getName(), QueryResultCache.METRICS::getHitCount);
+      case QUERY_RESULT_CACHE_MISS_COUNT:
+        return new GaugeMetric<>(name.getName(), QueryResultCache.METRICS::getMissCount);
+      case QUERY_RESULT_CACHE_HIT_RATIO:
+        return new GaugeMetric<>(name.getName(), QueryResultCache.METRICS::getHitRatio);
+      case QUERY_RESULT_CACHE_EVICTION_COUNT:
+        return new GaugeMetric<>(name.getName(), QueryResultCache.METRICS::getEvictionCount);
+      case QUERY_RESULT_CACHE_BYPASS_COUNT:
+        return new GaugeMetric<>(name.getName(), QueryResultCache.METRICS::getBypassCount);
+      case PIT_CREATED_COUNT:
+        return new GaugeMetric<>(name.getName(), PitManager.METRICS::getCreatedCount);
+      case PIT_REUSED_COUNT:
+        return new GaugeMetric<>(name.getName(), PitManager.METRICS::getReusedCount);
+      case PIT_LEAKED_COUNT:
+        return new GaugeMetric<>(name.getName(), PitManager.METRICS::getLeakedCount);
       case REQ_COUNT_TOTAL:
       case DEFAULT_CURSOR_REQUEST_COUNT_TOTAL:
       case FAILED_REQ_COUNT_CUS:
@@ -48,7 +48,15 @@ public enum MetricName {
   EMR_STREAMING_QUERY_JOBS_CREATION_COUNT("emr_streaming_jobs_creation_count"),
   EMR_INTERACTIVE_QUERY_JOBS_CREATION_COUNT("emr_interactive_jobs_creation_count"),
   EMR_BATCH_QUERY_JOBS_CREATION_COUNT("emr_batch_jobs_creation_count"),
-  STREAMING_JOB_HOUSEKEEPER_TASK_FAILURE_COUNT("streaming_job_housekeeper_task_failure_count");
+  STREAMING_JOB_HOUSEKEEPER_TASK_FAILURE_COUNT("streaming_job_housekeeper_task_failure_count"),
+  QUERY_RESULT_CACHE_HIT_COUNT("query_result_cache_hit_count"),
+  QUERY_RESULT_CACHE_MISS_COUNT("query_result_cache_miss_count"),
+  QUERY_RESULT_CACHE_HIT_RATIO("query_result_cache_hit_ratio"),
+  QUERY_RESULT_CACHE_EVICTION_COUNT("query_result_cache_eviction_count"),
+  QUERY_RESULT_CACHE_BYPASS_COUNT("query_result_cache_bypass_count"),
+  PIT_CREATED_COUNT("pit_created_count"),
+  PIT_REUSED_COUNT("pit_reused_count"),
+  PIT_LEAKED_COUNT("pit_leaked_count");
 
   private final String name;
 
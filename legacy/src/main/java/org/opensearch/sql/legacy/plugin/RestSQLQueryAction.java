@@ -9,17 +9,20 @@ import static org.opensearch.core.rest.RestStatus.OK;
 import static org.opensearch.sql.executor.ExecutionEngine.QueryResponse;
 import static org.opensearch.sql.protocol.response.format.JsonResponseFormatter.Style.PRETTY;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.function.BiConsumer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.common.inject.Injector;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.BytesRestResponse;
 import org.opensearch.rest.RestChannel;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.sql.common.antlr.SyntaxCheckException;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.common.response.ResponseListener;
 import org.opensearch.sql.common.utils.QueryContext;
 import org.opensearch.sql.exception.UnsupportedCursorRequestException;
@@ -28,6 +31,7 @@ import org.opensearch.sql.legacy.metrics.MetricName;
 import org.opensearch.sql.legacy.metrics.Metrics;
 import org.opensearch.sql.opensearch.security.SecurityAccess;
 import org.opensearch.sql.protocol.response.QueryResult;
+import org.opensearch.sql.protocol.response.format.ArrowResponseFormatter;
 import org.opensearch.sql.protocol.response.format.CommandResponseFormatter;
 import org.opensearch.sql.protocol.response.format.CsvResponseFormatter;
 import org.opensearch.sql.protocol.response.format.Format;
@@ -169,6 +173,9 @@ public class RestSQLQueryAction extends BaseRestHandler {
       SQLQueryRequest request,
       BiConsumer<RestChannel, Exception> errorHandler) {
     Format format = request.format();
+    if (format.equals(Format.ARROW) && !request.isCursorCloseRequest()) {
+      return createArrowResponseListener(channel, errorHandler);
+    }
     ResponseFormatter<QueryResult> formatter;
 
     if (request.isCursorCloseRequest()) {
@@ -183,12 +190,50 @@ public class RestSQLQueryAction extends BaseRestHandler {
     return new ResponseListener<QueryResponse>() {
       @Override
       public void onResponse(QueryResponse response) {
-        sendResponse(
-            channel,
-            OK,
-            formatter.format(
-                new QueryResult(response.getSchema(), response.getResults(), response.getCursor())),
-            formatter.contentType());
+        // Write to the channel buffer directly instead of formatting the whole response to string
+        BytesStreamOutput content = channel.bytesOutput();
+        QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.FORMAT);
+        event.begin();
+        try {
+          formatter.format(
+              new QueryResult(response.getSchema(), response.getResults(), response.getCursor()),
+              content);
+        } catch (IOException e) {
+          onFailure(e);
+          return;
+        } finally {
+          event.finish();
+        }
+        channel.sendResponse(new BytesRestResponse(OK, formatter.contentType(), content.bytes()));
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        errorHandler.accept(channel, e);
+      }
+    };
+  }
+
+  private ResponseListener<QueryResponse> createArrowResponseListener(
+      RestChannel channel, BiConsumer<RestChannel, Exception> errorHandler) {
+    ArrowResponseFormatter formatter = new ArrowResponseFormatter();
+    return new ResponseListener<QueryResponse>() {
+      @Override
+      public void onResponse(QueryResponse response) {
+        BytesStreamOutput content = channel.bytesOutput();
+        QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.FORMAT);
+        event.begin();
+        try {
+          formatter.format(
+              new QueryResult(response.getSchema(), response.getResults(), response.getCursor()),
+              content);
+        } catch (IOException e) {
+          onFailure(e);
+          return;
+        } finally {
+          event.finish();
+        }
+        channel.sendResponse(new BytesRestResponse(OK, formatter.contentType(), content.bytes()));
       }
 
       @Override
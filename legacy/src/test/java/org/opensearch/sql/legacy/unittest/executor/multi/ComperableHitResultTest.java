@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.legacy.unittest.executor.multi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.opensearch.sql.legacy.executor.multi.ComperableHitResult;
+
+public class ComperableHitResultTest {
+
+  private static final String[] ONE_FIELD = {"name"};
+
+  private static final String[] TWO_FIELDS = {"a", "b"};
+
+  @Test
+  public void encodeKeyPrefixesEachValueByItsLength() {
+    assertEquals("3:abc", ComperableHitResult.encodeKey(source("name", "abc"), ONE_FIELD));
+    assertEquals(
+        "2:x|1:y", ComperableHitResult.encodeKey(source("a", "x|", "b", "y"), TWO_FIELDS));
+  }
+
+  @Test
+  public void encodeKeyDoesNotCollideOnSeparatorsInValues() {
+    assertNotEquals(
+        ComperableHitResult.encodeKey(source("a", "x|y", "b", "z"), TWO_FIELDS),
+        ComperableHitResult.encodeKey(source("a", "x", "b", "y|z"), TWO_FIELDS));
+    assertNotEquals(
+        ComperableHitResult.encodeKey(source("a", "1:x", "b", "y"), TWO_FIELDS),
+        ComperableHitResult.encodeKey(source("a", "1", "b", "x1:y"), TWO_FIELDS));
+  }
+
+  @Test
+  public void encodeKeyTellsNullFromItsPlaceholder() {
+    assertEquals("-1:x", ComperableHitResult.encodeKey(source("a", null, "b", "x"), TWO_FIELDS));
+    assertEquals("1:-1:x", ComperableHitResult.encodeKey(source("a", "-", "b", "x"), TWO_FIELDS));
+  }
+
+  @Test
+  public void encodeKeyOfAllNullValuesIsNull() {
+    assertNull(ComperableHitResult.encodeKey(source("a", null, "b", null), TWO_FIELDS));
+    assertNull(ComperableHitResult.encodeKey(new HashMap<>(), ONE_FIELD));
+  }
+
+  @Test
+  public void encodeKeyComparesValuesByTheirString() {
+    assertEquals("1:5", ComperableHitResult.encodeKey(source("name", 5), ONE_FIELD));
+    assertEquals("1:5", ComperableHitResult.encodeKey(source("name", "5"), ONE_FIELD));
+    assertEquals("3:5.0", ComperableHitResult.encodeKey(source("name", 5.0), ONE_FIELD));
+    assertEquals(
+        "6:[a, b]", ComperableHitResult.encodeKey(source("name", List.of("a", "b")), ONE_FIELD));
+  }
+
+  @Test
+  public void encodeKeyOfNestedField() {
+    Map<String, Object> source = source("address", source("city", "Seattle"));
+    assertEquals(
+        "7:Seattle", ComperableHitResult.encodeKey(source, new String[] {"address.city"}));
+  }
+
+  private static Map<String, Object> source(Object... keyValues) {
+    Map<String, Object> source = new HashMap<>();
+    for (int i = 0; i < keyValues.length; i += 2) {
+      source.put((String) keyValues[i], keyValues[i + 1]);
+    }
+    return source;
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.legacy.unittest.executor.multi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.TotalHits.Relation;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.opensearch.action.search.CreatePitAction;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.CreatePitResponse;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.DeletePitResponse;
+import org.opensearch.action.search.SearchAction;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchRequestBuilder;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.common.action.ActionFuture;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.legacy.domain.Field;
+import org.opensearch.sql.legacy.domain.From;
+import org.opensearch.sql.legacy.domain.Select;
+import org.opensearch.sql.legacy.domain.hints.Hint;
+import org.opensearch.sql.legacy.domain.hints.HintType;
+import org.opensearch.sql.legacy.esdomain.LocalClusterState;
+import org.opensearch.sql.legacy.executor.multi.MinusExecutor;
+import org.opensearch.sql.legacy.query.multi.MultiQueryRequestBuilder;
+import org.opensearch.sql.opensearch.setting.OpenSearchSettings;
+import org.opensearch.transport.client.Client;
+
+/** Runs MINUS of two tables, whose search requests return the hits given to them. */
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class MinusExecutorTest {
+
+  @Mock private Client client;
+
+  @Mock private OpenSearchSettings settings;
+
+  @Mock private MultiQueryRequestBuilder builder;
+
+  @Mock private SearchRequestBuilder firstRequest;
+
+  @Mock private SearchRequestBuilder secondRequest;
+
+  @Mock private ActionFuture<CreatePitResponse> createPitFuture;
+
+  @Mock private ActionFuture<DeletePitResponse> deletePitFuture;
+
+  @Before
+  public void setUp() throws Exception {
+    doReturn(Collections.emptyList()).when(settings).getSettings();
+    when(settings.getSettingValue(Settings.Key.SQL_CURSOR_KEEP_ALIVE))
+        .thenReturn(new TimeValue(10000));
+    LocalClusterState.state().setPluginSettings(settings);
+
+    CreatePitResponse createPitResponse = mock(CreatePitResponse.class);
+    when(createPitResponse.getId()).thenReturn("pit");
+    when(createPitFuture.get()).thenReturn(createPitResponse);
+    DeletePitResponse deletePitResponse = mock(DeletePitResponse.class);
+    when(deletePitResponse.status()).thenReturn(RestStatus.OK);
+    when(deletePitFuture.get()).thenReturn(deletePitResponse);
+    when(client.execute(any(CreatePitAction.class), any(CreatePitRequest.class)))
+        .thenReturn(createPitFuture);
+    when(client.execute(any(DeletePitAction.class), any(DeletePitRequest.class)))
+        .thenReturn(deletePitFuture);
+
+    when(builder.getFirstSearchRequest()).thenReturn(firstRequest);
+    when(builder.getSecondSearchRequest()).thenReturn(secondRequest);
+    when(builder.getFirstTableFieldToAlias()).thenReturn(Collections.emptyMap());
+    when(builder.getSecondTableFieldToAlias()).thenReturn(Collections.emptyMap());
+    // text fields are never filtered by terms
+    mapping("name", Map.of("type", "text"));
+  }
+
+  @Test
+  public void minusComparesValuesExactly() throws Exception {
+    selects("name");
+    hits(
+        firstRequest,
+        "{\"name\":\"abc\"}",
+        "{\"name\":\"ABC\"}",
+        "{\"name\":\"2024-01-01\"}",
+        "{\"name\":\"5\"}");
+    hits(
+        secondRequest,
+        "{\"name\":\"abc\"}",
+        "{\"name\":\"2024-01-01T00:00:00\"}",
+        "{\"name\":5.0}");
+
+    assertEquals(Arrays.asList("ABC", "2024-01-01", "5"), values(run(), "name"));
+    // the first table is searched as it is, without a filter built from the second table
+    verify(firstRequest).get();
+  }
+
+  @Test
+  public void minusKeepsMultiValuedHitsOfFirstTable() throws Exception {
+    selects("name");
+    hits(firstRequest, "{\"name\":[\"a\",\"b\"]}", "{\"name\":\"c\"}");
+    hits(secondRequest, "{\"name\":\"a\"}", "{\"name\":\"c\"}");
+
+    assertEquals(List.of(List.of("a", "b")), values(run(), "name"));
+  }
+
+  @Test
+  public void minusComparesAllFields() throws Exception {
+    selects("name", "age");
+    hits(
+        firstRequest,
+        "{\"name\":\"a\",\"age\":1}",
+        "{\"name\":\"a\",\"age\":2}",
+        "{\"name\":\"a\",\"age\":2}");
+    hits(secondRequest, "{\"name\":\"a\",\"age\":1}");
+
+    SearchHits result = run();
+    assertEquals(Arrays.asList("a"), values(result, "name"));
+    assertEquals(Arrays.asList(2), values(result, "age"));
+  }
+
+  @Test
+  public void minusWithScrollingStreamsFirstTableAgainstSecondTableKeys() throws Exception {
+    // limits below a page stop each table after its first page
+    selects("name")
+        .getHints()
+        .add(new Hint(HintType.MINUS_FETCH_AND_RESULT_LIMITS, new Object[] {1, 1, 100}));
+    hits(
+        firstRequest,
+        "{\"name\":\"a\"}",
+        "{\"name\":\"b\"}",
+        "{\"name\":\"c\"}",
+        "{\"name\":\"d\"}");
+    hits(secondRequest, "{\"name\":\"b\"}", "{\"name\":\"c\"}");
+
+    assertEquals(Arrays.asList("a", "d"), values(run(), "name"));
+    verify(firstRequest).setSize(100);
+    verify(secondRequest).setSize(100);
+  }
+
+  @Test
+  public void minusFiltersFirstTableByKeywordTerms() throws Exception {
+    mapping("name", Map.of("type", "keyword"));
+    selects("name");
+    hits(secondRequest, "{\"name\":\"a\"}", "{\"name\":\"c\"}", "{\"name\":[\"d\"]}");
+    // the filtered search still returns a hit of the second table, which is removed by its key
+    filteredHits("{\"name\":\"b\"}", "{\"name\":\"c\"}");
+
+    assertEquals(Arrays.asList("b"), values(run(), "name"));
+    verify(firstRequest, never()).get();
+    String query = filteredSearch().source().query().toString().replaceAll("\\s", "");
+    assertTrue(query.contains("must_not"));
+    assertTrue(query.contains("\"a\""));
+    assertTrue(query.contains("\"c\""));
+    assertFalse(query.contains("\"d\""));
+  }
+
+  @Test
+  public void minusDoesNotFilterKeywordWithNormalizerByTerms() throws Exception {
+    mapping("name", Map.of("type", "keyword", "normalizer", "lowercase"));
+    selects("name");
+    hits(firstRequest, "{\"name\":\"abc\"}", "{\"name\":\"ABC\"}");
+    hits(secondRequest, "{\"name\":\"abc\"}");
+
+    assertEquals(Arrays.asList("ABC"), values(run(), "name"));
+    verify(firstRequest).get();
+  }
+
+  @Test
+  public void minusFiltersIntegerFieldByValuesInItsRange() throws Exception {
+    mapping("age", Map.of("type", "integer"));
+    selects("age");
+    hits(secondRequest, "{\"age\":1}", "{\"age\":2.5}", "{\"age\":5000000000}");
+    filteredHits("{\"age\":3}");
+
+    assertEquals(Arrays.asList(3), values(run(), "age"));
+    String query = filteredSearch().source().query().toString().replaceAll("\\s", "");
+    assertTrue(query.contains("must_not"));
+    assertTrue(query.contains("\"age\":[1]"));
+    assertFalse(query.contains("5000000000"));
+  }
+
+  @Test
+  public void minusDoesNotFilterByTermsWithoutIntegralValues() throws Exception {
+    mapping("age", Map.of("type", "long"));
+    selects("age");
+    hits(firstRequest, "{\"age\":1}", "{\"age\":2}");
+    hits(secondRequest, "{\"age\":\"1\"}", "{\"age\":2.0}");
+
+    assertEquals(Arrays.asList(1, 2), values(run(), "age"));
+    verify(firstRequest).get();
+  }
+
+  /** Maps the field of the first table to the given mapping in the cluster state. */
+  private static void mapping(String field, Map<String, Object> fieldMapping) {
+    Client mappingClient = mock(Client.class, Mockito.RETURNS_DEEP_STUBS);
+    when(mappingClient
+            .admin()
+            .indices()
+            .prepareGetMappings(any(String[].class))
+            .setLocal(anyBoolean())
+            .setIndicesOptions(any())
+            .execute()
+            .actionGet(anyLong(), any())
+            .mappings())
+        .thenReturn(
+            Map.of(
+                "first",
+                new MappingMetadata("_doc", Map.of("properties", Map.of(field, fieldMapping)))));
+    LocalClusterState.state().setClient(mappingClient);
+  }
+
+  /** Returns the hits from the search of the first table built with a terms filter. */
+  @SuppressWarnings("unchecked")
+  private void filteredHits(String... sources) {
+    ActionFuture<SearchResponse> future = mock(ActionFuture.class);
+    when(future.actionGet()).thenReturn(response(sources));
+    when(client.execute(eq(SearchAction.INSTANCE), any(SearchRequest.class))).thenReturn(future);
+  }
+
+  /** The search of the first table built with a terms filter. */
+  private SearchRequest filteredSearch() {
+    ArgumentCaptor<SearchRequest> search = ArgumentCaptor.forClass(SearchRequest.class);
+    verify(client).execute(eq(SearchAction.INSTANCE), search.capture());
+    return search.getValue();
+  }
+
+  /** Selects the fields from the first and the second table, returns the first select. */
+  private Select selects(String... fields) {
+    Select first = select("first", fields);
+    when(builder.getOriginalSelect(true)).thenReturn(first);
+    when(builder.getOriginalSelect(false)).thenReturn(select("second", fields));
+    return first;
+  }
+
+  private static Select select(String index, String... fields) {
+    Select select = new Select();
+    select.getFrom().add(new From(index));
+    for (String field : fields) {
+      select.addField(new Field(field, null));
+    }
+    return select;
+  }
+
+  private static void hits(SearchRequestBuilder request, String... sources) {
+    SearchResponse response = response(sources);
+    when(request.get()).thenReturn(response);
+  }
+
+  private static SearchResponse response(String... sources) {
+    SearchHit[] hits = new SearchHit[sources.length];
+    for (int i = 0; i < sources.length; i++) {
+      hits[i] = new SearchHit(i);
+      hits[i].sourceRef(new BytesArray(sources[i]));
+    }
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getHits())
+        .thenReturn(new SearchHits(hits, new TotalHits(hits.length, Relation.EQUAL_TO), 1.0f));
+    return response;
+  }
+
+  private SearchHits run() throws Exception {
+    MinusExecutor executor = new MinusExecutor(client, builder);
+    executor.run();
+    return executor.getHits();
+  }
+
+  private static List<Object> values(SearchHits hits, String field) {
+    return Arrays.stream(hits.getHits())
+        .map(hit -> hit.getSourceAsMap().get(field))
+        .collect(Collectors.toList());
+  }
+}
@@ -9,9 +9,11 @@ import java.util.List;
 import java.util.Map;
 import org.opensearch.action.search.CreatePitRequest;
 import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.sql.opensearch.mapping.IndexMapping;
 import org.opensearch.sql.opensearch.request.OpenSearchRequest;
 import org.opensearch.sql.opensearch.response.OpenSearchResponse;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
 import org.opensearch.transport.client.node.NodeClient;
 
 /**
@@ -54,6 +56,28 @@ public interface OpenSearchClient {
    */
   Map<String, Integer> getIndexMaxResultWindows(String... indexExpression);
 
+  /**
+   * Fetch the refresh state of the indices matching the index expression given. The state of an
+   * index changes whenever a refresh makes new changes visible to search, and when the index is
+   * recreated.
+   *
+   * @param indexExpression index expression
+   * @return map from index name to its refresh state
+   */
+  Map<String, String> getIndexRefreshStates(String... indexExpression);
+
+  /**
+   * Collect statistics of the indices for cost estimation: the number of documents and, for the
+   * fields given, the approximate number of distinct values and the range of values.
+   *
+   * @param indexExpression index expression
+   * @param distinctFields aggregatable fields to estimate the number of distinct values of
+   * @param rangeFields numeric and date fields to get the range of
+   * @return index statistics
+   */
+  IndexStatistics getIndexStatistics(
+      String[] indexExpression, List<String> distinctFields, List<String> rangeFields);
+
   /**
    * Perform search query in the search request.
    *
@@ -107,6 +131,18 @@ public interface OpenSearchClient {
    */
   String createPit(CreatePitRequest createPitRequest);
 
+  /**
+   * Create PIT for given indices, or reuse the PIT created for the same indices within the reuse
+   * window. The PIT must only be used by a query reading all its pages on this node.
+   *
+   * @param createPitRequest Create Point In Time request
+   * @param reuseWindow how long after its creation a PIT can be reused
+   * @return PitId
+   */
+  default String createPit(CreatePitRequest createPitRequest, TimeValue reuseWindow) {
+    return createPit(createPitRequest);
+  }
+
   /**
    * Delete PIT
    *
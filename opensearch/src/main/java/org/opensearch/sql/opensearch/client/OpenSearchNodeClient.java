@@ -23,16 +23,22 @@ import org.opensearch.action.admin.indices.exists.indices.IndicesExistsResponse;
 import org.opensearch.action.admin.indices.get.GetIndexResponse;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.opensearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.opensearch.action.admin.indices.stats.IndexStats;
+import org.opensearch.action.admin.indices.stats.IndicesStatsResponse;
 import org.opensearch.action.search.*;
 import org.opensearch.cluster.metadata.AliasMetadata;
 import org.opensearch.common.action.ActionFuture;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.IndexSettings;
+import org.opensearch.sql.common.jfr.PitEvent;
 import org.opensearch.sql.opensearch.mapping.IndexMapping;
+import org.opensearch.sql.opensearch.mapping.IndexSchemaCache;
 import org.opensearch.sql.opensearch.request.OpenSearchRequest;
 import org.opensearch.sql.opensearch.request.OpenSearchScrollRequest;
 import org.opensearch.sql.opensearch.response.OpenSearchResponse;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
 import org.opensearch.transport.client.node.NodeClient;
 
 /** OpenSearch connection by node client. */
@@ -41,6 +47,9 @@ public class OpenSearchNodeClient implements OpenSearchClient {
   public static final Function<String, Predicate<String>> ALL_FIELDS =
       (anyIndex -> (anyField -> true));
 
+  /** Thread context transient holding the user of the request when security is installed. */
+  private static final String SECURITY_USER_INFO = "_opendistro_security_user_info";
+
   /** Node client provided by OpenSearch container. */
   private final NodeClient client;
 
@@ -95,7 +104,10 @@ public class OpenSearchNodeClient implements OpenSearchClient {
       return mappingsResponse.mappings().entrySet().stream()
           .collect(
               Collectors.toUnmodifiableMap(
-                  Map.Entry::getKey, cursor -> new IndexMapping(cursor.getValue())));
+                  Map.Entry::getKey,
+                  cursor ->
+                      IndexSchemaCache.getInstance()
+                          .getMapping(cursor.getKey(), cursor.getValue())));
     } catch (IndexNotFoundException | OpenSearchSecurityException e) {
       // Re-throw directly to be treated as client error finally
       throw e;
@@ -113,6 +125,12 @@ public class OpenSearchNodeClient implements OpenSearchClient {
    */
   @Override
   public Map<String, Integer> getIndexMaxResultWindows(String... indexExpression) {
+    return IndexSchemaCache.getInstance()
+        .getMaxResultWindows(
+            currentUser(), indexExpression, () -> fetchIndexMaxResultWindows(indexExpression));
+  }
+
+  private Map<String, Integer> fetchIndexMaxResultWindows(String... indexExpression) {
     try {
       GetSettingsResponse settingsResponse =
           client.admin().indices().prepareGetSettings(indexExpression).setLocal(true).get();
@@ -135,6 +153,82 @@ public class OpenSearchNodeClient implements OpenSearchClient {
     }
   }
 
+  /**
+   * Get the user of the request, to keep what is cached or shared for a user from the others.
+   *
+   * @return user of the request, empty if security is not installed.
+   */
+  public String currentUser() {
+    Object user = client.threadPool().getThreadContext().getTransient(SECURITY_USER_INFO);
+    return user == null ? "" : user.toString();
+  }
+
+  /**
+   * Get the refresh state of the indices from their refresh and flush statistics. Scheduled
+   * refreshes only run when a shard has pending changes, so the totals stay the same as long as
+   * what is visible to search does.
+   *
+   * @param indexExpression index expression
+   * @return map from index name to its uuid, number of shard copies, refresh and flush totals
+   */
+  @Override
+  public Map<String, String> getIndexRefreshStates(String... indexExpression) {
+    try {
+      IndicesStatsResponse statsResponse =
+          client
+              .admin()
+              .indices()
+              .prepareStats(indexExpression)
+              .clear()
+              .setRefresh(true)
+              .setFlush(true)
+              .get();
+      ImmutableMap.Builder<String, String> result = ImmutableMap.builder();
+      for (Map.Entry<String, IndexStats> indexStats : statsResponse.getIndices().entrySet()) {
+        IndexStats stats = indexStats.getValue();
+        result.put(
+            indexStats.getKey(),
+            String.join(
+                "/",
+                stats.getUuid(),
+                String.valueOf(stats.getShards().length),
+                String.valueOf(stats.getTotal().getRefresh().getTotal()),
+                String.valueOf(stats.getTotal().getFlush().getTotal())));
+      }
+      return result.build();
+    } catch (OpenSearchSecurityException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          "Failed to read refresh stats for index pattern ["
+              + String.join(",", indexExpression)
+              + "]",
+          e);
+    }
+  }
+
+  @Override
+  public IndexStatistics getIndexStatistics(
+      String[] indexExpression, List<String> distinctFields, List<String> rangeFields) {
+    try {
+      SearchResponse response =
+          client
+              .search(
+                  new SearchRequest(indexExpression)
+                      .source(IndexStatistics.searchSource(distinctFields, rangeFields)))
+              .actionGet(IndexStatistics.COLLECT_TIMEOUT);
+      return IndexStatistics.fromResponse(response, distinctFields, rangeFields);
+    } catch (OpenSearchSecurityException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(
+          "Failed to collect statistics for index pattern ["
+              + String.join(",", indexExpression)
+              + "]",
+          e);
+    }
+  }
+
   /** TODO: Scroll doesn't work for aggregation. Support aggregation later. */
   @Override
   public OpenSearchResponse search(OpenSearchRequest request) {
@@ -187,11 +281,7 @@ public class OpenSearchNodeClient implements OpenSearchClient {
             }
           });
     } else {
-      request.forceClean(
-          pitId -> {
-            DeletePitRequest deletePitRequest = new DeletePitRequest(pitId);
-            deletePit(deletePitRequest);
-          });
+      request.forceClean(pitId -> PitManager.getInstance().release(client, pitId));
     }
   }
 
@@ -208,11 +298,7 @@ public class OpenSearchNodeClient implements OpenSearchClient {
             }
           });
     } else {
-      request.clean(
-          pitId -> {
-            DeletePitRequest deletePitRequest = new DeletePitRequest(pitId);
-            deletePit(deletePitRequest);
-          });
+      request.clean(pitId -> PitManager.getInstance().release(client, pitId));
     }
   }
 
@@ -229,10 +315,14 @@ public class OpenSearchNodeClient implements OpenSearchClient {
 
   @Override
   public String createPit(CreatePitRequest createPitRequest) {
+    PitEvent event = new PitEvent(PitEvent.CREATE);
+    event.indices = String.join(",", createPitRequest.getIndices());
+    event.begin();
     ActionFuture<CreatePitResponse> execute =
         this.client.execute(CreatePitAction.INSTANCE, createPitRequest);
     try {
       CreatePitResponse pitResponse = execute.get();
+      PitManager.METRICS.created();
       return pitResponse.getId();
     } catch (ExecutionException e) {
       if (e.getCause() instanceof OpenSearchSecurityException) {
@@ -243,11 +333,21 @@ public class OpenSearchNodeClient implements OpenSearchClient {
     } catch (InterruptedException e) {
       throw new RuntimeException(
           "Error occurred while creating PIT for internal plugin operation", e);
+    } finally {
+      event.finish();
     }
   }
 
+  @Override
+  public String createPit(CreatePitRequest createPitRequest, TimeValue reuseWindow) {
+    return PitManager.getInstance()
+        .acquire(currentUser(), createPitRequest, reuseWindow, this::createPit);
+  }
+
   @Override
   public void deletePit(DeletePitRequest deletePitRequest) {
+    PitEvent event = new PitEvent(PitEvent.DELETE);
+    event.begin();
     ActionFuture<DeletePitResponse> execute =
         this.client.execute(DeletePitAction.INSTANCE, deletePitRequest);
     try {
@@ -261,6 +361,8 @@ public class OpenSearchNodeClient implements OpenSearchClient {
     } catch (InterruptedException e) {
       throw new RuntimeException(
           "Error occurred while deleting PIT for internal plugin operation", e);
+    } finally {
+      event.finish();
     }
   }
 }
@@ -16,11 +16,16 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.json.JSONObject;
 import org.opensearch.action.admin.cluster.settings.ClusterGetSettingsRequest;
 import org.opensearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.opensearch.action.admin.indices.settings.get.GetSettingsResponse;
 import org.opensearch.action.search.*;
+import org.opensearch.client.Request;
 import org.opensearch.client.RequestOptions;
+import org.opensearch.client.Response;
 import org.opensearch.client.RestHighLevelClient;
 import org.opensearch.client.indices.CreateIndexRequest;
 import org.opensearch.client.indices.GetIndexRequest;
@@ -30,10 +35,12 @@ import org.opensearch.client.indices.GetMappingsResponse;
 import org.opensearch.cluster.metadata.AliasMetadata;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.sql.common.jfr.PitEvent;
 import org.opensearch.sql.opensearch.mapping.IndexMapping;
 import org.opensearch.sql.opensearch.request.OpenSearchRequest;
 import org.opensearch.sql.opensearch.request.OpenSearchScrollRequest;
 import org.opensearch.sql.opensearch.response.OpenSearchResponse;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
 import org.opensearch.transport.client.node.NodeClient;
 
 /**
@@ -140,6 +147,62 @@ public class OpenSearchRestClient implements OpenSearchClient {
         });
   }
 
+  @Override
+  public Map<String, String> getIndexRefreshStates(String... indexExpression) {
+    Request request =
+        new Request("GET", "/" + String.join(",", indexExpression) + "/_stats/refresh,flush");
+    request.addParameter("level", "shards");
+    try {
+      Response response = client.getLowLevelClient().performRequest(request);
+      JSONObject indices =
+          new JSONObject(EntityUtils.toString(response.getEntity())).getJSONObject("indices");
+      ImmutableMap.Builder<String, String> result = ImmutableMap.builder();
+      for (String index : indices.keySet()) {
+        JSONObject stats = indices.getJSONObject(index);
+        JSONObject total = stats.getJSONObject("total");
+        int shardCopies = 0;
+        JSONObject shards = stats.getJSONObject("shards");
+        for (String shard : shards.keySet()) {
+          shardCopies += shards.getJSONArray(shard).length();
+        }
+        result.put(
+            index,
+            String.join(
+                "/",
+                stats.getString("uuid"),
+                String.valueOf(shardCopies),
+                String.valueOf(total.getJSONObject("refresh").getLong("total")),
+                String.valueOf(total.getJSONObject("flush").getLong("total"))));
+      }
+      return result.build();
+    } catch (IOException | ParseException e) {
+      throw new IllegalStateException(
+          "Failed to read refresh stats for index pattern ["
+              + String.join(",", indexExpression)
+              + "]",
+          e);
+    }
+  }
+
+  @Override
+  public IndexStatistics getIndexStatistics(
+      String[] indexExpression, List<String> distinctFields, List<String> rangeFields) {
+    try {
+      SearchResponse response =
+          client.search(
+              new SearchRequest(indexExpression)
+                  .source(IndexStatistics.searchSource(distinctFields, rangeFields)),
+              RequestOptions.DEFAULT);
+      return IndexStatistics.fromResponse(response, distinctFields, rangeFields);
+    } catch (IOException e) {
+      throw new IllegalStateException(
+          "Failed to collect statistics for index pattern ["
+              + String.join(",", indexExpression)
+              + "]",
+          e);
+    }
+  }
+
   /**
    * Get the combination of the indices and the alias.
    *
@@ -242,23 +305,32 @@ public class OpenSearchRestClient implements OpenSearchClient {
 
   @Override
   public String createPit(CreatePitRequest createPitRequest) {
+    PitEvent event = new PitEvent(PitEvent.CREATE);
+    event.indices = String.join(",", createPitRequest.getIndices());
+    event.begin();
     try {
       CreatePitResponse createPitResponse =
           client.createPit(createPitRequest, RequestOptions.DEFAULT);
       return createPitResponse.getId();
     } catch (IOException e) {
       throw new RuntimeException("Error occurred while creating PIT for new engine SQL query", e);
+    } finally {
+      event.finish();
     }
   }
 
   @Override
   public void deletePit(DeletePitRequest deletePitRequest) {
+    PitEvent event = new PitEvent(PitEvent.DELETE);
+    event.begin();
     try {
       DeletePitResponse deletePitResponse =
           client.deletePit(deletePitRequest, RequestOptions.DEFAULT);
     } catch (IOException e) {
       throw new RuntimeException(
           "Error occurred while deleting PIT for internal plugin operation", e);
+    } finally {
+      event.finish();
     }
   }
 }
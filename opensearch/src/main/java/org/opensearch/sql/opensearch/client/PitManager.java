@@ -0,0 +1,259 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.client;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitInfo;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.node.NodeClient;
+
+/**
+ * Node level manager of the point in time (PIT) contexts used by queries.
+ *
+ * <ol>
+ *   <li>PITs are deleted in the background, several at once, instead of blocking the query that
+ *       closes them on a delete request.
+ *   <li>A PIT of a query reading all its pages on this node can be shared by the queries of the
+ *       same user on the same indices starting shortly after, within a reuse window. A shared PIT
+ *       is deleted once the window has passed and no query uses it anymore.
+ * </ol>
+ */
+@Log4j2
+public class PitManager {
+
+  /** Node level PIT counters. */
+  public static final PitMetrics METRICS = new PitMetrics();
+
+  /** Maximum number of PITs deleted by one request. */
+  @VisibleForTesting static final int MAX_DELETE_BATCH_SIZE = 100;
+
+  /** Delay before deleting PITs, to collect the ones closed at about the same time. */
+  @VisibleForTesting static final TimeValue DELETE_DELAY = TimeValue.timeValueMillis(100);
+
+  private static final PitManager INSTANCE = new PitManager();
+
+  /** Shared PIT that new queries can use, by user, keep alive and indices. */
+  private final Map<String, SharedPit> sharedPits = new HashMap<>();
+
+  /** Shared PITs still in use or reusable, by PIT id. */
+  private final Map<String, SharedPit> sharedPitsById = new HashMap<>();
+
+  private final Queue<String> pendingDeletes = new ConcurrentLinkedQueue<>();
+
+  private final AtomicBoolean deleteScheduled = new AtomicBoolean();
+
+  @VisibleForTesting
+  PitManager() {}
+
+  public static PitManager getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get a PIT for a query, reusing the shared PIT of the same user and indices if it was created
+   * within the reuse window. The window is capped at half the keep alive, so that a reused PIT is
+   * not about to expire. PITs are not shared across users, since the documents a user can read in
+   * them depend on the document level security of the user creating them.
+   *
+   * @param user user of the query, empty if security is not installed.
+   * @param request create PIT request.
+   * @param reuseWindow reuse window, a new PIT is always created if zero.
+   * @param create function creating a PIT and returning its id.
+   * @return PIT id.
+   */
+  public String acquire(
+      String user,
+      CreatePitRequest request,
+      TimeValue reuseWindow,
+      Function<CreatePitRequest, String> create) {
+    long window = Math.min(reuseWindow.nanos(), request.getKeepAlive().nanos() / 2);
+    if (window <= 0) {
+      return create.apply(request);
+    }
+    String[] indices = request.getIndices().clone();
+    Arrays.sort(indices);
+    String key = user + "/" + request.getKeepAlive() + "/" + String.join(",", indices);
+    synchronized (this) {
+      SharedPit pit = sharedPits.get(key);
+      if (pit != null && pit.age() < pit.window) {
+        pit.references++;
+        METRICS.reusedCount.increment();
+        return pit.id;
+      }
+    }
+    String pitId = create.apply(request);
+    synchronized (this) {
+      SharedPit pit = new SharedPit(key, pitId, System.nanoTime(), window);
+      sharedPits.put(key, pit);
+      sharedPitsById.put(pitId, pit);
+    }
+    return pitId;
+  }
+
+  /**
+   * Release a PIT a query is done with. The PIT is deleted in the background, unless it is a
+   * shared PIT still in use by another query or still reusable.
+   *
+   * @param client node client to delete the PIT with.
+   * @param pitId PIT id.
+   */
+  public void release(NodeClient client, String pitId) {
+    long reusableNanos = 0;
+    synchronized (this) {
+      SharedPit pit = sharedPitsById.get(pitId);
+      if (pit != null) {
+        if (--pit.references > 0) {
+          return;
+        }
+        reusableNanos = pit.window - pit.age();
+        if (reusableNanos <= 0 || sharedPits.get(pit.key) != pit) {
+          sharedPitsById.remove(pitId);
+          sharedPits.remove(pit.key, pit);
+          reusableNanos = 0;
+        }
+      }
+    }
+    if (reusableNanos > 0) {
+      client
+          .threadPool()
+          .schedule(
+              () -> deleteExpired(client),
+              TimeValue.timeValueNanos(reusableNanos),
+              ThreadPool.Names.GENERIC);
+    } else {
+      pendingDeletes.add(pitId);
+      scheduleDelete(client);
+    }
+  }
+
+  /** Delete the shared PITs no query uses anymore whose reuse window has passed. */
+  private void deleteExpired(NodeClient client) {
+    List<String> expired = new ArrayList<>();
+    synchronized (this) {
+      sharedPitsById
+          .values()
+          .removeIf(
+              pit -> {
+                if (pit.references == 0 && pit.age() >= pit.window) {
+                  sharedPits.remove(pit.key, pit);
+                  expired.add(pit.id);
+                  return true;
+                }
+                return false;
+              });
+    }
+    if (!expired.isEmpty()) {
+      pendingDeletes.addAll(expired);
+      scheduleDelete(client);
+    }
+  }
+
+  private void scheduleDelete(NodeClient client) {
+    if (deleteScheduled.compareAndSet(false, true)) {
+      client
+          .threadPool()
+          .schedule(() -> deletePending(client), DELETE_DELAY, ThreadPool.Names.GENERIC);
+    }
+  }
+
+  @VisibleForTesting
+  void deletePending(NodeClient client) {
+    deleteScheduled.set(false);
+    List<String> batch = new ArrayList<>();
+    for (String pitId = pendingDeletes.poll(); pitId != null; pitId = pendingDeletes.poll()) {
+      batch.add(pitId);
+      if (batch.size() == MAX_DELETE_BATCH_SIZE) {
+        delete(client, batch);
+        batch = new ArrayList<>();
+      }
+    }
+    if (!batch.isEmpty()) {
+      delete(client, batch);
+    }
+  }
+
+  private void delete(NodeClient client, List<String> pitIds) {
+    // The batch may hold PITs of several users, so it is deleted in the plugin's context
+    ThreadContext threadContext = client.threadPool().getThreadContext();
+    try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+      client.execute(
+          DeletePitAction.INSTANCE,
+          new DeletePitRequest(pitIds),
+          ActionListener.wrap(
+              response -> {
+                for (DeletePitInfo info : response.getDeletePitResults()) {
+                  if (!info.isSuccessful()) {
+                    log.warn("Failed to delete PIT {}", info.getPitId());
+                    METRICS.leakedCount.increment();
+                  }
+                }
+              },
+              e -> {
+                log.warn("Failed to delete {} PITs", pitIds.size(), e);
+                METRICS.leakedCount.add(pitIds.size());
+              }));
+    } catch (RuntimeException e) {
+      log.warn("Failed to delete {} PITs", pitIds.size(), e);
+      METRICS.leakedCount.add(pitIds.size());
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class SharedPit {
+    private final String key;
+    private final String id;
+    private final long createdNanos;
+    private final long window;
+    private int references = 1;
+
+    long age() {
+      return System.nanoTime() - createdNanos;
+    }
+  }
+
+  /** Counters of the PITs of the node. */
+  public static class PitMetrics {
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder reusedCount = new LongAdder();
+    private final LongAdder leakedCount = new LongAdder();
+
+    public long getCreatedCount() {
+      return createdCount.sum();
+    }
+
+    /** Number of times a query used a shared PIT instead of creating one. */
+    public long getReusedCount() {
+      return reusedCount.sum();
+    }
+
+    /** Number of PITs that could not be deleted and are left until their keep alive expires. */
+    public long getLeakedCount() {
+      return leakedCount.sum();
+    }
+
+    void created() {
+      createdCount.increment();
+    }
+  }
+}
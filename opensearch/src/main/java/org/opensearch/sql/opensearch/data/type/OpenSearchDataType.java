@@ -7,9 +7,11 @@ package org.opensearch.sql.opensearch.data.type;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -65,6 +67,34 @@ public class OpenSearchDataType implements ExprType, Serializable {
   // resolved ExprCoreType
   @Getter protected ExprCoreType exprCoreType;
 
+  // Whether the doc values of the field are enabled and hold its values as they are indexed
+  @EqualsAndHashCode.Exclude protected boolean exactDocValues = true;
+
+  /** Mapping types whose doc values can be fetched instead of their _source values. */
+  private static final Set<MappingType> DOC_VALUE_TYPES =
+      EnumSet.of(
+          MappingType.Keyword,
+          MappingType.Ip,
+          MappingType.Date,
+          MappingType.DateNanos,
+          MappingType.Byte,
+          MappingType.Short,
+          MappingType.Integer,
+          MappingType.Long,
+          MappingType.Float,
+          MappingType.Double,
+          MappingType.Boolean);
+
+  /**
+   * Whether the values of the field can be fetched from its doc values rather than its _source.
+   * Half and scaled floats are excluded since their doc values are less precise than _source.
+   *
+   * @return true if the doc values hold the same values as _source.
+   */
+  public boolean isDocValueFetchable() {
+    return exactDocValues && mappingType != null && DOC_VALUE_TYPES.contains(mappingType);
+  }
+
   /**
    * Get a simplified type {@link ExprCoreType} if possible. To avoid returning `UNKNOWN` for
    * `OpenSearch*Type`s, e.g. for IP, returns itself. If the `exprCoreType` is {@link
@@ -187,10 +217,29 @@ public class OpenSearchDataType implements ExprType, Serializable {
       case DateNanos:
         // Default date formatter is used when "" is passed as the second parameter
         String format = (String) innerMap.getOrDefault("format", "");
-        return OpenSearchDateType.of(format);
+        OpenSearchDateType dateType = OpenSearchDateType.of(format);
+        dateType.exactDocValues = hasExactDocValues(mappingType, innerMap);
+        return dateType;
       default:
-        return res;
+        if (hasExactDocValues(mappingType, innerMap)) {
+          return res;
+        }
+        OpenSearchDataType inexactType = res.cloneEmpty();
+        inexactType.exactDocValues = false;
+        return inexactType;
+    }
+  }
+
+  /**
+   * Doc values of a field are disabled by `"doc_values": false`. Keyword values are also changed
+   * by a normalizer, and not indexed at all beyond `ignore_above`.
+   */
+  private static boolean hasExactDocValues(MappingType mappingType, Map<String, Object> innerMap) {
+    if ("false".equals(String.valueOf(innerMap.get("doc_values")))) {
+      return false;
     }
+    return mappingType != MappingType.Keyword
+        || !(innerMap.containsKey("normalizer") || innerMap.containsKey("ignore_above"));
   }
 
   /**
@@ -268,9 +317,49 @@ public class OpenSearchDataType implements ExprType, Serializable {
    * @return A cloned object.
    */
   protected OpenSearchDataType cloneEmpty() {
-    return this.mappingType == null
-        ? new OpenSearchDataType(this.exprCoreType)
-        : new OpenSearchDataType(this.mappingType);
+    OpenSearchDataType clone =
+        this.mappingType == null
+            ? new OpenSearchDataType(this.exprCoreType)
+            : new OpenSearchDataType(this.mappingType);
+    clone.exactDocValues = this.exactDocValues;
+    return clone;
+  }
+
+  /**
+   * Copy of the type whose values are not fetched from doc values, used when the same field has
+   * different doc values in the indices of a query.
+   *
+   * @return A type which is not fetchable from doc values.
+   */
+  public OpenSearchDataType withoutDocValueFetch() {
+    if (!isDocValueFetchable()) {
+      return this;
+    }
+    OpenSearchDataType copy = cloneEmpty();
+    copy.exactDocValues = false;
+    return copy;
+  }
+
+  /**
+   * Copy a map of types, down to their nested properties, so that merging other types into the
+   * copy does not change the original types. Every type is copied, including objects whose
+   * properties are still empty, because a merge fills those properties in place.
+   *
+   * @param types A map between field names and their types.
+   * @return A copy of the map.
+   */
+  public static Map<String, OpenSearchDataType> deepCopy(Map<String, OpenSearchDataType> types) {
+    Map<String, OpenSearchDataType> copy = new LinkedHashMap<>();
+    types.forEach(
+        (name, type) -> {
+          OpenSearchDataType typeCopy = type.cloneEmpty();
+          // Singleton types such as geo points have no properties to copy
+          if (typeCopy != type) {
+            typeCopy.properties = deepCopy(type.properties);
+          }
+          copy.put(name, typeCopy);
+        });
+    return copy;
   }
 
   /**
@@ -479,9 +479,11 @@ public class OpenSearchDateType extends OpenSearchDataType {
 
   @Override
   protected OpenSearchDataType cloneEmpty() {
-    if (formats.isEmpty()) {
-      return OpenSearchDateType.of(exprCoreType);
-    }
-    return OpenSearchDateType.of(String.join(" || ", formats));
+    OpenSearchDateType clone =
+        formats.isEmpty()
+            ? OpenSearchDateType.of(exprCoreType)
+            : OpenSearchDateType.of(String.join(" || ", formats));
+    clone.exactDocValues = exactDocValues;
+    return clone;
   }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.data.value;
+
+import static org.opensearch.sql.utils.DateTimeFormatters.STRICT_HOUR_MINUTE_SECOND_FORMATTER;
+import static org.opensearch.sql.utils.DateTimeFormatters.STRICT_YEAR_MONTH_DAY_FORMATTER;
+
+import java.text.ParsePosition;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.common.time.DateFormatter;
+import org.opensearch.common.time.DateFormatters;
+import org.opensearch.common.time.FormatNames;
+import org.opensearch.index.mapper.DateFieldMapper;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprTimeValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDateType;
+import org.opensearch.sql.opensearch.data.utils.Content;
+
+/**
+ * Decodes the values of a date field, with the formatters of its mapping resolved once. String
+ * values are parsed with the first format of the mapping which parses them, as OpenSearch does. A
+ * custom format is only tried once the value matches its pattern, so the custom formats listed
+ * before the one a field is written in fail without throwing an exception per value.
+ */
+class OpenSearchDateDecoder {
+
+  private final ExprCoreType returnFormat;
+
+  /** Whether numbers are epoch times rather than values in a custom format. */
+  private final boolean numericEpoch;
+
+  /** Whether numbers are epoch seconds rather than epoch milliseconds. */
+  private final boolean epochSecond;
+
+  /** Named formatters of the mapping followed by its custom ones. */
+  private final DateFormatter[] formatters;
+
+  /**
+   * Patterns of the custom formatters at the same index, checked before parsing with them. Null for
+   * named formatters, which are parsed right away.
+   */
+  private final DateTimeFormatter[] patterns;
+
+  OpenSearchDateDecoder(OpenSearchDateType dateType) {
+    this.returnFormat = dateType.getExprCoreType();
+    List<DateFormatter> numericFormatters = dateType.getNumericNamedFormatters();
+    this.numericEpoch = !numericFormatters.isEmpty() || !dateType.hasFormats();
+    // no CamelCase for `EPOCH_*` formats
+    this.epochSecond =
+        numericFormatters.contains(
+            DateFormatter.forPattern(FormatNames.EPOCH_SECOND.getSnakeCaseName()));
+    List<DateFormatter> allFormatters = new ArrayList<>(dateType.getAllNamedFormatters());
+    List<DateTimeFormatter> allPatterns = new ArrayList<>();
+    allFormatters.forEach(formatter -> allPatterns.add(null));
+    for (String format : dateType.getAllCustomFormats()) {
+      allFormatters.add(DateFormatter.forPattern(format));
+      allPatterns.add(pattern(format));
+    }
+    this.formatters = allFormatters.toArray(new DateFormatter[0]);
+    this.patterns = allPatterns.toArray(new DateTimeFormatter[0]);
+  }
+
+  /** The pattern of a custom format, or null to always parse with it. */
+  private static DateTimeFormatter pattern(String format) {
+    try {
+      return DateTimeFormatter.ofPattern(format, Locale.ROOT);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /** Whether the whole value matches the pattern, before any field is resolved. */
+  private static boolean matches(DateTimeFormatter pattern, String value) {
+    ParsePosition position = new ParsePosition(0);
+    return pattern.parseUnresolved(value, position) != null
+        && position.getErrorIndex() < 0
+        && position.getIndex() == value.length();
+  }
+
+  ExprValue decode(Content value) {
+    if (value.isNumber()) {
+      if (numericEpoch) {
+        return fromInstant(
+            Instant.ofEpochMilli(epochSecond ? value.longValue() * 1000 : value.longValue()));
+      }
+      // custom format
+      return decode(value.objectValue().toString());
+    }
+    if (value.isString()) {
+      return decode(value.stringValue());
+    }
+    if (value.objectValue() instanceof ZonedDateTime zonedDateTime) {
+      return new ExprTimestampValue(zonedDateTime.withZoneSameLocal(ZoneOffset.UTC).toInstant());
+    }
+    return new ExprTimestampValue((Instant) value.objectValue());
+  }
+
+  /**
+   * Decode a doc value fetched in {@link OpenSearchExprValueFactory#DATE_DOC_VALUE_FORMAT}, an ISO
+   * instant parsed without trying the formatters of the mapping. Other values, such as those of
+   * script fields, are decoded with the formatters of the mapping.
+   *
+   * @param value doc value
+   * @return Parsed value
+   */
+  ExprValue decodeDocValue(String value) {
+    try {
+      return fromInstant(Instant.parse(value));
+    } catch (DateTimeParseException e) {
+      return decode(value);
+    }
+  }
+
+  /**
+   * Parse value with the formatters of the mapping into {@link ExprValue} with corresponding {@link
+   * ExprCoreType}, or with the default formatter if none of them parses it.
+   *
+   * @param value - time as string
+   * @return Parsed value
+   */
+  ExprValue decode(String value) {
+    for (int i = 0; i < formatters.length; i++) {
+      if (patterns[i] != null && !matches(patterns[i], value)) {
+        continue;
+      }
+      try {
+        return fromZonedDateTime(DateFormatters.from(formatters[i].parse(value)));
+      } catch (IllegalArgumentException ignored) {
+        // nothing to do, try another format
+      }
+    }
+
+    // if no formatters are available, try the default formatter
+    try {
+      switch (returnFormat) {
+        case TIME:
+          return new ExprTimeValue(
+              DateFormatters.from(STRICT_HOUR_MINUTE_SECOND_FORMATTER.parse(value)).toLocalTime());
+        case DATE:
+          return new ExprDateValue(
+              DateFormatters.from(STRICT_YEAR_MONTH_DAY_FORMATTER.parse(value)).toLocalDate());
+        default:
+          return new ExprTimestampValue(
+              DateFormatters.from(DateFieldMapper.getDefaultDateTimeFormatter().parse(value))
+                  .toInstant());
+      }
+    } catch (DateTimeParseException | IllegalArgumentException ignored) {
+      // ignored
+    }
+
+    throw new IllegalArgumentException(
+        String.format("Construct %s from \"%s\" failed, unsupported format.", returnFormat, value));
+  }
+
+  private ExprValue fromZonedDateTime(ZonedDateTime zonedDateTime) {
+    ZonedDateTime utc = zonedDateTime.withZoneSameLocal(ZoneOffset.UTC);
+    return switch (returnFormat) {
+      case TIME -> new ExprTimeValue(utc.toLocalTime());
+      case DATE -> new ExprDateValue(utc.toLocalDate());
+      default -> new ExprTimestampValue(utc.toInstant());
+    };
+  }
+
+  private ExprValue fromInstant(Instant instant) {
+    return switch (returnFormat) {
+      case TIME -> new ExprTimeValue(LocalTime.from(instant.atZone(ZoneOffset.UTC)));
+      case DATE -> new ExprDateValue(LocalDate.ofInstant(instant, ZoneOffset.UTC));
+      default -> new ExprTimestampValue(instant);
+    };
+  }
+}
@@ -7,7 +7,6 @@ package org.opensearch.sql.opensearch.data.value;
 
 import static org.opensearch.sql.data.type.ExprCoreType.ARRAY;
 import static org.opensearch.sql.data.type.ExprCoreType.BOOLEAN;
-import static org.opensearch.sql.data.type.ExprCoreType.DATE;
 import static org.opensearch.sql.data.type.ExprCoreType.DOUBLE;
 import static org.opensearch.sql.data.type.ExprCoreType.FLOAT;
 import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
@@ -15,23 +14,13 @@ import static org.opensearch.sql.data.type.ExprCoreType.IP;
 import static org.opensearch.sql.data.type.ExprCoreType.LONG;
 import static org.opensearch.sql.data.type.ExprCoreType.STRING;
 import static org.opensearch.sql.data.type.ExprCoreType.STRUCT;
-import static org.opensearch.sql.data.type.ExprCoreType.TIME;
-import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
-import static org.opensearch.sql.utils.DateTimeFormatters.STRICT_HOUR_MINUTE_SECOND_FORMATTER;
-import static org.opensearch.sql.utils.DateTimeFormatters.STRICT_YEAR_MONTH_DAY_FORMATTER;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableMap;
-import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
-import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,14 +28,9 @@ import java.util.function.BiFunction;
 import lombok.Getter;
 import lombok.Setter;
 import org.opensearch.OpenSearchParseException;
-import org.opensearch.common.time.DateFormatter;
-import org.opensearch.common.time.DateFormatters;
-import org.opensearch.common.time.FormatNames;
-import org.opensearch.index.mapper.DateFieldMapper;
 import org.opensearch.sql.data.model.ExprBooleanValue;
 import org.opensearch.sql.data.model.ExprByteValue;
 import org.opensearch.sql.data.model.ExprCollectionValue;
-import org.opensearch.sql.data.model.ExprDateValue;
 import org.opensearch.sql.data.model.ExprDoubleValue;
 import org.opensearch.sql.data.model.ExprFloatValue;
 import org.opensearch.sql.data.model.ExprIntegerValue;
@@ -55,11 +39,8 @@ import org.opensearch.sql.data.model.ExprLongValue;
 import org.opensearch.sql.data.model.ExprNullValue;
 import org.opensearch.sql.data.model.ExprShortValue;
 import org.opensearch.sql.data.model.ExprStringValue;
-import org.opensearch.sql.data.model.ExprTimeValue;
-import org.opensearch.sql.data.model.ExprTimestampValue;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
-import org.opensearch.sql.data.type.ExprCoreType;
 import org.opensearch.sql.data.type.ExprType;
 import org.opensearch.sql.opensearch.data.type.OpenSearchBinaryType;
 import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
@@ -78,6 +59,13 @@ public class OpenSearchExprValueFactory {
   /** Whether to support nested value types (such as arrays) */
   private final boolean fieldTypeTolerance;
 
+  /**
+   * Decoder of each date type of the mapping, by identity because date types are equal regardless
+   * of their formats.
+   */
+  private final Map<OpenSearchDateType, OpenSearchDateDecoder> dateDecoders =
+      new IdentityHashMap<>();
+
   /**
    * Extend existing mapping by new data without overwrite. Called from aggregation only {@see
    * AggregationQueryBuilder#buildTypeMapping}.
@@ -90,8 +78,50 @@ public class OpenSearchExprValueFactory {
       // of all niceties of all types.
       this.typeMapping.putIfAbsent(field, typeMapping.get(field));
     }
+    compileDateDecoders();
+  }
+
+  /**
+   * Whether a field of the mapping can be fetched from its doc values instead of _source.
+   *
+   * @param field field name
+   * @return true if the doc values of the field hold its values
+   */
+  public boolean isDocValueFetchable(String field) {
+    OpenSearchDataType type = typeMapping.get(field);
+    return type != null && type.isDocValueFetchable();
   }
 
+  /**
+   * Format to fetch the doc values of a field in, null for the default format of the field. Dates
+   * are fetched as ISO instants with nanoseconds, which are parsed directly instead of trying each
+   * format of the mapping, and keep the precision of date nanos.
+   *
+   * @param field field name
+   * @return doc value format, or null
+   */
+  public String docValueFormat(String field) {
+    return typeMapping.get(field) instanceof OpenSearchDateType ? DATE_DOC_VALUE_FORMAT : null;
+  }
+
+  /**
+   * Construct ExprValue from a doc value fetched in the {@link #docValueFormat} of its field.
+   *
+   * @param field field name
+   * @param value doc value
+   * @return ExprValue
+   */
+  public ExprValue constructDocValue(String field, Object value) {
+    if (typeMapping.get(field) instanceof OpenSearchDateType dateType
+        && value instanceof String string) {
+      return dateDecoder(dateType).decodeDocValue(string);
+    }
+    return construct(field, value, false);
+  }
+
+  /** Format of the doc values of date fields, see {@link #docValueFormat}. */
+  public static final String DATE_DOC_VALUE_FORMAT = "strict_date_optional_time_nanos";
+
   @Getter @Setter private OpenSearchAggregationResponseParser parser;
 
   private static final String TOP_PATH = "";
@@ -125,12 +155,6 @@ public class OpenSearchExprValueFactory {
           .put(
               OpenSearchDataType.of(OpenSearchDataType.MappingType.Boolean),
               (c, dt) -> ExprBooleanValue.of(c.booleanValue()))
-          // Handles the creation of DATE, TIME & DATETIME
-          .put(OpenSearchDateType.of(TIME), OpenSearchExprValueFactory::createOpenSearchDateType)
-          .put(OpenSearchDateType.of(DATE), OpenSearchExprValueFactory::createOpenSearchDateType)
-          .put(
-              OpenSearchDateType.of(TIMESTAMP),
-              OpenSearchExprValueFactory::createOpenSearchDateType)
           .put(
               OpenSearchDateType.of(OpenSearchDataType.MappingType.Ip),
               (c, dt) -> new ExprIpValue(c.stringValue()))
@@ -144,6 +168,22 @@ public class OpenSearchExprValueFactory {
       Map<String, OpenSearchDataType> typeMapping, boolean fieldTypeTolerance) {
     this.typeMapping = OpenSearchDataType.traverseAndFlatten(typeMapping);
     this.fieldTypeTolerance = fieldTypeTolerance;
+    compileDateDecoders();
+  }
+
+  /** Resolve the formats of each date field once, rather than for each of its values. */
+  private void compileDateDecoders() {
+    for (OpenSearchDataType type : typeMapping.values()) {
+      if (type instanceof OpenSearchDateType dateType) {
+        dateDecoders.computeIfAbsent(dateType, OpenSearchDateDecoder::new);
+      }
+    }
+  }
+
+  private OpenSearchDateDecoder dateDecoder(OpenSearchDateType dateType) {
+    OpenSearchDateDecoder decoder = dateDecoders.get(dateType);
+    // Only the date types of the mapping are cached
+    return decoder != null ? decoder : new OpenSearchDateDecoder(dateType);
   }
 
   /**
@@ -161,6 +201,10 @@ public class OpenSearchExprValueFactory {
    *  </pre>
    */
   public ExprValue construct(String jsonString, boolean supportArrays) {
+    if (jsonString == null) {
+      // The _source is not fetched when all the fields are computed by scripts
+      return ExprTupleValue.empty();
+    }
     try {
       return parse(
           new OpenSearchJsonContent(OBJECT_MAPPER.readTree(jsonString)),
@@ -208,6 +252,8 @@ public class OpenSearchExprValueFactory {
     } else if (type.equals(OpenSearchDataType.of(OpenSearchDataType.MappingType.Object))
         || type == STRUCT) {
       return parseStruct(content, field, supportArrays);
+    } else if (type instanceof OpenSearchDateType dateType) {
+      return dateDecoder(dateType).decode(content);
     } else if (typeActionMap.containsKey(type)) {
       return typeActionMap.get(type).apply(content, type);
     } else {
@@ -254,99 +300,6 @@ public class OpenSearchExprValueFactory {
     return Optional.ofNullable(typeMapping.get(field));
   }
 
-  /**
-   * Parse value with the first matching formatter into {@link ExprValue} with corresponding {@link
-   * ExprCoreType}.
-   *
-   * @param value - time as string
-   * @param dataType - field data type
-   * @return Parsed value
-   */
-  private static ExprValue parseDateTimeString(String value, OpenSearchDateType dataType) {
-    List<DateFormatter> formatters = dataType.getAllNamedFormatters();
-    formatters.addAll(dataType.getAllCustomFormatters());
-    ExprCoreType returnFormat = dataType.getExprCoreType();
-
-    for (DateFormatter formatter : formatters) {
-      try {
-        TemporalAccessor accessor = formatter.parse(value);
-        ZonedDateTime zonedDateTime = DateFormatters.from(accessor);
-        switch (returnFormat) {
-          case TIME:
-            return new ExprTimeValue(zonedDateTime.withZoneSameLocal(ZoneOffset.UTC).toLocalTime());
-          case DATE:
-            return new ExprDateValue(zonedDateTime.withZoneSameLocal(ZoneOffset.UTC).toLocalDate());
-          default:
-            return new ExprTimestampValue(
-                zonedDateTime.withZoneSameLocal(ZoneOffset.UTC).toInstant());
-        }
-      } catch (IllegalArgumentException ignored) {
-        // nothing to do, try another format
-      }
-    }
-
-    // if no formatters are available, try the default formatter
-    try {
-      switch (returnFormat) {
-        case TIME:
-          return new ExprTimeValue(
-              DateFormatters.from(STRICT_HOUR_MINUTE_SECOND_FORMATTER.parse(value)).toLocalTime());
-        case DATE:
-          return new ExprDateValue(
-              DateFormatters.from(STRICT_YEAR_MONTH_DAY_FORMATTER.parse(value)).toLocalDate());
-        default:
-          return new ExprTimestampValue(
-              DateFormatters.from(DateFieldMapper.getDefaultDateTimeFormatter().parse(value))
-                  .toInstant());
-      }
-    } catch (DateTimeParseException | IllegalArgumentException ignored) {
-      // ignored
-    }
-
-    throw new IllegalArgumentException(
-        String.format("Construct %s from \"%s\" failed, unsupported format.", returnFormat, value));
-  }
-
-  private static ExprValue createOpenSearchDateType(Content value, ExprType type) {
-    OpenSearchDateType dt = (OpenSearchDateType) type;
-    ExprCoreType returnFormat = dt.getExprCoreType();
-    if (value.isNumber()) { // isNumber
-      var numFormatters = dt.getNumericNamedFormatters();
-      if (numFormatters.size() > 0 || !dt.hasFormats()) {
-        long epochMillis = 0;
-        if (numFormatters.contains(
-            DateFormatter.forPattern(FormatNames.EPOCH_SECOND.getSnakeCaseName()))) {
-          // no CamelCase for `EPOCH_*` formats
-          epochMillis = value.longValue() * 1000;
-        } else /* EPOCH_MILLIS */ {
-          epochMillis = value.longValue();
-        }
-        Instant instant = Instant.ofEpochMilli(epochMillis);
-        switch (returnFormat) {
-          case TIME:
-            return new ExprTimeValue(LocalTime.from(instant.atZone(ZoneOffset.UTC)));
-          case DATE:
-            return new ExprDateValue(LocalDate.ofInstant(instant, ZoneOffset.UTC));
-          default:
-            return new ExprTimestampValue(instant);
-        }
-      } else {
-        // custom format
-        return parseDateTimeString(value.objectValue().toString(), dt);
-      }
-    }
-    if (value.isString()) {
-      return parseDateTimeString(value.stringValue(), dt);
-    }
-
-    if (value.objectValue() instanceof ZonedDateTime) {
-      ZonedDateTime zonedDateTime = (ZonedDateTime) value.objectValue();
-      return new ExprTimestampValue(zonedDateTime.withZoneSameLocal(ZoneOffset.UTC).toInstant());
-    }
-
-    return new ExprTimestampValue((Instant) value.objectValue());
-  }
-
   /**
    * Parse struct content.
    *
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.rel.RelNode;
@@ -35,6 +36,7 @@ import org.opensearch.sql.calcite.utils.CalciteToolsHelper.OpenSearchRelRunners;
 import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
 import org.opensearch.sql.calcite.utils.UserDefinedFunctionUtils;
 import org.opensearch.sql.common.response.ResponseListener;
+import org.opensearch.sql.data.batch.ColumnBatch;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.type.ExprCoreType;
@@ -51,6 +53,7 @@ import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
 import org.opensearch.sql.opensearch.executor.protector.ExecutionProtector;
 import org.opensearch.sql.opensearch.functions.DistinctCountApproxAggFunction;
 import org.opensearch.sql.opensearch.functions.GeoIpFunction;
+import org.opensearch.sql.opensearch.storage.scan.ScanPrefetcher;
 import org.opensearch.sql.opensearch.util.JdbcOpenSearchDataTypeConvertor;
 import org.opensearch.sql.planner.physical.PhysicalPlan;
 import org.opensearch.sql.storage.TableScanOperator;
@@ -64,13 +67,25 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
   private final ExecutionProtector executionProtector;
   private final PlanSerializer planSerializer;
 
+  /** Cache of Calcite query responses, null if responses are never cached. */
+  private final QueryResultCache resultCache;
+
   public OpenSearchExecutionEngine(
       OpenSearchClient client,
       ExecutionProtector executionProtector,
       PlanSerializer planSerializer) {
+    this(client, executionProtector, planSerializer, null);
+  }
+
+  public OpenSearchExecutionEngine(
+      OpenSearchClient client,
+      ExecutionProtector executionProtector,
+      PlanSerializer planSerializer,
+      QueryResultCache resultCache) {
     this.client = client;
     this.executionProtector = executionProtector;
     this.planSerializer = planSerializer;
+    this.resultCache = resultCache;
     registerOpenSearchFunctions();
   }
 
@@ -94,8 +109,25 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
             plan.open();
 
             Integer querySizeLimit = context.getQuerySizeLimit();
-            while (plan.hasNext() && (querySizeLimit == null || result.size() < querySizeLimit)) {
-              result.add(plan.next());
+            Integer batchSize = context.getBatchSize();
+            if (batchSize != null && batchSize > 0) {
+              // Never ask for more rows than the limit leaves, the plan may hold a cursor whose
+              // position must match the rows returned.
+              while (querySizeLimit == null || result.size() < querySizeLimit) {
+                int maxRows =
+                    querySizeLimit == null
+                        ? batchSize
+                        : Math.min(batchSize, querySizeLimit - result.size());
+                ColumnBatch batch = plan.nextBatch(maxRows);
+                if (batch.isEmpty()) {
+                  break;
+                }
+                result.addAll(batch.toRows());
+              }
+            } else {
+              while (plan.hasNext() && (querySizeLimit == null || result.size() < querySizeLimit)) {
+                result.add(plan.next());
+              }
             }
 
             QueryResponse response =
@@ -162,7 +194,9 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
         () -> {
           try {
             if (format == ExplainFormat.SIMPLE) {
-              String logical = RelOptUtil.toString(rel, SqlExplainLevel.NO_ATTRIBUTES);
+              String logical =
+                  withSubqueryStrategies(
+                      RelOptUtil.toString(rel, SqlExplainLevel.NO_ATTRIBUTES), rel);
               listener.onResponse(
                   new ExplainResponse(new ExplainResponseNodeV2(logical, null, null)));
             } else {
@@ -170,7 +204,8 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
                   format == ExplainFormat.COST
                       ? SqlExplainLevel.ALL_ATTRIBUTES
                       : SqlExplainLevel.EXPPLAN_ATTRIBUTES;
-              String logical = RelOptUtil.toString(rel, level);
+              // Subqueries are only materialized when the query runs, explain must not search
+              String logical = withSubqueryStrategies(RelOptUtil.toString(rel, level), rel);
               AtomicReference<String> physical = new AtomicReference<>();
               AtomicReference<String> javaCode = new AtomicReference<>();
               try (Hook.Closeable closeable = getPhysicalPlanInHook(physical, level)) {
@@ -195,6 +230,13 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
         });
   }
 
+  /** Append the strategy each subquery is planned to run with to the logical plan. */
+  private static String withSubqueryStrategies(String logical, RelNode rel) {
+    StringBuilder explained = new StringBuilder(logical);
+    SubqueryMaterializer.explain(rel).forEach(line -> explained.append(line).append('\n'));
+    return explained.toString();
+  }
+
   @Override
   public void execute(
       RelNode rel, CalcitePlanContext context, ResponseListener<QueryResponse> listener) {
@@ -203,9 +245,33 @@ public class OpenSearchExecutionEngine implements ExecutionEngine {
             AccessController.doPrivileged(
                 (PrivilegedAction<Void>)
                     () -> {
-                      try (PreparedStatement statement = OpenSearchRelRunners.run(context, rel)) {
+                      Optional<QueryResultCache.Key> cacheKey =
+                          resultCache == null
+                              ? Optional.empty()
+                              : resultCache.keyOf(rel, context.querySizeLimit, client);
+                      if (cacheKey.isPresent()) {
+                        QueryResponse cached = resultCache.get(cacheKey.get());
+                        if (cached != null) {
+                          listener.onResponse(cached);
+                          return null;
+                        }
+                      }
+                      ResponseListener<QueryResponse> responseListener =
+                          cacheKey.map(key -> resultCache.caching(key, listener)).orElse(listener);
+                      RelNode plan = new SubqueryMaterializer(context.connection).materialize(rel);
+                      ScanPrefetcher prefetcher = new ScanPrefetcher();
+                      PreparedStatement prepared;
+                      try (Hook.Closeable ignored = prefetcher.collect()) {
+                        prepared = OpenSearchRelRunners.run(context, plan);
+                      }
+                      try (PreparedStatement statement = prepared;
+                          prefetcher) {
+                        // Send the first searches of independent scans together, instead of one
+                        // after another as Calcite reads from them
+                        prefetcher.prefetch();
                         ResultSet result = statement.executeQuery();
-                        buildResultSet(result, rel.getRowType(), context.querySizeLimit, listener);
+                        buildResultSet(
+                            result, rel.getRowType(), context.querySizeLimit, responseListener);
                       } catch (SQLException e) {
                         throw new RuntimeException(e);
                       }
@@ -6,22 +6,45 @@
 package org.opensearch.sql.opensearch.executor;
 
 import java.util.Map;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.ThreadContext;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.executor.QueryId;
 import org.opensearch.sql.executor.QueryManager;
 import org.opensearch.sql.executor.execution.AbstractPlan;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.node.NodeClient;
 
-/** QueryManager implemented in OpenSearch cluster. */
-@RequiredArgsConstructor
+/**
+ * QueryManager implemented in OpenSearch cluster. Queries run on the sql-worker thread pool, or on
+ * virtual threads if enabled, so that queries waiting on slow searches do not hold one of the
+ * few platform threads of the pool.
+ */
 public class OpenSearchQueryManager implements QueryManager {
 
+  private static final String SQL_WORKER_THREAD_POOL_NAME = "sql-worker";
+
+  private static final ThreadFactory VIRTUAL_THREAD_FACTORY =
+      Thread.ofVirtual().name(SQL_WORKER_THREAD_POOL_NAME + "-virtual-", 0).factory();
+
+  /** Number of queries running on virtual threads on the node. */
+  private static final AtomicInteger runningQueries = new AtomicInteger();
+
   private final NodeClient nodeClient;
 
-  private static final String SQL_WORKER_THREAD_POOL_NAME = "sql-worker";
+  private final Settings settings;
+
+  public OpenSearchQueryManager(NodeClient nodeClient) {
+    this(nodeClient, null);
+  }
+
+  public OpenSearchQueryManager(NodeClient nodeClient, Settings settings) {
+    this.nodeClient = nodeClient;
+    this.settings = settings;
+  }
 
   @Override
   public QueryId submit(AbstractPlan queryPlan) {
@@ -32,7 +55,43 @@ public class OpenSearchQueryManager implements QueryManager {
 
   private void schedule(NodeClient client, Runnable task) {
     ThreadPool threadPool = client.threadPool();
-    threadPool.schedule(withCurrentContext(task), new TimeValue(0), SQL_WORKER_THREAD_POOL_NAME);
+    if (settings != null
+        && Boolean.TRUE.equals(
+            settings.getSettingValue(Settings.Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED))) {
+      startVirtualThread(threadPool.getThreadContext().preserveContext(withCurrentContext(task)));
+    } else {
+      threadPool.schedule(withCurrentContext(task), new TimeValue(0), SQL_WORKER_THREAD_POOL_NAME);
+    }
+  }
+
+  /**
+   * Run a task on a new virtual thread. The number of tasks running at once is limited instead of
+   * the number of threads, and tasks over the limit are rejected as the thread pool rejects tasks
+   * once its queue is full.
+   */
+  private void startVirtualThread(Runnable task) {
+    int maxConcurrentQueries =
+        settings.getSettingValue(Settings.Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES);
+    if (runningQueries.incrementAndGet() > maxConcurrentQueries) {
+      runningQueries.decrementAndGet();
+      throw new OpenSearchRejectedExecutionException(
+          "Too many concurrent queries, limit is " + maxConcurrentQueries);
+    }
+    try {
+      VIRTUAL_THREAD_FACTORY
+          .newThread(
+              () -> {
+                try {
+                  task.run();
+                } finally {
+                  runningQueries.decrementAndGet();
+                }
+              })
+          .start();
+    } catch (RuntimeException | Error e) {
+      runningQueries.decrementAndGet();
+      throw e;
+    }
   }
 
   private Runnable withCurrentContext(final Runnable task) {
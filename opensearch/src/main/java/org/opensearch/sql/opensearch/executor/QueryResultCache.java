@@ -0,0 +1,303 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.executor;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelVisitor;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexSubQuery;
+import org.apache.calcite.sql.SqlExplainLevel;
+import org.apache.calcite.sql.SqlOperator;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.sql.common.response.ResponseListener;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.data.model.ExprCollectionValue;
+import org.opensearch.sql.data.model.ExprStringValue;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.executor.ExecutionEngine.QueryResponse;
+import org.opensearch.sql.opensearch.client.OpenSearchClient;
+import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
+import org.opensearch.sql.opensearch.storage.scan.AbstractCalciteIndexScan;
+
+/**
+ * Cache of query responses on the coordinating node, for dashboards repeating the same queries
+ * faster than the indices change. A response is keyed by the digest of its plan, the user running
+ * it and the refresh state of the indices it reads, so any refresh making new changes visible
+ * leads to a new key. Entries are dropped after a time to live and when the estimated size of the
+ * cached responses goes over the configured limit.
+ */
+@Log4j2
+public class QueryResultCache {
+
+  /** Node level metrics of the result caches. */
+  public static final CacheMetrics METRICS = new CacheMetrics();
+
+  /** Functions Calcite sees as deterministic whose result depends on when the query runs. */
+  private static final Set<String> TIME_DEPENDENT_FUNCTIONS =
+      Set.of(
+          "NOW",
+          "CURRENT_TIMESTAMP",
+          "LOCALTIMESTAMP",
+          "CURRENT_TIME",
+          "LOCALTIME",
+          "CURTIME",
+          "CURRENT_DATE",
+          "CURDATE",
+          "SYSDATE",
+          "UTC_DATE",
+          "UTC_TIME",
+          "UTC_TIMESTAMP");
+
+  private final Settings settings;
+
+  private Cache<Key, QueryResponse> cache;
+
+  private ByteSizeValue cacheSize;
+
+  private TimeValue cacheExpire;
+
+  public QueryResultCache(Settings settings) {
+    this.settings = settings;
+  }
+
+  /**
+   * Build the cache key of a plan.
+   *
+   * @param plan plan to execute.
+   * @param querySizeLimit query size limit the plan is executed with.
+   * @param client client to read the refresh state of the indices with.
+   * @return the key, or empty if the cache is disabled or the plan result must not be cached.
+   */
+  public Optional<Key> keyOf(RelNode plan, Integer querySizeLimit, OpenSearchClient client) {
+    if (!Boolean.TRUE.equals(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_ENABLED))) {
+      return Optional.empty();
+    }
+    PlanInspector inspector = new PlanInspector();
+    inspector.go(plan);
+    if (!inspector.cacheable || inspector.indices.isEmpty()) {
+      METRICS.bypassCount.increment();
+      return Optional.empty();
+    }
+    try {
+      Map<String, String> refreshStates =
+          client.getIndexRefreshStates(inspector.indices.toArray(new String[0]));
+      return Optional.of(
+          new Key(
+              RelOptUtil.toString(plan, SqlExplainLevel.DIGEST_ATTRIBUTES),
+              querySizeLimit,
+              new TreeMap<>(refreshStates),
+              currentUser(client)));
+    } catch (Exception e) {
+      // Users allowed to search are not necessarily allowed to read index stats.
+      log.debug("Bypass query result cache since the refresh state is not available", e);
+      METRICS.bypassCount.increment();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the cached response of a key.
+   *
+   * @param key cache key.
+   * @return the response, or null if absent.
+   */
+  public QueryResponse get(Key key) {
+    QueryResponse response = cache().getIfPresent(key);
+    if (response == null) {
+      METRICS.missCount.increment();
+    } else {
+      METRICS.hitCount.increment();
+    }
+    return response;
+  }
+
+  /**
+   * Wrap a listener to cache the response it receives.
+   *
+   * @param key cache key of the response.
+   * @param listener listener to wrap.
+   * @return the wrapped listener.
+   */
+  public ResponseListener<QueryResponse> caching(
+      Key key, ResponseListener<QueryResponse> listener) {
+    return new ResponseListener<>() {
+      @Override
+      public void onResponse(QueryResponse response) {
+        cache().put(key, response);
+        listener.onResponse(response);
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        listener.onFailure(e);
+      }
+    };
+  }
+
+  /** The cache, rebuilt empty when its size or expiry setting has changed. */
+  private synchronized Cache<Key, QueryResponse> cache() {
+    ByteSizeValue size = settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_SIZE);
+    TimeValue expire = settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_EXPIRE);
+    if (cache == null || !size.equals(cacheSize) || !expire.equals(cacheExpire)) {
+      if (cache != null) {
+        cache.invalidateAll();
+      }
+      cache =
+          CacheBuilder.newBuilder()
+              .maximumWeight(size.getBytes())
+              .weigher(
+                  (Key key, QueryResponse response) ->
+                      (int) Math.min(Integer.MAX_VALUE, estimateSize(key, response)))
+              .expireAfterWrite(expire.millis(), TimeUnit.MILLISECONDS)
+              .removalListener(
+                  notification -> {
+                    if (notification.getCause() == RemovalCause.SIZE
+                        || notification.getCause() == RemovalCause.EXPIRED) {
+                      METRICS.evictionCount.increment();
+                    }
+                  })
+              .build();
+      cacheSize = size;
+      cacheExpire = expire;
+    }
+    return cache;
+  }
+
+  /** User of the request, read the same way as for the other caches keyed by user. */
+  private static String currentUser(OpenSearchClient client) {
+    return client instanceof OpenSearchNodeClient nodeClient ? nodeClient.currentUser() : "";
+  }
+
+  @VisibleForTesting
+  static long estimateSize(Key key, QueryResponse response) {
+    long size = 2L * key.getPlan().length() + 64;
+    for (ExprValue value : response.getResults()) {
+      size += estimateSize(value);
+    }
+    return size;
+  }
+
+  private static long estimateSize(ExprValue value) {
+    if (value instanceof ExprTupleValue) {
+      long size = 48;
+      for (Map.Entry<String, ExprValue> entry : value.tupleValue().entrySet()) {
+        size += 32 + 2L * entry.getKey().length() + estimateSize(entry.getValue());
+      }
+      return size;
+    } else if (value instanceof ExprCollectionValue) {
+      long size = 32;
+      for (ExprValue element : value.collectionValue()) {
+        size += 8 + estimateSize(element);
+      }
+      return size;
+    } else if (value instanceof ExprStringValue) {
+      return 48 + 2L * value.stringValue().length();
+    }
+    return 24;
+  }
+
+  /**
+   * Visitor collecting the indices a plan reads, and whether its result only depends on them: no
+   * other table and no function that is not deterministic or depends on the current time.
+   */
+  private static class PlanInspector extends RelVisitor {
+    private final List<String> indices = new ArrayList<>();
+    private boolean cacheable = true;
+
+    @Override
+    public void visit(RelNode node, int ordinal, RelNode parent) {
+      if (node instanceof AbstractCalciteIndexScan scan) {
+        Collections.addAll(indices, scan.osIndex.getIndexName().getIndexNames());
+      } else if (node instanceof TableScan) {
+        cacheable = false;
+      }
+      node.accept(
+          new RexShuttle() {
+            @Override
+            public RexNode visitCall(RexCall call) {
+              SqlOperator operator = call.getOperator();
+              if (!operator.isDeterministic()
+                  || operator.isDynamicFunction()
+                  || TIME_DEPENDENT_FUNCTIONS.contains(
+                      operator.getName().toUpperCase(Locale.ROOT))) {
+                cacheable = false;
+              }
+              return super.visitCall(call);
+            }
+
+            @Override
+            public RexNode visitSubQuery(RexSubQuery subQuery) {
+              PlanInspector.this.go(subQuery.rel);
+              return super.visitSubQuery(subQuery);
+            }
+          });
+      super.visit(node, ordinal, parent);
+    }
+  }
+
+  /** Cache key of a query response. */
+  @Value
+  public static class Key {
+    String plan;
+    Integer querySizeLimit;
+    Map<String, String> refreshStates;
+    String user;
+  }
+
+  /** Counters of the result caches of the node. */
+  public static class CacheMetrics {
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder bypassCount = new LongAdder();
+
+    public long getHitCount() {
+      return hitCount.sum();
+    }
+
+    public long getMissCount() {
+      return missCount.sum();
+    }
+
+    /** Share of the cache lookups that found a response, 1.0 before any lookup. */
+    public double getHitRatio() {
+      long hits = hitCount.sum();
+      long lookups = hits + missCount.sum();
+      return lookups == 0 ? 1.0 : (double) hits / lookups;
+    }
+
+    public long getEvictionCount() {
+      return evictionCount.sum();
+    }
+
+    /** Number of queries not looked up because they cannot be cached. */
+    public long getBypassCount() {
+      return bypassCount.sum();
+    }
+  }
+}
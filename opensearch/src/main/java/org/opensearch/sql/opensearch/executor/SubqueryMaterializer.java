@@ -0,0 +1,274 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.executor;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelHomogeneousShuttle;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalAggregate;
+import org.apache.calcite.rel.logical.LogicalSort;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexSubQuery;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Util;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.opensearch.sql.calcite.utils.CalciteToolsHelper.OpenSearchRelRunners;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.opensearch.storage.scan.AbstractCalciteIndexScan;
+
+/**
+ * Runs the uncorrelated scalar and IN subqueries of a Calcite plan once, before the plan itself,
+ * and replaces them with their result: a scalar subquery with a literal and an IN subquery with the
+ * list of its values, which is pushed down to the outer index scan as a terms query. Calcite would
+ * otherwise rewrite them into joins with the outer query.
+ *
+ * <p>Subqueries referencing the outer query, over more than one field or returning too many values
+ * are left to Calcite, which decorrelates them into joins and aggregations where possible. An IN
+ * subquery estimated to return too many distinct values is left to Calcite without running it.
+ */
+public class SubqueryMaterializer {
+
+  /** Most values an IN subquery is replaced with, beyond which a join is cheaper to plan. */
+  static final int MAX_IN_VALUES = 10_000;
+
+  private final Evaluator evaluator;
+
+  /** Run the subqueries on the connection of the query, which must be left open. */
+  public SubqueryMaterializer(Connection connection) {
+    this((subquery, maxRows) -> firstColumn(connection, subquery, maxRows));
+  }
+
+  SubqueryMaterializer(Evaluator evaluator) {
+    this.evaluator = evaluator;
+  }
+
+  /** Replace the uncorrelated subqueries of the plan, including nested ones, by their result. */
+  public RelNode materialize(RelNode plan) {
+    return plan.accept(new Materializer());
+  }
+
+  /**
+   * Describe the strategy planned for each subquery of the plan scanning an index with
+   * materialization enabled, nested ones first, without running them. An IN subquery planned as a
+   * list is still left to Calcite if it returns more values than estimated.
+   *
+   * @param plan the plan to explain
+   * @return one line per subquery, empty if no subquery is materialized
+   */
+  public static List<String> explain(RelNode plan) {
+    Explainer explainer = new Explainer();
+    plan.accept(explainer);
+    return explainer.lines;
+  }
+
+  /** How a subquery is run. */
+  enum Strategy {
+    IN_LIST("materialized IN list"),
+    SCALAR_LITERAL("scalar literal"),
+    CALCITE("left to Calcite");
+
+    private final String description;
+
+    Strategy(String description) {
+      this.description = description;
+    }
+  }
+
+  private static Strategy strategy(RexSubQuery subQuery) {
+    if (!isMaterializable(subQuery)) {
+      return Strategy.CALCITE;
+    }
+    if (subQuery.getKind() == SqlKind.SCALAR_QUERY) {
+      return Strategy.SCALAR_LITERAL;
+    }
+    return isEstimatedAbove(distinct(subQuery.rel), MAX_IN_VALUES)
+        ? Strategy.CALCITE
+        : Strategy.IN_LIST;
+  }
+
+  /** Evaluates the first column of the first rows of a subquery. */
+  @FunctionalInterface
+  interface Evaluator {
+    List<@Nullable Object> evaluate(RelNode subquery, int maxRows) throws SQLException;
+  }
+
+  private class Materializer extends RelHomogeneousShuttle {
+    private final RexShuttle subqueries =
+        new RexShuttle() {
+          @Override
+          public RexNode visitSubQuery(RexSubQuery subQuery) {
+            RexSubQuery visited = (RexSubQuery) super.visitSubQuery(subQuery);
+            RelNode rel = visited.rel.accept(Materializer.this);
+            if (rel != visited.rel) {
+              visited = visited.clone(rel);
+            }
+            RexNode materialized = isMaterializable(visited) ? materialize(visited) : null;
+            return materialized != null ? materialized : visited;
+          }
+        };
+
+    @Override
+    public RelNode visit(RelNode other) {
+      return super.visit(other).accept(subqueries);
+    }
+  }
+
+  private static class Explainer extends RelHomogeneousShuttle {
+    private final List<String> lines = new ArrayList<>();
+
+    private final RexShuttle subqueries =
+        new RexShuttle() {
+          @Override
+          public RexNode visitSubQuery(RexSubQuery subQuery) {
+            super.visitSubQuery(subQuery);
+            subQuery.rel.accept(Explainer.this);
+            if (isEnabled(subQuery.rel)) {
+              lines.add(
+                  String.format(
+                      "SubqueryMaterialization(subquery=[%d], kind=[%s], strategy=[%s])",
+                      lines.size() + 1, subQuery.getKind(), strategy(subQuery).description));
+            }
+            return subQuery;
+          }
+        };
+
+    @Override
+    public RelNode visit(RelNode other) {
+      return super.visit(other).accept(subqueries);
+    }
+  }
+
+  private static boolean isMaterializable(RexSubQuery subQuery) {
+    RelNode rel = subQuery.rel;
+    boolean scalarOrIn =
+        subQuery.getKind() == SqlKind.SCALAR_QUERY
+            || (subQuery.getKind() == SqlKind.IN && subQuery.getOperands().size() == 1);
+    return scalarOrIn
+        && rel.getRowType().getFieldCount() == 1
+        && isLiteralType(rel.getRowType().getFieldList().getFirst().getType())
+        && RelOptUtil.getVariablesUsed(rel).isEmpty()
+        && isEnabled(rel);
+  }
+
+  /** Whether the values of the type read from a result set can be made literals. */
+  private static boolean isLiteralType(RelDataType type) {
+    return !OpenSearchTypeFactory.isUserDefinedType(type)
+        && (SqlTypeUtil.isNumeric(type)
+            || SqlTypeUtil.isCharacter(type)
+            || SqlTypeUtil.isBoolean(type));
+  }
+
+  /** Whether the subquery scans an index with materialization enabled. */
+  private static boolean isEnabled(RelNode rel) {
+    if (rel instanceof AbstractCalciteIndexScan scan) {
+      return Boolean.TRUE.equals(
+          scan.osIndex
+              .getSettings()
+              .getSettingValue(Settings.Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED));
+    }
+    return rel.getInputs().stream().anyMatch(SubqueryMaterializer::isEnabled);
+  }
+
+  /** The result of the subquery, or null if it must be left to Calcite. */
+  private @Nullable RexNode materialize(RexSubQuery subQuery) {
+    RexBuilder rexBuilder = subQuery.rel.getCluster().getRexBuilder();
+    RelDataType valueType = subQuery.rel.getRowType().getFieldList().getFirst().getType();
+    boolean scalar = subQuery.getKind() == SqlKind.SCALAR_QUERY;
+    int maxValues = scalar ? 1 : MAX_IN_VALUES;
+    // Duplicates of an IN subquery must not count toward the limit of values
+    RelNode rel = scalar ? subQuery.rel : distinct(subQuery.rel);
+    // Running a subquery estimated to return too many values would only search its index before
+    // Calcite runs it again as a join
+    if (!scalar && isEstimatedAbove(rel, maxValues)) {
+      return null;
+    }
+    List<@Nullable Object> values;
+    try {
+      // One more row than allowed tells whether the subquery returns too many, the fetch stops
+      // there
+      values = evaluator.evaluate(rel, maxValues + 1);
+    } catch (SQLException e) {
+      throw Util.throwAsRuntime(e);
+    }
+    // Calcite fails a scalar subquery returning several rows as it executes it
+    if (values.size() > maxValues || !values.stream().allMatch(SubqueryMaterializer::isFinite)) {
+      return null;
+    }
+    if (scalar) {
+      @Nullable Object value = values.isEmpty() ? null : values.getFirst();
+      return value == null
+          ? rexBuilder.makeNullLiteral(subQuery.getType())
+          : rexBuilder.makeLiteral(value, subQuery.getType(), true);
+    }
+    List<RexNode> literals =
+        values.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(value -> (RexNode) rexBuilder.makeLiteral(value, valueType, true))
+            .toList();
+    RexNode in =
+        literals.isEmpty()
+            ? rexBuilder.makeLiteral(false)
+            : rexBuilder.makeIn(subQuery.getOperands().getFirst(), literals);
+    if (values.contains(null)) {
+      // A value not in a list holding null is unknown, not false
+      RelDataType booleanType = rexBuilder.getTypeFactory().createSqlType(SqlTypeName.BOOLEAN);
+      return rexBuilder.makeCall(
+          SqlStdOperatorTable.OR, in, rexBuilder.makeNullLiteral(booleanType));
+    }
+    return in;
+  }
+
+  /** The distinct values of the single field of a subquery. */
+  private static RelNode distinct(RelNode rel) {
+    return LogicalAggregate.create(rel, List.of(), ImmutableBitSet.of(0), null, List.of());
+  }
+
+  private static boolean isEstimatedAbove(RelNode rel, int maxRows) {
+    Double estimatedRows = rel.getCluster().getMetadataQuery().getRowCount(rel);
+    return estimatedRows != null && estimatedRows > maxRows;
+  }
+
+  private static boolean isFinite(@Nullable Object value) {
+    return !(value instanceof Double d && !Double.isFinite(d))
+        && !(value instanceof Float f && !Float.isFinite(f));
+  }
+
+  private static List<@Nullable Object> firstColumn(
+      Connection connection, RelNode subquery, int maxRows) throws SQLException {
+    RelNode limited =
+        LogicalSort.create(
+            subquery,
+            RelCollations.EMPTY,
+            null,
+            subquery.getCluster().getRexBuilder().makeExactLiteral(BigDecimal.valueOf(maxRows)));
+    try (PreparedStatement statement = OpenSearchRelRunners.prepare(connection, limited);
+        ResultSet resultSet = statement.executeQuery()) {
+      List<@Nullable Object> values = new ArrayList<>();
+      while (values.size() < maxRows && resultSet.next()) {
+        values.add(resultSet.getObject(1));
+      }
+      return values;
+    }
+  }
+}
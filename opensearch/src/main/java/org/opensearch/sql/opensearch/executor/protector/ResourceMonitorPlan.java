@@ -12,6 +12,7 @@ import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.RequiredArgsConstructor;
 import lombok.ToString;
+import org.opensearch.sql.data.batch.ColumnBatch;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.monitor.ResourceMonitor;
 import org.opensearch.sql.planner.SerializablePlan;
@@ -73,6 +74,19 @@ public class ResourceMonitorPlan extends PhysicalPlan implements SerializablePla
     return delegate.next();
   }
 
+  @Override
+  public ColumnBatch nextBatch(int maxRows) {
+    long previousCallCount = nextCallCount;
+    nextCallCount += maxRows;
+    boolean shouldCheck =
+        previousCallCount / NUMBER_OF_NEXT_CALL_TO_CHECK
+            != nextCallCount / NUMBER_OF_NEXT_CALL_TO_CHECK;
+    if (shouldCheck && !this.monitor.isHealthy()) {
+      throw new IllegalStateException("insufficient resources to load next batch, quit.");
+    }
+    return delegate.nextBatch(maxRows);
+  }
+
   @Override
   public SerializablePlan getPlanForSerialization() {
     return (SerializablePlan) delegate;
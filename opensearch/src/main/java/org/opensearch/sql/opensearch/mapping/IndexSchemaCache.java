@@ -0,0 +1,238 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.mapping;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.compress.CompressedXContent;
+import org.opensearch.core.index.Index;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.util.MergeRules.MergeRuleHelper;
+
+/**
+ * Node level cache of index schemas. Without it, each query on an index pattern parses the mapping
+ * of every index matched and merges them again, which dominates planning time when the pattern
+ * matches thousands of daily indices.
+ *
+ * <ol>
+ *   <li>Parsed mappings are cached per index and reused as long as the mapping source is the same.
+ *       The source is compared rather than the mapping version, since the mapping returned to a
+ *       user with field level security is a filtered one.
+ *   <li>Merged mappings are cached per index expression. When the indices matched are the same
+ *       ones plus some new indices, only the new indices are merged into a copy of the cached
+ *       result.
+ *   <li>Max result windows are cached per user and index expression, only after they were read
+ *       by a get settings request authorized for the user.
+ *   <li>Entries of deleted indices and of indices whose mapping version changed are dropped as
+ *       cluster state updates are applied. Max result windows are dropped on any metadata change.
+ * </ol>
+ */
+public class IndexSchemaCache implements ClusterStateListener {
+
+  /** Maximum number of index expressions to keep a merged mapping for. */
+  private static final int MAX_MERGED_MAPPINGS = 100;
+
+  /** Maximum number of users and index expressions to keep the max result windows for. */
+  private static final int MAX_RESULT_WINDOWS = 1000;
+
+  /** Time the max result windows are kept for, bounding how long a revoked user can read them. */
+  private static final long MAX_RESULT_WINDOWS_TTL_SECONDS = 60;
+
+  /** Singleton instance. */
+  private static final IndexSchemaCache INSTANCE = new IndexSchemaCache();
+
+  /** Parsed mapping by index name. */
+  private final Map<String, ParsedMapping> mappings = new ConcurrentHashMap<>();
+
+  /** Merged mapping by index expression. */
+  private final Cache<String, MergedMapping> mergedMappings =
+      CacheBuilder.newBuilder().maximumSize(MAX_MERGED_MAPPINGS).build();
+
+  /** Max result window by index name, by user and index expression. */
+  private final Cache<String, Map<String, Integer>> maxResultWindows =
+      CacheBuilder.newBuilder()
+          .maximumSize(MAX_RESULT_WINDOWS)
+          .expireAfterWrite(MAX_RESULT_WINDOWS_TTL_SECONDS, TimeUnit.SECONDS)
+          .build();
+
+  private volatile boolean followingClusterState = false;
+
+  @VisibleForTesting
+  IndexSchemaCache() {}
+
+  public static IndexSchemaCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Start following the cluster state of the node, which allows caching index settings.
+   *
+   * @param clusterService cluster service of the node.
+   */
+  public void init(@NonNull ClusterService clusterService) {
+    clusterService.addListener(this);
+    followingClusterState = true;
+  }
+
+  /**
+   * Get the parsed mapping of an index.
+   *
+   * @param indexName index name.
+   * @param metadata mapping metadata of the index.
+   * @return the cached mapping if the mapping source is unchanged, otherwise the newly parsed one.
+   */
+  public IndexMapping getMapping(String indexName, MappingMetadata metadata) {
+    ParsedMapping cached = mappings.get(indexName);
+    if (cached != null && cached.source.equals(metadata.source())) {
+      return cached.mapping;
+    }
+    IndexMapping mapping = new IndexMapping(metadata);
+    mappings.put(indexName, new ParsedMapping(metadata.source(), mapping));
+    return mapping;
+  }
+
+  /**
+   * Merge the mappings of the indices matched by an index expression. The result must not be
+   * modified, it is shared by the queries on the same indices.
+   *
+   * @param indexExpression index expression the indices are matched by.
+   * @param indexMappings mapping of each index matched.
+   * @return the merged mapping of field and type.
+   */
+  public Map<String, OpenSearchDataType> merge(
+      String indexExpression, Map<String, IndexMapping> indexMappings) {
+    MergedMapping cached = mergedMappings.getIfPresent(indexExpression);
+    if (cached != null && cached.isFor(indexMappings)) {
+      return cached.fieldTypes;
+    }
+
+    Map<String, OpenSearchDataType> fieldTypes;
+    if (cached != null && cached.isSubsetOf(indexMappings)) {
+      fieldTypes = OpenSearchDataType.deepCopy(cached.fieldTypes);
+      for (Map.Entry<String, IndexMapping> entry : indexMappings.entrySet()) {
+        if (!cached.indexMappings.containsKey(entry.getKey())) {
+          MergeRuleHelper.merge(
+              fieldTypes, OpenSearchDataType.deepCopy(entry.getValue().getFieldMappings()));
+        }
+      }
+    } else if (indexMappings.size() <= 1) {
+      fieldTypes = new HashMap<>();
+      for (IndexMapping indexMapping : indexMappings.values()) {
+        fieldTypes.putAll(indexMapping.getFieldMappings());
+      }
+    } else {
+      // Cached mappings are copied since merging modifies the nested properties of the target
+      fieldTypes = new HashMap<>();
+      for (IndexMapping indexMapping : indexMappings.values()) {
+        MergeRuleHelper.merge(
+            fieldTypes, OpenSearchDataType.deepCopy(indexMapping.getFieldMappings()));
+      }
+    }
+    fieldTypes = Collections.unmodifiableMap(fieldTypes);
+    mergedMappings.put(indexExpression, new MergedMapping(Map.copyOf(indexMappings), fieldTypes));
+    return fieldTypes;
+  }
+
+  /**
+   * Get the max result window of the indices. The settings are only cached once fetched for the
+   * same user, so that a user not allowed to read them still fails on every request.
+   *
+   * @param user user of the request, empty if security is not installed.
+   * @param indexExpression index expression.
+   * @param authorizedFetch fetch of the settings, checking the permissions of the user.
+   * @return map from index name to its max result window.
+   */
+  public Map<String, Integer> getMaxResultWindows(
+      String user, String[] indexExpression, Supplier<Map<String, Integer>> authorizedFetch) {
+    if (!followingClusterState) {
+      return authorizedFetch.get();
+    }
+    String key = user + "/" + String.join(",", indexExpression);
+    Map<String, Integer> cached = maxResultWindows.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    Map<String, Integer> result = authorizedFetch.get();
+    maxResultWindows.put(key, result);
+    return result;
+  }
+
+  @Override
+  public void clusterChanged(ClusterChangedEvent event) {
+    if (!event.metadataChanged()) {
+      return;
+    }
+    // settings, aliases and new indices all change what an index expression resolves to
+    maxResultWindows.invalidateAll();
+    Set<String> invalidated = new HashSet<>();
+    for (Index index : event.indicesDeleted()) {
+      invalidated.add(index.getName());
+    }
+    for (IndexMetadata current : event.state().metadata()) {
+      IndexMetadata previous = event.previousState().metadata().index(current.getIndex());
+      if (previous != null
+          && previous != current
+          && previous.getMappingVersion() != current.getMappingVersion()) {
+        invalidated.add(current.getIndex().getName());
+      }
+    }
+    if (!invalidated.isEmpty()) {
+      invalidate(invalidated);
+    }
+  }
+
+  @VisibleForTesting
+  void invalidate(Set<String> indexNames) {
+    mappings.keySet().removeAll(indexNames);
+    mergedMappings
+        .asMap()
+        .values()
+        .removeIf(merged -> indexNames.stream().anyMatch(merged.indexMappings::containsKey));
+  }
+
+  @RequiredArgsConstructor
+  private static class ParsedMapping {
+    private final CompressedXContent source;
+    private final IndexMapping mapping;
+  }
+
+  @RequiredArgsConstructor
+  private static class MergedMapping {
+    private final Map<String, IndexMapping> indexMappings;
+    private final Map<String, OpenSearchDataType> fieldTypes;
+
+    /** Whether the result was merged from the same mappings. */
+    boolean isFor(Map<String, IndexMapping> other) {
+      return indexMappings.size() == other.size() && isSubsetOf(other);
+    }
+
+    /** Whether each mapping the result was merged from is one of the given mappings. */
+    boolean isSubsetOf(Map<String, IndexMapping> other) {
+      for (Map.Entry<String, IndexMapping> entry : indexMappings.entrySet()) {
+        if (other.get(entry.getKey()) != entry.getValue()) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
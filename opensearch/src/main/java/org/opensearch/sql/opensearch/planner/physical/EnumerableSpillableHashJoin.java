@@ -0,0 +1,152 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import java.lang.reflect.Method;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.calcite.adapter.enumerable.EnumerableRel;
+import org.apache.calcite.adapter.enumerable.EnumerableRelImplementor;
+import org.apache.calcite.adapter.enumerable.JavaRowFormat;
+import org.apache.calcite.adapter.enumerable.PhysType;
+import org.apache.calcite.adapter.enumerable.PhysTypeImpl;
+import org.apache.calcite.linq4j.Enumerable;
+import org.apache.calcite.linq4j.tree.BlockBuilder;
+import org.apache.calcite.linq4j.tree.Expression;
+import org.apache.calcite.linq4j.tree.Expressions;
+import org.apache.calcite.linq4j.tree.Types;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelWriter;
+import org.apache.calcite.rel.core.CorrelationId;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.hint.RelHint;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.opensearch.core.common.unit.ByteSizeValue;
+
+/**
+ * Hash join whose build side, the right input, spills to disk when it exceeds a memory limit. See
+ * {@link SpillableHashJoin} for the execution.
+ */
+public class EnumerableSpillableHashJoin extends Join implements EnumerableRel {
+  private static final Set<JoinRelType> SUPPORTED_JOIN_TYPES =
+      EnumSet.of(JoinRelType.INNER, JoinRelType.LEFT, JoinRelType.SEMI, JoinRelType.ANTI);
+
+  private static final Method JOIN_METHOD =
+      Types.lookupMethod(SpillableHashJoin.class, "join", Enumerable.class, Enumerable.class);
+
+  /** Building the hash table costs more than probing it, so the smaller input should be built. */
+  private static final double BUILD_COST_FACTOR = 2.0;
+
+  private final long memoryLimit;
+
+  public EnumerableSpillableHashJoin(
+      RelOptCluster cluster,
+      RelTraitSet traitSet,
+      List<RelHint> hints,
+      RelNode left,
+      RelNode right,
+      RexNode condition,
+      Set<CorrelationId> variablesSet,
+      JoinRelType joinType,
+      long memoryLimit) {
+    super(cluster, traitSet, hints, left, right, condition, variablesSet, joinType);
+    this.memoryLimit = memoryLimit;
+  }
+
+  /**
+   * Whether the join can be executed by this operator: an equi-join on non null-safe equalities
+   * which never emits unmatched rows of the right input.
+   */
+  public static boolean isSupported(Join join) {
+    JoinInfo joinInfo = join.analyzeCondition();
+    return SUPPORTED_JOIN_TYPES.contains(join.getJoinType())
+        && join.getVariablesSet().isEmpty()
+        && joinInfo.isEqui()
+        && !joinInfo.leftKeys.isEmpty()
+        && RelOptUtil.conjunctions(join.getCondition()).stream()
+            .allMatch(condition -> condition.getKind() == SqlKind.EQUALS);
+  }
+
+  @Override
+  public EnumerableSpillableHashJoin copy(
+      RelTraitSet traitSet,
+      RexNode condition,
+      RelNode left,
+      RelNode right,
+      JoinRelType joinType,
+      boolean semiJoinDone) {
+    return new EnumerableSpillableHashJoin(
+        getCluster(),
+        traitSet,
+        getHints(),
+        left,
+        right,
+        condition,
+        getVariablesSet(),
+        joinType,
+        memoryLimit);
+  }
+
+  @Override
+  public @Nullable RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+    double rowCount =
+        mq.getRowCount(this) + mq.getRowCount(left) + BUILD_COST_FACTOR * mq.getRowCount(right);
+    return planner.getCostFactory().makeCost(rowCount, 0, 0);
+  }
+
+  @Override
+  public RelWriter explainTerms(RelWriter pw) {
+    return super.explainTerms(pw).item("memoryLimit", new ByteSizeValue(memoryLimit));
+  }
+
+  @Override
+  public Result implement(EnumerableRelImplementor implementor, Prefer pref) {
+    BlockBuilder builder = new BlockBuilder();
+    Expression leftRows = implementChild(implementor, builder, 0, "left");
+    Expression rightRows = implementChild(implementor, builder, 1, "right");
+    // Rows of a single column are scalar values, see SpillableHashJoin
+    PhysType physType =
+        PhysTypeImpl.of(implementor.getTypeFactory(), getRowType(), JavaRowFormat.ARRAY);
+    JoinInfo joinInfo = analyzeCondition();
+    Expression join =
+        implementor.stash(
+            new SpillableHashJoin(
+                joinInfo.leftKeys.toIntArray(),
+                joinInfo.rightKeys.toIntArray(),
+                joinType,
+                left.getRowType().getFieldCount(),
+                right.getRowType().getFieldCount(),
+                memoryLimit),
+            SpillableHashJoin.class);
+    return implementor.result(
+        physType,
+        builder.append(Expressions.call(join, JOIN_METHOD, leftRows, rightRows)).toBlock());
+  }
+
+  /** Implement an input, converting its rows to arrays unless they already are or are scalar. */
+  private Expression implementChild(
+      EnumerableRelImplementor implementor, BlockBuilder builder, int ordinal, String name) {
+    Result result =
+        implementor.visitChild(this, ordinal, (EnumerableRel) getInput(ordinal), Prefer.ARRAY);
+    Expression rows = builder.append(name, result.block);
+    JavaRowFormat format = result.physType.getFormat();
+    if (format == JavaRowFormat.ARRAY || format == JavaRowFormat.SCALAR) {
+      return rows;
+    }
+    return builder.append(name + "Rows", result.physType.convertTo(rows, JavaRowFormat.ARRAY));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import org.apache.calcite.adapter.enumerable.EnumerableHashJoin;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.immutables.value.Value;
+
+/**
+ * Planner rule that adds an {@link EnumerableSpillableHashJoin}, spilling to disk beyond the
+ * configured memory limit, as an alternative to an {@link EnumerableHashJoin}, whose build side
+ * must fit in memory. The planner chooses between them and their join orders by cost.
+ */
+@Value.Enclosing
+public class EnumerableSpillableHashJoinRule
+    extends RelRule<EnumerableSpillableHashJoinRule.Config> {
+
+  protected EnumerableSpillableHashJoinRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final EnumerableHashJoin join = call.rel(0);
+    call.transformTo(
+        new EnumerableSpillableHashJoin(
+            join.getCluster(),
+            join.getTraitSet(),
+            join.getHints(),
+            join.getLeft(),
+            join.getRight(),
+            join.getCondition(),
+            join.getVariablesSet(),
+            join.getJoinType(),
+            config.memoryLimit()));
+  }
+
+  /**
+   * Match pattern:<br>
+   * EnumerableHashJoin <br>
+   */
+  @Value.Immutable
+  public interface Config extends RelRule.Config {
+    Config DEFAULT =
+        ImmutableEnumerableSpillableHashJoinRule.Config.builder()
+            .build()
+            .withDescription("EnumerableHashJoin-Spillable")
+            .withOperandSupplier(
+                b0 ->
+                    b0.operand(EnumerableHashJoin.class)
+                        .predicate(EnumerableSpillableHashJoin::isSupported)
+                        .anyInputs());
+
+    /** Estimated heap size in bytes the build side may use before spilling to disk. */
+    @Value.Default
+    default long memoryLimit() {
+      return Long.MAX_VALUE;
+    }
+
+    /** Sets {@link #memoryLimit()}. */
+    Config withMemoryLimit(long memoryLimit);
+
+    @Override
+    default EnumerableSpillableHashJoinRule toRule() {
+      return new EnumerableSpillableHashJoinRule(this);
+    }
+  }
+}
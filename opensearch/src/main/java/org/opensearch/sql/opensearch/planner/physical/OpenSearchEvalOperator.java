@@ -17,6 +17,8 @@ import org.opensearch.sql.expression.Expression;
 import org.opensearch.sql.expression.ReferenceExpression;
 import org.opensearch.sql.expression.env.Environment;
 import org.opensearch.sql.expression.function.OpenSearchFunctions;
+import org.opensearch.sql.expression.vector.VectorExpression;
+import org.opensearch.sql.expression.vector.VectorExpressionCompiler;
 import org.opensearch.sql.planner.physical.EvalOperator;
 import org.opensearch.sql.planner.physical.PhysicalPlan;
 import org.opensearch.transport.client.node.NodeClient;
@@ -37,6 +39,16 @@ public class OpenSearchEvalOperator extends EvalOperator {
     this.nodeClient = nodeClient;
   }
 
+  /** Evaluate the OpenSearch functions row by row, with the node client. */
+  @Override
+  protected VectorExpression compile(Expression expression) {
+    if (expression instanceof OpenSearchFunctions.OpenSearchExecutableFunction openSearchExpr) {
+      return VectorExpressionCompiler.rowByRow(
+          env -> OpenSearchEvalProcessor.process(openSearchExpr, env, nodeClient));
+    }
+    return super.compile(expression);
+  }
+
   /**
    * Evaluate the expression in the {@link EvalOperator} with {@link Environment}.
    *
@@ -20,6 +20,8 @@ public class OpenSearchIndexRules {
       OpenSearchAggregateIndexScanRule.Config.COUNT_STAR.toRule();
   private static final OpenSearchLimitIndexScanRule LIMIT_INDEX_SCAN =
       OpenSearchLimitIndexScanRule.Config.DEFAULT.toRule();
+  private static final OpenSearchSampleIndexScanRule SAMPLE_INDEX_SCAN =
+      OpenSearchSampleIndexScanRule.Config.DEFAULT.toRule();
   private static final OpenSearchSortIndexScanRule SORT_INDEX_SCAN =
       OpenSearchSortIndexScanRule.Config.DEFAULT.toRule();
   private static final OpenSearchDedupPushdownRule DEDUP_PUSH_DOWN =
@@ -33,6 +35,23 @@ public class OpenSearchIndexRules {
   public static final OpenSearchRelevanceFunctionPushdownRule RELEVANCE_FUNCTION_PUSHDOWN =
       OpenSearchRelevanceFunctionPushdownRule.Config.DEFAULT.toRule();
 
+  // Rule that rewrites window aggregates to aggregate and join, enabled by its own setting
+  public static final OpenSearchWindowAggregateJoinRule WINDOW_AGGREGATE_JOIN =
+      OpenSearchWindowAggregateJoinRule.Config.DEFAULT.toRule();
+
+  // Rule that pushes eval expressions down as script fields, enabled by its own setting
+  public static final OpenSearchScriptProjectIndexScanRule SCRIPT_PROJECT_INDEX_SCAN =
+      OpenSearchScriptProjectIndexScanRule.Config.DEFAULT.toRule();
+
+  // Rule that filters the later pages of a scan by the top K of its script fields so far
+  public static final OpenSearchTopKThresholdRule TOP_K_THRESHOLD =
+      OpenSearchTopKThresholdRule.Config.DEFAULT.toRule();
+
+  // Rule that makes hash joins spill to disk beyond the memory limit, enabled by its own setting
+  public static RelOptRule spillableHashJoin(long memoryLimit) {
+    return EnumerableSpillableHashJoinRule.Config.DEFAULT.withMemoryLimit(memoryLimit).toRule();
+  }
+
   public static final List<RelOptRule> OPEN_SEARCH_INDEX_SCAN_RULES =
       ImmutableList.of(
           PROJECT_INDEX_SCAN,
@@ -40,6 +59,7 @@ public class OpenSearchIndexRules {
           AGGREGATE_INDEX_SCAN,
           COUNT_STAR_INDEX_SCAN,
           LIMIT_INDEX_SCAN,
+          SAMPLE_INDEX_SCAN,
           SORT_INDEX_SCAN,
           // TODO enable if https://github.com/opensearch-project/OpenSearch/issues/3725 resolved
           // DEDUP_PUSH_DOWN,
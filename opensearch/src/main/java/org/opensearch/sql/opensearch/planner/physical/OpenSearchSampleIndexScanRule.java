@@ -0,0 +1,53 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.AbstractRelNode;
+import org.immutables.value.Value;
+import org.opensearch.sql.calcite.plan.LogicalSample;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+/**
+ * Planner rule that push a {@link LogicalSample} down to {@link CalciteLogicalIndexScan}, so the
+ * shards only return the sampled documents.
+ */
+@Value.Enclosing
+public class OpenSearchSampleIndexScanRule extends RelRule<OpenSearchSampleIndexScanRule.Config> {
+
+  protected OpenSearchSampleIndexScanRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final LogicalSample sample = call.rel(0);
+    final CalciteLogicalIndexScan scan = call.rel(1);
+
+    AbstractRelNode newOperator = scan.pushDownSample(sample);
+    if (newOperator != null) {
+      call.transformTo(newOperator);
+    }
+  }
+
+  /** Rule configuration. */
+  @Value.Immutable
+  public interface Config extends RelRule.Config {
+    OpenSearchSampleIndexScanRule.Config DEFAULT =
+        ImmutableOpenSearchSampleIndexScanRule.Config.builder()
+            .build()
+            .withOperandSupplier(
+                b0 ->
+                    b0.operand(LogicalSample.class)
+                        .oneInput(b1 -> b1.operand(CalciteLogicalIndexScan.class).noInputs()));
+
+    @Override
+    default OpenSearchSampleIndexScanRule toRule() {
+      return new OpenSearchSampleIndexScanRule(this);
+    }
+  }
+}
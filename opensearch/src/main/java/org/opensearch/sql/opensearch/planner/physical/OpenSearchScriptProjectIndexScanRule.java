@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import java.util.function.Predicate;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.immutables.value.Value;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+/**
+ * Planner rule that push the expressions of a {@link LogicalProject} down to {@link
+ * CalciteLogicalIndexScan} as script fields, so the shards return the computed values instead of
+ * the _source of the documents.
+ */
+@Value.Enclosing
+public class OpenSearchScriptProjectIndexScanRule
+    extends RelRule<OpenSearchScriptProjectIndexScanRule.Config> {
+
+  protected OpenSearchScriptProjectIndexScanRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final LogicalProject project = call.rel(0);
+    final CalciteLogicalIndexScan scan = call.rel(1);
+
+    RelNode newOperator = scan.pushDownScriptProject(project);
+    if (newOperator != null) {
+      call.transformTo(newOperator);
+    }
+  }
+
+  /** Rule configuration. */
+  @Value.Immutable
+  public interface Config extends RelRule.Config {
+    /** Config that matches Project on CalciteLogicalIndexScan. */
+    Config DEFAULT =
+        ImmutableOpenSearchScriptProjectIndexScanRule.Config.builder()
+            .build()
+            .withOperandSupplier(
+                b0 ->
+                    b0.operand(LogicalProject.class)
+                        .predicate(Predicate.not(OpenSearchIndexScanRule::containsRexOver))
+                        .oneInput(
+                            b1 ->
+                                b1.operand(CalciteLogicalIndexScan.class)
+                                    .predicate(OpenSearchIndexScanRule::noAggregatePushed)
+                                    .noInputs()));
+
+    @Override
+    default OpenSearchScriptProjectIndexScanRule toRule() {
+      return new OpenSearchScriptProjectIndexScanRule(this);
+    }
+  }
+}
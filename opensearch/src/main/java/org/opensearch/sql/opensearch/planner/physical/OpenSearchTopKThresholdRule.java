@@ -0,0 +1,64 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import java.util.List;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.logical.LogicalSort;
+import org.immutables.value.Value;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+/**
+ * Planner rule that push a running top-K threshold of a {@link LogicalSort} with a limit down to
+ * a {@link CalciteLogicalIndexScan} returning the sort keys as script fields. The sort stays on
+ * top of the scan, whose later pages skip the documents that cannot make it into the top K.
+ */
+@Value.Enclosing
+public class OpenSearchTopKThresholdRule extends RelRule<OpenSearchTopKThresholdRule.Config> {
+
+  protected OpenSearchTopKThresholdRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final LogicalSort sort = call.rel(0);
+    final CalciteLogicalIndexScan scan = call.rel(1);
+
+    CalciteLogicalIndexScan newScan = scan.pushDownTopK(sort);
+    if (newScan != null) {
+      call.transformTo(sort.copy(sort.getTraitSet(), List.of(newScan)));
+    }
+  }
+
+  /** Rule configuration. */
+  @Value.Immutable
+  public interface Config extends RelRule.Config {
+    /** Config that matches Sort with a limit on CalciteLogicalIndexScan with script fields. */
+    Config DEFAULT =
+        ImmutableOpenSearchTopKThresholdRule.Config.builder()
+            .build()
+            .withOperandSupplier(
+                b0 ->
+                    b0.operand(LogicalSort.class)
+                        .predicate(
+                            sort ->
+                                sort.fetch != null
+                                    && !sort.getCollation().getFieldCollations().isEmpty())
+                        .oneInput(
+                            b1 ->
+                                b1.operand(CalciteLogicalIndexScan.class)
+                                    .predicate(
+                                        scan -> scan.getPushDownContext().isScriptProjectPushed())
+                                    .noInputs()));
+
+    @Override
+    default OpenSearchTopKThresholdRule toRule() {
+      return new OpenSearchTopKThresholdRule(this);
+    }
+  }
+}
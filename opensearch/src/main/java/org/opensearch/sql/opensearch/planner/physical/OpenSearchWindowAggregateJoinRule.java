@@ -0,0 +1,320 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.apache.calcite.plan.RelOptRuleCall;
+import org.apache.calcite.plan.RelRule;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexOver;
+import org.apache.calcite.rex.RexShuttle;
+import org.apache.calcite.rex.RexVisitorImpl;
+import org.apache.calcite.rex.RexWindow;
+import org.apache.calcite.rex.RexWindowBound;
+import org.apache.calcite.sql.SqlAggFunction;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeUtil;
+import org.apache.calcite.tools.RelBuilder;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.immutables.value.Value;
+import org.opensearch.sql.calcite.type.ExprSqlType;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+/**
+ * Planner rule that rewrites window aggregates over whole partitions, e.g. the ones produced by
+ * {@code eventstats}, into an aggregate joined back to the scanned rows on the partition keys. The
+ * aggregate can then be pushed down to {@link CalciteLogicalIndexScan} and computed by the shards,
+ * and the coordinator only keeps one row per partition in memory instead of buffering every
+ * partition for the window operator. The buckets of the pushed down aggregate are paged until the
+ * last one, since the inner join would drop the rows of any partition missing from it. The
+ * rewrite is only an alternative to the window operator, the planner picks the cheaper one.
+ *
+ * <pre>
+ * LogicalProject(..., cnt=[COUNT() OVER (PARTITION BY $0)])
+ *   CalciteLogicalIndexScan
+ * </pre>
+ *
+ * is rewritten to
+ *
+ * <pre>
+ * LogicalProject(..., cnt=[$n])
+ *   LogicalJoin(condition=[null-safe equality of partition keys], joinType=[inner])
+ *     LogicalProject(..., null-safe partition keys)
+ *       CalciteLogicalIndexScan
+ *     LogicalProject(..., null-safe partition keys)
+ *       LogicalAggregate(group=[{0}], cnt=[COUNT()])
+ *         LogicalProject(partition keys and aggregate arguments)
+ *           CalciteLogicalIndexScan
+ * </pre>
+ */
+@Value.Enclosing
+public class OpenSearchWindowAggregateJoinRule
+    extends RelRule<OpenSearchWindowAggregateJoinRule.Config> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final Set<SqlKind> SUPPORTED_AGGREGATIONS =
+      EnumSet.of(SqlKind.COUNT, SqlKind.SUM, SqlKind.SUM0, SqlKind.MIN, SqlKind.MAX);
+
+  protected OpenSearchWindowAggregateJoinRule(Config config) {
+    super(config);
+  }
+
+  @Override
+  public void onMatch(RelOptRuleCall call) {
+    final LogicalProject project = call.rel(0);
+    final CalciteLogicalIndexScan scan = call.rel(1);
+    final List<RexOver> overs = getRexOvers(project.getProjects());
+    if (!canRewrite(overs)) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Cannot rewrite window aggregates {} to aggregate and join", overs);
+      }
+      return;
+    }
+    // The aggregate side must return every partition, or the join would drop the rows of the
+    // partitions past the first page of buckets.
+    call.transformTo(rewrite(call.builder(), project, scan, scan.pushDownBucketPaging(), overs));
+  }
+
+  /**
+   * The rewrite applies if all window functions are supported aggregations over field references,
+   * they share the same partition keys, and each frame covers the whole partition.
+   */
+  static boolean canRewrite(List<RexOver> overs) {
+    if (overs.isEmpty()) {
+      return false;
+    }
+    List<RexNode> partitionKeys = overs.getFirst().getWindow().partitionKeys;
+    for (RexNode key : partitionKeys) {
+      if (!(key instanceof RexInputRef) || !supportedKeyType(key.getType())) {
+        return false;
+      }
+    }
+    for (RexOver over : overs) {
+      RexWindow window = over.getWindow();
+      if (!SUPPORTED_AGGREGATIONS.contains(over.getAggOperator().getKind())
+          || over.isDistinct()
+          || !over.getOperands().stream().allMatch(RexInputRef.class::isInstance)
+          || !window.partitionKeys.equals(partitionKeys)
+          || !coversPartition(window)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Rewrite the window aggregates of the project to an aggregate joined back to the input.
+   *
+   * @param builder relational expression builder.
+   * @param project project containing the window aggregates.
+   * @param input input of the project.
+   * @param aggregateInput input of the aggregate, same rows as the input.
+   * @param overs window aggregates in the project, accepted by {@link #canRewrite(List)}.
+   * @return equivalent relational expression with the same row type as the project.
+   */
+  static RelNode rewrite(
+      RelBuilder builder,
+      LogicalProject project,
+      RelNode input,
+      RelNode aggregateInput,
+      List<RexOver> overs) {
+    final RexBuilder rexBuilder = builder.getRexBuilder();
+    final int inputFieldCount = input.getRowType().getFieldCount();
+    final ImmutableBitSet keys =
+        ImmutableBitSet.of(
+            overs.getFirst().getWindow().partitionKeys.stream()
+                .map(key -> ((RexInputRef) key).getIndex())
+                .toList());
+    final int keyCount = keys.cardinality();
+
+    // Deduplicate the aggregations, e.g. avg(x) and sum(x) both compute SUM(x).
+    final Set<Pair<SqlAggFunction, List<Integer>>> aggregations = new LinkedHashSet<>();
+    ImmutableBitSet aggInputs = keys;
+    for (RexOver over : overs) {
+      List<Integer> args = getArgs(over);
+      aggregations.add(Pair.of(over.getAggOperator(), args));
+      if (over.getAggOperator().getKind() == SqlKind.SUM) {
+        aggregations.add(Pair.of(SqlStdOperatorTable.COUNT, args));
+      }
+      aggInputs = aggInputs.union(ImmutableBitSet.of(args));
+    }
+
+    // Row side.
+    builder.push(input);
+    builder.projectPlus(nullSafeKeys(builder, keys.asList().stream().map(builder::field).toList()));
+
+    // Aggregate side. Project the used fields first, so the aggregate can be pushed down.
+    final List<Integer> inputs = aggInputs.asList();
+    builder.push(
+        LogicalProject.create(
+            aggregateInput,
+            List.of(),
+            inputs.stream().map(i -> rexBuilder.makeInputRef(aggregateInput, i)).toList(),
+            inputs.stream().map(i -> input.getRowType().getFieldNames().get(i)).toList(),
+            Set.of()));
+    final List<RelBuilder.AggCall> aggCalls = new ArrayList<>();
+    for (Pair<SqlAggFunction, List<Integer>> aggregation : aggregations) {
+      aggCalls.add(
+          builder.aggregateCall(
+              aggregation.getKey(),
+              aggregation.getValue().stream().map(i -> builder.field(inputs.indexOf(i))).toList()));
+    }
+    builder.aggregate(
+        builder.groupKey(
+            keys.asList().stream().map(i -> builder.field(inputs.indexOf(i))).toList()),
+        aggCalls);
+    builder.projectPlus(nullSafeKeys(builder, builder.fields(ImmutableBitSet.range(keyCount))));
+
+    final int rightOffset = inputFieldCount + 2 * keyCount;
+    final int rightKeyOffset = keyCount + aggregations.size();
+    final List<RexNode> conditions = new ArrayList<>();
+    for (int i = 0; i < 2 * keyCount; i++) {
+      conditions.add(
+          builder.equals(
+              builder.field(2, 0, inputFieldCount + i), builder.field(2, 1, rightKeyOffset + i)));
+    }
+    builder.join(JoinRelType.INNER, conditions);
+
+    final List<Pair<SqlAggFunction, List<Integer>>> aggregationKeys =
+        new ArrayList<>(aggregations);
+    final RexShuttle replaceOver =
+        new RexShuttle() {
+          private RexNode aggregationRef(SqlAggFunction aggFunction, List<Integer> args) {
+            int index = aggregationKeys.indexOf(Pair.of(aggFunction, args));
+            return builder.field(rightOffset + keyCount + index);
+          }
+
+          @Override
+          public RexNode visitOver(RexOver over) {
+            RexNode ref = aggregationRef(over.getAggOperator(), getArgs(over));
+            if (over.getAggOperator().getKind() == SqlKind.SUM) {
+              // The sum of a partition without values is null for the window function, while the
+              // pushed down aggregation returns 0.
+              ref =
+                  rexBuilder.makeCall(
+                      SqlStdOperatorTable.CASE,
+                      builder.equals(
+                          aggregationRef(SqlStdOperatorTable.COUNT, getArgs(over)),
+                          builder.literal(0)),
+                      rexBuilder.makeNullLiteral(ref.getType()),
+                      ref);
+            }
+            return ref.getType().equals(over.getType())
+                ? ref
+                : rexBuilder.makeAbstractCast(over.getType(), ref, false);
+          }
+        };
+    builder.project(
+        project.getProjects().stream().map(expr -> expr.accept(replaceOver)).toList(),
+        project.getRowType().getFieldNames());
+    return builder.build();
+  }
+
+  /**
+   * The hash join drops rows with null keys, even for IS NOT DISTINCT FROM conditions. Join on a
+   * null indicator and the key with nulls replaced by a zero value instead.
+   */
+  private static List<RexNode> nullSafeKeys(RelBuilder builder, List<? extends RexNode> keys) {
+    List<RexNode> nullSafeKeys = new ArrayList<>();
+    for (RexNode key : keys) {
+      nullSafeKeys.add(builder.isNull(key));
+    }
+    for (RexNode key : keys) {
+      nullSafeKeys.add(
+          builder.call(
+              SqlStdOperatorTable.COALESCE,
+              key,
+              builder.getRexBuilder().makeZeroLiteral(key.getType())));
+    }
+    return nullSafeKeys;
+  }
+
+  private static List<Integer> getArgs(RexOver over) {
+    return over.getOperands().stream().map(arg -> ((RexInputRef) arg).getIndex()).toList();
+  }
+
+  private static boolean supportedKeyType(RelDataType type) {
+    return !(type instanceof ExprSqlType)
+        && (SqlTypeUtil.isNumeric(type)
+            || SqlTypeUtil.isCharacter(type)
+            || SqlTypeUtil.isBoolean(type));
+  }
+
+  private static boolean coversPartition(RexWindow window) {
+    if (!window.orderKeys.isEmpty()) {
+      return false;
+    }
+    RexWindowBound lower = window.getLowerBound();
+    RexWindowBound upper = window.getUpperBound();
+    if (window.isRows()) {
+      return lower.isUnbounded()
+          && lower.isPreceding()
+          && upper.isUnbounded()
+          && upper.isFollowing();
+    }
+    // Without ORDER BY all rows of a partition are peers of the current row.
+    return (lower.isCurrentRow() || lower.isUnbounded() && lower.isPreceding())
+        && (upper.isCurrentRow() || upper.isUnbounded() && upper.isFollowing());
+  }
+
+  static List<RexOver> getRexOvers(List<RexNode> projects) {
+    final List<RexOver> overs = new ArrayList<>();
+    final RexVisitorImpl<Void> visitor =
+        new RexVisitorImpl<>(true) {
+          @Override
+          public Void visitOver(RexOver over) {
+            overs.add(over);
+            return null;
+          }
+        };
+    visitor.visitEach(projects);
+    return overs;
+  }
+
+  /**
+   * Match pattern:<br>
+   * LogicalProject(..., RexOver) <br>
+   * CalciteLogicalIndexScan <br>
+   */
+  @Value.Immutable
+  public interface Config extends RelRule.Config {
+    Config DEFAULT =
+        ImmutableOpenSearchWindowAggregateJoinRule.Config.builder()
+            .build()
+            .withDescription("Project[RexOver]-TableScan")
+            .withOperandSupplier(
+                b0 ->
+                    b0.operand(LogicalProject.class)
+                        .predicate(OpenSearchIndexScanRule::containsRexOver)
+                        .oneInput(
+                            b1 ->
+                                b1.operand(CalciteLogicalIndexScan.class)
+                                    .predicate(
+                                        Predicate.not(OpenSearchIndexScanRule::isLimitPushed)
+                                            .and(OpenSearchIndexScanRule::noAggregatePushed))
+                                    .noInputs()));
+
+    @Override
+    default OpenSearchWindowAggregateJoinRule toRule() {
+      return new OpenSearchWindowAggregateJoinRule(this);
+    }
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of the rows of Calcite enumerables spilled to disk. Each field is written
+ * as a one byte tag followed by its value, integers are variable-length and null fields take a
+ * single byte. Values of types Calcite does not use for its runtime representation of SQL types
+ * fall back to Java serialization.
+ */
+final class SpillRowCodec {
+  private static final byte NULL = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = 2;
+  private static final byte BYTE = 3;
+  private static final byte SHORT = 4;
+  private static final byte INT = 5;
+  private static final byte LONG = 6;
+  private static final byte FLOAT = 7;
+  private static final byte DOUBLE = 8;
+  private static final byte STRING = 9;
+  private static final byte DECIMAL = 10;
+  private static final byte BYTES = 11;
+  private static final byte LIST = 12;
+  private static final byte MAP = 13;
+  private static final byte SERIALIZED = 14;
+
+  /** Estimated heap size of an object header plus a reference to it. */
+  private static final long OBJECT_OVERHEAD = 24;
+
+  private SpillRowCodec() {}
+
+  static void write(DataOutput out, Object[] row) throws IOException {
+    for (Object value : row) {
+      writeValue(out, value);
+    }
+  }
+
+  static Object[] read(DataInput in, int fieldCount) throws IOException {
+    Object[] row = new Object[fieldCount];
+    for (int i = 0; i < fieldCount; i++) {
+      row[i] = readValue(in);
+    }
+    return row;
+  }
+
+  /** Roughly estimate the heap size of a row, to decide when the build side of a join spills. */
+  static long estimateSize(Object[] row) {
+    long size = OBJECT_OVERHEAD + 8L * row.length;
+    for (Object value : row) {
+      size += estimateValueSize(value);
+    }
+    return size;
+  }
+
+  private static long estimateValueSize(Object value) {
+    if (value == null || value instanceof Boolean) {
+      return 0;
+    } else if (value instanceof String string) {
+      return 2 * OBJECT_OVERHEAD + string.length();
+    } else if (value instanceof byte[] bytes) {
+      return OBJECT_OVERHEAD + bytes.length;
+    } else if (value instanceof List<?> list) {
+      long size = OBJECT_OVERHEAD + 8L * list.size();
+      for (Object element : list) {
+        size += estimateValueSize(element);
+      }
+      return size;
+    } else if (value instanceof Map<?, ?> map) {
+      long size = OBJECT_OVERHEAD + 32L * map.size();
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        size += estimateValueSize(entry.getKey()) + estimateValueSize(entry.getValue());
+      }
+      return size;
+    }
+    return OBJECT_OVERHEAD;
+  }
+
+  private static void writeValue(DataOutput out, Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof Boolean bool) {
+      out.writeByte(bool ? TRUE : FALSE);
+    } else if (value instanceof Byte b) {
+      out.writeByte(BYTE);
+      out.writeByte(b);
+    } else if (value instanceof Short s) {
+      out.writeByte(SHORT);
+      writeVarLong(out, s);
+    } else if (value instanceof Integer i) {
+      out.writeByte(INT);
+      writeVarLong(out, i);
+    } else if (value instanceof Long l) {
+      out.writeByte(LONG);
+      writeVarLong(out, l);
+    } else if (value instanceof Float f) {
+      out.writeByte(FLOAT);
+      out.writeFloat(f);
+    } else if (value instanceof Double d) {
+      out.writeByte(DOUBLE);
+      out.writeDouble(d);
+    } else if (value instanceof String string) {
+      out.writeByte(STRING);
+      writeBytes(out, string.getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof BigDecimal decimal) {
+      out.writeByte(DECIMAL);
+      writeVarLong(out, decimal.scale());
+      writeBytes(out, decimal.unscaledValue().toByteArray());
+    } else if (value instanceof byte[] bytes) {
+      out.writeByte(BYTES);
+      writeBytes(out, bytes);
+    } else if (value instanceof List<?> list) {
+      out.writeByte(LIST);
+      writeVarLong(out, list.size());
+      for (Object element : list) {
+        writeValue(out, element);
+      }
+    } else if (value instanceof Map<?, ?> map) {
+      out.writeByte(MAP);
+      writeVarLong(out, map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        writeValue(out, entry.getKey());
+        writeValue(out, entry.getValue());
+      }
+    } else if (value instanceof Serializable) {
+      out.writeByte(SERIALIZED);
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+        objectOut.writeObject(value);
+      }
+      writeBytes(out, bytes.toByteArray());
+    } else {
+      throw new IllegalStateException(
+          "Cannot spill value of type " + value.getClass().getName() + " to disk");
+    }
+  }
+
+  private static Object readValue(DataInput in) throws IOException {
+    byte tag = in.readByte();
+    return switch (tag) {
+      case NULL -> null;
+      case TRUE -> Boolean.TRUE;
+      case FALSE -> Boolean.FALSE;
+      case BYTE -> in.readByte();
+      case SHORT -> (short) readVarLong(in);
+      case INT -> (int) readVarLong(in);
+      case LONG -> readVarLong(in);
+      case FLOAT -> in.readFloat();
+      case DOUBLE -> in.readDouble();
+      case STRING -> new String(readBytes(in), StandardCharsets.UTF_8);
+      case DECIMAL -> {
+        int scale = (int) readVarLong(in);
+        yield new BigDecimal(new BigInteger(readBytes(in)), scale);
+      }
+      case BYTES -> readBytes(in);
+      case LIST -> {
+        int size = (int) readVarLong(in);
+        List<Object> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readValue(in));
+        }
+        yield list;
+      }
+      case MAP -> {
+        int size = (int) readVarLong(in);
+        Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+          map.put(readValue(in), readValue(in));
+        }
+        yield map;
+      }
+      case SERIALIZED -> {
+        try (ObjectInputStream objectIn =
+            new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+          yield objectIn.readObject();
+        } catch (ClassNotFoundException e) {
+          throw new IOException("Failed to read spilled value", e);
+        }
+      }
+      default -> throw new IOException("Unknown tag of spilled value: " + tag);
+    };
+  }
+
+  private static void writeBytes(DataOutput out, byte[] bytes) throws IOException {
+    writeVarLong(out, bytes.length);
+    out.write(bytes);
+  }
+
+  private static byte[] readBytes(DataInput in) throws IOException {
+    byte[] bytes = new byte[(int) readVarLong(in)];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /** Write a zigzag encoded variable-length long, so that small negative values stay short. */
+  private static void writeVarLong(DataOutput out, long value) throws IOException {
+    long zigzag = (value << 1) ^ (value >> 63);
+    while ((zigzag & ~0x7FL) != 0) {
+      out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+      zigzag >>>= 7;
+    }
+    out.writeByte((int) zigzag);
+  }
+
+  private static long readVarLong(DataInput in) throws IOException {
+    long zigzag = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = in.readByte();
+      zigzag |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        break;
+      }
+    }
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+}
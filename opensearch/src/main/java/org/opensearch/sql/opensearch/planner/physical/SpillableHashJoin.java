@@ -0,0 +1,546 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.apache.calcite.linq4j.AbstractEnumerable;
+import org.apache.calcite.linq4j.Enumerable;
+import org.apache.calcite.linq4j.Enumerator;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Hash join which keeps the build side in memory while it fits in a memory limit, and otherwise
+ * falls back to a grace hash join: both sides are partitioned by the hash of their join keys into
+ * temporary files, and the partitions are joined one at a time. A partition whose build side
+ * still does not fit is partitioned again with another hash seed, up to {@link #MAX_DEPTH} times.
+ *
+ * <p>Rows are {@code Object[]}, or the value itself for single column rows, as in Calcite
+ * enumerables of {@link org.apache.calcite.adapter.enumerable.JavaRowFormat#ARRAY} format. Only
+ * equi-joins of type inner, left, semi and anti are supported, so that rows with a null join key
+ * never match and unmatched build rows are never emitted.
+ */
+@RequiredArgsConstructor
+public class SpillableHashJoin {
+  private static final Logger LOG = LogManager.getLogger();
+
+  /** Number of partitions each side is split into when the build side spills. */
+  @VisibleForTesting static final int PARTITION_COUNT = 32;
+
+  /** Maximum number of times a partition too large for the memory limit is split again. */
+  private static final int MAX_DEPTH = 3;
+
+  /** Estimated heap size of a hash table entry, in addition to the size of its row. */
+  private static final long ENTRY_OVERHEAD = 64;
+
+  private final int[] probeKeys;
+  private final int[] buildKeys;
+  private final JoinRelType joinType;
+  private final int probeFieldCount;
+  private final int buildFieldCount;
+  private final long memoryLimit;
+
+  /**
+   * Join the probe side with the build side.
+   *
+   * @param probe rows of the probe side, the left input of the join
+   * @param build rows of the build side, the right input of the join
+   * @return joined rows
+   */
+  public Enumerable<@Nullable Object> join(Enumerable<?> probe, Enumerable<?> build) {
+    return new AbstractEnumerable<>() {
+      @Override
+      public Enumerator<@Nullable Object> enumerator() {
+        return new JoinEnumerator(probe, build);
+      }
+    };
+  }
+
+  private class JoinEnumerator implements Enumerator<@Nullable Object> {
+    private final Enumerable<?> probe;
+    private final Enumerable<?> build;
+    private final Deque<Partition> pending = new ArrayDeque<>();
+    private final List<SpillFile> spillFiles = new ArrayList<>();
+    private final SpillMetrics metrics = new SpillMetrics();
+    private Path spillDirectory;
+    private Iterator<Object[]> output;
+    private Linq4jIterator probeRows;
+    private SpillFile.Reader probeReader;
+    private Object current;
+
+    JoinEnumerator(Enumerable<?> probe, Enumerable<?> build) {
+      this.probe = probe;
+      this.build = build;
+    }
+
+    @Override
+    public Object current() {
+      return current;
+    }
+
+    @Override
+    public boolean moveNext() {
+      try {
+        if (output == null) {
+          output = start();
+        }
+        while (!output.hasNext()) {
+          closeProbeReader();
+          if (pending.isEmpty()) {
+            return false;
+          }
+          output = joinPartition(pending.pop());
+        }
+        Object[] row = output.next();
+        current = row.length == 1 ? row[0] : row;
+        return true;
+      } catch (RuntimeException e) {
+        // Delete the spill files even if the failed join is never closed
+        close();
+        throw e;
+      }
+    }
+
+    @Override
+    public void reset() {
+      throw new UnsupportedOperationException("Hash join cannot be reset");
+    }
+
+    @Override
+    public void close() {
+      if (probeRows != null) {
+        probeRows.close();
+      }
+      closeProbeReader();
+      if (spillDirectory != null) {
+        deleteSpillDirectory();
+        spillDirectory = null;
+        LOG.info(
+            "Hash join spilled {} partitions with {} build rows and {} probe rows, {} bytes",
+            metrics.partitions,
+            metrics.buildRows,
+            metrics.probeRows,
+            metrics.bytes);
+      }
+    }
+
+    /** Build the hash table in memory, or partition both sides if it does not fit. */
+    private Iterator<Object[]> start() {
+      HashTable table = new HashTable(memoryLimit);
+      try (Enumerator<?> buildRows = build.enumerator()) {
+        while (buildRows.moveNext()) {
+          Object[] row = toArray(buildRows.current(), buildFieldCount);
+          List<Object> key = key(row, buildKeys);
+          if (key != null && !table.add(key, row)) {
+            spill(table, row, buildRows);
+            return Collections.emptyIterator();
+          }
+        }
+      }
+      probeRows = Linq4jIterator.of(probe.enumerator(), probeFieldCount);
+      return new ProbeIterator(probeRows, table.rows);
+    }
+
+    private void spill(HashTable table, Object[] lastRow, Enumerator<?> buildRows) {
+      try {
+        spillDirectory = Files.createTempDirectory("opensearch-sql-join");
+        SpillFile[] buildFiles = createFiles("build", 0);
+        table.rows.forEach(
+            (key, rows) -> rows.forEach(row -> buildFiles[partition(key, 0)].write(row)));
+        table.rows.clear();
+        buildFiles[partition(key(lastRow, buildKeys), 0)].write(lastRow);
+        while (buildRows.moveNext()) {
+          Object[] row = toArray(buildRows.current(), buildFieldCount);
+          List<Object> key = key(row, buildKeys);
+          if (key != null) {
+            buildFiles[partition(key, 0)].write(row);
+          }
+        }
+        SpillFile[] probeFiles = createFiles("probe", 0);
+        try (Enumerator<?> rows = probe.enumerator()) {
+          while (rows.moveNext()) {
+            Object[] row = toArray(rows.current(), probeFieldCount);
+            probeFiles[partition(key(row, probeKeys), 0)].write(row);
+          }
+        }
+        addPartitions(buildFiles, probeFiles, 0);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to spill hash join to disk", e);
+      }
+    }
+
+    private Iterator<Object[]> joinPartition(Partition partition) {
+      long limit = partition.depth < MAX_DEPTH ? memoryLimit : Long.MAX_VALUE;
+      HashTable table = new HashTable(limit);
+      boolean fits = true;
+      try (SpillFile.Reader buildRows = partition.build.read()) {
+        while (fits && buildRows.hasNext()) {
+          Object[] row = buildRows.next();
+          fits = table.add(key(row, buildKeys), row);
+        }
+      }
+      if (!fits) {
+        table.rows.clear();
+        repartition(partition);
+        return Collections.emptyIterator();
+      }
+      partition.build.delete();
+      probeReader = partition.probe.read();
+      return new ProbeIterator(probeReader, table.rows);
+    }
+
+    /** Split a partition whose build side does not fit in memory with the next hash seed. */
+    private void repartition(Partition partition) {
+      int depth = partition.depth + 1;
+      SpillFile[] buildFiles = createFiles("build", depth);
+      try (SpillFile.Reader rows = partition.build.read()) {
+        rows.forEachRemaining(row -> buildFiles[partition(key(row, buildKeys), depth)].write(row));
+      }
+      SpillFile[] probeFiles = createFiles("probe", depth);
+      try (SpillFile.Reader rows = partition.probe.read()) {
+        rows.forEachRemaining(row -> probeFiles[partition(key(row, probeKeys), depth)].write(row));
+      }
+      partition.build.delete();
+      partition.probe.delete();
+      addPartitions(buildFiles, probeFiles, depth);
+    }
+
+    private void addPartitions(SpillFile[] buildFiles, SpillFile[] probeFiles, int depth) {
+      for (int i = PARTITION_COUNT - 1; i >= 0; i--) {
+        buildFiles[i].finishWriting();
+        probeFiles[i].finishWriting();
+        metrics.buildRows += buildFiles[i].rows;
+        metrics.probeRows += probeFiles[i].rows;
+        metrics.bytes += buildFiles[i].size() + probeFiles[i].size();
+        // Partitions without probe rows, or without build rows for inner and semi joins, have
+        // no output
+        if (probeFiles[i].rows == 0
+            || (buildFiles[i].rows == 0 && !joinType.generatesNullsOnRight() && !isAnti())) {
+          buildFiles[i].delete();
+          probeFiles[i].delete();
+        } else {
+          pending.push(new Partition(buildFiles[i], probeFiles[i], depth));
+        }
+      }
+      metrics.partitions += PARTITION_COUNT;
+    }
+
+    private SpillFile[] createFiles(String side, int depth) {
+      SpillFile[] files = new SpillFile[PARTITION_COUNT];
+      try {
+        for (int i = 0; i < PARTITION_COUNT; i++) {
+          files[i] =
+              new SpillFile(
+                  Files.createTempFile(spillDirectory, side + "-" + depth + "-" + i + "-", ".bin"),
+                  side.equals("build") ? buildFieldCount : probeFieldCount);
+          spillFiles.add(files[i]);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to spill hash join to disk", e);
+      }
+      return files;
+    }
+
+    private void closeProbeReader() {
+      if (probeReader != null) {
+        probeReader.close();
+        probeReader.file.delete();
+        probeReader = null;
+      }
+    }
+
+    private void deleteSpillDirectory() {
+      // Also closes the files still being written when the join failed while spilling
+      spillFiles.forEach(SpillFile::delete);
+      spillFiles.clear();
+      pending.clear();
+      try (Stream<Path> files = Files.list(spillDirectory)) {
+        for (Path file : files.toList()) {
+          Files.deleteIfExists(file);
+        }
+        Files.deleteIfExists(spillDirectory);
+      } catch (IOException e) {
+        LOG.warn("Failed to delete hash join spill directory {}", spillDirectory, e);
+      }
+    }
+  }
+
+  /** Iterator joining each probe row with the matching build rows. */
+  private class ProbeIterator implements Iterator<Object[]> {
+    private final Iterator<Object[]> probeRows;
+    private final Map<List<Object>, List<Object[]>> table;
+    private final Deque<Object[]> buffer = new ArrayDeque<>();
+
+    ProbeIterator(Iterator<Object[]> probeRows, Map<List<Object>, List<Object[]>> table) {
+      this.probeRows = probeRows;
+      this.table = table;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (buffer.isEmpty() && probeRows.hasNext()) {
+        Object[] probeRow = probeRows.next();
+        List<Object> key = key(probeRow, probeKeys);
+        List<Object[]> matches = key == null ? null : table.get(key);
+        switch (joinType) {
+          case SEMI -> {
+            if (matches != null) {
+              buffer.add(probeRow);
+            }
+          }
+          case ANTI -> {
+            if (matches == null) {
+              buffer.add(probeRow);
+            }
+          }
+          default -> {
+            if (matches != null) {
+              matches.forEach(buildRow -> buffer.add(concat(probeRow, buildRow)));
+            } else if (joinType.generatesNullsOnRight()) {
+              buffer.add(concat(probeRow, new Object[buildFieldCount]));
+            }
+          }
+        }
+      }
+      return !buffer.isEmpty();
+    }
+
+    @Override
+    public Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return buffer.poll();
+    }
+  }
+
+  /** Hash table of the build rows by join key, which refuses rows beyond its memory limit. */
+  @RequiredArgsConstructor
+  private static class HashTable {
+    private final long limit;
+    private final Map<List<Object>, List<Object[]>> rows = new HashMap<>();
+    private long size;
+
+    boolean add(List<Object> key, Object[] row) {
+      size += ENTRY_OVERHEAD + SpillRowCodec.estimateSize(row);
+      if (size > limit) {
+        return false;
+      }
+      rows.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+      return true;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class Partition {
+    private final SpillFile build;
+    private final SpillFile probe;
+    private final int depth;
+  }
+
+  private static class SpillMetrics {
+    private long partitions;
+    private long buildRows;
+    private long probeRows;
+    private long bytes;
+  }
+
+  /** Temporary file of rows encoded with {@link SpillRowCodec}. */
+  private static class SpillFile {
+    private final Path path;
+    private final int fieldCount;
+    private DataOutputStream out;
+    private long rows;
+
+    SpillFile(Path path, int fieldCount) throws IOException {
+      this.path = path;
+      this.fieldCount = fieldCount;
+      this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+    }
+
+    void write(Object[] row) {
+      try {
+        SpillRowCodec.write(out, row);
+        rows++;
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to spill hash join to disk", e);
+      }
+    }
+
+    void finishWriting() {
+      try {
+        out.close();
+        out = null;
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to spill hash join to disk", e);
+      }
+    }
+
+    long size() {
+      try {
+        return Files.size(path);
+      } catch (IOException e) {
+        return 0;
+      }
+    }
+
+    Reader read() {
+      try {
+        return new Reader(
+            this, new DataInputStream(new BufferedInputStream(Files.newInputStream(path))));
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to read spilled hash join rows", e);
+      }
+    }
+
+    void delete() {
+      try {
+        if (out != null) {
+          out.close();
+          out = null;
+        }
+        Files.deleteIfExists(path);
+      } catch (IOException e) {
+        LOG.warn("Failed to delete hash join spill file {}", path, e);
+      }
+    }
+
+    @RequiredArgsConstructor
+    private static class Reader implements Iterator<Object[]>, AutoCloseable {
+      private final SpillFile file;
+      private final DataInputStream in;
+      private long read;
+
+      @Override
+      public boolean hasNext() {
+        return read < file.rows;
+      }
+
+      @Override
+      public Object[] next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          read++;
+          return SpillRowCodec.read(in, file.fieldCount);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to read spilled hash join rows", e);
+        }
+      }
+
+      @Override
+      public void close() {
+        try {
+          in.close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close hash join spill file {}", file.path, e);
+        }
+      }
+    }
+  }
+
+  /** Iterator over the rows of a Linq4j enumerator, closing it once exhausted. */
+  @RequiredArgsConstructor(staticName = "of")
+  private static class Linq4jIterator implements Iterator<Object[]>, AutoCloseable {
+    private final Enumerator<?> enumerator;
+    private final int fieldCount;
+    private Boolean hasNext;
+    private boolean closed;
+
+    @Override
+    public boolean hasNext() {
+      if (hasNext == null) {
+        hasNext = !closed && enumerator.moveNext();
+        if (!hasNext) {
+          close();
+        }
+      }
+      return hasNext;
+    }
+
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        enumerator.close();
+      }
+    }
+
+    @Override
+    public Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      hasNext = null;
+      return toArray(enumerator.current(), fieldCount);
+    }
+  }
+
+  private boolean isAnti() {
+    return joinType == JoinRelType.ANTI;
+  }
+
+  /** Key of a row, or null if any of its key fields is null since it can never match. */
+  private static List<Object> key(Object[] row, int[] keys) {
+    Object[] key = new Object[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      key[i] = row[keys[i]];
+      if (key[i] == null) {
+        return null;
+      }
+    }
+    return Arrays.asList(key);
+  }
+
+  /** Partition of a key for the given depth, null keys of probe rows go to the first one. */
+  private static int partition(List<Object> key, int depth) {
+    if (key == null) {
+      return 0;
+    }
+    // Murmur3 finalizer, seeded by depth so that a partition is split differently when
+    // partitioned again
+    int h = key.hashCode() + depth * 0x9E3779B9;
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return Math.floorMod(h, PARTITION_COUNT);
+  }
+
+  private static Object[] toArray(Object row, int fieldCount) {
+    return fieldCount == 1 && !(row instanceof Object[]) ? new Object[] {row} : (Object[]) row;
+  }
+
+  private static Object[] concat(Object[] left, Object[] right) {
+    Object[] row = Arrays.copyOf(left, left.length + right.length);
+    System.arraycopy(right, 0, row, left.length, right.length);
+    return row;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.request;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
+
+/**
+ * Reads the fields fetched from doc values from _source instead when they hold an array. Doc values
+ * of an array are sorted and lose its first value, which is the value read from _source, so the
+ * hits with such a field are searched again by id for the _source of the projected fields. Hits
+ * without arrays, usually all of them, are not searched again.
+ */
+@RequiredArgsConstructor
+class DocValueArrayFallback {
+
+  private final OpenSearchExprValueFactory exprValueFactory;
+
+  /** Fields projected by the request, from _source or doc values. */
+  private final List<String> includes;
+
+  /**
+   * Set the _source of the hits of the response whose doc value fields hold arrays.
+   *
+   * @param response response of the search fetching doc values
+   * @param searchAction action to search the _source of the hits with
+   */
+  void apply(SearchResponse response, Function<SearchRequest, SearchResponse> searchAction) {
+    if (includes.isEmpty() || response.getHits() == null || response.getHits().getHits() == null) {
+      return;
+    }
+    Map<String, SearchHit> arrayHits = new LinkedHashMap<>();
+    for (SearchHit hit : response.getHits().getHits()) {
+      if (hasDocValueArray(hit)) {
+        arrayHits.put(key(hit), hit);
+      }
+    }
+    if (arrayHits.isEmpty()) {
+      return;
+    }
+    String[] ids = arrayHits.values().stream().map(SearchHit::getId).toArray(String[]::new);
+    Set<String> indices =
+        arrayHits.values().stream()
+            .map(DocValueArrayFallback::indexName)
+            .collect(Collectors.toSet());
+    SearchSourceBuilder source =
+        new SearchSourceBuilder()
+            .query(QueryBuilders.idsQuery().addIds(ids))
+            .fetchSource(includes.toArray(String[]::new), new String[0])
+            // The same id may be in each index
+            .size(ids.length * indices.size());
+    SearchResponse sources =
+        searchAction.apply(
+            new SearchRequest().indices(indices.toArray(String[]::new)).source(source));
+    for (SearchHit hit : sources.getHits().getHits()) {
+      SearchHit arrayHit = arrayHits.get(key(hit));
+      if (arrayHit != null) {
+        arrayHit.sourceRef(hit.getSourceRef());
+      }
+    }
+  }
+
+  private boolean hasDocValueArray(SearchHit hit) {
+    Map<String, DocumentField> fields = hit.getFields();
+    return fields != null
+        && fields.values().stream()
+            .anyMatch(field -> field.getValues().size() > 1 && isDocValueField(field.getName()));
+  }
+
+  /** Whether the field was fetched from doc values rather than computed by a script. */
+  private boolean isDocValueField(String name) {
+    return !name.contains(".")
+        && includes.contains(name)
+        && exprValueFactory.isDocValueFetchable(name);
+  }
+
+  private static String indexName(SearchHit hit) {
+    return hit.getClusterAlias() == null
+        ? hit.getIndex()
+        : hit.getClusterAlias() + ":" + hit.getIndex();
+  }
+
+  private static String key(SearchHit hit) {
+    return indexName(hit) + "/" + hit.getId();
+  }
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.request;
+
+import static org.opensearch.index.query.QueryBuilders.boolQuery;
+import static org.opensearch.index.query.QueryBuilders.existsQuery;
+import static org.opensearch.index.query.QueryBuilders.rangeQuery;
+import static org.opensearch.index.query.QueryBuilders.termQuery;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Range;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUnknownAs;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeFamily;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.NlsString;
+import org.apache.calcite.util.Sarg;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.sql.calcite.type.ExprSqlType;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory.ExprUDT;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.exception.ExpressionEvaluationException;
+import org.opensearch.sql.expression.function.PPLBuiltinOperators;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDateType;
+import org.opensearch.sql.opensearch.request.PredicateAnalyzer.NamedFieldExpression;
+import org.opensearch.sql.opensearch.request.PredicateAnalyzer.QueryExpression;
+import org.opensearch.sql.opensearch.request.PredicateAnalyzer.SimpleQueryExpression;
+import org.opensearch.sql.planner.physical.collector.Rounding.DateTimeUnit;
+
+/**
+ * Rewrites the comparisons of a function of a field against literals, such as {@code year(ts) =
+ * 2024} or {@code bytes / 1024 > 10}, into range and term queries on the field itself, which the
+ * shards answer from their index instead of running a script on each document.
+ *
+ * <p>The function has to be monotonic in the field, so that the field values whose image is in a
+ * range of the literals are themselves a range. The comparisons are inverted on integer and date
+ * fields only, whose values are discrete, so that each bound of the range is the least value of the
+ * field whose image reaches the literal. Comparisons this rewriter doesn't know are left to the
+ * {@link PredicateAnalyzer}, which pushes them down as scripts.
+ */
+final class FunctionPredicateRewriter {
+
+  private static final String EPOCH_MILLIS = "epoch_millis";
+
+  /** The formats of date_format that truncate a date to a unit, in the order of the output. */
+  private static final Map<String, DateFormat> DATE_FORMATS =
+      Map.of(
+          "%Y", new DateFormat("uuuu", ChronoUnit.YEARS),
+          "%Y-%m", new DateFormat("uuuu-MM", ChronoUnit.MONTHS),
+          "%Y-%m-%d", new DateFormat("uuuu-MM-dd", ChronoUnit.DAYS),
+          "%Y-%m-%d %H", new DateFormat("uuuu-MM-dd HH", ChronoUnit.HOURS),
+          "%Y-%m-%d %H:%i", new DateFormat("uuuu-MM-dd HH:mm", ChronoUnit.MINUTES),
+          "%Y-%m-%d %H:%i:%s", new DateFormat("uuuu-MM-dd HH:mm:ss", ChronoUnit.SECONDS),
+          "%Y-%m-%d %H:%i:%S", new DateFormat("uuuu-MM-dd HH:mm:ss", ChronoUnit.SECONDS),
+          "%Y-%m-%d %T", new DateFormat("uuuu-MM-dd HH:mm:ss", ChronoUnit.SECONDS));
+
+  private FunctionPredicateRewriter() {}
+
+  /**
+   * Rewrite a comparison of a function of a field against literals.
+   *
+   * @param call comparison or search call
+   * @param schema current schema of scan operator
+   * @param fieldTypes mapping of OpenSearch field name to ExprType
+   * @return the query on the field, or null if the comparison can't be rewritten
+   */
+  static QueryExpression rewrite(
+      RexCall call, List<String> schema, Map<String, ExprType> fieldTypes) {
+    if (call.getOperands().size() != 2) {
+      return null;
+    }
+    SqlKind kind = call.getKind();
+    RexNode function = literal(call.getOperands().get(0));
+    RexNode literal = literal(call.getOperands().get(1));
+    if (function instanceof RexLiteral && kind != SqlKind.SEARCH) {
+      RexNode operand = function;
+      function = literal;
+      literal = operand;
+      kind = kind.reverse();
+    }
+    if (!(function instanceof RexCall functionCall)
+        || !(literal instanceof RexLiteral rexLiteral)
+        || rexLiteral.isNull()) {
+      return null;
+    }
+    try {
+      QueryBuilder builder =
+          isCaseConversion(functionCall)
+              ? caseInsensitiveQuery(functionCall, kind, rexLiteral, schema, fieldTypes)
+              : rangeQueries(functionCall, kind, rexLiteral, schema, fieldTypes);
+      return builder == null ? null : new SimpleQueryExpression(builder);
+    } catch (ArithmeticException
+        | DateTimeException
+        | IllegalArgumentException
+        | ExpressionEvaluationException e) {
+      // The literals are out of the domain of the function, leave the comparison to scripts
+      return null;
+    }
+  }
+
+  /** The string of a timestamp literal, which the planner writes as a call, or the node itself. */
+  private static RexNode literal(RexNode node) {
+    if (node instanceof RexCall call
+        && call.getOperator().equals(PPLBuiltinOperators.TIMESTAMP)
+        && call.getOperands().size() == 1
+        && call.getOperands().getFirst() instanceof RexLiteral literal
+        && SqlTypeFamily.CHARACTER.contains(literal.getType())) {
+      return literal;
+    }
+    return node;
+  }
+
+  /** The ranges of the image of the function that satisfy the comparison. */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static List<Range<?>> ranges(SqlKind kind, RexLiteral literal) {
+    if (kind == SqlKind.SEARCH) {
+      Sarg<?> sarg = literal.getValueAs(Sarg.class);
+      if (sarg == null || sarg.nullAs == RexUnknownAs.TRUE) {
+        return null;
+      }
+      return new ArrayList<>(sarg.rangeSet.asRanges());
+    }
+    Comparable value = literal.getValue();
+    return switch (kind) {
+      case EQUALS -> List.of(Range.singleton(value));
+      case NOT_EQUALS -> List.of(Range.lessThan(value), Range.greaterThan(value));
+      case GREATER_THAN -> List.of(Range.greaterThan(value));
+      case GREATER_THAN_OR_EQUAL -> List.of(Range.atLeast(value));
+      case LESS_THAN -> List.of(Range.lessThan(value));
+      case LESS_THAN_OR_EQUAL -> List.of(Range.atMost(value));
+      default -> null;
+    };
+  }
+
+  private static QueryBuilder rangeQueries(
+      RexCall function,
+      SqlKind kind,
+      RexLiteral literal,
+      List<String> schema,
+      Map<String, ExprType> fieldTypes) {
+    List<Range<?>> ranges = ranges(kind, literal);
+    RexInputRef ref = fieldOperand(function);
+    NamedFieldExpression field = field(ref, schema, fieldTypes);
+    if (ranges == null || field == null) {
+      return null;
+    }
+    boolean date = isDate(ref, field);
+    Preimage preimage =
+        date ? datePreimage(function) : isIntegral(ref) ? integralPreimage(function) : null;
+    if (preimage == null) {
+      return null;
+    }
+    List<QueryBuilder> queries = new ArrayList<>();
+    for (Range<?> range : ranges) {
+      queries.add(rangeQuery(field.getReference(), range, preimage, date));
+    }
+    return or(queries);
+  }
+
+  /** The field the function is applied to, the second operand of a commutative one included. */
+  private static RexInputRef fieldOperand(RexCall function) {
+    List<RexNode> operands = function.getOperands();
+    if (operands.getFirst() instanceof RexInputRef ref) {
+      return ref;
+    }
+    boolean commutative = function.getKind() == SqlKind.PLUS || function.getKind() == SqlKind.TIMES;
+    return commutative && operands.size() == 2 && operands.get(1) instanceof RexInputRef ref
+        ? ref
+        : null;
+  }
+
+  /** The range query of the field values whose image is in the range. */
+  private static QueryBuilder rangeQuery(
+      String field, Range<?> range, Preimage preimage, boolean date) {
+    if (!range.hasLowerBound() && !range.hasUpperBound()) {
+      return existsQuery(field);
+    }
+    RangeQueryBuilder builder = rangeQuery(field);
+    if (range.hasLowerBound()) {
+      boolean strict = range.lowerBoundType() == BoundType.OPEN;
+      builder.gte(preimage.least(value(range.lowerEndpoint()), strict));
+    }
+    if (range.hasUpperBound()) {
+      boolean strict = range.upperBoundType() == BoundType.CLOSED;
+      builder.lt(preimage.least(value(range.upperEndpoint()), strict));
+    }
+    return date ? builder.format(EPOCH_MILLIS) : builder;
+  }
+
+  /** Inverse image of a monotonically non-decreasing function of a field. */
+  @FunctionalInterface
+  private interface Preimage {
+    /**
+     * The least value of the field whose image is above the given value if strict, or at least the
+     * given value otherwise.
+     *
+     * @param value literal the image is compared against
+     * @param strict whether the image has to be above the literal
+     * @return value of the field, in epoch millis for dates
+     */
+    long least(Object value, boolean strict);
+  }
+
+  private static Preimage datePreimage(RexCall function) {
+    SqlOperator operator = function.getOperator();
+    List<RexNode> operands = function.getOperands();
+    if (operator.equals(PPLBuiltinOperators.YEAR) && operands.size() == 1) {
+      return (value, strict) ->
+          epochMillis(
+              LocalDate.ofYearDay(Math.toIntExact(leastInteger(decimal(value), strict)), 1)
+                  .atStartOfDay());
+    }
+    if (operator.equals(PPLBuiltinOperators.DATE_FORMAT)
+        && operands.size() == 2
+        && operands.get(1) instanceof RexLiteral formatLiteral
+        && DATE_FORMATS.get(formatLiteral.getValueAs(String.class)) instanceof DateFormat format) {
+      return (value, strict) -> {
+        LocalDateTime start = format.parse(string(value));
+        return epochMillis(strict ? start.plus(1, format.unit()) : start);
+      };
+    }
+    if (isSpan(function)
+        && function.getOperands().getFirst().getType() instanceof ExprSqlType type
+        && type.getUdt() == ExprUDT.EXPR_TIMESTAMP
+        && operands.get(2) instanceof RexLiteral unitLiteral
+        && !unitLiteral.isNull()) {
+      int interval = Math.toIntExact(positiveInterval(operands.get(1)));
+      DateTimeUnit unit = DateTimeUnit.resolve(unitLiteral.getValueAs(String.class));
+      long width = Math.multiplyExact(fixedUnitMillis(unit), interval);
+      return (value, strict) -> {
+        long millis = new ExprTimestampValue(string(value)).timestampValue().toEpochMilli();
+        long bucket = unit.round(millis, interval);
+        return bucket == millis && !strict ? millis : Math.addExact(bucket, width);
+      };
+    }
+    return null;
+  }
+
+  private static Preimage integralPreimage(RexCall function) {
+    List<RexNode> operands = function.getOperands();
+    switch (function.getKind()) {
+      case PLUS:
+        {
+          BigDecimal addend = exactLiteral(otherOperand(function));
+          return (value, strict) -> leastInteger(decimal(value).subtract(addend), strict);
+        }
+      case MINUS:
+        {
+          BigDecimal subtrahend = exactLiteral(operands.get(1));
+          return (value, strict) -> leastInteger(decimal(value).add(subtrahend), strict);
+        }
+      case TIMES:
+        {
+          BigDecimal factor = positive(exactLiteral(otherOperand(function)));
+          return (value, strict) -> leastQuotient(decimal(value), factor, strict);
+        }
+      default:
+        break;
+    }
+    if (function.getOperator().equals(PPLBuiltinOperators.DIVIDE)
+        && SqlTypeName.INT_TYPES.contains(function.getType().getSqlTypeName())) {
+      // Integral division truncates the quotient
+      long divisor = positiveInterval(operands.get(1));
+      return (value, strict) -> leastDividend(leastInteger(decimal(value), strict), divisor);
+    }
+    if (isSpan(function)
+        && operands.get(2) instanceof RexLiteral unitLiteral
+        && unitLiteral.isNull()
+        && SqlTypeName.INT_TYPES.contains(function.getType().getSqlTypeName())) {
+      // Integral span is the truncated quotient by the interval, multiplied by the interval
+      long interval = positiveInterval(operands.get(1));
+      BigDecimal divisor = BigDecimal.valueOf(interval);
+      return (value, strict) ->
+          leastDividend(leastQuotient(decimal(value), divisor, strict), interval);
+    }
+    return null;
+  }
+
+  /**
+   * Rewrite {@code lower(field) = 'abc'} and {@code upper(field) = 'ABC'} into a case-insensitive
+   * term query on the keyword of the field. The literal must already be in the case of the
+   * function, or the function could never be equal to it.
+   */
+  private static QueryBuilder caseInsensitiveQuery(
+      RexCall function,
+      SqlKind kind,
+      RexLiteral literal,
+      List<String> schema,
+      Map<String, ExprType> fieldTypes) {
+    if (!(function.getOperands().getFirst() instanceof RexInputRef ref)
+        || !SqlTypeFamily.CHARACTER.contains(ref.getType())) {
+      return null;
+    }
+    NamedFieldExpression field = field(ref, schema, fieldTypes);
+    String keyword = field == null ? null : field.getReferenceForTermQuery();
+    if (keyword == null) {
+      return null;
+    }
+    List<Object> values;
+    boolean negated;
+    switch (kind) {
+      case EQUALS, NOT_EQUALS -> {
+        values = List.of(value(literal.getValue()));
+        negated = kind == SqlKind.NOT_EQUALS;
+      }
+      case SEARCH -> {
+        Sarg<?> sarg = literal.getValueAs(Sarg.class);
+        if (sarg == null || sarg.nullAs == RexUnknownAs.TRUE) {
+          return null;
+        }
+        negated = sarg.isComplementedPoints();
+        if (!negated && !sarg.isPoints()) {
+          return null;
+        }
+        values = new ArrayList<>();
+        for (Range<?> range : (negated ? sarg.negate() : sarg).rangeSet.asRanges()) {
+          values.add(value(range.lowerEndpoint()));
+        }
+      }
+      default -> {
+        return null;
+      }
+    }
+    boolean lower = function.getOperator().equals(SqlStdOperatorTable.LOWER);
+    List<QueryBuilder> queries = new ArrayList<>();
+    for (Object value : values) {
+      String string = string(value);
+      String converted = lower ? string.toLowerCase(Locale.ROOT) : string.toUpperCase(Locale.ROOT);
+      if (!converted.equals(string)) {
+        return null;
+      }
+      queries.add(termQuery(keyword, string).caseInsensitive(true));
+    }
+    QueryBuilder query = or(queries);
+    return negated ? boolQuery().must(existsQuery(field.getReference())).mustNot(query) : query;
+  }
+
+  private static QueryBuilder or(List<QueryBuilder> queries) {
+    if (queries.size() == 1) {
+      return queries.getFirst();
+    }
+    BoolQueryBuilder builder = boolQuery();
+    queries.forEach(builder::should);
+    return builder;
+  }
+
+  private static NamedFieldExpression field(
+      RexInputRef ref, List<String> schema, Map<String, ExprType> fieldTypes) {
+    if (ref == null) {
+      return null;
+    }
+    NamedFieldExpression field = new NamedFieldExpression(ref.getIndex(), schema, fieldTypes);
+    if (field.getRootName() == null || field.getExprType() == null || field.isMetaField()) {
+      return null;
+    }
+    return field;
+  }
+
+  private static boolean isDate(RexInputRef ref, NamedFieldExpression field) {
+    return ref.getType() instanceof ExprSqlType type
+        && (type.getUdt() == ExprUDT.EXPR_TIMESTAMP || type.getUdt() == ExprUDT.EXPR_DATE)
+        && field.getExprType().getOriginalExprType() instanceof OpenSearchDateType;
+  }
+
+  private static boolean isIntegral(RexInputRef ref) {
+    return SqlTypeName.INT_TYPES.contains(ref.getType().getSqlTypeName());
+  }
+
+  private static boolean isSpan(RexCall function) {
+    return function.getOperator().equals(PPLBuiltinOperators.SPAN)
+        && function.getOperands().size() == 3;
+  }
+
+  private static boolean isCaseConversion(RexCall function) {
+    return (function.getOperator().equals(SqlStdOperatorTable.LOWER)
+            || function.getOperator().equals(SqlStdOperatorTable.UPPER))
+        && function.getOperands().size() == 1;
+  }
+
+  /** Millis of the units of fixed length; months, quarters and years vary in length. */
+  private static long fixedUnitMillis(DateTimeUnit unit) {
+    return switch (unit) {
+      case MILLISECOND -> 1L;
+      case SECOND -> 1_000L;
+      case MINUTE -> 60_000L;
+      case HOUR -> 3_600_000L;
+      case DAY -> 86_400_000L;
+      case WEEK -> 604_800_000L;
+      default -> throw new IllegalArgumentException("Span unit of variable length: " + unit);
+    };
+  }
+
+  /**
+   * The least dividend whose truncated quotient by a positive divisor is at least the quotient.
+   * Truncation rounds the negative quotients up, so they start one past a multiple of the divisor.
+   */
+  private static long leastDividend(long quotient, long divisor) {
+    return quotient > 0
+        ? Math.multiplyExact(quotient, divisor)
+        : Math.addExact(Math.multiplyExact(quotient - 1, divisor), 1);
+  }
+
+  /** The least integer whose product by the positive divisor is above or at least the value. */
+  private static long leastQuotient(BigDecimal value, BigDecimal divisor, boolean strict) {
+    return strict
+        ? Math.addExact(value.divide(divisor, 0, RoundingMode.FLOOR).longValueExact(), 1)
+        : value.divide(divisor, 0, RoundingMode.CEILING).longValueExact();
+  }
+
+  /** The least integer above the value if strict, or at least the value otherwise. */
+  private static long leastInteger(BigDecimal value, boolean strict) {
+    return strict
+        ? Math.addExact(value.setScale(0, RoundingMode.FLOOR).longValueExact(), 1)
+        : value.setScale(0, RoundingMode.CEILING).longValueExact();
+  }
+
+  private static RexNode otherOperand(RexCall function) {
+    List<RexNode> operands = function.getOperands();
+    return operands.getFirst() instanceof RexInputRef ? operands.get(1) : operands.getFirst();
+  }
+
+  private static long positiveInterval(RexNode node) {
+    BigDecimal value = positive(exactLiteral(node));
+    return value.longValueExact();
+  }
+
+  private static BigDecimal positive(BigDecimal value) {
+    if (value.signum() <= 0) {
+      throw new IllegalArgumentException("Non-positive operand: " + value);
+    }
+    return value;
+  }
+
+  /** The value of an exact numeric literal, since approximate ones are computed in doubles. */
+  private static BigDecimal exactLiteral(RexNode node) {
+    if (node instanceof RexLiteral literal
+        && !literal.isNull()
+        && SqlTypeFamily.EXACT_NUMERIC.contains(literal.getType())) {
+      return Objects.requireNonNull(literal.getValueAs(BigDecimal.class));
+    }
+    throw new IllegalArgumentException("Not an exact numeric literal: " + node);
+  }
+
+  private static Object value(Comparable<?> endpoint) {
+    return endpoint instanceof NlsString nlsString ? nlsString.getValue() : endpoint;
+  }
+
+  private static BigDecimal decimal(Object value) {
+    if (value instanceof BigDecimal decimal) {
+      return decimal;
+    }
+    throw new IllegalArgumentException("Not a numeric literal: " + value);
+  }
+
+  private static String string(Object value) {
+    if (value instanceof String string) {
+      return string;
+    }
+    throw new IllegalArgumentException("Not a string literal: " + value);
+  }
+
+  private static long epochMillis(LocalDateTime dateTime) {
+    return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+  }
+
+  /** A format of date_format whose output orders as the dates it truncates to the unit. */
+  private record DateFormat(String pattern, ChronoUnit unit) {
+
+    /**
+     * Parse an output of the format back to the start of its period.
+     *
+     * @param value output of the format
+     * @return start of the period
+     * @throws IllegalArgumentException if the value isn't an output of the format
+     */
+    LocalDateTime parse(String value) {
+      DateTimeFormatter formatter =
+          new DateTimeFormatterBuilder()
+              .appendPattern(pattern)
+              .parseDefaulting(ChronoField.MONTH_OF_YEAR, 1)
+              .parseDefaulting(ChronoField.DAY_OF_MONTH, 1)
+              .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+              .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+              .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+              .toFormatter(Locale.ROOT)
+              .withResolverStyle(ResolverStyle.STRICT);
+      LocalDateTime start = LocalDateTime.parse(value, formatter);
+      // Only the outputs of the format order as their dates, not other strings of its pattern
+      if (!formatter.format(start).equals(value)) {
+        throw new IllegalArgumentException("Not an output of " + pattern + ": " + value);
+      }
+      return start;
+    }
+  }
+}
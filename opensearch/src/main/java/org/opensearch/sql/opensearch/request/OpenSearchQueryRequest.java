@@ -17,7 +17,10 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.opensearch.action.search.*;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
@@ -29,6 +32,9 @@ import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.SearchModule;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
 import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
@@ -47,6 +53,8 @@ import org.opensearch.sql.opensearch.storage.OpenSearchStorageEngine;
 @ToString
 public class OpenSearchQueryRequest implements OpenSearchRequest {
 
+  private static final Logger LOG = LogManager.getLogger(OpenSearchQueryRequest.class);
+
   /** {@link OpenSearchRequest.IndexName}. */
   private final IndexName indexName;
 
@@ -73,6 +81,15 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
 
   private SearchResponse searchResponse = null;
 
+  /** Running top-K threshold filtering the next pages, null if the rows are not sorted on it. */
+  @EqualsAndHashCode.Exclude @ToString.Exclude private TopKThreshold topKThreshold;
+
+  /**
+   * Whether the buckets of the composite aggregation of the request are paged by its after key
+   * until the last one, instead of the search returning the first page only.
+   */
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Setter private boolean bucketPaging = false;
+
   /** Constructor of OpenSearchQueryRequest. */
   public OpenSearchQueryRequest(
       String indexName, int size, OpenSearchExprValueFactory factory, List<String> includes) {
@@ -119,6 +136,19 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
     this.pitId = pitId;
   }
 
+  /** Constructor of OpenSearchQueryRequest with PIT support, whose pages are filtered by top K. */
+  public OpenSearchQueryRequest(
+      IndexName indexName,
+      SearchSourceBuilder sourceBuilder,
+      OpenSearchExprValueFactory factory,
+      List<String> includes,
+      TimeValue cursorKeepAlive,
+      String pitId,
+      TopKThreshold topKThreshold) {
+    this(indexName, sourceBuilder, factory, includes, cursorKeepAlive, pitId);
+    this.topKThreshold = topKThreshold;
+  }
+
   /** true if the request is a count aggregation request. */
   public boolean isCountAggRequest() {
     return !searchDone
@@ -177,12 +207,14 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
         // get the value before set searchDone = true
         boolean isCountAggRequest = isCountAggRequest();
         searchDone = true;
-        return new OpenSearchResponse(
+        SearchResponse response =
             searchAction.apply(
-                new SearchRequest().indices(indexName.getIndexNames()).source(sourceBuilder)),
-            exprValueFactory,
-            includes,
-            isCountAggRequest);
+                new SearchRequest().indices(indexName.getIndexNames()).source(sourceBuilder));
+        new DocValueArrayFallback(exprValueFactory, includes).apply(response, searchAction);
+        if (bucketPaging) {
+          searchDone = !advanceBuckets(response);
+        }
+        return new OpenSearchResponse(response, exprValueFactory, includes, isCountAggRequest);
       }
     } else {
       // Search with PIT instead of scroll API
@@ -190,6 +222,30 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
     }
   }
 
+  /**
+   * Move the composite aggregation of the request after the last bucket of the response, if the
+   * response returned a full page of buckets.
+   *
+   * @return true if there may be more buckets to search for.
+   */
+  private boolean advanceBuckets(SearchResponse response) {
+    if (sourceBuilder.aggregations() == null || response.getAggregations() == null) {
+      return false;
+    }
+    for (AggregationBuilder aggregation : sourceBuilder.aggregations().getAggregatorFactories()) {
+      if (aggregation instanceof CompositeAggregationBuilder composite
+          && response.getAggregations().get(composite.getName())
+              instanceof CompositeAggregation result) {
+        if (result.afterKey() == null || result.getBuckets().size() < composite.size()) {
+          return false;
+        }
+        composite.aggregateAfter(result.afterKey());
+        return true;
+      }
+    }
+    return false;
+  }
+
   public OpenSearchResponse searchWithPIT(Function<SearchRequest, SearchResponse> searchAction) {
     OpenSearchResponse openSearchResponse;
     if (searchDone) {
@@ -210,9 +266,13 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
         // see https://github.com/opensearch-project/sql/pull/3061
         this.sourceBuilder.sort(METADATA_FIELD_ID, ASC);
       }
+      if (topKThreshold != null) {
+        topKThreshold.apply(this.sourceBuilder);
+      }
       SearchRequest searchRequest =
           new SearchRequest().indices(indexName.getIndexNames()).source(this.sourceBuilder);
       this.searchResponse = searchAction.apply(searchRequest);
+      new DocValueArrayFallback(exprValueFactory, includes).apply(searchResponse, searchAction);
 
       openSearchResponse =
           new OpenSearchResponse(
@@ -220,6 +280,14 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
 
       needClean = openSearchResponse.isEmpty();
       searchDone = openSearchResponse.isEmpty();
+      if (topKThreshold != null) {
+        SearchHits pageHits = this.searchResponse.getHits();
+        topKThreshold.offer(pageHits);
+        // the last page is the first one short of the page size
+        if (pageHits.getHits().length < sourceBuilder.size() && LOG.isDebugEnabled()) {
+          LOG.debug("Scanned {} with {}", indexName, topKThreshold);
+        }
+      }
       SearchHit[] searchHits = this.searchResponse.getHits().getHits();
       if (searchHits != null && searchHits.length > 0) {
         searchAfter = searchHits[searchHits.length - 1].getSortValues();
@@ -259,7 +327,7 @@ public class OpenSearchQueryRequest implements OpenSearchRequest {
     if (this.pitId != null) {
       return !needClean;
     }
-    return false;
+    return bucketPaging && !searchDone;
   }
 
   @Override
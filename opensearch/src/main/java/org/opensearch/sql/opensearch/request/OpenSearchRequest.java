@@ -61,6 +61,13 @@ public interface OpenSearchRequest extends Writeable {
    */
   boolean hasAnotherBatch();
 
+  /**
+   * Get the name of the indices searched.
+   *
+   * @return IndexName.
+   */
+  IndexName getIndexName();
+
   /** OpenSearch Index Name. Indices are separated by ",". */
   @EqualsAndHashCode
   class IndexName implements Writeable {
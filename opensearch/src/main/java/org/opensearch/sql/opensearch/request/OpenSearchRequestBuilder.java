@@ -27,12 +27,17 @@ import lombok.ToString;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.common.lucene.search.function.CombineFunction;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.mapper.SeqNoFieldMapper;
 import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.InnerHitBuilder;
 import org.opensearch.index.query.NestedQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.functionscore.RandomScoreFunctionBuilder;
+import org.opensearch.index.query.functionscore.ScoreFunctionBuilders;
+import org.opensearch.script.Script;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.collapse.CollapseBuilder;
@@ -76,6 +81,12 @@ public class OpenSearchRequestBuilder {
 
   @ToString.Exclude private final Settings settings;
 
+  /** Running top-K threshold of the rows sorted on the coordinator, null if there is none. */
+  @EqualsAndHashCode.Exclude @ToString.Exclude private TopKThreshold topKThreshold;
+
+  /** Whether the buckets of a composite aggregation are paged until the last one. */
+  @EqualsAndHashCode.Exclude @ToString.Exclude private boolean bucketPaging = false;
+
   public static class PushDownUnSupportedException extends RuntimeException {
     public PushDownUnSupportedException(String message) {
       super(message);
@@ -115,7 +126,10 @@ public class OpenSearchRequestBuilder {
      * 2. If mapping is empty. It means no data in the index. PIT search relies on `_id` fields to do sort, thus it will fail if using PIT search in this case.
      */
     if (sourceBuilder.size() == 0 || isMappingEmpty) {
-      return new OpenSearchQueryRequest(indexName, sourceBuilder, exprValueFactory, List.of());
+      OpenSearchQueryRequest request =
+          new OpenSearchQueryRequest(indexName, sourceBuilder, exprValueFactory, List.of());
+      request.setBucketPaging(bucketPaging);
+      return request;
     }
     return buildRequestWithPit(indexName, cursorKeepAlive, client);
   }
@@ -124,15 +138,23 @@ public class OpenSearchRequestBuilder {
       OpenSearchRequest.IndexName indexName, TimeValue cursorKeepAlive, OpenSearchClient client) {
     int size = requestedTotalSize;
     FetchSourceContext fetchSource = this.sourceBuilder.fetchSource();
-    List<String> includes = fetchSource != null ? Arrays.asList(fetchSource.includes()) : List.of();
+    List<String> includes =
+        fetchDocValues(
+            fetchSource != null ? Arrays.asList(fetchSource.includes()) : List.of());
 
     if (pageSize == null) {
       if (startFrom + size > maxResultWindow) {
         sourceBuilder.size(maxResultWindow - startFrom);
-        // Search with PIT request
-        String pitId = createPit(indexName, cursorKeepAlive, client);
+        // Search with PIT request, which may share the PIT since all pages are read by this query
+        String pitId = createPit(indexName, cursorKeepAlive, client, pitReuseWindow());
         return new OpenSearchQueryRequest(
-            indexName, sourceBuilder, exprValueFactory, includes, cursorKeepAlive, pitId);
+            indexName,
+            sourceBuilder,
+            exprValueFactory,
+            includes,
+            cursorKeepAlive,
+            pitId,
+            topKThreshold == null ? null : topKThreshold.copy());
       } else {
         sourceBuilder.from(startFrom);
         sourceBuilder.size(size);
@@ -145,18 +167,63 @@ public class OpenSearchRequestBuilder {
       }
       sourceBuilder.size(pageSize);
       // Search with PIT request
-      String pitId = createPit(indexName, cursorKeepAlive, client);
+      String pitId = createPit(indexName, cursorKeepAlive, client, null);
       return new OpenSearchQueryRequest(
           indexName, sourceBuilder, exprValueFactory, includes, cursorKeepAlive, pitId);
     }
   }
 
+  /**
+   * Fetch the projected fields whose doc values hold their values from doc values rather than
+   * _source, which is not fetched at all if no other field is projected. Only top level fields are
+   * fetched from doc values, since the hit fields are not nested like _source.
+   *
+   * @param includes fields projected from _source
+   * @return all the projected fields, including the ones fetched from doc values
+   */
+  private List<String> fetchDocValues(List<String> includes) {
+    List<String> projected = new ArrayList<>(includes);
+    if (sourceBuilder.docValueFields() != null) {
+      sourceBuilder.docValueFields().forEach(field -> projected.add(field.field));
+    }
+    if (includes.isEmpty()
+        || settings == null
+        || !Boolean.TRUE.equals(
+            settings.getSettingValue(Settings.Key.QUERY_FETCH_DOC_VALUES_ENABLED))) {
+      return projected;
+    }
+    List<String> sourceFields = new ArrayList<>();
+    for (String field : includes) {
+      if (!field.contains(".") && exprValueFactory.isDocValueFetchable(field)) {
+        sourceBuilder.docValueField(field, exprValueFactory.docValueFormat(field));
+      } else {
+        sourceFields.add(field);
+      }
+    }
+    if (sourceFields.isEmpty()) {
+      sourceBuilder.fetchSource(false);
+    } else if (sourceFields.size() < includes.size()) {
+      sourceBuilder.fetchSource(sourceFields.toArray(String[]::new), new String[0]);
+    }
+    return projected;
+  }
+
   private String createPit(
-      OpenSearchRequest.IndexName indexName, TimeValue cursorKeepAlive, OpenSearchClient client) {
+      OpenSearchRequest.IndexName indexName,
+      TimeValue cursorKeepAlive,
+      OpenSearchClient client,
+      TimeValue reuseWindow) {
     // Create PIT ID for request
     CreatePitRequest createPitRequest =
         new CreatePitRequest(cursorKeepAlive, false, indexName.getIndexNames());
-    return client.createPit(createPitRequest);
+    if (reuseWindow == null || reuseWindow.nanos() <= 0) {
+      return client.createPit(createPitRequest);
+    }
+    return client.createPit(createPitRequest, reuseWindow);
+  }
+
+  private TimeValue pitReuseWindow() {
+    return settings == null ? null : settings.getSettingValue(Settings.Key.QUERY_PIT_REUSE_WINDOW);
   }
 
   boolean isBoolFilterQuery(QueryBuilder current) {
@@ -302,6 +369,36 @@ public class OpenSearchRequestBuilder {
     sourceBuilder.fetchSource(projects.distinct().toArray(String[]::new), new String[0]);
   }
 
+  /**
+   * Push down fields computed by scripts on the shards, returned as script fields of the hits.
+   *
+   * @param scriptFields script computing each field
+   * @param sourceFields fields still read from _source, which is not fetched if there are none
+   */
+  public void pushDownScriptFields(Map<String, Script> scriptFields, List<String> sourceFields) {
+    if (sourceFields.isEmpty()) {
+      sourceBuilder.fetchSource(false);
+    } else {
+      pushDownProjectStream(sourceFields.stream());
+    }
+    scriptFields.forEach(sourceBuilder::scriptField);
+  }
+
+  /**
+   * Push down a running top-K threshold, which filters the pages of the scan after the first one
+   * by the K-th best value of the script field the rows are sorted on.
+   *
+   * @param topKThreshold threshold, copied for each request built
+   */
+  public void pushDownTopKThreshold(TopKThreshold topKThreshold) {
+    this.topKThreshold = topKThreshold;
+  }
+
+  /** Push down the paging of the composite aggregation buckets until the last one. */
+  public void pushDownBucketPaging() {
+    this.bucketPaging = true;
+  }
+
   public void pushTypeMapping(Map<String, OpenSearchDataType> typeMapping) {
     exprValueFactory.extendTypeMapping(typeMapping);
   }
@@ -310,6 +407,26 @@ public class OpenSearchRequestBuilder {
     sourceBuilder.collapse(new CollapseBuilder(field));
   }
 
+  /**
+   * Push down a random sample of the matching documents. OpenSearch has no sampling query, so each
+   * document is given a random score between 0 and 1 and kept if it reaches {@code 1 - ratio}.
+   *
+   * @param ratio fraction of the documents kept
+   * @param seed seed of the random scores, which are then derived from the sequence numbers of the
+   *     documents and repeatable, or null
+   */
+  public void pushDownSample(double ratio, Integer seed) {
+    RandomScoreFunctionBuilder random = ScoreFunctionBuilders.randomFunction();
+    if (seed != null) {
+      random.seed(seed).setField(SeqNoFieldMapper.NAME);
+    }
+    // min_score makes the scores computed even in the filter context
+    pushDownFilter(
+        QueryBuilders.functionScoreQuery(matchAllQuery(), random)
+            .boostMode(CombineFunction.REPLACE)
+            .setMinScore((float) (1 - ratio)));
+  }
+
   private boolean isSortByDocOnly() {
     List<SortBuilder<?>> sorts = sourceBuilder.sorts();
     if (sorts != null) {
@@ -101,6 +101,7 @@ public class OpenSearchScrollRequest implements OpenSearchRequest {
       }
       openSearchResponse = searchAction.apply(initialSearchRequest);
     }
+    new DocValueArrayFallback(exprValueFactory, includes).apply(openSearchResponse, searchAction);
 
     var response = new OpenSearchResponse(openSearchResponse, exprValueFactory, includes, false);
     needClean = response.isEmpty();
@@ -602,6 +602,12 @@ public class PredicateAnalyzer {
         return andOr(call);
       }
 
+      // e.g. year(ts) = 2024 turns into a range of ts instead of a script
+      QueryExpression rewritten = FunctionPredicateRewriter.rewrite(call, schema, fieldTypes);
+      if (rewritten != null) {
+        return rewritten;
+      }
+
       checkForIncompatibleDateTimeOperands(call);
 
       checkState(call.getOperands().size() == 2);
@@ -0,0 +1,226 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.request;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.script.Script;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+
+/**
+ * Running top-K threshold of a scan whose rows are sorted and limited on the coordinator by a
+ * script field. Once the scan has returned K values of the field, a document ranking after the K-th
+ * best of them cannot make it into the top K any more, so the next pages are filtered by a script
+ * comparing the field expression with that value. The threshold only gets stricter as more pages
+ * are read, so later pages return fewer and fewer hits.
+ */
+public class TopKThreshold {
+
+  /**
+   * Name of the script parameter holding the threshold, which the filter script reads as its first
+   * dynamic parameter. The script itself never changes, so the shards compile it only once.
+   */
+  public static final String THRESHOLD_PARAM = "?0";
+
+  private final String fieldName;
+  private final int k;
+  private final boolean descending;
+  private final boolean nullsFirst;
+  private final ExprType type;
+  private final Script filterScript;
+
+  /** Ranking of the field values, the best first. */
+  private final Comparator<Object> ranking;
+
+  /** The best non-null values seen, the worst of them first. */
+  private final PriorityQueue<Object> best;
+
+  /** Number of null values seen, which rank before any value if nulls come first. */
+  private long nulls = 0;
+
+  /** Whether a hit had a value of an unexpected type, which stops the filtering for good. */
+  private boolean disabled = false;
+
+  /** The query of the scan, which the filter of each page is added to. */
+  private QueryBuilder query;
+
+  private boolean started = false;
+  private int pages = 0;
+  private int filteredPages = 0;
+  private long fetchedHits = 0;
+  private TotalHits totalHits;
+
+  /**
+   * Constructor.
+   *
+   * @param fieldName name of the script field the rows are sorted by
+   * @param k number of rows kept by the sort, including the skipped ones
+   * @param descending whether the rows are sorted in descending order
+   * @param nullsFirst whether null values are sorted before the others
+   * @param type type of the script field, one of the numeric types
+   * @param filterScript script comparing the field expression with {@link #THRESHOLD_PARAM}
+   */
+  public TopKThreshold(
+      String fieldName,
+      int k,
+      boolean descending,
+      boolean nullsFirst,
+      ExprType type,
+      Script filterScript) {
+    this.fieldName = fieldName;
+    this.k = k;
+    this.descending = descending;
+    this.nullsFirst = nullsFirst;
+    this.type = type;
+    this.filterScript = filterScript;
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Comparator<Object> natural = (Comparator) Comparator.naturalOrder();
+    this.ranking = descending ? natural.reversed() : natural;
+    this.best = new PriorityQueue<>(k + 1, ranking.reversed());
+  }
+
+  /** A new threshold of the same top K, for another run of the scan. */
+  public TopKThreshold copy() {
+    return new TopKThreshold(fieldName, k, descending, nullsFirst, type, filterScript);
+  }
+
+  /**
+   * Add the threshold filter to the query of the next page, if the pages read so far returned
+   * enough values to know it.
+   *
+   * @param sourceBuilder source of the search request of the next page
+   */
+  public void apply(SearchSourceBuilder sourceBuilder) {
+    if (!started) {
+      query = sourceBuilder.query();
+      started = true;
+    }
+    Object threshold = threshold();
+    if (threshold == null) {
+      return;
+    }
+    Map<String, Object> params = new HashMap<>(filterScript.getParams());
+    params.put(THRESHOLD_PARAM, threshold);
+    Script script =
+        new Script(
+            filterScript.getType(),
+            filterScript.getLang(),
+            filterScript.getIdOrCode(),
+            filterScript.getOptions(),
+            params);
+    BoolQueryBuilder filtered = QueryBuilders.boolQuery().filter(QueryBuilders.scriptQuery(script));
+    if (query != null) {
+      filtered.must(query);
+    }
+    sourceBuilder.query(filtered);
+    filteredPages++;
+  }
+
+  /**
+   * Keep the values of the field in a page of hits.
+   *
+   * @param hits hits of a page
+   */
+  public void offer(SearchHits hits) {
+    if (pages++ == 0) {
+      totalHits = hits.getTotalHits();
+    }
+    for (SearchHit hit : hits.getHits()) {
+      fetchedHits++;
+      DocumentField field = hit.field(fieldName);
+      Object value = field == null ? null : field.getValue();
+      if (value == null) {
+        nulls++;
+        // Each null ranking first takes the place of the worst value kept
+        while (best.size() > capacity()) {
+          best.poll();
+        }
+      } else if (value instanceof Number number) {
+        offer(toFieldType(number));
+      } else {
+        disabled = true;
+      }
+    }
+  }
+
+  private void offer(Object value) {
+    int capacity = capacity();
+    if (best.size() < capacity) {
+      best.add(value);
+    } else if (capacity > 0 && ranking.compare(value, best.peek()) < 0) {
+      best.poll();
+      best.add(value);
+    }
+  }
+
+  /** Number of non-null values in the top K, which is K less the nulls ranking before them. */
+  private int capacity() {
+    return nullsFirst ? (int) (k - Math.min(nulls, k)) : k;
+  }
+
+  /** The K-th best value seen, or null if fewer than K values ranking before it were seen. */
+  private Object threshold() {
+    int capacity = capacity();
+    if (disabled || capacity == 0 || best.size() < capacity) {
+      return null;
+    }
+    return best.peek();
+  }
+
+  /** Convert a value to the Java type the filter script expects for the field type. */
+  private Object toFieldType(Number number) {
+    return switch ((ExprCoreType) type) {
+      case BYTE -> number.byteValue();
+      case SHORT -> number.shortValue();
+      case INTEGER -> number.intValue();
+      case LONG -> number.longValue();
+      case FLOAT -> number.floatValue();
+      default -> number.doubleValue();
+    };
+  }
+
+  /**
+   * Summary of the pages read, with the ratio of the documents matching the query which the
+   * threshold kept from being fetched.
+   */
+  @Override
+  public String toString() {
+    StringBuilder summary =
+        new StringBuilder()
+            .append("top ")
+            .append(k)
+            .append(" of ")
+            .append(fieldName)
+            .append(": fetched ")
+            .append(fetchedHits)
+            .append(" hits in ")
+            .append(pages)
+            .append(" pages, ")
+            .append(filteredPages)
+            .append(" filtered by threshold ")
+            .append(threshold());
+    if (totalHits != null && totalHits.value() > 0) {
+      boolean exact = totalHits.relation() == TotalHits.Relation.EQUAL_TO;
+      double pruned = Math.max(0, 1 - (double) fetchedHits / totalHits.value());
+      summary
+          .append(", pruning ratio ")
+          .append(exact ? "" : ">= ")
+          .append(String.format("%.4f", pruned));
+    }
+    return summary.toString();
+  }
+}
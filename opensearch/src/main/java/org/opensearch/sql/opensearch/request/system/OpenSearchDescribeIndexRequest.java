@@ -10,7 +10,6 @@ import static org.opensearch.sql.opensearch.client.OpenSearchClient.META_CLUSTER
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -23,8 +22,8 @@ import org.opensearch.sql.lang.LangSpec;
 import org.opensearch.sql.opensearch.client.OpenSearchClient;
 import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
 import org.opensearch.sql.opensearch.mapping.IndexMapping;
+import org.opensearch.sql.opensearch.mapping.IndexSchemaCache;
 import org.opensearch.sql.opensearch.request.OpenSearchRequest;
-import org.opensearch.sql.opensearch.util.MergeRules.MergeRuleHelper;
 
 @Log4j2
 /** Describe index meta data request. */
@@ -95,23 +94,14 @@ public class OpenSearchDescribeIndexRequest implements OpenSearchSystemRequest {
   /**
    * Get the mapping of field and type.
    *
-   * @return mapping of field and type.
+   * @return mapping of field and type, which must not be modified.
    */
   // TODO possible collision if two indices have fields with the same name and different mappings
   public Map<String, OpenSearchDataType> getFieldTypes() {
-    Map<String, OpenSearchDataType> fieldTypes = new HashMap<>();
-    Map<String, IndexMapping> indexMappings =
-        client.getIndexMappings(getLocalIndexNames(indexName.getIndexNames()));
-    if (indexMappings.size() <= 1) {
-      for (IndexMapping indexMapping : indexMappings.values()) {
-        fieldTypes.putAll(indexMapping.getFieldMappings());
-      }
-    } else {
-      for (IndexMapping indexMapping : indexMappings.values()) {
-        MergeRuleHelper.merge(fieldTypes, indexMapping.getFieldMappings());
-      }
-    }
-    return fieldTypes;
+    String[] localIndexNames = getLocalIndexNames(indexName.getIndexNames());
+    Map<String, IndexMapping> indexMappings = client.getIndexMappings(localIndexNames);
+    return IndexSchemaCache.getInstance()
+        .merge(String.join(",", localIndexNames), indexMappings);
   }
 
   /**
@@ -15,13 +15,18 @@ import static org.opensearch.sql.opensearch.storage.OpenSearchIndex.METADATA_FIE
 
 import com.google.common.collect.ImmutableMap;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
 import org.opensearch.core.common.text.Text;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
@@ -32,6 +37,7 @@ import org.opensearch.sql.data.model.ExprStringValue;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.model.TupleSchema;
 import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
 
 /** OpenSearch search response. */
@@ -50,6 +56,9 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
 
   private final boolean isCountAgg;
 
+  /** Search time reported by the cluster in milliseconds, or -1 if unknown. */
+  @EqualsAndHashCode.Exclude @ToString.Exclude @Getter private final long tookInMillis;
+
   /** OpenSearchExprValueFactory used to build ExprValue from search result. */
   @EqualsAndHashCode.Exclude private final OpenSearchExprValueFactory exprValueFactory;
 
@@ -72,6 +81,7 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
     this.exprValueFactory = exprValueFactory;
     this.includes = includes;
     this.isCountAgg = isCountAgg;
+    this.tookInMillis = searchResponse.getTook() == null ? -1 : searchResponse.getTook().millis();
   }
 
   /** Constructor of OpenSearchResponse with SearchHits. */
@@ -85,6 +95,7 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
     this.exprValueFactory = exprValueFactory;
     this.includes = includes;
     this.isCountAgg = isCountAgg;
+    this.tookInMillis = -1;
   }
 
   /**
@@ -112,8 +123,27 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
     return hits.getHits() == null ? 0 : hits.getHits().length;
   }
 
+  /** Total size of the _source of the hits, in bytes. */
+  public long getSourceBytes() {
+    long bytes = 0;
+    if (hits.getHits() != null) {
+      for (SearchHit hit : hits.getHits()) {
+        if (hit.getSourceRef() != null) {
+          bytes += hit.getSourceRef().length();
+        }
+      }
+    }
+    return bytes;
+  }
+
   /**
-   * Make response iterable without need to return internal data structure explicitly.
+   * Make response iterable without need to return internal data structure explicitly. The tuples
+   * of the hits share one schema of the included fields followed by the metadata fields, or of the
+   * fields of the first hit if nothing is included. The fields of a tuple are therefore in the
+   * order of the included fields, not in the order of the _source of its hit. A field outside of
+   * the schema, such as the highlights, turns the tuple of its hit into a map-backed one. A field
+   * added twice keeps the value added last, so a metadata field replaces a field of the same name
+   * in _source.
    *
    * @return search hit iterator
    */
@@ -121,34 +151,86 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
     if (isAggregationResponse() || isCountAgg) {
       return handleAggregationResponse();
     } else {
+      List<String> metaDataFields = metaDataFields();
+      TupleSchema[] schema = new TupleSchema[1];
       return Arrays.stream(hits.getHits())
           .map(
               hit -> {
-                ImmutableMap.Builder<String, ExprValue> builder = new ImmutableMap.Builder<>();
-                addParsedHitsToBuilder(builder, hit);
-                addMetaDataFieldsToBuilder(builder, hit);
+                Map<String, ExprValue> sourceValues = parseSource(hit);
+                if (schema[0] == null) {
+                  schema[0] = hitSchema(sourceValues.keySet(), metaDataFields);
+                }
+                ExprTupleValue tuple =
+                    ExprTupleValue.fromSchema(schema[0], new ExprValue[schema[0].size()]);
+                Map<String, ExprValue> builder = tuple.tupleValue();
+                builder.putAll(sourceValues);
+                addFieldsToBuilder(builder, hit, sourceValues);
+                addMetaDataFieldsToBuilder(builder, hit, metaDataFields);
                 addHighlightsToBuilder(builder, hit);
-                return (ExprValue) ExprTupleValue.fromExprValueMap(builder.build());
+                return (ExprValue) tuple;
               })
           .iterator();
     }
   }
 
   /**
-   * Parse response for all hits to add to builder. Inner_hits supports arrays of objects with
-   * nested type.
+   * The schema shared by the tuples of the hits.
+   *
+   * @param sourceFields fields parsed from the source of the first hit.
+   * @param metaDataFields metadata fields added to each hit.
+   * @return schema of the included fields, by their top level name, and the metadata fields.
+   */
+  private TupleSchema hitSchema(Collection<String> sourceFields, List<String> metaDataFields) {
+    Set<String> names = new LinkedHashSet<>();
+    if (includes.isEmpty()) {
+      names.addAll(sourceFields);
+    } else {
+      for (String include : includes) {
+        if (!METADATAFIELD_TYPE_MAP.containsKey(include)) {
+          int dot = include.indexOf('.');
+          names.add(dot < 0 ? include : include.substring(0, dot));
+        }
+      }
+    }
+    names.addAll(metaDataFields);
+    return TupleSchema.of(names);
+  }
+
+  /**
+   * Parse the source of a hit. Inner_hits supports arrays of objects with nested type.
+   *
+   * @param hit Search hit from response.
+   * @return values parsed from the source.
+   */
+  private Map<String, ExprValue> parseSource(SearchHit hit) {
+    return exprValueFactory
+        .construct(
+            hit.getSourceAsString(), !(hit.getInnerHits() == null || hit.getInnerHits().isEmpty()))
+        .tupleValue();
+  }
+
+  /**
+   * If fields fetched from doc values or computed by scripts on the shards are present in response
+   * add the fields to the builder. Doc value fields holding an array have been read from _source
+   * by the request already, since doc values sort the array; a script field returning an array is
+   * read as its first value.
    *
    * @param builder builder to build values from response.
    * @param hit Search hit from response.
+   * @param sourceValues values already parsed from the source of the hit.
    */
-  private void addParsedHitsToBuilder(
-      ImmutableMap.Builder<String, ExprValue> builder, SearchHit hit) {
-    builder.putAll(
-        exprValueFactory
-            .construct(
-                hit.getSourceAsString(),
-                !(hit.getInnerHits() == null || hit.getInnerHits().isEmpty()))
-            .tupleValue());
+  private void addFieldsToBuilder(
+      Map<String, ExprValue> builder, SearchHit hit, Map<String, ExprValue> sourceValues) {
+    Map<String, DocumentField> fields = hit.getFields();
+    if (fields == null || fields.isEmpty()) {
+      return;
+    }
+    for (DocumentField field : fields.values()) {
+      String name = field.getName();
+      if (!name.startsWith("_") && !sourceValues.containsKey(name)) {
+        builder.put(name, exprValueFactory.constructDocValue(name, field.getValue()));
+      }
+    }
   }
 
   /**
@@ -157,8 +239,7 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
    * @param builder builder to build values from response.
    * @param hit Search hit from response.
    */
-  private void addHighlightsToBuilder(
-      ImmutableMap.Builder<String, ExprValue> builder, SearchHit hit) {
+  private void addHighlightsToBuilder(Map<String, ExprValue> builder, SearchHit hit) {
     if (!hit.getHighlightFields().isEmpty()) {
       var hlBuilder = ImmutableMap.<String, ExprValue>builder();
       for (var es : hit.getHighlightFields().entrySet()) {
@@ -173,18 +254,22 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
     }
   }
 
+  /** The metadata fields added to the hits, all of them if nothing is included. */
+  private List<String> metaDataFields() {
+    return includes.isEmpty()
+        ? METADATAFIELD_TYPE_MAP.keySet().stream().toList()
+        : includes.stream().filter(METADATAFIELD_TYPE_MAP::containsKey).toList();
+  }
+
   /**
    * Add metadata fields to builder from response.
    *
    * @param builder builder to build values from response.
    * @param hit Search hit from response.
+   * @param metaDataFieldSet metadata fields to add.
    */
   private void addMetaDataFieldsToBuilder(
-      ImmutableMap.Builder<String, ExprValue> builder, SearchHit hit) {
-    List<String> metaDataFieldSet =
-        includes.isEmpty()
-            ? METADATAFIELD_TYPE_MAP.keySet().stream().toList()
-            : includes.stream().filter(METADATAFIELD_TYPE_MAP::containsKey).toList();
+      Map<String, ExprValue> builder, SearchHit hit, List<String> metaDataFieldSet) {
     ExprFloatValue maxScore =
         Float.isNaN(hits.getMaxScore()) ? null : new ExprFloatValue(hits.getMaxScore());
 
@@ -222,16 +307,21 @@ public class OpenSearchResponse implements Iterable<ExprValue> {
         isCountAgg
             ? exprValueFactory.getParser().parse(hits)
             : exprValueFactory.getParser().parse(aggregations);
+    // The buckets usually have the same keys, whose tuples share one schema
+    TupleSchema[] schema = new TupleSchema[1];
     return res.stream()
         .map(
             entry -> {
-              ImmutableMap.Builder<String, ExprValue> builder = new ImmutableMap.Builder<>();
+              if (schema[0] == null || !schema[0].matches(entry.keySet())) {
+                schema[0] = TupleSchema.of(entry.keySet());
+              }
+              ExprValue[] values = new ExprValue[entry.size()];
+              int ordinal = 0;
               for (Map.Entry<String, Object> value : entry.entrySet()) {
-                builder.put(
-                    value.getKey(),
-                    exprValueFactory.construct(value.getKey(), value.getValue(), false));
+                values[ordinal++] =
+                    exprValueFactory.construct(value.getKey(), value.getValue(), false);
               }
-              return (ExprValue) ExprTupleValue.fromExprValueMap(builder.build());
+              return (ExprValue) ExprTupleValue.fromSchema(schema[0], values);
             })
         .iterator();
   }
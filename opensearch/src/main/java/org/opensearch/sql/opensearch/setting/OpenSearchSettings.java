@@ -150,6 +150,13 @@ public class OpenSearchSettings extends Settings {
           Setting.Property.NodeScope,
           Setting.Property.Dynamic);
 
+  public static final Setting<?> CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
   public static final Setting<?> CALCITE_SUPPORT_ALL_JOIN_TYPES_SETTING =
       Setting.boolSetting(
           Key.CALCITE_SUPPORT_ALL_JOIN_TYPES.getKeyValue(),
@@ -157,6 +164,56 @@ public class OpenSearchSettings extends Settings {
           Setting.Property.NodeScope,
           Setting.Property.Dynamic);
 
+  public static final Setting<?> CALCITE_STATISTICS_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_STATISTICS_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_STATISTICS_TTL_SETTING =
+      Setting.timeSetting(
+          Key.CALCITE_STATISTICS_TTL.getKeyValue(),
+          TimeValue.timeValueHours(1),
+          TimeValue.ZERO,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_JOIN_SPILL_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_JOIN_SPILL_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_JOIN_SPILL_MEMORY_LIMIT_SETTING =
+      Setting.memorySizeSetting(
+          Key.CALCITE_JOIN_SPILL_MEMORY_LIMIT.getKeyValue(),
+          "5%",
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_SCAN_PREFETCH_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_SCAN_PREFETCH_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_SUBQUERY_MATERIALIZATION_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
   public static final Setting<?> QUERY_MEMORY_LIMIT_SETTING =
       Setting.memorySizeSetting(
           Key.QUERY_MEMORY_LIMIT.getKeyValue(),
@@ -172,6 +229,65 @@ public class OpenSearchSettings extends Settings {
           Setting.Property.NodeScope,
           Setting.Property.Dynamic);
 
+  public static final Setting<?> QUERY_BATCH_SIZE_SETTING =
+      Setting.intSetting(
+          Key.QUERY_BATCH_SIZE.getKeyValue(),
+          0,
+          0,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_RESULT_CACHE_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.QUERY_RESULT_CACHE_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_RESULT_CACHE_SIZE_SETTING =
+      Setting.memorySizeSetting(
+          Key.QUERY_RESULT_CACHE_SIZE.getKeyValue(),
+          "1%",
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_RESULT_CACHE_EXPIRE_SETTING =
+      Setting.positiveTimeSetting(
+          Key.QUERY_RESULT_CACHE_EXPIRE.getKeyValue(),
+          timeValueMinutes(5),
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES_SETTING =
+      Setting.intSetting(
+          Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES.getKeyValue(),
+          1000,
+          1,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_PIT_REUSE_WINDOW_SETTING =
+      Setting.timeSetting(
+          Key.QUERY_PIT_REUSE_WINDOW.getKeyValue(),
+          TimeValue.ZERO,
+          TimeValue.ZERO,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
+  public static final Setting<?> QUERY_FETCH_DOC_VALUES_ENABLED_SETTING =
+      Setting.boolSetting(
+          Key.QUERY_FETCH_DOC_VALUES_ENABLED.getKeyValue(),
+          false,
+          Setting.Property.NodeScope,
+          Setting.Property.Dynamic);
+
   public static final Setting<?> METRICS_ROLLING_WINDOW_SETTING =
       Setting.longSetting(
           Key.METRICS_ROLLING_WINDOW.getKeyValue(),
@@ -399,12 +515,60 @@ public class OpenSearchSettings extends Settings {
         Key.CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR,
         CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR_SETTING,
         new Updater(Key.CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED,
+        CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED_SETTING,
+        new Updater(Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED));
     register(
         settingBuilder,
         clusterSettings,
         Key.CALCITE_SUPPORT_ALL_JOIN_TYPES,
         CALCITE_SUPPORT_ALL_JOIN_TYPES_SETTING,
         new Updater(Key.CALCITE_SUPPORT_ALL_JOIN_TYPES));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_STATISTICS_ENABLED,
+        CALCITE_STATISTICS_ENABLED_SETTING,
+        new Updater(Key.CALCITE_STATISTICS_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_STATISTICS_TTL,
+        CALCITE_STATISTICS_TTL_SETTING,
+        new Updater(Key.CALCITE_STATISTICS_TTL));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_JOIN_SPILL_ENABLED,
+        CALCITE_JOIN_SPILL_ENABLED_SETTING,
+        new Updater(Key.CALCITE_JOIN_SPILL_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_JOIN_SPILL_MEMORY_LIMIT,
+        CALCITE_JOIN_SPILL_MEMORY_LIMIT_SETTING,
+        new Updater(Key.CALCITE_JOIN_SPILL_MEMORY_LIMIT));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_SCAN_PREFETCH_ENABLED,
+        CALCITE_SCAN_PREFETCH_ENABLED_SETTING,
+        new Updater(Key.CALCITE_SCAN_PREFETCH_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED,
+        CALCITE_SUBQUERY_MATERIALIZATION_ENABLED_SETTING,
+        new Updater(Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED,
+        CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED_SETTING,
+        new Updater(Key.CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED));
     register(
         settingBuilder,
         clusterSettings,
@@ -417,6 +581,54 @@ public class OpenSearchSettings extends Settings {
         Key.QUERY_SIZE_LIMIT,
         QUERY_SIZE_LIMIT_SETTING,
         new Updater(Key.QUERY_SIZE_LIMIT));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_BATCH_SIZE,
+        QUERY_BATCH_SIZE_SETTING,
+        new Updater(Key.QUERY_BATCH_SIZE));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_RESULT_CACHE_ENABLED,
+        QUERY_RESULT_CACHE_ENABLED_SETTING,
+        new Updater(Key.QUERY_RESULT_CACHE_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_RESULT_CACHE_SIZE,
+        QUERY_RESULT_CACHE_SIZE_SETTING,
+        new Updater(Key.QUERY_RESULT_CACHE_SIZE));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_RESULT_CACHE_EXPIRE,
+        QUERY_RESULT_CACHE_EXPIRE_SETTING,
+        new Updater(Key.QUERY_RESULT_CACHE_EXPIRE));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED,
+        QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED_SETTING,
+        new Updater(Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES,
+        QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES_SETTING,
+        new Updater(Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_PIT_REUSE_WINDOW,
+        QUERY_PIT_REUSE_WINDOW_SETTING,
+        new Updater(Key.QUERY_PIT_REUSE_WINDOW));
+    register(
+        settingBuilder,
+        clusterSettings,
+        Key.QUERY_FETCH_DOC_VALUES_ENABLED,
+        QUERY_FETCH_DOC_VALUES_ENABLED_SETTING,
+        new Updater(Key.QUERY_FETCH_DOC_VALUES_ENABLED));
     register(
         settingBuilder,
         clusterSettings,
@@ -582,7 +794,15 @@ public class OpenSearchSettings extends Settings {
         .add(CALCITE_FALLBACK_ALLOWED_SETTING)
         .add(CALCITE_PUSHDOWN_ENABLED_SETTING)
         .add(CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR_SETTING)
+        .add(CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED_SETTING)
         .add(CALCITE_SUPPORT_ALL_JOIN_TYPES_SETTING)
+        .add(CALCITE_STATISTICS_ENABLED_SETTING)
+        .add(CALCITE_STATISTICS_TTL_SETTING)
+        .add(CALCITE_JOIN_SPILL_ENABLED_SETTING)
+        .add(CALCITE_JOIN_SPILL_MEMORY_LIMIT_SETTING)
+        .add(CALCITE_SCAN_PREFETCH_ENABLED_SETTING)
+        .add(CALCITE_SUBQUERY_MATERIALIZATION_ENABLED_SETTING)
+        .add(CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED_SETTING)
         .add(DEFAULT_PATTERN_METHOD_SETTING)
         .add(DEFAULT_PATTERN_MODE_SETTING)
         .add(DEFAULT_PATTERN_MAX_SAMPLE_COUNT_SETTING)
@@ -591,6 +811,14 @@ public class OpenSearchSettings extends Settings {
         .add(PPL_VALUES_MAX_LIMIT_SETTING)
         .add(QUERY_MEMORY_LIMIT_SETTING)
         .add(QUERY_SIZE_LIMIT_SETTING)
+        .add(QUERY_BATCH_SIZE_SETTING)
+        .add(QUERY_RESULT_CACHE_ENABLED_SETTING)
+        .add(QUERY_RESULT_CACHE_SIZE_SETTING)
+        .add(QUERY_RESULT_CACHE_EXPIRE_SETTING)
+        .add(QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED_SETTING)
+        .add(QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES_SETTING)
+        .add(QUERY_PIT_REUSE_WINDOW_SETTING)
+        .add(QUERY_FETCH_DOC_VALUES_ENABLED_SETTING)
         .add(METRICS_ROLLING_WINDOW_SETTING)
         .add(METRICS_ROLLING_INTERVAL_SETTING)
         .add(DATASOURCE_URI_HOSTS_DENY_LIST)
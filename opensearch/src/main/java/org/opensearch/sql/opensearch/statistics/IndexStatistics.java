@@ -0,0 +1,140 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.statistics;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.metrics.Cardinality;
+import org.opensearch.search.aggregations.metrics.Max;
+import org.opensearch.search.aggregations.metrics.Min;
+import org.opensearch.search.builder.SearchSourceBuilder;
+
+/**
+ * Statistics of an index used to estimate the cost of scanning it: the number of documents and,
+ * for some of the fields, the approximate number of distinct values and the range of values.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class IndexStatistics {
+
+  /** Precision threshold of the cardinality aggregations, estimates are only needed roughly. */
+  private static final int CARDINALITY_PRECISION_THRESHOLD = 100;
+
+  /** Time the search collecting the statistics may take, the planner waits for it. */
+  public static final TimeValue COLLECT_TIMEOUT = TimeValue.timeValueSeconds(10);
+
+  private static final String DISTINCT_PREFIX = "distinct";
+  private static final String MIN_PREFIX = "min";
+  private static final String MAX_PREFIX = "max";
+
+  private final long docCount;
+
+  private final Map<String, FieldStatistics> fieldStatistics;
+
+  public Optional<FieldStatistics> getField(String field) {
+    return Optional.ofNullable(fieldStatistics.get(field));
+  }
+
+  /**
+   * Build the source of a search collecting the statistics without fetching any document.
+   * Aggregations are named by the position of the field, since field names may contain characters
+   * not allowed in aggregation names.
+   *
+   * @param distinctFields fields to estimate the number of distinct values of
+   * @param rangeFields numeric and date fields to get the range of
+   * @return search source
+   */
+  public static SearchSourceBuilder searchSource(
+      List<String> distinctFields, List<String> rangeFields) {
+    SearchSourceBuilder source =
+        new SearchSourceBuilder().size(0).trackTotalHits(true).timeout(COLLECT_TIMEOUT);
+    for (int i = 0; i < distinctFields.size(); i++) {
+      source.aggregation(
+          AggregationBuilders.cardinality(DISTINCT_PREFIX + i)
+              .field(distinctFields.get(i))
+              .precisionThreshold(CARDINALITY_PRECISION_THRESHOLD));
+    }
+    for (int i = 0; i < rangeFields.size(); i++) {
+      source.aggregation(AggregationBuilders.min(MIN_PREFIX + i).field(rangeFields.get(i)));
+      source.aggregation(AggregationBuilders.max(MAX_PREFIX + i).field(rangeFields.get(i)));
+    }
+    return source;
+  }
+
+  /**
+   * Read the statistics from the response of the search built by {@link #searchSource}.
+   *
+   * @param response search response
+   * @param distinctFields fields to estimate the number of distinct values of
+   * @param rangeFields numeric and date fields to get the range of
+   * @return index statistics
+   */
+  public static IndexStatistics fromResponse(
+      SearchResponse response, List<String> distinctFields, List<String> rangeFields) {
+    if (response.isTimedOut()) {
+      throw new IllegalStateException("Timed out collecting statistics after " + COLLECT_TIMEOUT);
+    }
+    long docCount = response.getHits().getTotalHits().value();
+    Aggregations aggregations = response.getAggregations();
+    Map<String, FieldStatistics> fields = new HashMap<>();
+    if (aggregations != null) {
+      for (int i = 0; i < distinctFields.size(); i++) {
+        Cardinality cardinality = aggregations.get(DISTINCT_PREFIX + i);
+        if (cardinality != null) {
+          fields.put(
+              distinctFields.get(i), new FieldStatistics(cardinality.getValue(), null, null));
+        }
+      }
+      for (int i = 0; i < rangeFields.size(); i++) {
+        Min min = aggregations.get(MIN_PREFIX + i);
+        Max max = aggregations.get(MAX_PREFIX + i);
+        // Min and max are infinite if the field has no value
+        if (min != null && max != null && Double.isFinite(min.getValue())) {
+          FieldStatistics distinct = fields.get(rangeFields.get(i));
+          fields.put(
+              rangeFields.get(i),
+              new FieldStatistics(
+                  distinct == null ? -1 : distinct.getDistinctCount(),
+                  min.getValue(),
+                  max.getValue()));
+        }
+      }
+    }
+    return new IndexStatistics(docCount, Map.copyOf(fields));
+  }
+
+  /** Statistics of a field. Dates are in milliseconds since epoch. */
+  @Getter
+  @EqualsAndHashCode
+  @ToString
+  @RequiredArgsConstructor
+  public static class FieldStatistics {
+    /** Approximate number of distinct values, negative if unknown. */
+    private final long distinctCount;
+
+    /** Minimum value, null if unknown or not a numeric or date field. */
+    private final Double min;
+
+    /** Maximum value, null if unknown or not a numeric or date field. */
+    private final Double max;
+
+    public boolean hasRange() {
+      return min != null && max != null;
+    }
+  }
+}
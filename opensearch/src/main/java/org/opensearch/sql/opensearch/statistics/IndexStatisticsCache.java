@@ -0,0 +1,167 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.statistics;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import lombok.RequiredArgsConstructor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.sql.opensearch.client.OpenSearchClient;
+import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
+import org.opensearch.sql.opensearch.data.type.OpenSearchAliasType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+import org.opensearch.sql.opensearch.request.OpenSearchRequest;
+
+/**
+ * Node level cache of index statistics. Collecting statistics runs aggregations over the whole
+ * index, so they are collected once per user and index expression and reused until they are older
+ * than the time to live given. The user is part of the key since document level security changes
+ * the statistics. Concurrent queries wait for the same collection, and a failed collection is
+ * cached as unknown statistics, so that a failing index is not searched again by every query.
+ */
+public class IndexStatisticsCache {
+
+  private static final Logger LOG = LogManager.getLogger(IndexStatisticsCache.class);
+
+  /** Maximum number of index expressions to keep statistics for. */
+  private static final int MAX_ENTRIES = 1000;
+
+  /** Maximum number of fields to collect statistics of, in mapping order. */
+  @VisibleForTesting static final int MAX_FIELDS = 32;
+
+  private static final List<MappingType> DISTINCT_TYPES =
+      List.of(
+          MappingType.Keyword,
+          MappingType.Ip,
+          MappingType.Boolean,
+          MappingType.Date,
+          MappingType.DateNanos,
+          MappingType.Byte,
+          MappingType.Short,
+          MappingType.Integer,
+          MappingType.Long,
+          MappingType.Float,
+          MappingType.HalfFloat,
+          MappingType.ScaledFloat,
+          MappingType.Double);
+
+  private static final List<MappingType> RANGE_TYPES =
+      DISTINCT_TYPES.subList(DISTINCT_TYPES.indexOf(MappingType.Date), DISTINCT_TYPES.size());
+
+  /** Singleton instance. */
+  private static final IndexStatisticsCache INSTANCE = new IndexStatisticsCache();
+
+  private final Cache<String, Entry> statistics =
+      CacheBuilder.newBuilder().maximumSize(MAX_ENTRIES).build();
+
+  @VisibleForTesting
+  IndexStatisticsCache() {}
+
+  public static IndexStatisticsCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Get the statistics of the indices, collecting them if not cached or older than the time to
+   * live.
+   *
+   * @param client OpenSearch client
+   * @param indexName index expression
+   * @param fieldTypes mapping of the indices
+   * @param ttl time to live of the statistics
+   * @return statistics, or empty if they cannot be collected
+   */
+  public Optional<IndexStatistics> get(
+      OpenSearchClient client,
+      OpenSearchRequest.IndexName indexName,
+      Map<String, OpenSearchDataType> fieldTypes,
+      TimeValue ttl) {
+    String user = client instanceof OpenSearchNodeClient nodeClient ? nodeClient.currentUser() : "";
+    String key = user + "/" + indexName;
+    Entry cached = statistics.getIfPresent(key);
+    if (cached != null && System.nanoTime() - cached.collectedNanos < ttl.nanos()) {
+      return Optional.ofNullable(cached.statistics);
+    }
+    if (cached != null) {
+      statistics.asMap().remove(key, cached);
+    }
+    try {
+      return Optional.ofNullable(
+          statistics.get(key, () -> collect(client, indexName, fieldTypes)).statistics);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      LOG.warn("Failed to collect statistics of index [{}]", indexName, e);
+      return Optional.empty();
+    }
+  }
+
+  private static Entry collect(
+      OpenSearchClient client,
+      OpenSearchRequest.IndexName indexName,
+      Map<String, OpenSearchDataType> fieldTypes) {
+    List<String> distinctFields = new ArrayList<>();
+    List<String> rangeFields = new ArrayList<>();
+    collectFields(fieldTypes, "", distinctFields, rangeFields);
+    IndexStatistics result = null;
+    try {
+      result = client.getIndexStatistics(indexName.getIndexNames(), distinctFields, rangeFields);
+    } catch (RuntimeException e) {
+      LOG.warn("Failed to collect statistics of index [{}]", indexName, e);
+    }
+    return new Entry(result, System.nanoTime());
+  }
+
+  /**
+   * Collect the aggregatable fields, without the fields of nested objects which can only be
+   * aggregated with a nested aggregation.
+   */
+  private static void collectFields(
+      Map<String, OpenSearchDataType> fieldTypes,
+      String prefix,
+      List<String> distinctFields,
+      List<String> rangeFields) {
+    for (Map.Entry<String, OpenSearchDataType> field : fieldTypes.entrySet()) {
+      if (distinctFields.size() >= MAX_FIELDS) {
+        return;
+      }
+      String path = prefix + field.getKey();
+      OpenSearchDataType type = field.getValue();
+      MappingType mappingType = type.getMappingType();
+      if (type instanceof OpenSearchAliasType || mappingType == null) {
+        continue;
+      }
+      if (mappingType == MappingType.Object) {
+        collectFields(type.getProperties(), path + ".", distinctFields, rangeFields);
+      } else if (DISTINCT_TYPES.contains(mappingType)) {
+        distinctFields.add(path);
+        if (RANGE_TYPES.contains(mappingType)) {
+          rangeFields.add(path);
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void invalidateAll() {
+    statistics.invalidateAll();
+  }
+
+  @RequiredArgsConstructor
+  private static class Entry {
+    /** Statistics, or null if they could not be collected. */
+    private final IndexStatistics statistics;
+    private final long collectedNanos;
+  }
+}
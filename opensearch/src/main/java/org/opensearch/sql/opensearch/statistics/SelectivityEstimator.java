@@ -0,0 +1,131 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.statistics;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.util.Sarg;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics.FieldStatistics;
+
+/**
+ * Estimate the fraction of documents matching a filter from the statistics of the index.
+ * Comparisons of a field with a literal are estimated from the number of distinct values of the
+ * field, or from its range assuming values are uniformly distributed. Any other condition falls
+ * back to {@link RelMdUtil#guessSelectivity}, the estimate used without statistics.
+ */
+@RequiredArgsConstructor
+public class SelectivityEstimator {
+
+  private final IndexStatistics statistics;
+
+  /** Names of the fields referenced by position in the conditions. */
+  private final List<String> fieldNames;
+
+  public double estimate(RexNode condition) {
+    return switch (condition.getKind()) {
+      case AND -> operands(condition).mapToDouble(this::estimate).reduce(1.0, (a, b) -> a * b);
+      case OR -> Math.min(1.0, operands(condition).mapToDouble(this::estimate).sum());
+      case NOT -> 1.0 - estimate(((RexCall) condition).getOperands().get(0));
+      case EQUALS,
+          NOT_EQUALS,
+          LESS_THAN,
+          LESS_THAN_OR_EQUAL,
+          GREATER_THAN,
+          GREATER_THAN_OR_EQUAL,
+          SEARCH -> estimateComparison((RexCall) condition)
+          .orElseGet(() -> RelMdUtil.guessSelectivity(condition));
+      default -> RelMdUtil.guessSelectivity(condition);
+    };
+  }
+
+  private Optional<Double> estimateComparison(RexCall call) {
+    if (call.getOperands().size() != 2) {
+      return Optional.empty();
+    }
+    SqlKind kind = call.getKind();
+    RexNode left = stripCast(call.getOperands().get(0));
+    RexNode right = call.getOperands().get(1);
+    if (left instanceof RexLiteral && kind != SqlKind.SEARCH) {
+      left = stripCast(right);
+      right = call.getOperands().get(0);
+      kind = kind.reverse();
+    }
+    if (!(left instanceof RexInputRef ref) || !(right instanceof RexLiteral literal)) {
+      return Optional.empty();
+    }
+    if (ref.getIndex() >= fieldNames.size()) {
+      return Optional.empty();
+    }
+    Optional<FieldStatistics> field = statistics.getField(fieldNames.get(ref.getIndex()));
+    if (field.isEmpty()) {
+      return Optional.empty();
+    }
+    return switch (kind) {
+      case EQUALS -> equalsSelectivity(field.get());
+      case NOT_EQUALS -> equalsSelectivity(field.get()).map(selectivity -> 1.0 - selectivity);
+      case SEARCH -> searchSelectivity(field.get(), literal);
+      default -> rangeSelectivity(field.get(), kind, literal);
+    };
+  }
+
+  private static Optional<Double> equalsSelectivity(FieldStatistics field) {
+    return field.getDistinctCount() > 0
+        ? Optional.of(1.0 / field.getDistinctCount())
+        : Optional.empty();
+  }
+
+  /** Selectivity of IN and NOT IN lists, which are searches for a set of points. */
+  private static Optional<Double> searchSelectivity(FieldStatistics field, RexLiteral literal) {
+    Sarg<?> sarg = literal.getValueAs(Sarg.class);
+    if (sarg == null || field.getDistinctCount() <= 0) {
+      return Optional.empty();
+    }
+    if (sarg.isPoints()) {
+      return Optional.of(Math.min(1.0, (double) sarg.pointCount / field.getDistinctCount()));
+    }
+    if (sarg.isComplementedPoints()) {
+      double excluded = (double) sarg.negate().pointCount / field.getDistinctCount();
+      return Optional.of(Math.max(0.0, 1.0 - excluded));
+    }
+    return Optional.empty();
+  }
+
+  private static Optional<Double> rangeSelectivity(
+      FieldStatistics field, SqlKind kind, RexLiteral literal) {
+    if (!field.hasRange() || !(literal.getValue() instanceof BigDecimal value)) {
+      return Optional.empty();
+    }
+    double min = field.getMin();
+    double max = field.getMax();
+    double bound = value.doubleValue();
+    double below;
+    if (max <= min) {
+      boolean inclusive = kind == SqlKind.LESS_THAN_OR_EQUAL || kind == SqlKind.GREATER_THAN;
+      below = bound > min || (inclusive && bound == min) ? 1.0 : 0.0;
+    } else {
+      below = Math.min(1.0, Math.max(0.0, (bound - min) / (max - min)));
+    }
+    return Optional.of(
+        kind == SqlKind.LESS_THAN || kind == SqlKind.LESS_THAN_OR_EQUAL ? below : 1.0 - below);
+  }
+
+  private static Stream<RexNode> operands(RexNode condition) {
+    return ((RexCall) condition).getOperands().stream();
+  }
+
+  private static RexNode stripCast(RexNode node) {
+    return node.getKind() == SqlKind.CAST ? ((RexCall) node).getOperands().get(0) : node;
+  }
+}
@@ -10,6 +10,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.Getter;
@@ -34,6 +35,8 @@ import org.opensearch.sql.opensearch.planner.physical.OpenSearchEvalOperator;
 import org.opensearch.sql.opensearch.request.OpenSearchRequest;
 import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
 import org.opensearch.sql.opensearch.request.system.OpenSearchDescribeIndexRequest;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
+import org.opensearch.sql.opensearch.statistics.IndexStatisticsCache;
 import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
 import org.opensearch.sql.opensearch.storage.scan.OpenSearchIndexScan;
 import org.opensearch.sql.opensearch.storage.scan.OpenSearchIndexScanBuilder;
@@ -75,7 +78,7 @@ public class OpenSearchIndex extends AbstractOpenSearchTable {
   @Getter private final Settings settings;
 
   /** {@link OpenSearchRequest.IndexName}. */
-  private final OpenSearchRequest.IndexName indexName;
+  @Getter private final OpenSearchRequest.IndexName indexName;
 
   /** The cached mapping of field and type in index. */
   private Map<String, OpenSearchDataType> cachedFieldOpenSearchTypes = null;
@@ -89,6 +92,9 @@ public class OpenSearchIndex extends AbstractOpenSearchTable {
   /** The cached max result window setting of index. */
   private Integer cachedMaxResultWindow = null;
 
+  /** The cached statistics of the index, empty if disabled or failed to collect. */
+  private Optional<IndexStatistics> cachedStatistics = null;
+
   /** Constructor. */
   public OpenSearchIndex(OpenSearchClient client, Settings settings, String indexName) {
     this.client = client;
@@ -190,6 +196,27 @@ public class OpenSearchIndex extends AbstractOpenSearchTable {
     return cachedMaxResultWindow;
   }
 
+  /**
+   * Get the statistics of the index to estimate the cost of scanning it.
+   *
+   * @return statistics, or empty if statistics are disabled or cannot be collected.
+   */
+  public Optional<IndexStatistics> getIndexStatistics() {
+    if (!Boolean.TRUE.equals(settings.getSettingValue(Settings.Key.CALCITE_STATISTICS_ENABLED))) {
+      return Optional.empty();
+    }
+    if (cachedStatistics == null) {
+      cachedStatistics =
+          IndexStatisticsCache.getInstance()
+              .get(
+                  client,
+                  indexName,
+                  getFieldOpenSearchTypes(),
+                  settings.getSettingValue(Settings.Key.CALCITE_STATISTICS_TTL));
+    }
+    return cachedStatistics;
+  }
+
   /** TODO: Push down operations to index scan operator as much as possible in future. */
   @Override
   public PhysicalPlan implement(LogicalPlan plan) {
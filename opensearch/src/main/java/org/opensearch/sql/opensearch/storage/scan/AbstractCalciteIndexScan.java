@@ -44,6 +44,7 @@ import org.opensearch.search.sort.SortOrder;
 import org.opensearch.sql.common.setting.Settings.Key;
 import org.opensearch.sql.data.type.ExprType;
 import org.opensearch.sql.opensearch.data.type.OpenSearchTextType;
+import org.opensearch.sql.opensearch.statistics.SelectivityEstimator;
 import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
 
 /** An abstract relational operator representing a scan of an OpenSearchIndex type. */
@@ -100,17 +101,17 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
   public double estimateRowCount(RelMetadataQuery mq) {
     return pushDownContext.stream()
         .reduce(
-            osIndex.getMaxResultWindow().doubleValue(),
+            getScannedRowCount(),
             (rowCount, operation) ->
                 switch (operation.type()) {
                   case AGGREGATION -> mq.getRowCount((RelNode) operation.digest());
-                  case PROJECT, SORT -> rowCount;
+                  case PROJECT, SORT, SCRIPT_PROJECT, TOP_K, BUCKET_PAGING -> rowCount;
                     // Refer the org.apache.calcite.rel.metadata.RelMdRowCount
                   case COLLAPSE -> rowCount / 10;
                   case FILTER, SCRIPT -> NumberUtil.multiply(
-                      rowCount,
-                      RelMdUtil.guessSelectivity(((FilterDigest) operation.digest()).condition()));
+                      rowCount, getSelectivity((FilterDigest) operation.digest()));
                   case LIMIT -> Math.min(rowCount, ((LimitDigest) operation.digest()).limit());
+                  case SAMPLE -> rowCount * ((SampleDigest) operation.digest()).ratio();
                 },
             (a, b) -> null);
   }
@@ -131,7 +132,7 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
    */
   @Override
   public @Nullable RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
-    double dRows = osIndex.getMaxResultWindow().doubleValue(), dCpu = 0.0d;
+    double dRows = getScannedRowCount(), dCpu = 0.0d;
     for (PushDownOperation operation : pushDownContext) {
       switch (operation.type()) {
         case AGGREGATION -> {
@@ -148,11 +149,10 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
         }
           // Ignore cost the primitive filter but it will affect the rows count.
         case FILTER -> dRows =
-            NumberUtil.multiply(
-                dRows, RelMdUtil.guessSelectivity(((FilterDigest) operation.digest()).condition()));
+            NumberUtil.multiply(dRows, getSelectivity((FilterDigest) operation.digest()));
         case SCRIPT -> {
           FilterDigest filterDigest = (FilterDigest) operation.digest();
-          dRows = NumberUtil.multiply(dRows, RelMdUtil.guessSelectivity(filterDigest.condition()));
+          dRows = NumberUtil.multiply(dRows, getSelectivity(filterDigest));
           // Calculate the cost of script filter by multiplying the selectivity of the filter and
           // the factor amplified by script count.
           dCpu += NumberUtil.multiply(dRows, Math.pow(1.1, filterDigest.scriptCount()));
@@ -162,6 +162,25 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
           // Because we'd like to push down LIMIT even when the fetch in LIMIT is greater than
           // dRows.
         case LIMIT -> dRows = Math.min(dRows, ((LimitDigest) operation.digest()).limit()) - 1;
+          // Scoring each document randomly costs about as much as returning it
+        case SAMPLE -> {
+          dCpu += dRows;
+          dRows = dRows * ((SampleDigest) operation.digest()).ratio();
+        }
+          // Each returned document runs the scripts of its script fields, which costs a bit more
+          // for each script but less than the project evaluating them on the coordinator
+        case SCRIPT_PROJECT -> dCpu +=
+            NumberUtil.multiply(
+                dRows,
+                Math.pow(1.1, ((ScriptProjectDigest) operation.digest()).fieldNames().size()) - 1);
+          // Rows in random order improve their top K about K * ln(N / K) times, which is about
+          // how many rows pass the threshold filter
+        case TOP_K -> {
+          int k = ((TopKDigest) operation.digest()).k();
+          dRows = Math.min(dRows, k * (1 + Math.log(Math.max(1.0, dRows / k))));
+        }
+          // Paging the buckets returns the rows the aggregation estimates, a page at a time
+        case BUCKET_PAGING -> {}
       }
       ;
     }
@@ -179,6 +198,26 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
     return planner.getCostFactory().makeCost(dCpu * estimateRowCountFactor, 0, 0);
   }
 
+  /**
+   * Row count of the scan before any push down operation: the number of documents if statistics
+   * of the index are enabled, the max result window of the index otherwise.
+   */
+  private double getScannedRowCount() {
+    return osIndex
+        .getIndexStatistics()
+        .map(statistics -> Math.max(1.0, statistics.getDocCount()))
+        .orElseGet(() -> osIndex.getMaxResultWindow().doubleValue());
+  }
+
+  /** Selectivity of a pushed down filter, estimated from statistics of the index if enabled. */
+  private double getSelectivity(FilterDigest digest) {
+    return osIndex
+        .getIndexStatistics()
+        .map(statistics -> new SelectivityEstimator(statistics, digest.fieldNames()))
+        .map(estimator -> estimator.estimate(digest.condition()))
+        .orElseGet(() -> RelMdUtil.guessSelectivity(digest.condition()));
+  }
+
   /** See source in {@link org.apache.calcite.rel.core.Aggregate::computeSelfCost} */
   private static float getAggMultiplier(PushDownOperation operation) {
     // START CALCITE
@@ -252,6 +291,10 @@ public abstract class AbstractCalciteIndexScan extends TableScan {
    */
   public AbstractCalciteIndexScan pushDownSort(List<RelFieldCollation> collations) {
     try {
+      if (pushDownContext.isScriptProjectPushed()) {
+        // Script fields are computed after the documents are sorted
+        return null;
+      }
       List<String> collationNames = getCollationNames(collations);
       if (getPushDownContext().isAggregatePushed() && hasAggregatorInSortBy(collationNames)) {
         // If aggregation is pushed down, we cannot push down sorts where its by fields contain
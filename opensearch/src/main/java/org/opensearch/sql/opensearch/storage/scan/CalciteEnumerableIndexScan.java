@@ -6,6 +6,9 @@
 package org.opensearch.sql.opensearch.storage.scan;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 import org.apache.calcite.adapter.enumerable.EnumerableRel;
 import org.apache.calcite.adapter.enumerable.EnumerableRelImplementor;
 import org.apache.calcite.adapter.enumerable.PhysType;
@@ -29,7 +32,9 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.opensearch.sql.calcite.plan.OpenSearchRules;
 import org.opensearch.sql.calcite.plan.Scannable;
+import org.opensearch.sql.opensearch.request.OpenSearchRequest;
 import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
+import org.opensearch.sql.opensearch.response.OpenSearchResponse;
 import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
 
 /** The physical relational operator representing a scan of an OpenSearchIndex type. */
@@ -37,6 +42,9 @@ public class CalciteEnumerableIndexScan extends AbstractCalciteIndexScan
     implements Scannable, EnumerableRel {
   private static final Logger LOG = LogManager.getLogger(CalciteEnumerableIndexScan.class);
 
+  /** First search of the scan sent before the plan is executed, see {@link ScanPrefetcher}. */
+  private final AtomicReference<PrefetchedSearch> prefetchedSearch = new AtomicReference<>();
+
   /**
    * Creates an CalciteOpenSearchIndexScan.
    *
@@ -105,6 +113,17 @@ public class CalciteEnumerableIndexScan extends AbstractCalciteIndexScan
     return new AbstractEnumerable<>() {
       @Override
       public Enumerator<Object> enumerator() {
+        PrefetchedSearch prefetched = prefetchedSearch.getAndSet(null);
+        if (prefetched != null) {
+          return new OpenSearchIndexEnumerator(
+              osIndex.getClient(),
+              getFieldPath(),
+              prefetched.requestBuilder().getMaxResponseSize(),
+              prefetched.requestBuilder().getMaxResultWindow(),
+              prefetched.request(),
+              osIndex.createOpenSearchResourceMonitor(),
+              prefetched.response());
+        }
         OpenSearchRequestBuilder requestBuilder = getOrCreateRequestBuilder();
         return new OpenSearchIndexEnumerator(
             osIndex.getClient(),
@@ -117,6 +136,38 @@ public class CalciteEnumerableIndexScan extends AbstractCalciteIndexScan
     };
   }
 
+  /**
+   * Send the first search of the scan in the background. The next enumerator of the scan will
+   * continue from its response instead of searching when first moved.
+   *
+   * @param executor executor to send the search on
+   */
+  void prefetch(Executor executor) {
+    OpenSearchRequestBuilder requestBuilder = getOrCreateRequestBuilder();
+    OpenSearchRequest request = osIndex.buildRequest(requestBuilder);
+    CompletableFuture<OpenSearchResponse> response =
+        CompletableFuture.supplyAsync(() -> osIndex.getClient().search(request), executor);
+    releasePrefetch(
+        prefetchedSearch.getAndSet(new PrefetchedSearch(requestBuilder, request, response)));
+  }
+
+  /** Clean up the prefetched search if no enumerator took it, e.g. as a branch was never read. */
+  void releasePrefetch() {
+    releasePrefetch(prefetchedSearch.getAndSet(null));
+  }
+
+  private void releasePrefetch(PrefetchedSearch prefetched) {
+    if (prefetched != null) {
+      prefetched.response().exceptionally(e -> null).join();
+      osIndex.getClient().forceCleanup(prefetched.request());
+    }
+  }
+
+  private record PrefetchedSearch(
+      OpenSearchRequestBuilder requestBuilder,
+      OpenSearchRequest request,
+      CompletableFuture<OpenSearchResponse> response) {}
+
   private List<String> getFieldPath() {
     return getRowType().getFieldNames().stream()
         .map(f -> osIndex.getAliasMapping().getOrDefault(f, f))
@@ -6,9 +6,13 @@
 package org.opensearch.sql.opensearch.storage.scan;
 
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import org.apache.calcite.plan.Convention;
@@ -16,14 +20,19 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelOptRule;
 import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelOptUtil;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.AbstractRelNode;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.calcite.rel.RelFieldCollation.NullDirection;
+import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Aggregate;
 import org.apache.calcite.rel.core.Filter;
 import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rel.core.Sort;
 import org.apache.calcite.rel.hint.RelHint;
 import org.apache.calcite.rel.logical.LogicalFilter;
 import org.apache.calcite.rel.logical.LogicalSort;
@@ -31,15 +40,27 @@ import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeField;
 import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexOver;
+import org.apache.calcite.rex.RexUtil;
+import org.apache.calcite.sql.SqlOperator;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
 import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.mapping.Mapping;
+import org.apache.calcite.util.mapping.Mappings;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.index.IndexSettings;
+import org.opensearch.script.Script;
 import org.opensearch.search.aggregations.AggregationBuilder;
 import org.opensearch.search.aggregations.bucket.histogram.AutoDateHistogramAggregationBuilder;
 import org.opensearch.search.aggregations.metrics.ValueCountAggregationBuilder;
+import org.opensearch.sql.calcite.plan.LogicalSample;
 import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
 import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.data.type.ExprCoreType;
@@ -49,8 +70,11 @@ import org.opensearch.sql.opensearch.data.type.OpenSearchTextType;
 import org.opensearch.sql.opensearch.planner.physical.EnumerableIndexScanRule;
 import org.opensearch.sql.opensearch.planner.physical.OpenSearchIndexRules;
 import org.opensearch.sql.opensearch.request.AggregateAnalyzer;
+import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
 import org.opensearch.sql.opensearch.request.PredicateAnalyzer;
 import org.opensearch.sql.opensearch.request.PredicateAnalyzer.QueryExpression;
+import org.opensearch.sql.opensearch.request.PredicateAnalyzer.ScriptQueryExpression;
+import org.opensearch.sql.opensearch.request.TopKThreshold;
 import org.opensearch.sql.opensearch.response.agg.OpenSearchAggregationResponseParser;
 import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
 
@@ -59,6 +83,40 @@ import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
 public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
   private static final Logger LOG = LogManager.getLogger(CalciteLogicalIndexScan.class);
 
+  /**
+   * Most script fields pushed down, the default of index.max_script_fields which rejects searches
+   * asking for more. An index setting above the default is not looked up, so such an index still
+   * gets this many script fields at most.
+   */
+  static final int DEFAULT_MAX_SCRIPT_FIELDS =
+      IndexSettings.MAX_SCRIPT_FIELDS_SETTING.getDefault(
+          org.opensearch.common.settings.Settings.EMPTY);
+
+  /** Types of the expressions which can be returned as script fields. */
+  private static final Set<ExprType> SCRIPT_FIELD_TYPES =
+      Set.of(
+          ExprCoreType.BYTE,
+          ExprCoreType.SHORT,
+          ExprCoreType.INTEGER,
+          ExprCoreType.LONG,
+          ExprCoreType.FLOAT,
+          ExprCoreType.DOUBLE,
+          ExprCoreType.STRING,
+          ExprCoreType.BOOLEAN,
+          ExprCoreType.DATE,
+          ExprCoreType.TIME,
+          ExprCoreType.TIMESTAMP);
+
+  /** Types of the script fields whose top K can be filtered by a threshold. */
+  private static final Set<ExprType> TOP_K_TYPES =
+      Set.of(
+          ExprCoreType.BYTE,
+          ExprCoreType.SHORT,
+          ExprCoreType.INTEGER,
+          ExprCoreType.LONG,
+          ExprCoreType.FLOAT,
+          ExprCoreType.DOUBLE);
+
   public CalciteLogicalIndexScan(
       RelOptCluster cluster, RelOptTable table, OpenSearchIndex osIndex) {
     this(
@@ -112,13 +170,36 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
       for (RelOptRule rule : OpenSearchIndexRules.OPEN_SEARCH_INDEX_SCAN_RULES) {
         planner.addRule(rule);
       }
+      if (Boolean.TRUE.equals(
+          osIndex
+              .getSettings()
+              .getSettingValue(Settings.Key.CALCITE_PUSHDOWN_WINDOW_AGGREGATION_ENABLED))) {
+        planner.addRule(OpenSearchIndexRules.WINDOW_AGGREGATE_JOIN);
+      }
+      if (Boolean.TRUE.equals(
+          osIndex
+              .getSettings()
+              .getSettingValue(Settings.Key.CALCITE_PUSHDOWN_SCRIPT_FIELDS_ENABLED))) {
+        planner.addRule(OpenSearchIndexRules.SCRIPT_PROJECT_INDEX_SCAN);
+        planner.addRule(OpenSearchIndexRules.TOP_K_THRESHOLD);
+      }
     } else {
       planner.addRule(OpenSearchIndexRules.RELEVANCE_FUNCTION_PUSHDOWN);
     }
+    if (Boolean.TRUE.equals(
+        osIndex.getSettings().getSettingValue(Settings.Key.CALCITE_JOIN_SPILL_ENABLED))) {
+      ByteSizeValue memoryLimit =
+          osIndex.getSettings().getSettingValue(Settings.Key.CALCITE_JOIN_SPILL_MEMORY_LIMIT);
+      planner.addRule(OpenSearchIndexRules.spillableHashJoin(memoryLimit.getBytes()));
+    }
   }
 
   public AbstractRelNode pushDownFilter(Filter filter) {
     try {
+      if (pushDownContext.isScriptProjectPushed()) {
+        // Script fields are computed after the query, so they cannot be filtered on
+        return null;
+      }
       RelDataType rowType = filter.getRowType();
       CalciteLogicalIndexScan newScan = this.copyWithNewSchema(filter.getRowType());
       List<String> schema = this.getRowType().getFieldNames();
@@ -137,7 +218,8 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
               queryExpression.isPartial()
                   ? constructCondition(
                       queryExpression.getAnalyzedNodes(), getCluster().getRexBuilder())
-                  : filter.getCondition()),
+                  : filter.getCondition(),
+              schema),
           (OSRequestBuilderAction)
               requestBuilder -> requestBuilder.pushDownFilter(queryExpression.builder()));
 
@@ -165,6 +247,9 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
   }
 
   public CalciteLogicalIndexScan pushDownCollapse(Project finalOutput, String fieldName) {
+    if (pushDownContext.isScriptProjectPushed()) {
+      return null;
+    }
     ExprType fieldType = osIndex.getFieldTypes().get(fieldName);
     if (fieldType == null) {
       // the fieldName must be one of index fields
@@ -206,6 +291,10 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
    * schema since we cannot override getRowType() which is defined to be final.
    */
   public CalciteLogicalIndexScan pushDownProject(List<Integer> selectedColumns) {
+    // The fetched fields are already chosen along with the script fields
+    if (pushDownContext.isScriptProjectPushed()) {
+      return null;
+    }
     final RelDataTypeFactory.Builder builder = getCluster().getTypeFactory().builder();
     final List<RelDataTypeField> fieldList = this.getRowType().getFieldList();
     for (int project : selectedColumns) {
@@ -254,6 +343,145 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
     return newScan;
   }
 
+  /**
+   * Push down the expressions of a project as script fields computed on the shards, so the hits
+   * carry the computed values instead of the _source the expressions read. The columns still
+   * referenced as they are by the project are kept in _source, which is not fetched at all if
+   * there are none. The expressions which cannot be computed by a script, or beyond {@link
+   * #DEFAULT_MAX_SCRIPT_FIELDS}, stay in the project.
+   */
+  public RelNode pushDownScriptProject(Project project) {
+    try {
+      if (pushDownContext.isAggregatePushed() || pushDownContext.isScriptProjectPushed()) {
+        return null;
+      }
+      List<String> schema = getRowType().getFieldNames();
+      Map<String, ExprType> fieldTypes = osIndex.getFieldTypes();
+      List<RexNode> projects = project.getProjects();
+      List<RelDataTypeField> outputFields = project.getRowType().getFieldList();
+      List<Integer> scriptIndexes = new ArrayList<>();
+      ImmutableBitSet.Builder sourceBits = ImmutableBitSet.builder();
+      for (int i = 0; i < projects.size(); i++) {
+        if (scriptIndexes.size() < DEFAULT_MAX_SCRIPT_FIELDS
+            && isScriptField(projects.get(i), outputFields.get(i), schema, fieldTypes)) {
+          scriptIndexes.add(i);
+        } else {
+          sourceBits.addAll(RelOptUtil.InputFinder.bits(projects.get(i)));
+        }
+      }
+      if (scriptIndexes.isEmpty()) {
+        return null;
+      }
+
+      // The new scan returns the source columns followed by the script fields
+      List<Integer> sourceColumns = sourceBits.build().asList();
+      RelDataTypeFactory.Builder builder = getCluster().getTypeFactory().builder();
+      sourceColumns.forEach(column -> builder.add(getRowType().getFieldList().get(column)));
+      Map<String, Script> scriptFields = new LinkedHashMap<>();
+      Map<String, OpenSearchDataType> typeMapping = new HashMap<>();
+      List<RexNode> scriptExpressions = new ArrayList<>();
+      for (int index : scriptIndexes) {
+        RelDataTypeField field = outputFields.get(index);
+        builder.add(field);
+        scriptFields.put(
+            field.getName(),
+            new ScriptQueryExpression(projects.get(index), getRowType(), fieldTypes, getCluster())
+                .getScript());
+        typeMapping.put(
+            field.getName(),
+            OpenSearchDataType.of(
+                OpenSearchTypeFactory.convertRelDataTypeToExprType(field.getType())));
+        scriptExpressions.add(projects.get(index));
+      }
+      RelDataType newSchema = builder.build();
+      Map<String, String> aliasMapping = osIndex.getAliasMapping();
+      // For alias types, we need to fetch its original path instead of the alias name.
+      List<String> sourceFields =
+          sourceColumns.stream()
+              .map(schema::get)
+              .map(fieldName -> aliasMapping.getOrDefault(fieldName, fieldName))
+              .toList();
+
+      CalciteLogicalIndexScan newScan =
+          new CalciteLogicalIndexScan(
+              getCluster(),
+              reIndexCollations(sourceColumns),
+              hints,
+              table,
+              osIndex,
+              newSchema,
+              pushDownContext.clone());
+      newScan.pushDownContext.add(
+          PushDownType.SCRIPT_PROJECT,
+          new ScriptProjectDigest(
+              new ArrayList<>(scriptFields.keySet()), scriptExpressions, getRowType()),
+          (OSRequestBuilderAction)
+              requestBuilder -> {
+                requestBuilder.pushDownScriptFields(scriptFields, sourceFields);
+                requestBuilder.pushTypeMapping(typeMapping);
+              });
+
+      Mapping mapping = Mappings.target(sourceColumns, getRowType().getFieldCount());
+      RexBuilder rexBuilder = getCluster().getRexBuilder();
+      List<RexNode> newProjects = new ArrayList<>(projects.size());
+      for (int i = 0; i < projects.size(); i++) {
+        int scriptIndex = scriptIndexes.indexOf(i);
+        newProjects.add(
+            scriptIndex < 0
+                ? RexUtil.apply(mapping, projects.get(i))
+                : rexBuilder.makeInputRef(newScan, sourceColumns.size() + scriptIndex));
+      }
+      if (RexUtil.isIdentity(newProjects, newScan.getRowType())) {
+        return newScan;
+      }
+      return project.copy(project.getTraitSet(), newScan, newProjects, project.getRowType());
+    } catch (Exception e) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Cannot pushdown the project {} as script fields", project.getProjects(), e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Whether a project expression can be computed by a field script: a call reading only index
+   * fields of scalar types, whose result can be returned in the hits and has no name of the index.
+   */
+  private static boolean isScriptField(
+      RexNode node,
+      RelDataTypeField output,
+      List<String> schema,
+      Map<String, ExprType> fieldTypes) {
+    if (!(node instanceof RexCall)
+        || RexOver.containsOver(node)
+        || RexUtil.containsCorrelation(node)
+        || RexUtil.SubQueryFinder.find(node) != null) {
+      return false;
+    }
+    ImmutableBitSet inputs = RelOptUtil.InputFinder.bits(node);
+    if (inputs.isEmpty()) {
+      return false;
+    }
+    for (int input : inputs) {
+      ExprType inputType = fieldTypes.get(schema.get(input));
+      if (inputType == null
+          || ExprCoreType.STRUCT.equals(inputType)
+          || ExprCoreType.ARRAY.equals(inputType)) {
+        return false;
+      }
+    }
+    String name = output.getName();
+    if (name.contains(".")
+        || name.startsWith("_")
+        || schema.contains(name)
+        || fieldTypes.containsKey(name)
+        || output.getType().getSqlTypeName() == SqlTypeName.DECIMAL) {
+      return false;
+    }
+    return SCRIPT_FIELD_TYPES.contains(
+        OpenSearchTypeFactory.convertRelDataTypeToExprType(output.getType()));
+  }
+
   private RelTraitSet reIndexCollations(List<Integer> selectedColumns) {
     RelTraitSet newTraitSet;
     RelCollation relCollation = getTraitSet().getCollation();
@@ -272,8 +500,116 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
     return newTraitSet;
   }
 
+  /**
+   * Push down a running top-K threshold for a sort with a limit on a script field, which the shards
+   * cannot sort by since script fields are computed after the documents are sorted. The sort and
+   * the limit stay on top of the scan, while the pages of the scan after the first one are
+   * filtered by a script comparing the expression of the field with the K-th best value so far.
+   * Only the first sort key is compared, inclusive of the threshold if there are more keys.
+   */
+  public CalciteLogicalIndexScan pushDownTopK(Sort sort) {
+    try {
+      if (sort.getCollation().getFieldCollations().isEmpty()
+          || !(sort.fetch instanceof RexLiteral fetch)
+          || (sort.offset != null && !(sort.offset instanceof RexLiteral))
+          || pushDownContext.isAggregatePushed()
+          || pushDownContext.isLimitPushed()
+          || pushDownContext.stream().anyMatch(action -> action.type() == PushDownType.TOP_K)) {
+        return null;
+      }
+      int k =
+          fetch.getValueAs(Integer.class)
+              + (sort.offset == null ? 0 : ((RexLiteral) sort.offset).getValueAs(Integer.class));
+      List<RelFieldCollation> collations = sort.getCollation().getFieldCollations();
+      RelFieldCollation collation = collations.getFirst();
+      String fieldName = getRowType().getFieldNames().get(collation.getFieldIndex());
+      ScriptProjectDigest scriptProject =
+          pushDownContext.stream()
+              .filter(action -> action.type() == PushDownType.SCRIPT_PROJECT)
+              .map(action -> (ScriptProjectDigest) action.digest())
+              .findFirst()
+              .orElse(null);
+      int scriptIndex = scriptProject == null ? -1 : scriptProject.fieldNames().indexOf(fieldName);
+      if (k <= 0 || scriptIndex < 0) {
+        return null;
+      }
+      RexNode expression = scriptProject.expressions().get(scriptIndex);
+      ExprType type = OpenSearchTypeFactory.convertRelDataTypeToExprType(expression.getType());
+      if (!TOP_K_TYPES.contains(type)) {
+        return null;
+      }
+
+      Direction direction = collation.getDirection();
+      boolean descending = direction.isDescending();
+      NullDirection nullDirection =
+          collation.nullDirection == NullDirection.UNSPECIFIED
+              ? direction.defaultNullDirection()
+              : collation.nullDirection;
+      boolean nullsFirst = nullDirection == NullDirection.FIRST;
+      // Rows tied with the threshold may still rank first by the next sort keys
+      boolean inclusive = collations.size() > 1;
+      SqlOperator comparison;
+      if (descending) {
+        comparison =
+            inclusive
+                ? SqlStdOperatorTable.GREATER_THAN_OR_EQUAL
+                : SqlStdOperatorTable.GREATER_THAN;
+      } else {
+        comparison =
+            inclusive ? SqlStdOperatorTable.LESS_THAN_OR_EQUAL : SqlStdOperatorTable.LESS_THAN;
+      }
+      RexBuilder rexBuilder = getCluster().getRexBuilder();
+      RexNode condition =
+          rexBuilder.makeCall(
+              comparison, expression, rexBuilder.makeDynamicParam(expression.getType(), 0));
+      if (nullsFirst) {
+        condition =
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.OR,
+                condition,
+                rexBuilder.makeCall(SqlStdOperatorTable.IS_NULL, expression));
+      }
+      Script filterScript =
+          new ScriptQueryExpression(
+                  condition, scriptProject.inputRowType(), osIndex.getFieldTypes(), getCluster())
+              .getScript();
+      TopKThreshold threshold =
+          new TopKThreshold(fieldName, k, descending, nullsFirst, type, filterScript);
+
+      CalciteLogicalIndexScan newScan = this.copyWithNewSchema(getRowType());
+      newScan.pushDownContext.add(
+          PushDownType.TOP_K,
+          new TopKDigest(fieldName, direction, k),
+          (OSRequestBuilderAction)
+              requestBuilder -> requestBuilder.pushDownTopKThreshold(threshold));
+      return newScan;
+    } catch (Exception e) {
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Cannot pushdown the top K of {}", sort.getCollation(), e);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Page the buckets of the aggregation pushed down later until the last one, instead of returning
+   * the first {@link AggregateAnalyzer#AGGREGATION_BUCKET_SIZE} buckets only, for the plans whose
+   * results are wrong without every bucket.
+   */
+  public CalciteLogicalIndexScan pushDownBucketPaging() {
+    CalciteLogicalIndexScan newScan = this.copyWithNewSchema(getRowType());
+    newScan.pushDownContext.add(
+        PushDownType.BUCKET_PAGING,
+        "all buckets",
+        (OSRequestBuilderAction) OpenSearchRequestBuilder::pushDownBucketPaging);
+    return newScan;
+  }
+
   public AbstractRelNode pushDownAggregate(Aggregate aggregate, Project project) {
     try {
+      if (pushDownContext.isScriptProjectPushed()) {
+        return null;
+      }
       CalciteLogicalIndexScan newScan =
           new CalciteLogicalIndexScan(
               getCluster(),
@@ -331,6 +667,26 @@ public class CalciteLogicalIndexScan extends AbstractCalciteIndexScan {
     return null;
   }
 
+  /**
+   * Push down a sample, which must be applied to the documents before they are aggregated, limited
+   * or collapsed.
+   */
+  public AbstractRelNode pushDownSample(LogicalSample sample) {
+    if (pushDownContext.isAggregatePushed()
+        || pushDownContext.isLimitPushed()
+        || pushDownContext.stream().anyMatch(action -> action.type() == PushDownType.COLLAPSE)) {
+      return null;
+    }
+    double ratio = sample.getRatio();
+    Integer seed = sample.getSeed();
+    CalciteLogicalIndexScan newScan = this.copyWithNewSchema(getRowType());
+    newScan.pushDownContext.add(
+        PushDownType.SAMPLE,
+        new SampleDigest(ratio, seed),
+        (OSRequestBuilderAction) requestBuilder -> requestBuilder.pushDownSample(ratio, seed));
+    return newScan;
+  }
+
   public AbstractRelNode pushDownLimit(LogicalSort sort, Integer limit, Integer offset) {
     try {
       if (pushDownContext.isAggregatePushed()) {
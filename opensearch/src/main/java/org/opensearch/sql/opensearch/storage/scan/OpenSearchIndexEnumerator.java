@@ -8,9 +8,12 @@ package org.opensearch.sql.opensearch.storage.scan;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.calcite.linq4j.Enumerator;
+import org.opensearch.sql.common.jfr.ScanPageEvent;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.exception.NonFallbackCalciteException;
@@ -59,6 +62,9 @@ public class OpenSearchIndexEnumerator implements Enumerator<Object> {
   /** flag to indicate whether fetch more than one batch */
   private boolean fetchOnce = false;
 
+  /** Response of the first search sent before the enumeration started, null if none. */
+  private CompletableFuture<OpenSearchResponse> prefetchedResponse;
+
   public OpenSearchIndexEnumerator(
       OpenSearchClient client,
       List<String> fields,
@@ -66,6 +72,22 @@ public class OpenSearchIndexEnumerator implements Enumerator<Object> {
       int maxResultWindow,
       OpenSearchRequest request,
       ResourceMonitor monitor) {
+    this(client, fields, maxResponseSize, maxResultWindow, request, monitor, null);
+  }
+
+  /**
+   * Constructor of an enumerator whose first search of the request was already sent.
+   *
+   * @param prefetchedResponse response of the first search, or null to search on first move
+   */
+  public OpenSearchIndexEnumerator(
+      OpenSearchClient client,
+      List<String> fields,
+      int maxResponseSize,
+      int maxResultWindow,
+      OpenSearchRequest request,
+      ResourceMonitor monitor,
+      CompletableFuture<OpenSearchResponse> prefetchedResponse) {
     this.client = client;
     this.fields = fields;
     this.request = request;
@@ -74,16 +96,31 @@ public class OpenSearchIndexEnumerator implements Enumerator<Object> {
     this.monitor = monitor;
     this.queryCount = 0;
     this.current = null;
+    this.prefetchedResponse = prefetchedResponse;
     if (!this.monitor.isHealthy()) {
       throw new NonFallbackCalciteException("insufficient resources to run the query, quit.");
     }
   }
 
   private void fetchNextBatch() {
-    OpenSearchResponse response = client.search(request);
-    if (response.isAggregationResponse()
-        || response.isCountResponse()
-        || response.getHitsSize() < maxResultWindow) {
+    ScanPageEvent event = new ScanPageEvent();
+    event.begin();
+    OpenSearchResponse response =
+        prefetchedResponse != null ? awaitPrefetchedResponse() : client.search(request);
+    event.end();
+    if (event.shouldCommit()) {
+      event.index = request.getIndexName().toString();
+      event.hits = response.getHitsSize();
+      event.sourceBytes = response.getSourceBytes();
+      event.took = response.getTookInMillis();
+      event.commitForQuery();
+    }
+    // the buckets of an aggregation may be paged until the last one
+    boolean morePages = response.isAggregationResponse() && request.hasAnotherBatch();
+    if (!morePages
+        && (response.isAggregationResponse()
+            || response.isCountResponse()
+            || response.getHitsSize() < maxResultWindow)) {
       // no need to fetch next batch if it's for an aggregation
       // or the length of response hits is less than max result window size.
       fetchOnce = true;
@@ -133,8 +170,25 @@ public class OpenSearchIndexEnumerator implements Enumerator<Object> {
     }
   }
 
+  /** Wait for the prefetched response, which must be done before the request is used again. */
+  private OpenSearchResponse awaitPrefetchedResponse() {
+    CompletableFuture<OpenSearchResponse> response = prefetchedResponse;
+    prefetchedResponse = null;
+    try {
+      return response.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   @Override
   public void reset() {
+    if (prefetchedResponse != null) {
+      awaitPrefetchedResponse();
+    }
     OpenSearchResponse response = client.search(request);
     if (!response.isEmpty()) {
       iterator = response.iterator();
@@ -147,6 +201,10 @@ public class OpenSearchIndexEnumerator implements Enumerator<Object> {
   @Override
   public void close() {
     iterator = Collections.emptyIterator();
+    if (prefetchedResponse != null) {
+      prefetchedResponse.exceptionally(e -> null).join();
+      prefetchedResponse = null;
+    }
     if (request != null) {
       client.forceCleanup(request);
       request = null;
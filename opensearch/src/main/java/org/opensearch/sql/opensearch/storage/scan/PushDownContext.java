@@ -13,11 +13,13 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.Getter;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.rel.RelFieldCollation.Direction;
 import org.apache.calcite.rel.RelFieldCollation.NullDirection;
+import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rex.RexNode;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.NotNull;
@@ -49,6 +51,7 @@ public class PushDownContext extends AbstractCollection<PushDownOperation> {
 
   private boolean isLimitPushed = false;
   private boolean isProjectPushed = false;
+  private boolean isScriptProjectPushed = false;
 
   public PushDownContext(OpenSearchIndex osIndex) {
     this.osIndex = osIndex;
@@ -121,6 +124,9 @@ public class PushDownContext extends AbstractCollection<PushDownOperation> {
     if (operation.type() == PushDownType.PROJECT) {
       isProjectPushed = true;
     }
+    if (operation.type() == PushDownType.SCRIPT_PROJECT) {
+      isScriptProjectPushed = true;
+    }
     operation.action().transform(this, operation);
     return true;
   }
@@ -150,7 +156,11 @@ enum PushDownType {
   SORT,
   LIMIT,
   SCRIPT,
-  COLLAPSE
+  COLLAPSE,
+  SAMPLE,
+  SCRIPT_PROJECT,
+  TOP_K,
+  BUCKET_PAGING
   // HIGHLIGHT,
   // NESTED
 }
@@ -188,7 +198,16 @@ interface AggregationBuilderAction extends AbstractAction<AggPushDownAction> {
   }
 }
 
-record FilterDigest(int scriptCount, RexNode condition) {
+/**
+ * @param scriptCount number of script queries in the filter
+ * @param condition the pushed down condition
+ * @param fieldNames names of the fields referenced by the condition, by their position
+ */
+record FilterDigest(int scriptCount, RexNode condition, List<String> fieldNames) {
+  FilterDigest(int scriptCount, RexNode condition) {
+    this(scriptCount, condition, List.of());
+  }
+
   @Override
   public String toString() {
     return condition.toString();
@@ -202,6 +221,40 @@ record LimitDigest(int limit, int offset) {
   }
 }
 
+record SampleDigest(double ratio, Integer seed) {
+  @Override
+  public String toString() {
+    return seed == null ? String.valueOf(ratio) : "[" + ratio + " seed " + seed + "]";
+  }
+}
+
+/**
+ * @param fieldNames names of the script fields
+ * @param expressions the expressions computing the script fields, by their position
+ * @param inputRowType row type of the scan the expressions read
+ */
+record ScriptProjectDigest(
+    List<String> fieldNames, List<RexNode> expressions, RelDataType inputRowType) {
+  @Override
+  public String toString() {
+    return IntStream.range(0, fieldNames.size())
+        .mapToObj(i -> fieldNames.get(i) + "=" + expressions.get(i))
+        .collect(Collectors.joining(", ", "[", "]"));
+  }
+}
+
+/**
+ * @param fieldName name of the script field the rows are sorted on
+ * @param direction direction of the sort
+ * @param k number of rows kept by the sort, including the skipped ones
+ */
+record TopKDigest(String fieldName, Direction direction, int k) {
+  @Override
+  public String toString() {
+    return "[" + k + " by " + fieldName + " " + direction.shortString + "]";
+  }
+}
+
 // TODO: shall we do deep copy for this action since it's mutable?
 class AggPushDownAction implements OSRequestBuilderAction {
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.scan;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.rel.core.Correlate;
+import org.apache.calcite.runtime.Hook;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.opensearch.client.OpenSearchClient;
+import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
+
+/**
+ * Sends the first search of the index scans of a Calcite plan concurrently, before the plan is
+ * executed. A scan otherwise searches when Calcite first reads from it, so the scans of append,
+ * appendcol, joins and subqueries would search one after another.
+ *
+ * <p>Scans on the right side of a correlate are read once per row of the left side and are not
+ * prefetched. Nor are the scans of plans with a single scan, which have nothing to overlap with.
+ */
+public class ScanPrefetcher implements AutoCloseable {
+
+  private static final ThreadFactory THREAD_FACTORY =
+      Thread.ofVirtual().name("sql-scan-prefetch-", 0).factory();
+
+  private final List<CalciteEnumerableIndexScan> scans = new ArrayList<>();
+
+  /**
+   * Collect the scans of the plans implemented by the current thread until the returned hook is
+   * closed.
+   */
+  public Hook.Closeable collect() {
+    return Hook.PLAN_BEFORE_IMPLEMENTATION.addThread(
+        obj -> scans.addAll(independentScans(((RelRoot) obj).rel)));
+  }
+
+  /** Send the first search of the collected scans if there are several of them. */
+  public void prefetch() {
+    if (scans.size() < 2) {
+      return;
+    }
+    for (CalciteEnumerableIndexScan scan : scans) {
+      scan.prefetch(executor(scan.osIndex.getClient()));
+    }
+  }
+
+  /** Clean up the prefetched searches which were never read. */
+  @Override
+  public void close() {
+    scans.forEach(CalciteEnumerableIndexScan::releasePrefetch);
+  }
+
+  @VisibleForTesting
+  static List<CalciteEnumerableIndexScan> independentScans(RelNode plan) {
+    List<CalciteEnumerableIndexScan> scans = new ArrayList<>();
+    collectScans(plan, scans);
+    return scans;
+  }
+
+  private static void collectScans(RelNode node, List<CalciteEnumerableIndexScan> scans) {
+    if (node instanceof CalciteEnumerableIndexScan scan) {
+      if (isPrefetchEnabled(scan) && !scans.contains(scan)) {
+        scans.add(scan);
+      }
+    } else if (node instanceof Correlate correlate) {
+      collectScans(correlate.getLeft(), scans);
+    } else {
+      node.getInputs().forEach(input -> collectScans(input, scans));
+    }
+  }
+
+  private static boolean isPrefetchEnabled(CalciteEnumerableIndexScan scan) {
+    return Boolean.TRUE.equals(
+        scan.osIndex.getSettings().getSettingValue(Settings.Key.CALCITE_SCAN_PREFETCH_ENABLED));
+  }
+
+  /**
+   * Search on virtual threads, which only wait on the response. The thread context of the query,
+   * holding the user of the node client, is carried over.
+   */
+  private static Executor executor(OpenSearchClient client) {
+    if (client instanceof OpenSearchNodeClient) {
+      return task ->
+          THREAD_FACTORY
+              .newThread(
+                  client.getNodeClient().threadPool().getThreadContext().preserveContext(task))
+              .start();
+    }
+    return task -> THREAD_FACTORY.newThread(task).start();
+  }
+}
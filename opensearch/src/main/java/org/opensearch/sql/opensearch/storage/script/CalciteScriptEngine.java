@@ -35,12 +35,18 @@ import static org.opensearch.sql.data.type.ExprCoreType.SHORT;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.chrono.ChronoZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.BiFunction;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.calcite.DataContext;
 import org.apache.calcite.adapter.enumerable.EnumUtils;
@@ -52,6 +58,7 @@ import org.apache.calcite.config.CalciteSystemProperty;
 import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
 import org.apache.calcite.linq4j.QueryProvider;
 import org.apache.calcite.linq4j.function.Function1;
+import org.apache.calcite.linq4j.function.Function3;
 import org.apache.calcite.linq4j.tree.BlockBuilder;
 import org.apache.calcite.linq4j.tree.Expression;
 import org.apache.calcite.linq4j.tree.Expressions;
@@ -64,29 +71,44 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexExecutable;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.rex.RexProgram;
 import org.apache.calcite.rex.RexProgramBuilder;
+import org.apache.calcite.rex.RexShuttle;
 import org.apache.calcite.schema.SchemaPlus;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.sql.validate.SqlConformance;
 import org.apache.calcite.sql.validate.SqlConformanceEnum;
 import org.apache.calcite.util.BuiltInMethod;
+import org.apache.calcite.util.Pair;
 import org.apache.calcite.util.Util;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.opensearch.index.fielddata.ScriptDocValues;
 import org.opensearch.script.AggregationScript;
+import org.opensearch.script.FieldScript;
 import org.opensearch.script.FilterScript;
 import org.opensearch.script.ScriptContext;
 import org.opensearch.script.ScriptEngine;
 import org.opensearch.search.lookup.SourceLookup;
+import org.opensearch.sql.calcite.type.ExprSqlType;
 import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory.ExprUDT;
+import org.opensearch.sql.common.jfr.CompileEvent;
 import org.opensearch.sql.data.model.ExprIpValue;
 import org.opensearch.sql.data.model.ExprTimestampValue;
 import org.opensearch.sql.data.type.ExprCoreType;
 import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.expression.function.PPLBuiltinOperators;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
 import org.opensearch.sql.opensearch.data.type.OpenSearchTextType;
 import org.opensearch.sql.opensearch.storage.script.aggregation.CalciteAggregationScriptFactory;
+import org.opensearch.sql.opensearch.storage.script.core.DocValueReader;
+import org.opensearch.sql.opensearch.storage.script.field.CalciteFieldScriptFactory;
 import org.opensearch.sql.opensearch.storage.script.filter.CalciteFilterScriptFactory;
 import org.opensearch.sql.opensearch.storage.serde.RelJsonSerializer;
 
@@ -108,13 +130,15 @@ public class CalciteScriptEngine implements ScriptEngine {
 
   /** All supported script contexts and function to create factory from expression. */
   private static final Map<
-          ScriptContext<?>, BiFunction<Function1<DataContext, Object[]>, RelDataType, Object>>
+          ScriptContext<?>,
+          Function3<Function1<DataContext, Object[]>, RelDataType, List<String>, Object>>
       CONTEXTS =
           new ImmutableMap.Builder<
                   ScriptContext<?>,
-                  BiFunction<Function1<DataContext, Object[]>, RelDataType, Object>>()
+                  Function3<Function1<DataContext, Object[]>, RelDataType, List<String>, Object>>()
               .put(FilterScript.CONTEXT, CalciteFilterScriptFactory::new)
               .put(AggregationScript.CONTEXT, CalciteAggregationScriptFactory::new)
+              .put(FieldScript.CONTEXT, CalciteFieldScriptFactory::new)
               .build();
 
   @Override
@@ -132,16 +156,28 @@ public class CalciteScriptEngine implements ScriptEngine {
         (Map<String, ExprType>) objectMap.get(RelJsonSerializer.FIELD_TYPES);
 
     JavaTypeFactory typeFactory = OpenSearchTypeFactory.TYPE_FACTORY;
-    RexToLixTranslator.InputGetter getter = new ScriptInputGetter(typeFactory, rowType, fieldTypes);
-    String code =
-        CalciteScriptEngine.translate(
-            relJsonSerializer.getCluster().getRexBuilder(), List.of(rexNode), getter, rowType);
-
-    Function1<DataContext, Object[]> function =
-        new RexExecutable(code, "generated Rex code").getFunction();
+    RexBuilder rexBuilder = relJsonSerializer.getCluster().getRexBuilder();
+    TimestampComparisons comparisons = new TimestampComparisons(rexBuilder, rowType, fieldTypes);
+    RexNode scriptNode = rexNode.accept(comparisons);
+    RelDataType scriptRowType = comparisons.getScriptRowType();
+    ScriptInputGetter getter =
+        new ScriptInputGetter(typeFactory, scriptRowType, fieldTypes, comparisons.getComparisons());
+    CompileEvent event = new CompileEvent(CompileEvent.SCRIPT);
+    event.begin();
+    Function1<DataContext, Object[]> function;
+    try {
+      String code =
+          CalciteScriptEngine.translate(rexBuilder, List.of(scriptNode), getter, scriptRowType);
+      function = new RexExecutable(code, "generated Rex code").getFunction();
+    } finally {
+      event.finish();
+    }
 
     if (CONTEXTS.containsKey(context)) {
-      return context.factoryClazz.cast(CONTEXTS.get(context).apply(function, rexNode.getType()));
+      return context.factoryClazz.cast(
+          CONTEXTS
+              .get(context)
+              .apply(function, rexNode.getType(), List.copyOf(getter.getDocValueFields())));
     }
     throw new IllegalStateException(
         String.format(
@@ -166,26 +202,166 @@ public class CalciteScriptEngine implements ScriptEngine {
     }
   }
 
+  /**
+   * Rewrites the comparisons of a timestamp field with a timestamp literal into comparisons of an
+   * extra input with 0, the sign of the difference of the field and the literal. The script then
+   * compares the epoch time of the doc value with the literal, rather than the strings of both.
+   * Timestamps given to other functions are still strings.
+   */
+  public static class TimestampComparisons extends RexShuttle {
+    private static final Set<SqlKind> COMPARISONS =
+        EnumSet.of(
+            SqlKind.EQUALS,
+            SqlKind.NOT_EQUALS,
+            SqlKind.LESS_THAN,
+            SqlKind.LESS_THAN_OR_EQUAL,
+            SqlKind.GREATER_THAN,
+            SqlKind.GREATER_THAN_OR_EQUAL);
+
+    private final RexBuilder rexBuilder;
+    private final RelDataType rowType;
+    private final Map<String, ExprType> fieldTypes;
+
+    /** Field and literal of each comparison, read as the inputs after the fields of the row. */
+    @Getter private final List<Pair<String, Instant>> comparisons = new ArrayList<>();
+
+    public TimestampComparisons(
+        RexBuilder rexBuilder, RelDataType rowType, Map<String, ExprType> fieldTypes) {
+      this.rexBuilder = rexBuilder;
+      this.rowType = rowType;
+      this.fieldTypes = fieldTypes;
+    }
+
+    @Override
+    public RexNode visitCall(RexCall call) {
+      if (COMPARISONS.contains(call.getKind()) && call.getOperands().size() == 2) {
+        RexNode left = call.getOperands().get(0);
+        RexNode right = call.getOperands().get(1);
+        RexNode comparison = comparison(left, right);
+        if (comparison != null) {
+          return call.clone(call.getType(), List.of(comparison, zero()));
+        }
+        comparison = comparison(right, left);
+        if (comparison != null) {
+          // literal <op> field is 0 <op> sign(field - literal)
+          return call.clone(call.getType(), List.of(zero(), comparison));
+        }
+      }
+      return super.visitCall(call);
+    }
+
+    /** Row type of the script, with an input for each comparison after the fields of the row. */
+    public RelDataType getScriptRowType() {
+      RelDataTypeFactory.Builder builder = rexBuilder.getTypeFactory().builder();
+      builder.addAll(rowType.getFieldList());
+      for (int i = 0; i < comparisons.size(); i++) {
+        builder.add("$cmp" + i, signType());
+      }
+      return builder.build();
+    }
+
+    /** Input of the sign of field - literal, or null unless both are timestamps. */
+    private RexNode comparison(RexNode field, RexNode literal) {
+      String timestamp = timestampLiteral(literal);
+      if (!(field instanceof RexInputRef ref) || timestamp == null || !isTimestamp(ref.getType())) {
+        return null;
+      }
+      String fieldName = rowType.getFieldList().get(ref.getIndex()).getName();
+      ExprType exprType = fieldTypes.get(fieldName);
+      if (exprType == null
+          || !ExprCoreType.TIMESTAMP.equals(
+              exprType.getOriginalExprType() instanceof OpenSearchDataType osType
+                  ? osType.getExprCoreType()
+                  : exprType.getOriginalExprType())) {
+        return null;
+      }
+      Instant instant;
+      try {
+        instant = new ExprTimestampValue(timestamp).timestampValue();
+      } catch (RuntimeException e) {
+        return null;
+      }
+      comparisons.add(Pair.of(fieldName, instant));
+      return rexBuilder.makeInputRef(signType(), rowType.getFieldCount() + comparisons.size() - 1);
+    }
+
+    private RelDataType signType() {
+      RelDataTypeFactory typeFactory = rexBuilder.getTypeFactory();
+      return typeFactory.createTypeWithNullability(
+          typeFactory.createSqlType(SqlTypeName.INTEGER), true);
+    }
+
+    private RexNode zero() {
+      return rexBuilder.makeExactLiteral(BigDecimal.ZERO);
+    }
+
+    /** The string of a timestamp literal, written as is or as TIMESTAMP('...'). */
+    private static String timestampLiteral(RexNode node) {
+      if (node instanceof RexLiteral literal && isTimestamp(literal.getType())) {
+        return literal.isNull() ? null : RexLiteral.stringValue(literal);
+      }
+      if (node instanceof RexCall call
+          && call.getOperator() == PPLBuiltinOperators.TIMESTAMP
+          && call.getOperands().size() == 1
+          && call.getOperands().get(0) instanceof RexLiteral literal
+          && SqlTypeName.CHAR_TYPES.contains(literal.getType().getSqlTypeName())) {
+        return literal.isNull() ? null : RexLiteral.stringValue(literal);
+      }
+      return null;
+    }
+
+    private static boolean isTimestamp(RelDataType type) {
+      return type instanceof ExprSqlType exprSqlType
+          && exprSqlType.getUdt() == ExprUDT.EXPR_TIMESTAMP;
+    }
+  }
+
   /**
    * Implementation of {@link org.apache.calcite.adapter.enumerable.RexToLixTranslator.InputGetter}
    * that reads the values of input fields by calling <code>
-   * {@link org.apache.calcite.DataContext#get}("inputRecord")</code>.
+   * {@link ScriptDataContext#getDocValue}(index)</code>, or from source if they have no doc values.
+   * The inputs after the fields of the row are the {@link TimestampComparisons}.
    */
   public static class ScriptInputGetter implements InputGetter {
     private final RelDataTypeFactory typeFactory;
     private final RelDataType rowType;
     private final Map<String, ExprType> fieldTypes;
+    private final List<Pair<String, Instant>> comparisons;
+
+    /** Fields read from doc values, in the order of their index in the generated code. */
+    @Getter private final List<String> docValueFields = new ArrayList<>();
 
     public ScriptInputGetter(
-        RelDataTypeFactory typeFactory, RelDataType rowType, Map<String, ExprType> fieldTypes) {
+        RelDataTypeFactory typeFactory,
+        RelDataType rowType,
+        Map<String, ExprType> fieldTypes,
+        List<Pair<String, Instant>> comparisons) {
       this.typeFactory = typeFactory;
       this.rowType = rowType;
       this.fieldTypes = fieldTypes;
+      this.comparisons = comparisons;
     }
 
     @Override
     public org.apache.calcite.linq4j.tree.Expression field(
         BlockBuilder list, int index, @Nullable Type storageType) {
+      int comparison = index - (rowType.getFieldCount() - comparisons.size());
+      if (comparison >= 0) {
+        Pair<String, Instant> fieldAndLiteral = comparisons.get(comparison);
+        return EnumUtils.convert(
+            Expressions.call(
+                EnumUtils.convert(DataContext.ROOT, ScriptDataContext.class),
+                Types.lookupMethod(
+                    ScriptDataContext.class,
+                    "compareTimestamp",
+                    int.class,
+                    long.class,
+                    int.class),
+                Expressions.constant(docValueIndex(fieldAndLiteral.getKey())),
+                Expressions.constant(fieldAndLiteral.getValue().getEpochSecond()),
+                Expressions.constant(fieldAndLiteral.getValue().getNano())),
+            storageType == null ? Integer.class : storageType);
+      }
       String fieldName = rowType.getFieldList().get(index).getName();
       ExprType exprType = fieldTypes.get(fieldName);
       String referenceField = OpenSearchTextType.toKeywordSubField(fieldName, exprType);
@@ -197,9 +373,9 @@ public class CalciteScriptEngine implements ScriptEngine {
                   Types.lookupMethod(ScriptDataContext.class, "getFromSource", String.class),
                   Expressions.constant(fieldName))
               : Expressions.call(
-                  DataContext.ROOT,
-                  BuiltInMethod.DATA_CONTEXT_GET.method,
-                  Expressions.constant(referenceField));
+                  EnumUtils.convert(DataContext.ROOT, ScriptDataContext.class),
+                  Types.lookupMethod(ScriptDataContext.class, "getDocValue", int.class),
+                  Expressions.constant(docValueIndex(referenceField)));
       if (storageType == null) {
         final RelDataType fieldType = rowType.getFieldList().get(index).getType();
         storageType = ((JavaTypeFactory) typeFactory).getJavaClass(fieldType);
@@ -207,6 +383,15 @@ public class CalciteScriptEngine implements ScriptEngine {
       return EnumUtils.convert(tryConvertDocValue(fieldValueExpr, exprType), storageType);
     }
 
+    private int docValueIndex(String field) {
+      int index = docValueFields.indexOf(field);
+      if (index < 0) {
+        index = docValueFields.size();
+        docValueFields.add(field);
+      }
+      return index;
+    }
+
     /**
      * DocValue only support long and double for integer and float, cast to the related type first
      */
@@ -223,19 +408,32 @@ public class CalciteScriptEngine implements ScriptEngine {
     }
   }
 
+  /**
+   * Data context of the scripts of a segment, reused for each of its documents. The generated code
+   * reads doc values by their index in the doc value fields of the script.
+   */
   public static class ScriptDataContext implements DataContext {
 
     private final Map<String, ScriptDocValues<?>> docProvider;
     private final SourceLookup sourceLookup;
     private final Map<String, Object> params;
+    private final DocValueReader[] docValueReaders;
+    private int docId = -1;
 
     public ScriptDataContext(
         Map<String, ScriptDocValues<?>> docProvider,
         SourceLookup sourceLookup,
-        Map<String, Object> params) {
+        Map<String, Object> params,
+        DocValueReader[] docValueReaders) {
       this.docProvider = docProvider;
       this.sourceLookup = sourceLookup;
       this.params = params;
+      this.docValueReaders = docValueReaders;
+    }
+
+    /** Move to a document of the segment. */
+    public void setDocument(int docId) {
+      this.docId = docId;
     }
 
     @Override
@@ -258,6 +456,11 @@ public class CalciteScriptEngine implements ScriptEngine {
       // UTC_TIMESTAMP is a special variable used for some time related functions.
       if (Variable.UTC_TIMESTAMP.camelName.equals(name))
         return params.get(Variable.UTC_TIMESTAMP.camelName);
+      // Dynamic parameters, e.g. the threshold of a top-K filter, are named "?<index>" and passed
+      // as script params, so their values change without the script being compiled again.
+      if (name.startsWith("?")) {
+        return params.get(name);
+      }
 
       ScriptDocValues<?> docValue = this.docProvider.get(name);
       if (docValue == null || docValue.isEmpty()) {
@@ -274,6 +477,36 @@ public class CalciteScriptEngine implements ScriptEngine {
       return value;
     }
 
+    /**
+     * Get the doc value of a field of the script in the current document.
+     *
+     * @param index index of the field in the doc value fields of the script
+     * @return the value, or null if the document has none
+     */
+    public Object getDocValue(int index) {
+      try {
+        return docValueReaders[index].get(docId);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to read doc values", e);
+      }
+    }
+
+    /**
+     * Compare the timestamp of a field of the script in the current document with an instant.
+     *
+     * @param index index of the field in the doc value fields of the script
+     * @param epochSecond seconds of the instant since the epoch
+     * @param nano nanoseconds of the instant within its second
+     * @return the sign of the difference, or null if the document has no timestamp
+     */
+    public Integer compareTimestamp(int index, long epochSecond, int nano) {
+      try {
+        return docValueReaders[index].compareTimestamp(docId, epochSecond, nano);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to read doc values", e);
+      }
+    }
+
     public Object getFromSource(String name) {
       return this.sourceLookup.get(name);
     }
@@ -14,6 +14,7 @@ import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.volcano.VolcanoPlanner;
 import org.apache.calcite.rex.RexBuilder;
 import org.opensearch.script.AggregationScript;
+import org.opensearch.script.FieldScript;
 import org.opensearch.script.FilterScript;
 import org.opensearch.script.ScriptContext;
 import org.opensearch.script.ScriptEngine;
@@ -60,7 +61,7 @@ public class CompoundedScriptEngine implements ScriptEngine {
 
   @Override
   public Set<ScriptContext<?>> getSupportedContexts() {
-    return Set.of(FilterScript.CONTEXT, AggregationScript.CONTEXT);
+    return Set.of(FilterScript.CONTEXT, AggregationScript.CONTEXT, FieldScript.CONTEXT);
   }
 
   public enum ScriptEngineType {
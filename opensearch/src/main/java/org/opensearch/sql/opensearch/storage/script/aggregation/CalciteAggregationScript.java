@@ -11,6 +11,7 @@ import static org.opensearch.sql.data.type.ExprCoreType.TIME;
 import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
 
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
 import org.apache.calcite.DataContext;
@@ -19,7 +20,6 @@ import org.apache.calcite.rel.type.RelDataType;
 import org.apache.lucene.index.LeafReaderContext;
 import org.opensearch.script.AggregationScript;
 import org.opensearch.search.lookup.SearchLookup;
-import org.opensearch.search.lookup.SourceLookup;
 import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
 import org.opensearch.sql.data.model.ExprValueUtils;
 import org.opensearch.sql.data.type.ExprCoreType;
@@ -33,25 +33,30 @@ class CalciteAggregationScript extends AggregationScript {
   /** Calcite Script. */
   private final CalciteScript calciteScript;
 
-  private final SourceLookup sourceLookup;
-
   private final RelDataType type;
 
   public CalciteAggregationScript(
       Function1<DataContext, Object[]> function,
       RelDataType type,
+      List<String> docValueFields,
       SearchLookup lookup,
       LeafReaderContext context,
       Map<String, Object> params) {
     super(params, lookup, context);
-    this.calciteScript = new CalciteScript(function, params);
-    this.sourceLookup = lookup.getLeafSearchLookup(context).source();
+    this.calciteScript =
+        new CalciteScript(function, docValueFields, lookup, context, this.getDoc(), params);
     this.type = type;
   }
 
+  @Override
+  public void setDocument(int docid) {
+    super.setDocument(docid);
+    calciteScript.setDocument(docid);
+  }
+
   @Override
   public Object execute() {
-    Object value = calciteScript.execute(this.getDoc(), this.sourceLookup)[0];
+    Object value = calciteScript.execute()[0];
     ExprType exprType = OpenSearchTypeFactory.convertRelDataTypeToExprType(type);
     // See logic in {@link ExpressionAggregationScript::execute}
     return switch ((ExprCoreType) exprType) {
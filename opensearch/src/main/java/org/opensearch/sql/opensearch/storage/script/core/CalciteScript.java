@@ -7,42 +7,73 @@ package org.opensearch.sql.opensearch.storage.script.core;
 
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.List;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
 import org.apache.calcite.DataContext;
 import org.apache.calcite.linq4j.function.Function1;
+import org.apache.lucene.index.LeafReaderContext;
 import org.opensearch.index.fielddata.ScriptDocValues;
-import org.opensearch.search.lookup.SourceLookup;
+import org.opensearch.search.lookup.SearchLookup;
 import org.opensearch.sql.opensearch.storage.script.CalciteScriptEngine.ScriptDataContext;
 
 /**
  * Calcite script executor that executes the generated code on each document and determine if the
- * document is supposed to be filtered out or not.
+ * document is supposed to be filtered out or not. One is created for each segment, binding the doc
+ * values the generated code reads to the segment once.
  */
 @EqualsAndHashCode(callSuper = false)
 public class CalciteScript {
 
-  /** Function to execute. */
-  private final Function1<DataContext, Object[]> function;
+  /** Data context of the segment, moved to each document. */
+  private final ScriptDataContext dataContext;
 
-  private final Map<String, Object> params;
+  /** Generated code applied to the data context. */
+  private final PrivilegedAction<Object[]> action;
 
-  /** Expression constructor. */
-  public CalciteScript(Function1<DataContext, Object[]> function, Map<String, Object> params) {
-    this.function = function;
-    this.params = params;
+  /**
+   * Expression constructor.
+   *
+   * @param function generated code
+   * @param docValueFields fields read from doc values by the generated code, by index
+   * @param lookup search lookup of the script
+   * @param context segment the script runs on
+   * @param docProvider script doc values of the segment
+   * @param params parameters of the script
+   */
+  public CalciteScript(
+      Function1<DataContext, Object[]> function,
+      List<String> docValueFields,
+      SearchLookup lookup,
+      LeafReaderContext context,
+      Map<String, ScriptDocValues<?>> docProvider,
+      Map<String, Object> params) {
+    DocValueReader[] readers =
+        docValueFields.stream()
+            .map(field -> DocValueReader.of(field, lookup, context, docProvider))
+            .toArray(DocValueReader[]::new);
+    // TODO: we'd better get source from the leafLookup of the script once it's available
+    this.dataContext =
+        new ScriptDataContext(
+            docProvider, lookup.getLeafSearchLookup(context).source(), params, readers);
+    this.action = () -> function.apply(dataContext);
+  }
+
+  /**
+   * Move to a document of the segment.
+   *
+   * @param docId document id in the segment
+   */
+  public void setDocument(int docId) {
+    dataContext.setDocument(docId);
   }
 
   /**
-   * Evaluate on the doc generate by the doc provider.
+   * Evaluate on the current document.
    *
-   * @param docProvider doc look up
-   * @param sourceLookup source look up
    * @return expr value
    */
-  public Object[] execute(Map<String, ScriptDocValues<?>> docProvider, SourceLookup sourceLookup) {
-    return AccessController.doPrivileged(
-        (PrivilegedAction<Object[]>)
-            () -> function.apply(new ScriptDataContext(docProvider, sourceLookup, params)));
+  public Object[] execute() {
+    return AccessController.doPrivileged(action);
   }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.core;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.chrono.ChronoZonedDateTime;
+import java.util.Map;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.opensearch.index.fielddata.IndexFieldData;
+import org.opensearch.index.fielddata.IndexNumericFieldData;
+import org.opensearch.index.fielddata.IndexOrdinalsFieldData;
+import org.opensearch.index.fielddata.ScriptDocValues;
+import org.opensearch.index.fielddata.SortedNumericDoubleValues;
+import org.opensearch.index.mapper.KeywordFieldMapper;
+import org.opensearch.index.mapper.MappedFieldType;
+import org.opensearch.search.lookup.SearchLookup;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+
+/**
+ * Reader of the first doc value of a field, bound to the doc values of a segment once rather than
+ * looked up by field name for each document. Numbers, dates and keywords are read from their typed
+ * doc values, other fields through their {@link ScriptDocValues}.
+ */
+public abstract class DocValueReader {
+
+  private int currentDoc = -1;
+
+  private Object currentValue;
+
+  /**
+   * Create the reader of a field in a segment.
+   *
+   * @param field name of the field
+   * @param lookup search lookup of the script
+   * @param context segment the script runs on
+   * @param docProvider script doc values of the segment, used for the other fields
+   * @return the reader
+   */
+  public static DocValueReader of(
+      String field,
+      SearchLookup lookup,
+      LeafReaderContext context,
+      Map<String, ScriptDocValues<?>> docProvider) {
+    MappedFieldType fieldType = lookup.doc().mapperService().fieldType(field);
+    if (fieldType != null && fieldType.hasDocValues()) {
+      IndexFieldData<?> fieldData = lookup.doc().getForField(fieldType);
+      if (fieldData instanceof IndexNumericFieldData numericData) {
+        switch (numericData.getNumericType()) {
+          case BYTE, SHORT, INT, LONG:
+            return new LongReader(numericData.load(context).getLongValues());
+          case HALF_FLOAT, FLOAT, DOUBLE:
+            return new DoubleReader(numericData.load(context).getDoubleValues());
+          case DATE:
+            return new DateReader(numericData.load(context).getLongValues(), false);
+          case DATE_NANOSECONDS:
+            return new DateReader(numericData.load(context).getLongValues(), true);
+          default:
+            break;
+        }
+      } else if (fieldData instanceof IndexOrdinalsFieldData ordinalsData
+          && fieldType instanceof KeywordFieldMapper.KeywordFieldType) {
+        return new KeywordReader(ordinalsData.load(context).getOrdinalsValues());
+      }
+    }
+    return new ScriptDocValueReader(field, docProvider);
+  }
+
+  /**
+   * Read the value of the field in a document, read once however many times the script uses it.
+   * Dates are strings of the format of {@link ExprTimestampValue}, as the generated code reads.
+   *
+   * @param docId document of the segment, in increasing order
+   * @return the value, or null if the document has none
+   */
+  public Object get(int docId) throws IOException {
+    Object value = value(docId);
+    return value instanceof Instant instant ? new ExprTimestampValue(instant).value() : value;
+  }
+
+  /**
+   * Compare the date of a document with an instant, without formatting the date.
+   *
+   * @param docId document of the segment, in increasing order
+   * @param epochSecond seconds of the instant since the epoch
+   * @param nano nanoseconds of the instant within its second
+   * @return the sign of the difference of the date and the instant, or null if the document has no
+   *     date
+   */
+  public Integer compareTimestamp(int docId, long epochSecond, int nano) throws IOException {
+    if (!(value(docId) instanceof Instant instant)) {
+      return null;
+    }
+    int compare = Long.compare(instant.getEpochSecond(), epochSecond);
+    return compare != 0 ? compare : Integer.compare(instant.getNano(), nano);
+  }
+
+  private Object value(int docId) throws IOException {
+    if (docId != currentDoc) {
+      currentValue = read(docId);
+      currentDoc = docId;
+    }
+    return currentValue;
+  }
+
+  protected abstract Object read(int docId) throws IOException;
+
+  static class LongReader extends DocValueReader {
+    private final SortedNumericDocValues values;
+
+    LongReader(SortedNumericDocValues values) {
+      this.values = values;
+    }
+
+    @Override
+    protected Object read(int docId) throws IOException {
+      return values.advanceExact(docId) ? values.nextValue() : null;
+    }
+  }
+
+  static class DoubleReader extends DocValueReader {
+    private final SortedNumericDoubleValues values;
+
+    DoubleReader(SortedNumericDoubleValues values) {
+      this.values = values;
+    }
+
+    @Override
+    protected Object read(int docId) throws IOException {
+      return values.advanceExact(docId) ? values.nextValue() : null;
+    }
+  }
+
+  /** Reads the epoch time of a date as an instant, only formatted if the script needs a string. */
+  static class DateReader extends DocValueReader {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final SortedNumericDocValues values;
+
+    private final boolean nanos;
+
+    DateReader(SortedNumericDocValues values, boolean nanos) {
+      this.values = values;
+      this.nanos = nanos;
+    }
+
+    @Override
+    protected Object read(int docId) throws IOException {
+      if (!values.advanceExact(docId)) {
+        return null;
+      }
+      long epoch = values.nextValue();
+      return nanos
+          ? Instant.ofEpochSecond(
+              Math.floorDiv(epoch, NANOS_PER_SECOND), Math.floorMod(epoch, NANOS_PER_SECOND))
+          : Instant.ofEpochMilli(epoch);
+    }
+  }
+
+  static class KeywordReader extends DocValueReader {
+    private final SortedSetDocValues values;
+
+    KeywordReader(SortedSetDocValues values) {
+      this.values = values;
+    }
+
+    @Override
+    protected Object read(int docId) throws IOException {
+      return values.advanceExact(docId) ? values.lookupOrd(values.nextOrd()).utf8ToString() : null;
+    }
+  }
+
+  /** Reads the fields without typed doc values, such as ip and boolean, by name. */
+  static class ScriptDocValueReader extends DocValueReader {
+    private final String field;
+
+    private final Map<String, ScriptDocValues<?>> docProvider;
+
+    ScriptDocValueReader(String field, Map<String, ScriptDocValues<?>> docProvider) {
+      this.field = field;
+      this.docProvider = docProvider;
+    }
+
+    @Override
+    protected Object read(int docId) {
+      ScriptDocValues<?> docValue = docProvider.get(field);
+      if (docValue == null || docValue.isEmpty()) {
+        return null; // No way to differentiate null and missing from doc value
+      }
+      Object value = docValue.get(0);
+      if (value instanceof ChronoZonedDateTime<?> dateTime) {
+        return dateTime.toInstant();
+      }
+      return value;
+    }
+  }
+}
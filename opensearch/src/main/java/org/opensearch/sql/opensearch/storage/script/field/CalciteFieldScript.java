@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.field;
+
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.opensearch.sql.data.type.ExprCoreType.DATE;
+import static org.opensearch.sql.data.type.ExprCoreType.TIME;
+import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import org.apache.calcite.DataContext;
+import org.apache.calcite.linq4j.function.Function1;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.lucene.index.LeafReaderContext;
+import org.opensearch.script.FieldScript;
+import org.opensearch.search.lookup.SearchLookup;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.opensearch.storage.script.core.CalciteScript;
+
+/**
+ * Calcite script executor that computes a projected field of each document, returned as a script
+ * field of its hit.
+ */
+@EqualsAndHashCode(callSuper = false)
+class CalciteFieldScript extends FieldScript {
+
+  /** Calcite Script. */
+  private final CalciteScript calciteScript;
+
+  /** Type of the field, resolved once for every document of the segment. */
+  private final ExprCoreType exprType;
+
+  public CalciteFieldScript(
+      Function1<DataContext, Object[]> function,
+      RelDataType type,
+      List<String> docValueFields,
+      SearchLookup lookup,
+      LeafReaderContext context,
+      Map<String, Object> params) {
+    super(params, lookup, context);
+    this.calciteScript =
+        new CalciteScript(function, docValueFields, lookup, context, this.getDoc(), params);
+    this.exprType = (ExprCoreType) OpenSearchTypeFactory.convertRelDataTypeToExprType(type);
+  }
+
+  @Override
+  public void setDocument(int docid) {
+    super.setDocument(docid);
+    calciteScript.setDocument(docid);
+  }
+
+  @Override
+  public Object execute() {
+    Object value = calciteScript.execute()[0];
+    if (value == null) {
+      return null;
+    }
+    // Dates are returned as epoch millis, see CalciteAggregationScript
+    return switch (exprType) {
+      case TIME -> MILLIS.between(
+          LocalTime.MIN, ExprValueUtils.fromObjectValue(value, TIME).timeValue());
+      case DATE -> ExprValueUtils.fromObjectValue(value, DATE).timestampValue().toEpochMilli();
+      case TIMESTAMP -> ExprValueUtils.fromObjectValue(value, TIMESTAMP)
+          .timestampValue()
+          .toEpochMilli();
+      default -> value;
+    };
+  }
+}
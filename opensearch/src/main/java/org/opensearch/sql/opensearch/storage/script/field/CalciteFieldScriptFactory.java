@@ -0,0 +1,46 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.field;
+
+import java.util.List;
+import java.util.Map;
+import lombok.EqualsAndHashCode;
+import org.apache.calcite.DataContext;
+import org.apache.calcite.linq4j.function.Function1;
+import org.apache.calcite.rel.type.RelDataType;
+import org.opensearch.script.FieldScript;
+import org.opensearch.search.lookup.SearchLookup;
+
+/** Calcite script factory that generates leaf factory. */
+@EqualsAndHashCode
+public class CalciteFieldScriptFactory implements FieldScript.Factory {
+
+  /** Generated code of calcite to execute. */
+  private final Function1<DataContext, Object[]> function;
+
+  private final RelDataType type;
+
+  /** Fields read from doc values by the generated code. */
+  private final List<String> docValueFields;
+
+  public CalciteFieldScriptFactory(
+      Function1<DataContext, Object[]> function, RelDataType type, List<String> docValueFields) {
+    this.function = function;
+    this.type = type;
+    this.docValueFields = docValueFields;
+  }
+
+  @Override
+  public boolean isResultDeterministic() {
+    // This implies the results are cacheable
+    return true;
+  }
+
+  @Override
+  public FieldScript.LeafFactory newFactory(Map<String, Object> params, SearchLookup lookup) {
+    return new CalciteFieldScriptLeafFactory(function, type, docValueFields, params, lookup);
+  }
+}
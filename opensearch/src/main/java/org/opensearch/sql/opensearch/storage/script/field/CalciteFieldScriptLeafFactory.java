@@ -0,0 +1,49 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.field;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.calcite.DataContext;
+import org.apache.calcite.linq4j.function.Function1;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.lucene.index.LeafReaderContext;
+import org.opensearch.script.FieldScript;
+import org.opensearch.search.lookup.SearchLookup;
+
+/** Calcite script leaf factory that produces script executor for each leaf. */
+class CalciteFieldScriptLeafFactory implements FieldScript.LeafFactory {
+
+  private final Function1<DataContext, Object[]> function;
+  private final RelDataType type;
+
+  /** Fields read from doc values by the generated code. */
+  private final List<String> docValueFields;
+
+  /** Parameters for the calcite script. */
+  private final Map<String, Object> params;
+
+  /** Document lookup that returns doc values. */
+  private final SearchLookup lookup;
+
+  public CalciteFieldScriptLeafFactory(
+      Function1<DataContext, Object[]> function,
+      RelDataType type,
+      List<String> docValueFields,
+      Map<String, Object> params,
+      SearchLookup lookup) {
+    this.function = function;
+    this.type = type;
+    this.docValueFields = docValueFields;
+    this.params = params;
+    this.lookup = lookup;
+  }
+
+  @Override
+  public FieldScript newInstance(LeafReaderContext ctx) {
+    return new CalciteFieldScript(function, type, docValueFields, lookup, ctx, params);
+  }
+}
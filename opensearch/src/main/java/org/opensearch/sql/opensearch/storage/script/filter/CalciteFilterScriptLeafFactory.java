@@ -5,6 +5,7 @@
 
 package org.opensearch.sql.opensearch.storage.script.filter;
 
+import java.util.List;
 import java.util.Map;
 import org.apache.calcite.DataContext;
 import org.apache.calcite.linq4j.function.Function1;
@@ -17,6 +18,9 @@ class CalciteFilterScriptLeafFactory implements FilterScript.LeafFactory {
 
   private final Function1<DataContext, Object[]> function;
 
+  /** Fields read from doc values by the generated code. */
+  private final List<String> docValueFields;
+
   /** Parameters for the calcite script. */
   private final Map<String, Object> params;
 
@@ -24,14 +28,18 @@ class CalciteFilterScriptLeafFactory implements FilterScript.LeafFactory {
   private final SearchLookup lookup;
 
   public CalciteFilterScriptLeafFactory(
-      Function1<DataContext, Object[]> function, Map<String, Object> params, SearchLookup lookup) {
+      Function1<DataContext, Object[]> function,
+      List<String> docValueFields,
+      Map<String, Object> params,
+      SearchLookup lookup) {
     this.function = function;
+    this.docValueFields = docValueFields;
     this.params = params;
     this.lookup = lookup;
   }
 
   @Override
   public FilterScript newInstance(LeafReaderContext ctx) {
-    return new CalciteFilterScript(function, lookup, ctx, params);
+    return new CalciteFilterScript(function, docValueFields, lookup, ctx, params);
   }
 }
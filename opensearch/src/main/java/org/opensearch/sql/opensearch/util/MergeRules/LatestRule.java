@@ -19,6 +19,14 @@ public class LatestRule implements MergeRule {
   @Override
   public void mergeInto(
       String key, OpenSearchDataType source, Map<String, OpenSearchDataType> target) {
-    target.put(key, source);
+    OpenSearchDataType existing = target.get(key);
+    // Doc values are only fetched if the field has the same doc values in every index
+    if (existing != null
+        && (!existing.isDocValueFetchable()
+            || existing.getMappingType() != source.getMappingType())) {
+      target.put(key, source.withoutDocValueFetch());
+    } else {
+      target.put(key, source);
+    }
   }
 }
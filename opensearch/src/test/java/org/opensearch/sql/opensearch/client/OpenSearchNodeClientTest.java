@@ -419,7 +419,10 @@ class OpenSearchNodeClientTest {
     // Enforce cleaning by setting a private field.
     FieldUtils.writeField(request, "needClean", true, true);
     client.cleanup(request);
-    verify(nodeClient).execute(any(), any());
+    // The PIT is deleted in the background
+    verify(nodeClient, never()).execute(any(), any(), any());
+    PitManager.getInstance().deletePending(nodeClient);
+    verify(nodeClient).execute(eq(DeletePitAction.INSTANCE), any(DeletePitRequest.class), any());
   }
 
   @Test
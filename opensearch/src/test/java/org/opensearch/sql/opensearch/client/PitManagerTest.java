@@ -0,0 +1,157 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Answers.RETURNS_DEEP_STUBS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitInfo;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.DeletePitResponse;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.client.node.NodeClient;
+
+@ExtendWith(MockitoExtension.class)
+class PitManagerTest {
+
+  @Mock(answer = RETURNS_DEEP_STUBS)
+  private NodeClient client;
+
+  private final PitManager pitManager = new PitManager();
+
+  private final AtomicInteger pitCount = new AtomicInteger();
+
+  private final Function<CreatePitRequest, String> createPit =
+      request -> "pit" + pitCount.incrementAndGet();
+
+  @Test
+  void reuse_pit_of_same_indices_within_window() {
+    long reused = PitManager.METRICS.getReusedCount();
+
+    String pitId = pitManager.acquire("alice", request("logs", "web"), minute(), createPit);
+
+    assertEquals(pitId, pitManager.acquire("alice", request("web", "logs"), minute(), createPit));
+    assertNotEquals(pitId, pitManager.acquire("alice", request("logs"), minute(), createPit));
+    assertEquals(2, pitCount.get());
+    assertEquals(reused + 1, PitManager.METRICS.getReusedCount());
+  }
+
+  @Test
+  void do_not_share_pit_across_users() {
+    String pitId = pitManager.acquire("alice", request("logs"), minute(), createPit);
+
+    assertNotEquals(pitId, pitManager.acquire("bob", request("logs"), minute(), createPit));
+    assertEquals(pitId, pitManager.acquire("alice", request("logs"), minute(), createPit));
+  }
+
+  @Test
+  void create_new_pit_without_window() {
+    String pitId = pitManager.acquire("alice", request("logs"), TimeValue.ZERO, createPit);
+
+    assertNotEquals(pitId, pitManager.acquire("alice", request("logs"), TimeValue.ZERO, createPit));
+  }
+
+  @Test
+  void keep_shared_pit_until_released_by_all_queries() {
+    String pitId = pitManager.acquire("alice", request("logs"), minute(), createPit);
+    pitManager.acquire("alice", request("logs"), minute(), createPit);
+
+    pitManager.release(client, pitId);
+    verify(client.threadPool(), never()).schedule(any(), any(), any());
+
+    // The last query releasing the PIT schedules its deletion at the end of the reuse window
+    pitManager.release(client, pitId);
+    verify(client.threadPool()).schedule(any(), any(), eq(ThreadPool.Names.GENERIC));
+    pitManager.deletePending(client);
+    verify(client, never()).execute(any(), any(), any());
+  }
+
+  @Test
+  void delete_released_pits_in_batches() {
+    for (int i = 0; i < PitManager.MAX_DELETE_BATCH_SIZE + 1; i++) {
+      pitManager.release(client, "pit" + i);
+    }
+    verify(client.threadPool(), times(1))
+        .schedule(any(), eq(PitManager.DELETE_DELAY), eq(ThreadPool.Names.GENERIC));
+
+    pitManager.deletePending(client);
+
+    ArgumentCaptor<DeletePitRequest> requests = ArgumentCaptor.forClass(DeletePitRequest.class);
+    verify(client, times(2)).execute(eq(DeletePitAction.INSTANCE), requests.capture(), any());
+    int batchSize = PitManager.MAX_DELETE_BATCH_SIZE;
+    assertEquals(batchSize, requests.getAllValues().get(0).getPitIds().size());
+    assertEquals(List.of("pit" + batchSize), requests.getValue().getPitIds());
+  }
+
+  @Test
+  void count_pits_not_deleted_as_leaked() {
+    doAnswer(
+            invocation -> {
+              ActionListener<DeletePitResponse> listener = invocation.getArgument(2);
+              List<DeletePitInfo> results = new ArrayList<>();
+              results.add(new DeletePitInfo(true, "pit1"));
+              results.add(new DeletePitInfo(false, "pit2"));
+              listener.onResponse(new DeletePitResponse(results));
+              return null;
+            })
+        .when(client)
+        .execute(eq(DeletePitAction.INSTANCE), any(DeletePitRequest.class), any());
+    long leaked = PitManager.METRICS.getLeakedCount();
+
+    pitManager.release(client, "pit1");
+    pitManager.release(client, "pit2");
+    pitManager.deletePending(client);
+
+    assertEquals(leaked + 1, PitManager.METRICS.getLeakedCount());
+  }
+
+  @Test
+  void count_all_pits_of_failed_delete_as_leaked() {
+    doAnswer(
+            invocation -> {
+              ActionListener<DeletePitResponse> listener = invocation.getArgument(2);
+              listener.onFailure(new IllegalStateException("failed"));
+              return null;
+            })
+        .when(client)
+        .execute(eq(DeletePitAction.INSTANCE), any(DeletePitRequest.class), any());
+    long leaked = PitManager.METRICS.getLeakedCount();
+
+    pitManager.release(client, "pit1");
+    pitManager.release(client, "pit2");
+    pitManager.deletePending(client);
+
+    assertEquals(leaked + 2, PitManager.METRICS.getLeakedCount());
+  }
+
+  private static CreatePitRequest request(String... indices) {
+    return new CreatePitRequest(TimeValue.timeValueMinutes(5), false, indices);
+  }
+
+  private static TimeValue minute() {
+    return TimeValue.timeValueMinutes(1);
+  }
+}
@@ -217,6 +217,34 @@ class OpenSearchDataTypeTest {
                 OpenSearchDataType.of(INTEGER), OpenSearchDataType.of(INTEGER).cloneEmpty()));
   }
 
+  @Test
+  public void doc_value_fetchable_types() {
+    var mapping =
+        OpenSearchDataType.traverseAndFlatten(
+            OpenSearchDataType.parseMapping(
+                Map.of(
+                    "keyword", Map.of("type", "keyword"),
+                    "long", Map.of("type", "long"),
+                    "date", Map.of("type", "date", "format", "yyyy-MM-dd"),
+                    "text", Map.of("type", "text"),
+                    "half_float", Map.of("type", "half_float"),
+                    "no_doc_values", Map.of("type", "integer", "doc_values", false),
+                    "ignore_above", Map.of("type", "keyword", "ignore_above", 256),
+                    "normalized", Map.of("type", "keyword", "normalizer", "lowercase"))));
+
+    assertAll(
+        () -> assertTrue(mapping.get("keyword").isDocValueFetchable()),
+        () -> assertTrue(mapping.get("long").isDocValueFetchable()),
+        () -> assertTrue(mapping.get("date").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("text").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("half_float").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("no_doc_values").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("ignore_above").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("normalized").isDocValueFetchable()),
+        () -> assertFalse(mapping.get("keyword").withoutDocValueFetch().isDocValueFetchable()),
+        () -> assertFalse(OpenSearchDataType.of(STRING).isDocValueFetchable()));
+  }
+
   @Test
   // Use OpenSearchDataType.of(type, properties, fields) or OpenSearchTextType.of(fields)
   // to create a new type object with required parameters. Types are immutable, even clones.
@@ -95,6 +95,9 @@ class OpenSearchExprValueFactoryTest {
           .put("customFormatV", OpenSearchDateType.of("yyyy-MM-dd-HH-mm-ss"))
           .put(
               "customAndEpochMillisV", OpenSearchDateType.of("yyyy-MM-dd-HH-mm-ss || epoch_millis"))
+          .put(
+              "monthOrDayFirstV",
+              OpenSearchDateType.of("yyyy-MM-dd-HH-mm-ss || yyyy-dd-MM-HH-mm-ss"))
           .put("incompleteFormatV", OpenSearchDateType.of("year"))
           .put("boolV", OpenSearchDataType.of(BOOLEAN))
           .put("structV", OpenSearchDataType.of(STRUCT))
@@ -278,6 +281,32 @@ class OpenSearchExprValueFactoryTest {
                 tupleValue("{\"dateV\":\"2015-01-01\"}").get("dateV")));
   }
 
+  @Test
+  public void constructDatesOfMixedFormats() {
+    // each value is parsed with the first format of the mapping which parses it
+    assertAll(
+        () ->
+            assertEquals(
+                new ExprDateValue("1984-04-12"),
+                constructFromObject("dateOrOrdinalDateV", "1984-103")),
+        () ->
+            assertEquals(
+                new ExprDateValue("1984-04-13"),
+                constructFromObject("dateOrOrdinalDateV", "1984-104")),
+        () ->
+            assertEquals(
+                new ExprDateValue("2015-01-01"),
+                constructFromObject("dateOrOrdinalDateV", "2015-01-01")),
+        () ->
+            assertEquals(
+                new ExprDateValue("1984-04-12"),
+                constructFromObject("dateOrOrdinalDateV", "1984-103")),
+        () ->
+            assertEquals(
+                new ExprDateValue("2015-01-01"),
+                tupleValue("{\"dateOrOrdinalDateV\":\"2015-01-01\"}").get("dateOrOrdinalDateV")));
+  }
+
   @Test
   public void constructTimes() {
     ExprValue timeStringV = constructFromObject("timeStringV", "12:10:30.000Z");
@@ -384,6 +413,24 @@ class OpenSearchExprValueFactoryTest {
         constructFromObject("customAndEpochMillisV", "2015-01-01-12-10-30"));
   }
 
+  @Test
+  public void constructDatetime_fromOverlappingCustomFormats() {
+    // the first format wins whenever it parses, even after the second one parsed a value
+    assertAll(
+        () ->
+            assertEquals(
+                new ExprTimestampValue("2015-01-13 12:10:30"),
+                constructFromObject("monthOrDayFirstV", "2015-13-01-12-10-30")),
+        () ->
+            assertEquals(
+                new ExprTimestampValue("2015-01-02 12:10:30"),
+                constructFromObject("monthOrDayFirstV", "2015-01-02-12-10-30")),
+        () ->
+            assertThrows(
+                IllegalArgumentException.class,
+                () -> constructFromObject("monthOrDayFirstV", "2015-13-13-12-10-30")));
+  }
+
   @Test
   public void constructDatetimeFromUnsupportedFormat_ThrowIllegalArgumentException() {
     IllegalArgumentException exception =
@@ -141,6 +141,39 @@ class OpenSearchExecutionEngineTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  void execute_in_batches_up_to_query_size_limit() {
+    List<ExprValue> input =
+        Arrays.asList(
+            tupleValue(of("name", "John", "age", 20)),
+            tupleValue(of("name", "Allen", "age", 30)),
+            tupleValue(of("name", "Smith", "age", 40)));
+    FakePhysicalPlan plan = new FakePhysicalPlan(input.iterator());
+    when(protector.protect(plan)).thenReturn(plan);
+
+    OpenSearchExecutionEngine executor =
+        new OpenSearchExecutionEngine(client, protector, new PlanSerializer(null));
+    List<ExprValue> actual = new ArrayList<>();
+    executor.execute(
+        plan,
+        ExecutionContext.querySizeLimit(2, 5),
+        new ResponseListener<>() {
+          @Override
+          public void onResponse(QueryResponse response) {
+            actual.addAll(response.getResults());
+          }
+
+          @Override
+          public void onFailure(Exception e) {
+            fail("Error occurred during execution", e);
+          }
+        });
+
+    assertEquals(input.subList(0, 2), actual);
+    assertTrue(plan.it.hasNext());
+    assertTrue(plan.hasClosed);
+  }
+
   @Test
   void execute_with_failure() {
     PhysicalPlan plan = mock(PhysicalPlan.class);
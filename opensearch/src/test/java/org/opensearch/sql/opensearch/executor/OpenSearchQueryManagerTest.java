@@ -6,18 +6,27 @@
 package org.opensearch.sql.opensearch.executor;
 
 import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.sql.ast.tree.UnresolvedPlan;
 import org.opensearch.sql.common.response.ResponseListener;
+import org.opensearch.sql.common.setting.Settings.Key;
 import org.opensearch.sql.executor.ExecutionEngine;
 import org.opensearch.sql.executor.QueryId;
 import org.opensearch.sql.executor.QueryService;
@@ -40,6 +49,8 @@ class OpenSearchQueryManagerTest {
 
   @Mock private ResponseListener<ExecutionEngine.QueryResponse> listener;
 
+  @Mock private org.opensearch.sql.common.setting.Settings settings;
+
   @Test
   public void submitQuery() {
     NodeClient nodeClient = mock(NodeClient.class);
@@ -67,4 +78,67 @@ class OpenSearchQueryManagerTest {
 
     assertTrue(isRun.get());
   }
+
+  @Test
+  public void submitQueryOnVirtualThread() throws InterruptedException {
+    NodeClient nodeClient = mock(NodeClient.class);
+    ThreadPool threadPool = mock(ThreadPool.class);
+    when(nodeClient.threadPool()).thenReturn(threadPool);
+    when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+    when(settings.getSettingValue(Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED)).thenReturn(true);
+    when(settings.getSettingValue(Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES)).thenReturn(10);
+
+    CountDownLatch done = new CountDownLatch(1);
+    AtomicBoolean isVirtual = new AtomicBoolean(false);
+    AbstractPlan queryPlan =
+        new QueryPlan(queryId, queryType, plan, queryService, listener) {
+          @Override
+          public void execute() {
+            isVirtual.set(Thread.currentThread().isVirtual());
+            done.countDown();
+          }
+        };
+    new OpenSearchQueryManager(nodeClient, settings).submit(queryPlan);
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertTrue(isVirtual.get());
+    verify(threadPool, never()).schedule(any(), any(), any());
+  }
+
+  @Test
+  public void rejectQueryOverConcurrencyLimit() throws InterruptedException {
+    NodeClient nodeClient = mock(NodeClient.class);
+    ThreadPool threadPool = mock(ThreadPool.class);
+    when(nodeClient.threadPool()).thenReturn(threadPool);
+    when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+    when(settings.getSettingValue(Key.QUERY_EXECUTOR_VIRTUAL_THREADS_ENABLED)).thenReturn(true);
+    when(settings.getSettingValue(Key.QUERY_EXECUTOR_MAX_CONCURRENT_QUERIES)).thenReturn(1);
+
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AbstractPlan blockingPlan =
+        new QueryPlan(queryId, queryType, plan, queryService, listener) {
+          @Override
+          public void execute() {
+            started.countDown();
+            try {
+              release.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        };
+    OpenSearchQueryManager queryManager = new OpenSearchQueryManager(nodeClient, settings);
+    queryManager.submit(blockingPlan);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    try {
+      assertThrows(
+          OpenSearchRejectedExecutionException.class,
+          () ->
+              queryManager.submit(new QueryPlan(queryId, queryType, plan, queryService, listener)));
+    } finally {
+      release.countDown();
+    }
+  }
 }
@@ -0,0 +1,215 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opensearch.sql.data.model.ExprValueUtils.tupleValue;
+
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.logical.LogicalFilter;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeSystem;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeFactoryImpl;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.sql.common.response.ResponseListener;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.executor.ExecutionEngine.QueryResponse;
+import org.opensearch.sql.executor.ExecutionEngine.Schema;
+import org.opensearch.sql.executor.pagination.Cursor;
+import org.opensearch.sql.expression.function.PPLBuiltinOperators;
+import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
+import org.opensearch.sql.opensearch.request.OpenSearchRequest;
+import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+@ExtendWith(MockitoExtension.class)
+class QueryResultCacheTest {
+  private static final RelDataTypeFactory TYPE_FACTORY =
+      new SqlTypeFactoryImpl(RelDataTypeSystem.DEFAULT);
+
+  private final RexBuilder rexBuilder = new RexBuilder(TYPE_FACTORY);
+
+  @Mock private Settings settings;
+
+  @Mock private OpenSearchNodeClient client;
+
+  @Mock private ResponseListener<QueryResponse> listener;
+
+  private QueryResultCache cache;
+
+  private RelNode scan;
+
+  @BeforeEach
+  void setUp() {
+    lenient()
+        .when(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_ENABLED))
+        .thenReturn(true);
+    lenient()
+        .when(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_SIZE))
+        .thenReturn(new ByteSizeValue(1024 * 1024));
+    lenient()
+        .when(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_EXPIRE))
+        .thenReturn(TimeValue.timeValueMinutes(1));
+    lenient().when(client.currentUser()).thenReturn("");
+    cache = new QueryResultCache(settings);
+
+    RelDataType rowType =
+        TYPE_FACTORY
+            .builder()
+            .add("age", TYPE_FACTORY.createSqlType(SqlTypeName.INTEGER))
+            .add("@timestamp", TYPE_FACTORY.createSqlType(SqlTypeName.TIMESTAMP))
+            .build();
+    RelOptTable table = mock(RelOptTable.class);
+    lenient().when(table.getRowType()).thenReturn(rowType);
+    lenient().when(table.getQualifiedName()).thenReturn(List.of("logs"));
+    OpenSearchIndex index = mock(OpenSearchIndex.class);
+    lenient().when(index.getIndexName()).thenReturn(new OpenSearchRequest.IndexName("logs"));
+    RelOptCluster cluster =
+        RelOptCluster.create(new HepPlanner(HepProgram.builder().build()), rexBuilder);
+    scan = new CalciteLogicalIndexScan(cluster, table, index);
+  }
+
+  @Test
+  void cache_response_until_index_is_refreshed() {
+    RelNode plan = filter(greaterThan(0, rexBuilder.makeExactLiteral(BigDecimal.TEN)));
+    when(client.getIndexRefreshStates("logs")).thenReturn(Map.of("logs", "uuid/1/3/0"));
+    QueryResultCache.Key key = cache.keyOf(plan, 200, client).orElseThrow();
+    assertNull(cache.get(key));
+
+    QueryResponse response = response(30);
+    cache.caching(key, listener).onResponse(response);
+    verify(listener).onResponse(response);
+    assertSame(response, cache.get(cache.keyOf(plan, 200, client).orElseThrow()));
+
+    when(client.getIndexRefreshStates("logs")).thenReturn(Map.of("logs", "uuid/1/4/0"));
+    assertNull(cache.get(cache.keyOf(plan, 200, client).orElseThrow()));
+  }
+
+  @Test
+  void key_depends_on_plan_size_limit_and_user() {
+    when(client.getIndexRefreshStates("logs")).thenReturn(Map.of("logs", "uuid/1/3/0"));
+    QueryResultCache.Key key = cache.keyOf(scan, 200, client).orElseThrow();
+
+    assertEquals(key, cache.keyOf(scan, 200, client).orElseThrow());
+    assertNotEquals(key, cache.keyOf(scan, 100, client).orElseThrow());
+    assertNotEquals(
+        key,
+        cache
+            .keyOf(
+                filter(greaterThan(0, rexBuilder.makeExactLiteral(BigDecimal.ONE))),
+                200,
+                client)
+            .orElseThrow());
+    when(client.currentUser()).thenReturn("admin");
+    assertNotEquals(key, cache.keyOf(scan, 200, client).orElseThrow());
+  }
+
+  @Test
+  void bypass_time_dependent_and_random_functions() {
+    long bypassed = QueryResultCache.METRICS.getBypassCount();
+    RexNode now = rexBuilder.makeCall(PPLBuiltinOperators.NOW);
+    RexNode rand = rexBuilder.makeCall(SqlStdOperatorTable.RAND);
+
+    assertEquals(
+        Optional.empty(),
+        cache.keyOf(
+            filter(rexBuilder.makeCall(SqlStdOperatorTable.LESS_THAN, ts(), now)), 200, client));
+    assertEquals(
+        Optional.empty(),
+        cache.keyOf(
+            filter(
+                rexBuilder.makeCall(
+                    SqlStdOperatorTable.LESS_THAN,
+                    rand,
+                    rexBuilder.makeApproxLiteral(BigDecimal.valueOf(0.5)))),
+            200,
+            client));
+    assertEquals(bypassed + 2, QueryResultCache.METRICS.getBypassCount());
+    verify(client, never()).getIndexRefreshStates(any());
+  }
+
+  @Test
+  void bypass_when_refresh_state_is_not_readable() {
+    when(client.getIndexRefreshStates("logs")).thenThrow(new IllegalStateException("forbidden"));
+
+    assertEquals(Optional.empty(), cache.keyOf(scan, 200, client));
+  }
+
+  @Test
+  void no_key_when_disabled() {
+    when(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_ENABLED)).thenReturn(false);
+
+    assertEquals(Optional.empty(), cache.keyOf(scan, 200, client));
+    verify(client, never()).getIndexRefreshStates(any());
+  }
+
+  @Test
+  void evict_responses_over_size_limit() {
+    when(settings.getSettingValue(Settings.Key.QUERY_RESULT_CACHE_SIZE))
+        .thenReturn(new ByteSizeValue(8 * 1024));
+    when(client.getIndexRefreshStates("logs")).thenReturn(Map.of("logs", "uuid/1/3/0"));
+    long evicted = QueryResultCache.METRICS.getEvictionCount();
+    QueryResultCache.Key key = cache.keyOf(scan, 200, client).orElseThrow();
+
+    cache.caching(key, listener).onResponse(response(1000));
+
+    assertNull(cache.get(key));
+    assertTrue(QueryResultCache.METRICS.getEvictionCount() > evicted);
+  }
+
+  private RelNode filter(RexNode condition) {
+    return LogicalFilter.create(scan, condition);
+  }
+
+  private RexNode greaterThan(int field, RexNode value) {
+    return rexBuilder.makeCall(
+        SqlStdOperatorTable.GREATER_THAN, rexBuilder.makeInputRef(scan, field), value);
+  }
+
+  private RexNode ts() {
+    return rexBuilder.makeInputRef(scan, 1);
+  }
+
+  private static QueryResponse response(int rows) {
+    List<ExprValue> results = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      results.add(tupleValue(ImmutableMap.of("name", "name" + i, "age", i)));
+    }
+    return new QueryResponse(new Schema(List.of()), results, Cursor.None);
+  }
+}
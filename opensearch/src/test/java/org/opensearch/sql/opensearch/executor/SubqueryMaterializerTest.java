@@ -0,0 +1,200 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.hep.HepPlanner;
+import org.apache.calcite.plan.hep.HepProgram;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Aggregate;
+import org.apache.calcite.rel.logical.LogicalFilter;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexSubQuery;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Sarg;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+@ExtendWith(MockitoExtension.class)
+class SubqueryMaterializerTest {
+
+  @Mock private RelOptTable table;
+
+  @Mock private OpenSearchIndex osIndex;
+
+  @Mock private Settings settings;
+
+  private final RexBuilder rexBuilder = new RexBuilder(new JavaTypeFactoryImpl());
+
+  private final List<RelNode> evaluated = new ArrayList<>();
+
+  private RelNode scan;
+
+  @BeforeEach
+  void setUp() {
+    RelDataType rowType =
+        rexBuilder.getTypeFactory().builder().add("a", SqlTypeName.INTEGER).build();
+    when(table.getRowType()).thenReturn(rowType);
+    lenient().when(osIndex.getSettings()).thenReturn(settings);
+    lenient()
+        .when(settings.getSettingValue(Settings.Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED))
+        .thenReturn(true);
+    RelOptCluster cluster =
+        RelOptCluster.create(new HepPlanner(HepProgram.builder().build()), rexBuilder);
+    scan = new CalciteLogicalIndexScan(cluster, table, osIndex);
+  }
+
+  @Test
+  void scalar_subquery_is_replaced_by_literal() {
+    RelNode plan =
+        filter(
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.GREATER_THAN, field(), RexSubQuery.scalar(scan)));
+
+    RexCall condition = (RexCall) condition(materializer(List.of(5)).materialize(plan));
+    assertEquals(5, ((RexLiteral) condition.getOperands().get(1)).getValueAs(Integer.class));
+    assertEquals(1, evaluated.size());
+  }
+
+  @Test
+  void empty_scalar_subquery_is_replaced_by_null() {
+    RelNode plan =
+        filter(
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.GREATER_THAN, field(), RexSubQuery.scalar(scan)));
+
+    RexCall condition = (RexCall) condition(materializer(List.of()).materialize(plan));
+    assertTrue(RexLiteral.isNullLiteral(condition.getOperands().get(1)));
+  }
+
+  @Test
+  void in_subquery_is_replaced_by_distinct_values() {
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+
+    RexCall condition = (RexCall) condition(materializer(List.of(1, 2)).materialize(plan));
+    assertEquals(SqlKind.SEARCH, condition.getKind());
+    Sarg<?> sarg = ((RexLiteral) condition.getOperands().get(1)).getValueAs(Sarg.class);
+    assertEquals(2, sarg.pointCount);
+    // Duplicates are removed by the subquery before the limit of values applies
+    assertTrue(evaluated.getFirst() instanceof Aggregate);
+    assertSame(scan, evaluated.getFirst().getInput(0));
+  }
+
+  @Test
+  void in_subquery_returning_null_keeps_unknown_result() {
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+
+    RexCall condition = (RexCall) condition(materializer(Arrays.asList(1, null)).materialize(plan));
+    assertEquals(SqlKind.OR, condition.getKind());
+    assertTrue(RexLiteral.isNullLiteral(condition.getOperands().get(1)));
+  }
+
+  @Test
+  void in_subquery_returning_too_many_values_is_kept() {
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+    List<Object> values = new ArrayList<>();
+    IntStream.rangeClosed(0, SubqueryMaterializer.MAX_IN_VALUES).forEach(values::add);
+
+    RexNode condition = condition(materializer(values).materialize(plan));
+    assertTrue(condition instanceof RexSubQuery);
+  }
+
+  @Test
+  void in_subquery_estimated_to_return_too_many_values_is_not_run() {
+    when(osIndex.getMaxResultWindow()).thenReturn(SubqueryMaterializer.MAX_IN_VALUES * 100);
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+
+    RexNode condition = condition(materializer(List.of(1)).materialize(plan));
+    assertTrue(condition instanceof RexSubQuery);
+    assertTrue(evaluated.isEmpty());
+  }
+
+  @Test
+  void explain_names_the_strategy_of_each_subquery() {
+    when(osIndex.getMaxResultWindow()).thenReturn(100);
+    RelNode plan =
+        filter(
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.AND,
+                RexSubQuery.in(scan, ImmutableList.of(field())),
+                rexBuilder.makeCall(
+                    SqlStdOperatorTable.GREATER_THAN, field(), RexSubQuery.scalar(scan))));
+
+    assertEquals(
+        List.of(
+            "SubqueryMaterialization(subquery=[1], kind=[IN], strategy=[materialized IN list])",
+            "SubqueryMaterialization(subquery=[2], kind=[SCALAR_QUERY],"
+                + " strategy=[scalar literal])"),
+        SubqueryMaterializer.explain(plan));
+  }
+
+  @Test
+  void explain_names_subquery_estimated_to_return_too_many_values_left_to_calcite() {
+    when(osIndex.getMaxResultWindow()).thenReturn(SubqueryMaterializer.MAX_IN_VALUES * 100);
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+
+    assertEquals(
+        List.of("SubqueryMaterialization(subquery=[1], kind=[IN], strategy=[left to Calcite])"),
+        SubqueryMaterializer.explain(plan));
+  }
+
+  @Test
+  void subquery_is_kept_when_materialization_is_disabled() {
+    when(settings.getSettingValue(Settings.Key.CALCITE_SUBQUERY_MATERIALIZATION_ENABLED))
+        .thenReturn(false);
+    RelNode plan = filter(RexSubQuery.in(scan, ImmutableList.of(field())));
+
+    RexNode condition = condition(materializer(List.of(1)).materialize(plan));
+    assertTrue(condition instanceof RexSubQuery);
+    assertTrue(evaluated.isEmpty());
+    assertTrue(SubqueryMaterializer.explain(plan).isEmpty());
+  }
+
+  private SubqueryMaterializer materializer(List<?> values) {
+    return new SubqueryMaterializer(
+        (subquery, maxRows) -> {
+          evaluated.add(subquery);
+          return new ArrayList<Object>(values.subList(0, Math.min(maxRows, values.size())));
+        });
+  }
+
+  private RexNode field() {
+    return rexBuilder.makeInputRef(scan, 0);
+  }
+
+  private RelNode filter(RexNode condition) {
+    return LogicalFilter.create(scan, condition);
+  }
+
+  private static RexNode condition(RelNode plan) {
+    return ((LogicalFilter) plan).getCondition();
+  }
+}
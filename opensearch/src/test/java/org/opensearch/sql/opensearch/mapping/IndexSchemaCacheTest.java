@@ -0,0 +1,230 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.mapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.opensearch.OpenSearchSecurityException;
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.core.index.Index;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+
+class IndexSchemaCacheTest {
+
+  private final IndexSchemaCache cache = new IndexSchemaCache();
+
+  @Test
+  void reuse_parsed_mapping_while_source_is_unchanged() {
+    IndexMapping mapping = cache.getMapping("logs-1", mapping("status", "integer"));
+
+    assertSame(mapping, cache.getMapping("logs-1", mapping("status", "integer")));
+    IndexMapping changed = cache.getMapping("logs-1", mapping("status", "keyword"));
+    assertNotSame(mapping, changed);
+    assertEquals(
+        OpenSearchDataType.of(OpenSearchDataType.MappingType.Keyword),
+        changed.getFieldMappings().get("status"));
+  }
+
+  @Test
+  void reuse_merged_mapping_of_same_indices() {
+    Map<String, IndexMapping> indexMappings =
+        Map.of(
+            "logs-1", cache.getMapping("logs-1", mapping("status", "integer")),
+            "logs-2", cache.getMapping("logs-2", mapping("host", "keyword")));
+
+    Map<String, OpenSearchDataType> fieldTypes = cache.merge("logs-*", indexMappings);
+
+    assertEquals(Set.of("status", "host"), fieldTypes.keySet());
+    assertSame(fieldTypes, cache.merge("logs-*", Map.copyOf(indexMappings)));
+  }
+
+  @Test
+  void merge_new_indices_into_cached_result() {
+    IndexMapping first = cache.getMapping("logs-1", objectMapping("user", "name"));
+    IndexMapping second = cache.getMapping("logs-2", objectMapping("user", "id"));
+    Map<String, OpenSearchDataType> fieldTypes = cache.merge("logs-*", Map.of("logs-1", first));
+    assertEquals(Set.of("name"), fieldTypes.get("user").getProperties().keySet());
+
+    Map<String, OpenSearchDataType> merged =
+        cache.merge("logs-*", Map.of("logs-1", first, "logs-2", second));
+
+    assertEquals(Set.of("name", "id"), merged.get("user").getProperties().keySet());
+    // Neither the cached mappings nor the previous result are modified by the merge
+    assertEquals(Set.of("name"), fieldTypes.get("user").getProperties().keySet());
+    assertEquals(Set.of("name"), first.getFieldMappings().get("user").getProperties().keySet());
+    assertEquals(Set.of("id"), second.getFieldMappings().get("user").getProperties().keySet());
+  }
+
+  @Test
+  void merge_into_copy_of_object_without_properties() {
+    IndexMapping first =
+        cache.getMapping(
+            "logs-1",
+            new MappingMetadata(
+                "_doc", Map.of("properties", Map.of("user", Map.of("type", "object")))));
+    IndexMapping second = cache.getMapping("logs-2", objectMapping("user", "id"));
+
+    Map<String, OpenSearchDataType> merged =
+        cache.merge("logs-*", Map.of("logs-1", first, "logs-2", second));
+
+    assertEquals(Set.of("id"), merged.get("user").getProperties().keySet());
+    assertEquals(Set.of(), first.getFieldMappings().get("user").getProperties().keySet());
+  }
+
+  @Test
+  void remerge_when_an_index_mapping_changed() {
+    IndexMapping first = cache.getMapping("logs-1", mapping("status", "integer"));
+    IndexMapping second = cache.getMapping("logs-2", mapping("host", "keyword"));
+    cache.merge("logs-*", Map.of("logs-1", first, "logs-2", second));
+    IndexMapping changed = cache.getMapping("logs-2", mapping("path", "keyword"));
+
+    Map<String, OpenSearchDataType> merged =
+        cache.merge("logs-*", Map.of("logs-1", first, "logs-2", changed));
+
+    assertEquals(Set.of("status", "path"), merged.keySet());
+  }
+
+  @Test
+  void invalidate_deleted_indices_and_changed_mappings() {
+    IndexMapping deleted = cache.getMapping("logs-0", mapping("status", "integer"));
+    IndexMapping updated = cache.getMapping("logs-1", mapping("status", "integer"));
+    IndexMapping unchanged = cache.getMapping("logs-2", mapping("status", "integer"));
+    Map<String, OpenSearchDataType> merged = cache.merge("logs-2", Map.of("logs-2", unchanged));
+
+    ClusterState previous = state(indexMetadata("logs-1", 1), indexMetadata("logs-2", 1));
+    ClusterState current = state(indexMetadata("logs-1", 2), previous.metadata().index("logs-2"));
+    ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+    when(event.metadataChanged()).thenReturn(true);
+    when(event.indicesDeleted()).thenReturn(List.of(new Index("logs-0", "uuid-0")));
+    when(event.state()).thenReturn(current);
+    when(event.previousState()).thenReturn(previous);
+    cache.clusterChanged(event);
+
+    assertNotSame(deleted, cache.getMapping("logs-0", mapping("status", "integer")));
+    assertNotSame(updated, cache.getMapping("logs-1", mapping("status", "integer")));
+    assertSame(unchanged, cache.getMapping("logs-2", mapping("status", "integer")));
+    assertSame(merged, cache.merge("logs-2", Map.of("logs-2", unchanged)));
+  }
+
+  @Test
+  void fetch_max_result_windows_every_time_before_init() {
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<Map<String, Integer>> fetch = countedFetch(fetches);
+
+    cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch);
+    cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch);
+
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  void cache_max_result_windows_per_user_after_authorized_fetch() {
+    cache.init(mock(ClusterService.class));
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<Map<String, Integer>> fetch = countedFetch(fetches);
+
+    Map<String, Integer> windows =
+        cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch);
+    assertSame(windows, cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch));
+    assertEquals(1, fetches.get());
+
+    cache.getMaxResultWindows("bob", new String[] {"logs-*"}, fetch);
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  void do_not_cache_unauthorized_max_result_windows_fetch() {
+    cache.init(mock(ClusterService.class));
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<Map<String, Integer>> denied =
+        () -> {
+          fetches.incrementAndGet();
+          throw new OpenSearchSecurityException("no permissions for [logs-*]");
+        };
+
+    assertThrows(
+        OpenSearchSecurityException.class,
+        () -> cache.getMaxResultWindows("bob", new String[] {"logs-*"}, denied));
+    assertThrows(
+        OpenSearchSecurityException.class,
+        () -> cache.getMaxResultWindows("bob", new String[] {"logs-*"}, denied));
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  void invalidate_max_result_windows_on_metadata_change() {
+    cache.init(mock(ClusterService.class));
+    AtomicInteger fetches = new AtomicInteger();
+    Supplier<Map<String, Integer>> fetch = countedFetch(fetches);
+    cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch);
+
+    ClusterState state = state(indexMetadata("logs-1", 1));
+    ClusterChangedEvent event = mock(ClusterChangedEvent.class);
+    when(event.metadataChanged()).thenReturn(true);
+    when(event.state()).thenReturn(state);
+    when(event.previousState()).thenReturn(state);
+    cache.clusterChanged(event);
+
+    cache.getMaxResultWindows("alice", new String[] {"logs-*"}, fetch);
+    assertEquals(2, fetches.get());
+  }
+
+  private static Supplier<Map<String, Integer>> countedFetch(AtomicInteger fetches) {
+    return () -> {
+      fetches.incrementAndGet();
+      return Map.of("logs-1", 10000);
+    };
+  }
+
+  private static MappingMetadata mapping(String field, String type) {
+    return new MappingMetadata("_doc", Map.of("properties", Map.of(field, Map.of("type", type))));
+  }
+
+  private static MappingMetadata objectMapping(String field, String property) {
+    return new MappingMetadata(
+        "_doc",
+        Map.of(
+            "properties",
+            Map.of(field, Map.of("properties", Map.of(property, Map.of("type", "keyword"))))));
+  }
+
+  private static IndexMetadata indexMetadata(String name, long mappingVersion) {
+    return IndexMetadata.builder(name)
+        .settings(
+            Settings.builder()
+                .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, 1)
+                .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0))
+        .mappingVersion(mappingVersion)
+        .build();
+  }
+
+  private static ClusterState state(IndexMetadata... indices) {
+    Metadata.Builder metadata = Metadata.builder();
+    for (IndexMetadata index : indices) {
+      metadata.put(index, false);
+    }
+    return ClusterState.builder(ClusterState.EMPTY_STATE).metadata(metadata).build();
+  }
+}
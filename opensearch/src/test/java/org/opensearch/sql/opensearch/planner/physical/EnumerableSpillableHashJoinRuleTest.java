@@ -0,0 +1,164 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.apache.calcite.adapter.enumerable.EnumerableConvention;
+import org.apache.calcite.adapter.enumerable.EnumerableHashJoin;
+import org.apache.calcite.adapter.enumerable.EnumerableRules;
+import org.apache.calcite.jdbc.JavaTypeFactoryImpl;
+import org.apache.calcite.plan.ConventionTraitDef;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.volcano.VolcanoPlanner;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.core.TableScan;
+import org.apache.calcite.rel.logical.LogicalJoin;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.rules.CoreRules;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.jupiter.api.Test;
+import org.opensearch.core.common.unit.ByteSizeValue;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.common.setting.Settings.Key;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
+import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
+import org.opensearch.sql.opensearch.storage.scan.CalciteLogicalIndexScan;
+
+/** Plans a join of two indices to check which input the chosen hash join builds. */
+class EnumerableSpillableHashJoinRuleTest {
+
+  private final RexBuilder rexBuilder = new RexBuilder(new JavaTypeFactoryImpl());
+
+  private final VolcanoPlanner planner = new VolcanoPlanner();
+
+  private final RelOptCluster cluster = RelOptCluster.create(planner, rexBuilder);
+
+  EnumerableSpillableHashJoinRuleTest() {
+    planner.addRelTraitDef(ConventionTraitDef.INSTANCE);
+    planner.addRule(EnumerableRules.ENUMERABLE_JOIN_RULE);
+    planner.addRule(EnumerableRules.ENUMERABLE_PROJECT_RULE);
+    planner.addRule(CoreRules.JOIN_COMMUTE);
+    planner.addRule(CoreRules.PROJECT_MERGE);
+  }
+
+  @Test
+  void build_the_smaller_right_input() {
+    RelNode plan = join(scan("logs", 1_000_000), scan("accounts", 100));
+    assertEquals(List.of("accounts"), buildSide(plan));
+  }
+
+  @Test
+  void swap_inputs_to_build_the_smaller_left_input() {
+    RelNode plan = join(scan("accounts", 100), scan("logs", 1_000_000));
+    assertEquals(List.of("accounts"), buildSide(plan));
+  }
+
+  @Test
+  void keep_the_hash_join_if_cheaper() {
+    RelNode plan = join(scan("accounts", 2), scan("logs", 3));
+    assertInstanceOf(EnumerableHashJoin.class, findJoin(optimize(plan)));
+  }
+
+  @Test
+  void explain_the_spillable_join() {
+    RelNode plan = join(scan("logs", 1_000_000), scan("accounts", 100));
+
+    String explain = RelOptUtil.toString(optimize(plan));
+    assertTrue(
+        explain.contains(
+            "EnumerableSpillableHashJoin(condition=[=($0, $2)], joinType=[inner],"
+                + " memoryLimit=[1mb])"),
+        explain);
+    assertFalse(explain.contains("EnumerableHashJoin"), explain);
+  }
+
+  /** Join the two scans on their first field, keeping a field of each. */
+  private RelNode join(RelNode left, RelNode right) {
+    LogicalJoin join =
+        LogicalJoin.create(
+            left,
+            right,
+            List.of(),
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.EQUALS,
+                rexBuilder.makeInputRef(left, 0),
+                rexBuilder.makeInputRef(right.getRowType().getFieldList().get(0).getType(), 2)),
+            Set.of(),
+            JoinRelType.INNER);
+    return LogicalProject.create(
+        join,
+        List.of(),
+        List.of(rexBuilder.makeInputRef(join, 1), rexBuilder.makeInputRef(join, 3)),
+        List.of("left_value", "right_value"),
+        Set.of());
+  }
+
+  private RelNode scan(String indexName, long docCount) {
+    RelDataType rowType =
+        rexBuilder
+            .getTypeFactory()
+            .builder()
+            .add("id", SqlTypeName.INTEGER)
+            .add("value", SqlTypeName.VARCHAR)
+            .build();
+    RelOptTable table = mock(RelOptTable.class);
+    when(table.getRowType()).thenReturn(rowType);
+    when(table.getQualifiedName()).thenReturn(List.of(indexName));
+
+    Settings settings = mock(Settings.class);
+    when(settings.getSettingValue(Key.CALCITE_PUSHDOWN_ENABLED)).thenReturn(false);
+    when(settings.getSettingValue(Key.CALCITE_JOIN_SPILL_ENABLED)).thenReturn(true);
+    when(settings.getSettingValue(Key.CALCITE_JOIN_SPILL_MEMORY_LIMIT))
+        .thenReturn(new ByteSizeValue(1 << 20));
+    when(settings.getSettingValue(Key.CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR)).thenReturn(0.9);
+    OpenSearchIndex osIndex = mock(OpenSearchIndex.class);
+    when(osIndex.getSettings()).thenReturn(settings);
+    when(osIndex.getIndexStatistics())
+        .thenReturn(Optional.of(new IndexStatistics(docCount, Map.of())));
+    return new CalciteLogicalIndexScan(cluster, table, osIndex);
+  }
+
+  /** Plans the query and returns the index whose rows the chosen hash join builds. */
+  private List<String> buildSide(RelNode plan) {
+    Join join = findJoin(optimize(plan));
+    assertInstanceOf(EnumerableSpillableHashJoin.class, join);
+    return ((TableScan) join.getRight()).getTable().getQualifiedName();
+  }
+
+  private RelNode optimize(RelNode plan) {
+    planner.setRoot(
+        planner.changeTraits(plan, plan.getTraitSet().replace(EnumerableConvention.INSTANCE)));
+    return planner.findBestExp();
+  }
+
+  private static Join findJoin(RelNode rel) {
+    if (rel instanceof Join join) {
+      return join;
+    }
+    return rel.getInputs().stream()
+        .map(EnumerableSpillableHashJoinRuleTest::findJoin)
+        .filter(join -> join != null)
+        .findFirst()
+        .orElse(null);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.planner.physical;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.calcite.linq4j.Enumerable;
+import org.apache.calcite.linq4j.Enumerator;
+import org.apache.calcite.linq4j.Linq4j;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.junit.jupiter.api.Test;
+
+class SpillableHashJoinTest {
+
+  private static final int ROWS = 1000;
+
+  /** Probe rows (id, name), ids 0 to 999 and a null id. */
+  private final List<Object[]> probe = new ArrayList<>();
+
+  /** Build rows (id, value), two rows for each even id. */
+  private final List<Object[]> build = new ArrayList<>();
+
+  SpillableHashJoinTest() {
+    for (int i = 0; i < ROWS; i++) {
+      probe.add(new Object[] {i, "name" + i});
+      if (i % 2 == 0) {
+        build.add(new Object[] {i, (long) i});
+        build.add(new Object[] {i, -(long) i});
+      }
+    }
+    probe.add(new Object[] {null, "no id"});
+    build.add(new Object[] {null, 0L});
+  }
+
+  @Test
+  void inner_join_in_memory_and_spilled() {
+    for (long memoryLimit : new long[] {Long.MAX_VALUE, 4096}) {
+      List<Object[]> rows = join(JoinRelType.INNER, memoryLimit);
+      assertEquals(ROWS, rows.size());
+      rows.forEach(row -> assertEquals(row[0], row[2]));
+    }
+  }
+
+  @Test
+  void left_join_keeps_unmatched_probe_rows() {
+    for (long memoryLimit : new long[] {Long.MAX_VALUE, 4096}) {
+      List<Object[]> rows = join(JoinRelType.LEFT, memoryLimit);
+      assertEquals(ROWS + ROWS / 2 + 1, rows.size());
+      assertArrayEquals(new Object[] {null, "no id", null, null}, rows.get(0));
+      assertArrayEquals(new Object[] {1, "name1", null, null}, rows.get(3));
+    }
+  }
+
+  @Test
+  void semi_and_anti_join_emit_probe_rows() {
+    for (long memoryLimit : new long[] {Long.MAX_VALUE, 4096}) {
+      List<Object[]> semi = join(JoinRelType.SEMI, memoryLimit);
+      assertEquals(ROWS / 2, semi.size());
+      semi.forEach(row -> assertEquals(0, (int) row[0] % 2));
+
+      List<Object[]> anti = join(JoinRelType.ANTI, memoryLimit);
+      assertEquals(ROWS / 2 + 1, anti.size());
+      assertArrayEquals(new Object[] {null, "no id"}, anti.get(0));
+    }
+  }
+
+  @Test
+  void single_column_rows_are_scalar() {
+    SpillableHashJoin join =
+        new SpillableHashJoin(new int[] {0}, new int[] {0}, JoinRelType.SEMI, 1, 1, 1);
+    Enumerable<Object> result =
+        join.join(Linq4j.asEnumerable(List.of("a", "b", "c")), Linq4j.asEnumerable(List.of("b")));
+    assertEquals(List.of("b"), result.toList());
+  }
+
+  @Test
+  void spilled_values_keep_their_type() {
+    Object[] row = {
+      1, 2L, 1.5d, 2.5f, (short) 3, (byte) 4, true, "text", new BigDecimal("-12.345"),
+      List.of(1, "a"), Map.of("k", 1L), null
+    };
+    SpillableHashJoin join =
+        new SpillableHashJoin(new int[] {0}, new int[] {0}, JoinRelType.INNER, 1, 12, 1);
+    List<Object> result =
+        join.join(
+                Linq4j.asEnumerable(List.of(1)),
+                Linq4j.asEnumerable(Collections.singletonList(row)))
+            .toList();
+    assertEquals(1, result.size());
+    assertArrayEquals(row, Arrays.copyOfRange((Object[]) result.get(0), 1, 13));
+  }
+
+  @Test
+  void spill_files_are_deleted_on_close() throws IOException {
+    Set<Path> before = spillDirectories();
+    SpillableHashJoin join =
+        new SpillableHashJoin(new int[] {0}, new int[] {0}, JoinRelType.INNER, 2, 2, 4096);
+    Enumerator<Object> rows =
+        join.join(Linq4j.asEnumerable(probe), Linq4j.asEnumerable(build)).enumerator();
+
+    assertTrue(rows.moveNext());
+    assertEquals(before.size() + 1, spillDirectories().size());
+    rows.close();
+    assertEquals(before, spillDirectories());
+  }
+
+  @Test
+  void spill_files_are_deleted_on_failure() throws IOException {
+    Set<Path> before = spillDirectories();
+    Enumerable<Object[]> failingProbe =
+        Linq4j.asEnumerable(probe)
+            .select(
+                row -> {
+                  if (Integer.valueOf(ROWS / 2).equals(row[0])) {
+                    throw new IllegalStateException("search failed");
+                  }
+                  return row;
+                });
+    SpillableHashJoin join =
+        new SpillableHashJoin(new int[] {0}, new int[] {0}, JoinRelType.INNER, 2, 2, 4096);
+    Enumerator<Object> rows = join.join(failingProbe, Linq4j.asEnumerable(build)).enumerator();
+
+    assertThrows(IllegalStateException.class, rows::moveNext);
+    assertEquals(before, spillDirectories());
+  }
+
+  private static Set<Path> spillDirectories() throws IOException {
+    try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+      return files
+          .filter(file -> file.getFileName().toString().startsWith("opensearch-sql-join"))
+          .collect(Collectors.toSet());
+    }
+  }
+
+  private List<Object[]> join(JoinRelType joinType, long memoryLimit) {
+    SpillableHashJoin join =
+        new SpillableHashJoin(new int[] {0}, new int[] {0}, joinType, 2, 2, memoryLimit);
+    List<Object[]> rows = new ArrayList<>();
+    for (Object row : join.join(Linq4j.asEnumerable(probe), Linq4j.asEnumerable(build))) {
+      rows.add((Object[]) row);
+    }
+    rows.sort(
+        Comparator.comparing(
+                (Object[] row) -> (Integer) row[0], Comparator.nullsFirst(Integer::compare))
+            .thenComparing(row -> row.length > 2 && row[3] != null ? (Long) row[3] : 0L));
+    return rows;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.request;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.index.query.IdsQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.SearchShardTarget;
+import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
+
+@ExtendWith(MockitoExtension.class)
+class DocValueArrayFallbackTest {
+
+  @Mock private OpenSearchExprValueFactory factory;
+
+  private final List<SearchRequest> searches = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(factory.isDocValueFetchable("tags")).thenReturn(true);
+    lenient().when(factory.isDocValueFetchable("count")).thenReturn(true);
+  }
+
+  @Test
+  void hits_without_arrays_are_not_searched_again() {
+    SearchHit hit = hit("1", Map.of("tags", List.of("a")));
+
+    fallback().apply(response(hit), this::search);
+
+    assertTrue(searches.isEmpty());
+    assertNull(hit.getSourceRef());
+  }
+
+  @Test
+  void doc_value_array_is_read_from_source() {
+    SearchHit single = hit("1", Map.of("tags", List.of("a")));
+    SearchHit array = hit("2", Map.of("tags", List.of("a", "b")));
+
+    fallback().apply(response(single, array), this::search);
+
+    assertEquals(1, searches.size());
+    SearchRequest search = searches.getFirst();
+    assertArrayEquals(new String[] {"logs"}, search.indices());
+    assertEquals(Set.of("2"), ((IdsQueryBuilder) search.source().query()).ids());
+    assertArrayEquals(new String[] {"tags", "count"}, search.source().fetchSource().includes());
+    assertEquals("{\"tags\":[\"b\",\"a\"]}", array.getSourceRef().utf8ToString());
+    assertNull(single.getSourceRef());
+  }
+
+  @Test
+  void script_field_array_is_not_read_from_source() {
+    SearchHit hit = hit("1", Map.of("upper", List.of("A", "B")));
+
+    fallback().apply(response(hit), this::search);
+
+    assertTrue(searches.isEmpty());
+  }
+
+  private DocValueArrayFallback fallback() {
+    return new DocValueArrayFallback(factory, List.of("tags", "count"));
+  }
+
+  private SearchResponse search(SearchRequest request) {
+    searches.add(request);
+    SearchHit hit = new SearchHit(0, "2", Map.of(), Map.of());
+    hit.shard(shard());
+    hit.sourceRef(new BytesArray("{\"tags\":[\"b\",\"a\"]}"));
+    return response(hit);
+  }
+
+  private static SearchHit hit(String id, Map<String, List<?>> fields) {
+    Map<String, DocumentField> documentFields =
+        fields.entrySet().stream()
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey,
+                    entry -> new DocumentField(entry.getKey(), new ArrayList<>(entry.getValue()))));
+    SearchHit hit = new SearchHit(0, id, documentFields, Map.of());
+    hit.shard(shard());
+    return hit;
+  }
+
+  private static SearchShardTarget shard() {
+    return new SearchShardTarget("node", new ShardId("logs", "uuid", 0), null, null);
+  }
+
+  private static SearchResponse response(SearchHit... hits) {
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getHits())
+        .thenReturn(
+            new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0F));
+    return response;
+  }
+}
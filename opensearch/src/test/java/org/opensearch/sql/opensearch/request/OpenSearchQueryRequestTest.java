@@ -11,7 +11,9 @@ import static org.opensearch.sql.opensearch.request.OpenSearchRequest.DEFAULT_QU
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import lombok.SneakyThrows;
@@ -30,6 +32,10 @@ import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
 import org.opensearch.search.builder.PointInTimeBuilder;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.fetch.subphase.FetchSourceContext;
@@ -462,6 +468,68 @@ public class OpenSearchQueryRequestTest {
     assertNotNull(request);
   }
 
+  @Test
+  void search_pages_composite_buckets_until_last_page() {
+    CompositeAggregationBuilder composite =
+        new CompositeAggregationBuilder(
+                "composite_buckets",
+                List.of(new TermsValuesSourceBuilder("gender").field("gender")))
+            .size(2);
+    OpenSearchQueryRequest request =
+        new OpenSearchQueryRequest(
+            new OpenSearchRequest.IndexName("test"),
+            new SearchSourceBuilder().size(0).aggregation(composite),
+            factory,
+            List.of());
+    request.setBucketPaging(true);
+    SearchResponse fullPage = compositeResponse(Map.of("gender", "f"), 2);
+    SearchResponse lastPage = compositeResponse(Map.of("gender", "m"), 1);
+    when(searchAction.apply(any())).thenReturn(fullPage, lastPage);
+
+    assertFalse(request.search(searchAction, scrollAction).isEmpty());
+    assertTrue(request.hasAnotherBatch());
+    assertTrue(composite.toString().contains("\"after\":{\"gender\":\"f\"}"));
+
+    assertFalse(request.search(searchAction, scrollAction).isEmpty());
+    assertFalse(request.hasAnotherBatch());
+    assertTrue(request.search(searchAction, scrollAction).isEmpty());
+    verify(searchAction, times(2)).apply(any());
+  }
+
+  @Test
+  void search_without_bucket_paging_returns_first_page_only() {
+    CompositeAggregationBuilder composite =
+        new CompositeAggregationBuilder(
+                "composite_buckets",
+                List.of(new TermsValuesSourceBuilder("gender").field("gender")))
+            .size(2);
+    OpenSearchQueryRequest request =
+        new OpenSearchQueryRequest(
+            new OpenSearchRequest.IndexName("test"),
+            new SearchSourceBuilder().size(0).aggregation(composite),
+            factory,
+            List.of());
+    SearchResponse fullPage = mock(SearchResponse.class);
+    when(searchAction.apply(any())).thenReturn(fullPage);
+
+    request.search(searchAction, scrollAction);
+    assertFalse(request.hasAnotherBatch());
+    assertFalse(composite.toString().contains("\"after\""));
+  }
+
+  private SearchResponse compositeResponse(Map<String, Object> afterKey, int buckets) {
+    CompositeAggregation result = mock(CompositeAggregation.class);
+    when(result.getName()).thenReturn("composite_buckets");
+    when(result.afterKey()).thenReturn(afterKey);
+    doReturn(Collections.nCopies(buckets, mock(CompositeAggregation.Bucket.class)))
+        .when(result)
+        .getBuckets();
+    SearchResponse response = mock(SearchResponse.class);
+    when(response.getHits()).thenReturn(SearchHits.empty());
+    when(response.getAggregations()).thenReturn(new Aggregations(List.of(result)));
+    return response;
+  }
+
   private void assertSearchRequest(SearchRequest expected, OpenSearchQueryRequest request) {
     Function<SearchRequest, SearchResponse> querySearch =
         searchRequest -> {
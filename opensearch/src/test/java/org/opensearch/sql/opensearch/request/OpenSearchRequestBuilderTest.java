@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.lucene.search.TotalHits;
 import org.apache.lucene.search.join.ScoreMode;
@@ -31,8 +32,10 @@ import org.opensearch.action.search.CreatePitRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.common.lucene.search.function.CombineFunction;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.index.query.*;
+import org.opensearch.index.query.functionscore.ScoreFunctionBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.SearchHits;
 import org.opensearch.search.aggregations.AggregationBuilder;
@@ -161,6 +164,19 @@ class OpenSearchRequestBuilderTest {
         requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client));
   }
 
+  @Test
+  void buildRequestWithPit_pageSizeNull_sharePitWithinReuseWindow() {
+    TimeValue reuseWindow = TimeValue.timeValueSeconds(5);
+    when(settings.getSettingValue(Settings.Key.QUERY_PIT_REUSE_WINDOW)).thenReturn(reuseWindow);
+    when(client.createPit(any(CreatePitRequest.class), eq(reuseWindow))).thenReturn("sharedPITId");
+    requestBuilder = new OpenSearchRequestBuilder(exprValueFactory, MAX_RESULT_WINDOW, settings);
+    requestBuilder.pushDownLimit(600, 0);
+
+    OpenSearchRequest request = requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client);
+
+    assertEquals("sharedPITId", ((OpenSearchQueryRequest) request).getPitId());
+  }
+
   @Test
   void buildRequestWithPit_pageSizeNull_sizeLessThanMaxResultWindow() {
     Integer limit = 400;
@@ -337,6 +353,49 @@ class OpenSearchRequestBuilderTest {
     assertSearchSourceBuilder(expectedSourceBuilder, requestBuilder);
   }
 
+  @Test
+  void test_push_down_sample() {
+    requestBuilder.pushDownSample(0.3, null);
+
+    assertSearchSourceBuilder(
+        new SearchSourceBuilder()
+            .from(DEFAULT_OFFSET)
+            .size(MAX_RESULT_WINDOW)
+            .timeout(DEFAULT_QUERY_TIMEOUT)
+            .query(
+                QueryBuilders.functionScoreQuery(
+                        matchAllQuery(), ScoreFunctionBuilders.randomFunction())
+                    .boostMode(CombineFunction.REPLACE)
+                    .setMinScore(0.7f))
+            .sort(DOC_FIELD_NAME, ASC),
+        requestBuilder);
+  }
+
+  @Test
+  void test_push_down_sample_with_seed_after_query() {
+    QueryBuilder query = QueryBuilders.termQuery("intA", 1);
+    requestBuilder.pushDownFilter(query);
+    requestBuilder.pushDownSample(0.5, 42);
+
+    // The random scores are seeded on the sequence numbers, which makes them repeatable
+    assertSearchSourceBuilder(
+        new SearchSourceBuilder()
+            .from(DEFAULT_OFFSET)
+            .size(MAX_RESULT_WINDOW)
+            .timeout(DEFAULT_QUERY_TIMEOUT)
+            .query(
+                QueryBuilders.boolQuery()
+                    .filter(query)
+                    .filter(
+                        QueryBuilders.functionScoreQuery(
+                                matchAllQuery(),
+                                ScoreFunctionBuilders.randomFunction().seed(42).setField("_seq_no"))
+                            .boostMode(CombineFunction.REPLACE)
+                            .setMinScore(0.5f)))
+            .sort(DOC_FIELD_NAME, ASC),
+        requestBuilder);
+  }
+
   void assertSearchSourceBuilder(
       SearchSourceBuilder expected, OpenSearchRequestBuilder requestBuilder)
       throws UnsupportedOperationException {
@@ -466,6 +525,72 @@ class OpenSearchRequestBuilderTest {
         requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client));
   }
 
+  @Test
+  void test_push_down_project_fetches_doc_values() {
+    when(settings.getSettingValue(Settings.Key.QUERY_FETCH_DOC_VALUES_ENABLED)).thenReturn(true);
+    when(exprValueFactory.isDocValueFetchable("intA")).thenReturn(true);
+    when(exprValueFactory.isDocValueFetchable("name")).thenReturn(false);
+    requestBuilder.pushDownProjectStream(Stream.of("intA", "name", "obj.keyword"));
+    requestBuilder.pushDownLimit(200, 0);
+
+    assertEquals(
+        new OpenSearchQueryRequest(
+            new OpenSearchRequest.IndexName("test"),
+            new SearchSourceBuilder()
+                .from(0)
+                .size(200)
+                .timeout(DEFAULT_QUERY_TIMEOUT)
+                .fetchSource(new String[] {"name", "obj.keyword"}, new String[0])
+                .docValueField("intA"),
+            exprValueFactory,
+            List.of("intA", "name", "obj.keyword")),
+        requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client));
+  }
+
+  @Test
+  void test_push_down_project_skips_source_when_all_fields_have_doc_values() {
+    when(settings.getSettingValue(Settings.Key.QUERY_FETCH_DOC_VALUES_ENABLED)).thenReturn(true);
+    when(exprValueFactory.isDocValueFetchable("intA")).thenReturn(true);
+    requestBuilder.pushDownProjectStream(Stream.of("intA"));
+    requestBuilder.pushDownLimit(200, 0);
+
+    assertEquals(
+        new OpenSearchQueryRequest(
+            new OpenSearchRequest.IndexName("test"),
+            new SearchSourceBuilder()
+                .from(0)
+                .size(200)
+                .timeout(DEFAULT_QUERY_TIMEOUT)
+                .fetchSource(false)
+                .docValueField("intA"),
+            exprValueFactory,
+            List.of("intA")),
+        requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client));
+  }
+
+  @Test
+  void test_push_down_project_fetches_date_doc_values_in_iso_format() {
+    when(settings.getSettingValue(Settings.Key.QUERY_FETCH_DOC_VALUES_ENABLED)).thenReturn(true);
+    when(exprValueFactory.isDocValueFetchable("date")).thenReturn(true);
+    when(exprValueFactory.docValueFormat("date"))
+        .thenReturn(OpenSearchExprValueFactory.DATE_DOC_VALUE_FORMAT);
+    requestBuilder.pushDownProjectStream(Stream.of("date"));
+    requestBuilder.pushDownLimit(200, 0);
+
+    assertEquals(
+        new OpenSearchQueryRequest(
+            new OpenSearchRequest.IndexName("test"),
+            new SearchSourceBuilder()
+                .from(0)
+                .size(200)
+                .timeout(DEFAULT_QUERY_TIMEOUT)
+                .fetchSource(false)
+                .docValueField("date", "strict_date_optional_time_nanos"),
+            exprValueFactory,
+            List.of("date")),
+        requestBuilder.build(indexName, DEFAULT_QUERY_TIMEOUT, client));
+  }
+
   @Test
   void test_push_down_project_limit_and_offset() {
     Set<ReferenceExpression> references = Set.of(DSL.ref("intA", INTEGER));
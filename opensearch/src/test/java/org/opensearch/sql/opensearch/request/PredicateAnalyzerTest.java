@@ -7,9 +7,12 @@ package org.opensearch.sql.opensearch.request;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.spy;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.Range;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
@@ -22,14 +25,17 @@ import org.apache.calcite.rel.type.RelDataTypeFactory;
 import org.apache.calcite.rel.type.RelDataTypeSystem;
 import org.apache.calcite.rel.type.StructKind;
 import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexCall;
 import org.apache.calcite.rex.RexInputRef;
 import org.apache.calcite.rex.RexLiteral;
 import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.rex.RexUnknownAs;
 import org.apache.calcite.runtime.Hook;
 import org.apache.calcite.sql.fun.SqlStdOperatorTable;
 import org.apache.calcite.sql.type.SqlTypeFactoryImpl;
 import org.apache.calcite.sql.type.SqlTypeName;
 import org.apache.calcite.util.Holder;
+import org.apache.calcite.util.Sarg;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.opensearch.index.query.BoolQueryBuilder;
@@ -47,14 +53,19 @@ import org.opensearch.index.query.SimpleQueryStringBuilder;
 import org.opensearch.index.query.TermQueryBuilder;
 import org.opensearch.index.query.TermsQueryBuilder;
 import org.opensearch.index.query.WildcardQueryBuilder;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory.ExprUDT;
 import org.opensearch.sql.data.type.ExprCoreType;
 import org.opensearch.sql.data.type.ExprType;
 import org.opensearch.sql.expression.function.BuiltinFunctionName;
+import org.opensearch.sql.expression.function.PPLBuiltinOperators;
 import org.opensearch.sql.expression.function.PPLFuncImpTable;
 import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
 import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDateType;
 import org.opensearch.sql.opensearch.request.PredicateAnalyzer.ExpressionNotAnalyzableException;
 import org.opensearch.sql.opensearch.request.PredicateAnalyzer.QueryExpression;
+import org.opensearch.sql.opensearch.request.PredicateAnalyzer.ScriptQueryExpression;
 
 public class PredicateAnalyzerTest {
   final RelDataTypeFactory typeFactory = new SqlTypeFactoryImpl(RelDataTypeSystem.DEFAULT);
@@ -74,6 +85,22 @@ public class PredicateAnalyzerTest {
       builder.makeInputRef(typeFactory.createSqlType(SqlTypeName.VARCHAR), 1);
   final RexLiteral numericLiteral = builder.makeExactLiteral(new BigDecimal(12));
   final RexLiteral stringLiteral = builder.makeLiteral("Hi");
+  final RelDataType timestampType =
+      OpenSearchTypeFactory.TYPE_FACTORY.createUDT(ExprUDT.EXPR_TIMESTAMP);
+  final List<String> dateSchema = List.of("ts", "x");
+  final Map<String, ExprType> dateFieldTypes =
+      Map.of(
+          "ts", OpenSearchDateType.of(ExprCoreType.TIMESTAMP),
+          "x", OpenSearchDataType.of(MappingType.Double));
+  final RelDataType dateRowType =
+      builder
+          .getTypeFactory()
+          .builder()
+          .kind(StructKind.FULLY_QUALIFIED)
+          .add("ts", timestampType)
+          .add("x", builder.getTypeFactory().createSqlType(SqlTypeName.DOUBLE))
+          .build();
+  final RexInputRef timestampField = builder.makeInputRef(timestampType, 0);
   final RexNode aliasedField2 =
       builder.makeCall(
           SqlStdOperatorTable.MAP_VALUE_CONSTRUCTOR, builder.makeLiteral("field"), field2);
@@ -707,6 +734,398 @@ public class PredicateAnalyzerTest {
         result.toString());
   }
 
+  @Test
+  void divide_gt_generatesRangeQueryOnField() throws ExpressionNotAnalyzableException {
+    RexNode divide =
+        builder.makeCall(
+            PPLBuiltinOperators.DIVIDE, field1, builder.makeExactLiteral(new BigDecimal(1024)));
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.GREATER_THAN, divide, builder.makeExactLiteral(BigDecimal.TEN));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "a" : {
+                  "from" : 11264,
+                  "to" : null,
+                  "include_lower" : true,
+                  "include_upper" : true,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void plus_equals_generatesRangeQueryOnField() throws ExpressionNotAnalyzableException {
+    RexNode plus =
+        builder.makeCall(
+            SqlStdOperatorTable.PLUS, field1, builder.makeExactLiteral(new BigDecimal(2)));
+    RexNode call = builder.makeCall(SqlStdOperatorTable.EQUALS, plus, numericLiteral);
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "a" : {
+                  "from" : 10,
+                  "to" : 11,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void lower_equals_generatesCaseInsensitiveTermQuery() throws ExpressionNotAnalyzableException {
+    RexNode lower = builder.makeCall(SqlStdOperatorTable.LOWER, field2);
+    RexNode call = builder.makeCall(SqlStdOperatorTable.EQUALS, lower, builder.makeLiteral("hi"));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(TermQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "term" : {
+                "b.keyword" : {
+                  "value" : "hi",
+                  "case_insensitive" : true,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void year_equals_generatesEpochMillisRangeQuery() throws ExpressionNotAnalyzableException {
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            year(timestampField),
+            builder.makeExactLiteral(new BigDecimal(2024)));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, dateSchema, dateFieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "ts" : {
+                  "from" : 1704067200000,
+                  "to" : 1735689600000,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "format" : "epoch_millis",
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void year_notEquals_generatesRangeQueriesAroundTheYear()
+      throws ExpressionNotAnalyzableException {
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.NOT_EQUALS,
+            year(timestampField),
+            builder.makeExactLiteral(new BigDecimal(2024)));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, dateSchema, dateFieldTypes);
+
+    assertInstanceOf(BoolQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "bool" : {
+                "should" : [
+                  {
+                    "range" : {
+                      "ts" : {
+                        "from" : null,
+                        "to" : 1704067200000,
+                        "include_lower" : true,
+                        "include_upper" : false,
+                        "format" : "epoch_millis",
+                        "boost" : 1.0
+                      }
+                    }
+                  },
+                  {
+                    "range" : {
+                      "ts" : {
+                        "from" : 1735689600000,
+                        "to" : null,
+                        "include_lower" : true,
+                        "include_upper" : true,
+                        "format" : "epoch_millis",
+                        "boost" : 1.0
+                      }
+                    }
+                  }
+                ],
+                "adjust_pure_negative" : true,
+                "boost" : 1.0
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void dateFormat_lte_generatesRangeQueryBeforeTheNextDay()
+      throws ExpressionNotAnalyzableException {
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.LESS_THAN_OR_EQUAL,
+            dateFormat(timestampField, "%Y-%m-%d"),
+            builder.makeLiteral("2024-05-01"));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, dateSchema, dateFieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "ts" : {
+                  "from" : null,
+                  "to" : 1714608000000,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "format" : "epoch_millis",
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void timestampSpan_equals_generatesRangeQueryOfTheBucket()
+      throws ExpressionNotAnalyzableException {
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            timestampSpan("h"),
+            builder.makeCall(
+                timestampType,
+                PPLBuiltinOperators.TIMESTAMP,
+                List.of(builder.makeLiteral("2024-01-01 10:00:00"))));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, dateSchema, dateFieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "ts" : {
+                  "from" : 1704103200000,
+                  "to" : 1704106800000,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "format" : "epoch_millis",
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void divide_search_generatesRangeQueryOfTheSargRange() throws ExpressionNotAnalyzableException {
+    RexNode divide = divide(field1, 10);
+    Sarg<BigDecimal> sarg =
+        Sarg.of(
+            RexUnknownAs.UNKNOWN,
+            ImmutableRangeSet.of(Range.closed(BigDecimal.ONE, BigDecimal.valueOf(2))));
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.SEARCH,
+            divide,
+            builder.makeSearchArgumentLiteral(sarg, divide.getType()));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "a" : {
+                  "from" : 10,
+                  "to" : 30,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void plus_in_generatesRangeQueryOfEachPoint() throws ExpressionNotAnalyzableException {
+    RexNode plus =
+        builder.makeCall(
+            SqlStdOperatorTable.PLUS, field1, builder.makeExactLiteral(new BigDecimal(2)));
+    RexNode call =
+        builder.makeIn(
+            plus,
+            ImmutableList.of(
+                builder.makeExactLiteral(new BigDecimal(10)),
+                builder.makeExactLiteral(new BigDecimal(20))));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(BoolQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "bool" : {
+                "should" : [
+                  {
+                    "range" : {
+                      "a" : {
+                        "from" : 8,
+                        "to" : 9,
+                        "include_lower" : true,
+                        "include_upper" : false,
+                        "boost" : 1.0
+                      }
+                    }
+                  },
+                  {
+                    "range" : {
+                      "a" : {
+                        "from" : 18,
+                        "to" : 19,
+                        "include_lower" : true,
+                        "include_upper" : false,
+                        "boost" : 1.0
+                      }
+                    }
+                  }
+                ],
+                "adjust_pure_negative" : true,
+                "boost" : 1.0
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void divide_equals_negativeQuotient_generatesRangeQueryOfTruncatedDividends()
+      throws ExpressionNotAnalyzableException {
+    // -29 / 10 .. -20 / 10 truncate to -2
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            divide(field1, 10),
+            builder.makeExactLiteral(BigDecimal.valueOf(-2)));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "a" : {
+                  "from" : -29,
+                  "to" : -19,
+                  "include_lower" : true,
+                  "include_upper" : false,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void numericSpan_gte_negativeBucket_generatesRangeQueryOfTruncatedDividends()
+      throws ExpressionNotAnalyzableException {
+    // span(-29, 10) is -20, as the quotient is truncated
+    RexNode span =
+        builder.makeCall(
+            field1.getType(),
+            PPLBuiltinOperators.SPAN,
+            List.of(
+                field1,
+                builder.makeExactLiteral(BigDecimal.TEN),
+                builder.makeNullLiteral(typeFactory.createSqlType(SqlTypeName.NULL))));
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.GREATER_THAN_OR_EQUAL,
+            span,
+            builder.makeExactLiteral(BigDecimal.valueOf(-20)));
+    QueryBuilder result = PredicateAnalyzer.analyze(call, schema, fieldTypes);
+
+    assertInstanceOf(RangeQueryBuilder.class, result);
+    assertEquals(
+        """
+            {
+              "range" : {
+                "a" : {
+                  "from" : -29,
+                  "to" : null,
+                  "include_lower" : true,
+                  "include_upper" : true,
+                  "boost" : 1.0
+                }
+              }
+            }""",
+        result.toString());
+  }
+
+  @Test
+  void plus_gt_fractionalField_scriptPushDown() throws ExpressionNotAnalyzableException {
+    RexInputRef doubleField =
+        builder.makeInputRef(typeFactory.createSqlType(SqlTypeName.DOUBLE), 1);
+    RexNode plus =
+        builder.makeCall(
+            SqlStdOperatorTable.PLUS, doubleField, builder.makeExactLiteral(BigDecimal.ONE));
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.GREATER_THAN, plus, builder.makeExactLiteral(BigDecimal.TEN));
+
+    assertScriptPushDown(call);
+  }
+
+  @Test
+  void dateFormat_equals_literalNotAnOutput_scriptPushDown()
+      throws ExpressionNotAnalyzableException {
+    // The format pads the month, '2024-5' is never one of its outputs
+    RexNode call =
+        builder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            dateFormat(timestampField, "%Y-%m"),
+            builder.makeLiteral("2024-5"));
+
+    assertScriptPushDown(call);
+  }
+
+  @Test
+  void timestampSpan_ofVariableLengthUnit_scriptPushDown()
+      throws ExpressionNotAnalyzableException {
+    for (String unit : List.of("M", "q")) {
+      RexNode call =
+          builder.makeCall(
+              SqlStdOperatorTable.EQUALS,
+              timestampSpan(unit),
+              builder.makeLiteral("2024-01-01 00:00:00"));
+
+      assertScriptPushDown(call);
+    }
+  }
+
   @Test
   void equals_scriptPushDown_TextWithoutKeyword() throws ExpressionNotAnalyzableException {
     final RelDataType rowType =
@@ -974,4 +1393,40 @@ public class PredicateAnalyzerTest {
             }""",
         result.toString());
   }
+
+  private RexNode year(RexNode field) {
+    return builder.makeCall(
+        typeFactory.createSqlType(SqlTypeName.INTEGER), PPLBuiltinOperators.YEAR, List.of(field));
+  }
+
+  private RexNode dateFormat(RexNode field, String format) {
+    return builder.makeCall(
+        typeFactory.createSqlType(SqlTypeName.VARCHAR),
+        PPLBuiltinOperators.DATE_FORMAT,
+        List.of(field, builder.makeLiteral(format)));
+  }
+
+  private RexNode timestampSpan(String unit) {
+    return builder.makeCall(
+        timestampType,
+        PPLBuiltinOperators.SPAN,
+        List.of(
+            timestampField, builder.makeExactLiteral(BigDecimal.ONE), builder.makeLiteral(unit)));
+  }
+
+  private RexNode divide(RexNode field, int divisor) {
+    return builder.makeCall(
+        field.getType(),
+        PPLBuiltinOperators.DIVIDE,
+        List.of(field, builder.makeExactLiteral(BigDecimal.valueOf(divisor))));
+  }
+
+  /** The comparison isn't rewritten into a query on the field, but pushed down as a script. */
+  private void assertScriptPushDown(RexNode call) throws ExpressionNotAnalyzableException {
+    assertNull(FunctionPredicateRewriter.rewrite((RexCall) call, dateSchema, dateFieldTypes));
+    assertInstanceOf(
+        ScriptQueryExpression.class,
+        PredicateAnalyzer.analyzeExpression(
+            call, dateSchema, dateFieldTypes, dateRowType, cluster));
+  }
 }
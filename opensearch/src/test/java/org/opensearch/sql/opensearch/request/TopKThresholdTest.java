@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.Test;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.ScriptQueryBuilder;
+import org.opensearch.script.Script;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.sql.data.type.ExprCoreType;
+
+class TopKThresholdTest {
+
+  private final Script filterScript =
+      new Script(Script.DEFAULT_SCRIPT_TYPE, "opensearch_compounded_script", "code", Map.of());
+
+  @Test
+  void no_filter_until_k_values_seen() {
+    TopKThreshold threshold =
+        new TopKThreshold("score", 3, true, false, ExprCoreType.DOUBLE, filterScript);
+    QueryBuilder query = QueryBuilders.termQuery("a", 1);
+    SearchSourceBuilder source = new SearchSourceBuilder().query(query);
+
+    threshold.apply(source);
+    threshold.offer(hits(10, 5.0, null, 7.0));
+    threshold.apply(source);
+
+    assertSame(query, source.query());
+  }
+
+  @Test
+  void filter_by_kth_best_value_descending() {
+    TopKThreshold threshold =
+        new TopKThreshold("score", 2, true, false, ExprCoreType.DOUBLE, filterScript);
+    QueryBuilder query = QueryBuilders.termQuery("a", 1);
+    SearchSourceBuilder source = new SearchSourceBuilder().query(query);
+
+    threshold.apply(source);
+    threshold.offer(hits(10, 5.0, 9.0, 1.0, 7.0));
+    threshold.apply(source);
+
+    assertEquals(7.0, thresholdParam(source, query));
+    threshold.offer(hits(10, 8.0));
+    threshold.apply(source);
+    assertEquals(8.0, thresholdParam(source, query));
+    assertTrue(threshold.toString().endsWith("pruning ratio 0.5000"), threshold.toString());
+  }
+
+  @Test
+  void nulls_first_count_towards_k() {
+    TopKThreshold threshold =
+        new TopKThreshold("score", 2, false, true, ExprCoreType.INTEGER, filterScript);
+    SearchSourceBuilder source = new SearchSourceBuilder();
+
+    threshold.apply(source);
+    threshold.offer(hits(10, null, 4, 3));
+    threshold.apply(source);
+
+    assertEquals(3, thresholdParam(source, null));
+  }
+
+  private static Object thresholdParam(SearchSourceBuilder source, QueryBuilder query) {
+    BoolQueryBuilder bool = assertInstanceOf(BoolQueryBuilder.class, source.query());
+    assertEquals(query == null ? Collections.emptyList() : List.of(query), bool.must());
+    ScriptQueryBuilder script = (ScriptQueryBuilder) bool.filter().getFirst();
+    return script.script().getParams().get(TopKThreshold.THRESHOLD_PARAM);
+  }
+
+  private static SearchHits hits(long total, Object... values) {
+    SearchHit[] hits =
+        Arrays.stream(values)
+            .map(
+                value ->
+                    new SearchHit(
+                        0,
+                        "id",
+                        Map.of(
+                            "score", new DocumentField("score", Collections.singletonList(value))),
+                        Map.of()))
+            .toArray(SearchHit[]::new);
+    return new SearchHits(hits, new TotalHits(total, TotalHits.Relation.EQUAL_TO), 1.0f);
+  }
+}
@@ -8,6 +8,8 @@ package org.opensearch.sql.opensearch.response;
 import static java.util.Collections.emptyList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -18,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -29,6 +32,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.common.document.DocumentField;
 import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.text.Text;
 import org.opensearch.core.index.shard.ShardId;
@@ -37,13 +41,19 @@ import org.opensearch.search.SearchHits;
 import org.opensearch.search.SearchShardTarget;
 import org.opensearch.search.aggregations.Aggregations;
 import org.opensearch.search.fetch.subphase.highlight.HighlightField;
+import org.opensearch.sql.data.model.ExprBooleanValue;
+import org.opensearch.sql.data.model.ExprDateValue;
 import org.opensearch.sql.data.model.ExprFloatValue;
 import org.opensearch.sql.data.model.ExprIntegerValue;
+import org.opensearch.sql.data.model.ExprIpValue;
 import org.opensearch.sql.data.model.ExprLongValue;
 import org.opensearch.sql.data.model.ExprStringValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.data.model.ExprValue;
 import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDateType;
 import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
 import org.opensearch.sql.opensearch.response.agg.OpenSearchAggregationResponseParser;
 
@@ -130,6 +140,168 @@ class OpenSearchResponseTest {
     }
   }
 
+  @Test
+  void iterator_shares_schema_of_includes_and_metafields_across_hits() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1, searchHit2},
+                new TotalHits(2L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+    when(searchHit1.getId()).thenReturn("id-1");
+    when(searchHit2.getId()).thenReturn("id-2");
+    when(factory.construct(any(), anyBoolean()))
+        .thenReturn(
+            ExprTupleValue.fromExprValueMap(
+                ImmutableMap.of("address", ExprValueUtils.tupleValue(Map.of("city", "Seattle")))))
+        .thenReturn(ExprTupleValue.empty());
+
+    List<ExprValue> hits = new ArrayList<>();
+    new OpenSearchResponse(searchResponse, factory, List.of("_id", "address.city"))
+        .forEach(hits::add);
+
+    ExprTupleValue first = (ExprTupleValue) hits.get(0);
+    ExprTupleValue second = (ExprTupleValue) hits.get(1);
+    assertEquals(List.of("address", "_id"), first.getSchema().getNames());
+    assertSame(first.getSchema(), second.getSchema());
+    assertEquals(new ExprStringValue("id-1"), first.get(1));
+    assertEquals(new ExprStringValue("id-2"), second.get(1));
+    assertNull(second.get(0));
+    assertEquals(
+        ExprTupleValue.fromExprValueMap(ImmutableMap.of("_id", new ExprStringValue("id-2"))),
+        second);
+  }
+
+  @Test
+  void iterator_metafield_replaces_source_field_of_same_name() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1},
+                new TotalHits(1L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+    when(searchHit1.getId()).thenReturn("testId");
+    when(factory.construct(any(), anyBoolean()))
+        .thenReturn(
+            ExprTupleValue.fromExprValueMap(
+                ImmutableMap.of(
+                    "id1", new ExprIntegerValue(1), "_id", new ExprStringValue("sourceId"))));
+
+    for (ExprValue hit : new OpenSearchResponse(searchResponse, factory, List.of())) {
+      assertEquals(new ExprStringValue("testId"), hit.tupleValue().get("_id"));
+      assertEquals(new ExprIntegerValue(1), hit.tupleValue().get("id1"));
+    }
+  }
+
+  @Test
+  void iterator_with_script_fields() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1},
+                new TotalHits(1L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+
+    when(searchHit1.getSourceAsString()).thenReturn(null);
+    when(searchHit1.getFields())
+        .thenReturn(
+            Map.of(
+                "len", new DocumentField("len", List.of(5)),
+                "id1", new DocumentField("id1", List.of(3)),
+                "_ignored", new DocumentField("_ignored", List.of("name"))));
+    when(factory.construct(any(), anyBoolean())).thenReturn(exprTupleValue1);
+    when(factory.constructDocValue("len", 5)).thenReturn(new ExprIntegerValue(5));
+
+    for (ExprValue hit :
+        new OpenSearchResponse(searchResponse, factory, List.of("id1", "len"))) {
+      assertEquals(
+          ExprTupleValue.fromExprValueMap(
+              ImmutableMap.of("id1", new ExprIntegerValue(1), "len", new ExprIntegerValue(5))),
+          hit);
+    }
+  }
+
+  @Test
+  void iterator_with_doc_value_fields() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1},
+                new TotalHits(1L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+    when(searchHit1.getSourceAsString()).thenReturn(null);
+    when(searchHit1.getFields())
+        .thenReturn(
+            Map.of(
+                "date", new DocumentField("date", List.of("2024-01-02T03:04:05.000Z")),
+                "ip", new DocumentField("ip", List.of("192.168.0.1")),
+                "flag", new DocumentField("flag", List.of(true))));
+    OpenSearchExprValueFactory docValueFactory =
+        new OpenSearchExprValueFactory(
+            Map.of(
+                "date", OpenSearchDateType.of("strict_date_optional_time||epoch_millis"),
+                "ip", OpenSearchDataType.of(OpenSearchDataType.MappingType.Ip),
+                "flag", OpenSearchDataType.of(OpenSearchDataType.MappingType.Boolean)),
+            true);
+
+    for (ExprValue hit :
+        new OpenSearchResponse(searchResponse, docValueFactory, List.of("date", "ip", "flag"))) {
+      Map<String, ExprValue> values = hit.tupleValue();
+      assertEquals(3, values.size());
+      assertEquals(new ExprTimestampValue("2024-01-02 03:04:05"), values.get("date"));
+      assertEquals(new ExprIpValue("192.168.0.1"), values.get("ip"));
+      assertEquals(ExprBooleanValue.of(true), values.get("flag"));
+    }
+  }
+
+  @Test
+  void iterator_with_date_doc_value_fields_in_iso_format() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1},
+                new TotalHits(1L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+    when(searchHit1.getSourceAsString()).thenReturn(null);
+    when(searchHit1.getFields())
+        .thenReturn(
+            Map.of(
+                "date", new DocumentField("date", List.of("2024-01-02T03:04:05.123456789Z")),
+                "day", new DocumentField("day", List.of("2024-01-02T00:00:00.000Z"))));
+    OpenSearchExprValueFactory docValueFactory =
+        new OpenSearchExprValueFactory(
+            Map.of(
+                "date", OpenSearchDateType.of("yyyy/MM/dd HH:mm:ss"),
+                "day", OpenSearchDateType.of("date")),
+            true);
+
+    for (ExprValue hit :
+        new OpenSearchResponse(searchResponse, docValueFactory, List.of("date", "day"))) {
+      Map<String, ExprValue> values = hit.tupleValue();
+      assertEquals(new ExprTimestampValue("2024-01-02 03:04:05.123456789"), values.get("date"));
+      assertEquals(new ExprDateValue("2024-01-02"), values.get("day"));
+    }
+  }
+
+  @Test
+  void iterator_with_multi_valued_script_field_reads_first_value() {
+    when(searchResponse.getHits())
+        .thenReturn(
+            new SearchHits(
+                new SearchHit[] {searchHit1},
+                new TotalHits(1L, TotalHits.Relation.EQUAL_TO),
+                1.0F));
+    when(searchHit1.getSourceAsString()).thenReturn(null);
+    when(searchHit1.getFields())
+        .thenReturn(Map.of("tags", new DocumentField("tags", List.of("a", "b"))));
+    when(factory.construct(any(), anyBoolean())).thenReturn(ExprTupleValue.empty());
+    when(factory.constructDocValue("tags", "a")).thenReturn(new ExprStringValue("a"));
+
+    for (ExprValue hit : new OpenSearchResponse(searchResponse, factory, List.of("tags"))) {
+      assertEquals(new ExprStringValue("a"), hit.tupleValue().get("tags"));
+    }
+  }
+
   @Test
   void iterator_metafields() {
 
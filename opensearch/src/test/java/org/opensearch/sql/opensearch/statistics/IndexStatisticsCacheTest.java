@@ -0,0 +1,139 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.sql.opensearch.client.OpenSearchClient;
+import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+import org.opensearch.sql.opensearch.request.OpenSearchRequest;
+
+@ExtendWith(MockitoExtension.class)
+class IndexStatisticsCacheTest {
+
+  @Mock private OpenSearchClient client;
+
+  private final IndexStatisticsCache cache = new IndexStatisticsCache();
+
+  private final OpenSearchRequest.IndexName indexName = new OpenSearchRequest.IndexName("test");
+
+  private final IndexStatistics statistics = new IndexStatistics(10, Map.of());
+
+  private Map<String, OpenSearchDataType> fieldTypes;
+
+  @BeforeEach
+  void setUp() {
+    fieldTypes = new LinkedHashMap<>();
+    fieldTypes.put("name", OpenSearchDataType.of(MappingType.Text));
+    fieldTypes.put("state", OpenSearchDataType.of(MappingType.Keyword));
+    fieldTypes.put("age", OpenSearchDataType.of(MappingType.Integer));
+    fieldTypes.put("projects", OpenSearchDataType.of(MappingType.Nested));
+  }
+
+  @Test
+  void collect_aggregatable_fields() {
+    when(client.getIndexStatistics(any(), anyList(), anyList())).thenReturn(statistics);
+
+    assertEquals(
+        Optional.of(statistics),
+        cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1)));
+    verify(client)
+        .getIndexStatistics(new String[] {"test"}, List.of("state", "age"), List.of("age"));
+  }
+
+  @Test
+  void reuse_statistics_until_expired() {
+    when(client.getIndexStatistics(any(), anyList(), anyList())).thenReturn(statistics);
+
+    cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1));
+    cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1));
+    verify(client, times(1)).getIndexStatistics(any(), anyList(), anyList());
+
+    cache.get(client, indexName, fieldTypes, TimeValue.ZERO);
+    verify(client, times(2)).getIndexStatistics(any(), anyList(), anyList());
+  }
+
+  @Test
+  void return_empty_if_collection_fails() {
+    when(client.getIndexStatistics(any(), anyList(), anyList()))
+        .thenThrow(new IllegalStateException("failed"));
+
+    assertTrue(cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1)).isEmpty());
+    // The failure is cached as unknown statistics until expired
+    assertTrue(cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1)).isEmpty());
+    verify(client, times(1)).getIndexStatistics(any(), anyList(), anyList());
+
+    cache.get(client, indexName, fieldTypes, TimeValue.ZERO);
+    verify(client, times(2)).getIndexStatistics(any(), anyList(), anyList());
+  }
+
+  @Test
+  void do_not_share_statistics_across_users() {
+    OpenSearchNodeClient nodeClient = mock(OpenSearchNodeClient.class);
+    when(nodeClient.getIndexStatistics(any(), anyList(), anyList())).thenReturn(statistics);
+
+    when(nodeClient.currentUser()).thenReturn("alice");
+    cache.get(nodeClient, indexName, fieldTypes, TimeValue.timeValueHours(1));
+    cache.get(nodeClient, indexName, fieldTypes, TimeValue.timeValueHours(1));
+    verify(nodeClient, times(1)).getIndexStatistics(any(), anyList(), anyList());
+
+    when(nodeClient.currentUser()).thenReturn("bob");
+    cache.get(nodeClient, indexName, fieldTypes, TimeValue.timeValueHours(1));
+    verify(nodeClient, times(2)).getIndexStatistics(any(), anyList(), anyList());
+  }
+
+  @Test
+  void concurrent_queries_wait_for_the_same_collection() throws Exception {
+    CountDownLatch collecting = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(client.getIndexStatistics(any(), anyList(), anyList()))
+        .thenAnswer(
+            invocation -> {
+              collecting.countDown();
+              release.await();
+              return statistics;
+            });
+
+    List<Optional<IndexStatistics>> results = new CopyOnWriteArrayList<>();
+    Runnable query =
+        () -> results.add(cache.get(client, indexName, fieldTypes, TimeValue.timeValueHours(1)));
+    Thread first = new Thread(query);
+    first.start();
+    collecting.await();
+    Thread second = new Thread(query);
+    second.start();
+    while (second.getState() != Thread.State.WAITING) {
+      Thread.onSpinWait();
+    }
+    release.countDown();
+    first.join();
+    second.join();
+
+    assertEquals(List.of(Optional.of(statistics), Optional.of(statistics)), results);
+    verify(client, times(1)).getIndexStatistics(any(), anyList(), anyList());
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import org.apache.calcite.rel.metadata.RelMdUtil;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rel.type.RelDataTypeFactory;
+import org.apache.calcite.rel.type.RelDataTypeSystem;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.SqlOperator;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeFactoryImpl;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics.FieldStatistics;
+
+class SelectivityEstimatorTest {
+  private static final double DELTA = 1e-9;
+
+  private final RelDataTypeFactory typeFactory = new SqlTypeFactoryImpl(RelDataTypeSystem.DEFAULT);
+  private final RexBuilder builder = new RexBuilder(typeFactory);
+  private final RelDataType intType = typeFactory.createSqlType(SqlTypeName.INTEGER);
+  private final RelDataType stringType = typeFactory.createSqlType(SqlTypeName.VARCHAR);
+
+  private final IndexStatistics statistics =
+      new IndexStatistics(
+          1000,
+          Map.of(
+              "age", new FieldStatistics(50, 0.0, 100.0),
+              "state", new FieldStatistics(20, null, null)));
+
+  private final SelectivityEstimator estimator =
+      new SelectivityEstimator(statistics, List.of("age", "state", "name"));
+
+  @Test
+  void equals_uses_distinct_count() {
+    assertEquals(1.0 / 50, estimator.estimate(call(SqlStdOperatorTable.EQUALS, age(), num(30))));
+    assertEquals(1.0 / 20, estimator.estimate(call(SqlStdOperatorTable.EQUALS, state(), str())));
+    assertEquals(
+        1.0 - 1.0 / 50, estimator.estimate(call(SqlStdOperatorTable.NOT_EQUALS, age(), num(30))));
+  }
+
+  @Test
+  void literal_first_comparison_is_reversed() {
+    assertEquals(
+        0.3, estimator.estimate(call(SqlStdOperatorTable.GREATER_THAN, num(30), age())), DELTA);
+  }
+
+  @Test
+  void range_interpolates_between_min_and_max() {
+    assertEquals(
+        0.3, estimator.estimate(call(SqlStdOperatorTable.LESS_THAN, age(), num(30))), DELTA);
+    assertEquals(
+        0.7,
+        estimator.estimate(call(SqlStdOperatorTable.GREATER_THAN_OR_EQUAL, age(), num(30))),
+        DELTA);
+    assertEquals(
+        0.0, estimator.estimate(call(SqlStdOperatorTable.GREATER_THAN, age(), num(200))), DELTA);
+    assertEquals(
+        1.0, estimator.estimate(call(SqlStdOperatorTable.LESS_THAN, age(), num(200))), DELTA);
+  }
+
+  @Test
+  void in_list_uses_number_of_points() {
+    RexNode in = builder.makeIn(age(), List.of(num(1), num(2), num(3)));
+    assertEquals(3.0 / 50, estimator.estimate(in), DELTA);
+  }
+
+  @Test
+  void and_or_not_combine_estimates() {
+    RexNode equals = call(SqlStdOperatorTable.EQUALS, age(), num(30));
+    RexNode less = call(SqlStdOperatorTable.LESS_THAN, age(), num(30));
+    assertEquals(
+        0.3 / 50,
+        estimator.estimate(builder.makeCall(SqlStdOperatorTable.AND, equals, less)),
+        DELTA);
+    assertEquals(
+        0.3 + 1.0 / 50,
+        estimator.estimate(builder.makeCall(SqlStdOperatorTable.OR, equals, less)),
+        DELTA);
+    assertEquals(
+        1.0 - 1.0 / 50,
+        estimator.estimate(builder.makeCall(SqlStdOperatorTable.NOT, equals)),
+        DELTA);
+  }
+
+  @Test
+  void unknown_field_falls_back_to_guess() {
+    RexNode condition =
+        call(SqlStdOperatorTable.EQUALS, builder.makeInputRef(stringType, 2), str());
+    assertEquals(RelMdUtil.guessSelectivity(condition), estimator.estimate(condition));
+  }
+
+  @Test
+  void range_of_field_without_range_falls_back_to_guess() {
+    RexNode condition = call(SqlStdOperatorTable.LESS_THAN, state(), str());
+    assertEquals(RelMdUtil.guessSelectivity(condition), estimator.estimate(condition));
+  }
+
+  private RexNode call(SqlOperator operator, RexNode left, RexNode right) {
+    return builder.makeCall(operator, left, right);
+  }
+
+  private RexNode age() {
+    return builder.makeInputRef(intType, 0);
+  }
+
+  private RexNode state() {
+    return builder.makeInputRef(stringType, 1);
+  }
+
+  private RexNode num(int value) {
+    return builder.makeExactLiteral(BigDecimal.valueOf(value), intType);
+  }
+
+  private RexNode str() {
+    return builder.makeLiteral("WA");
+  }
+}
@@ -13,9 +13,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableList;
+import java.math.BigDecimal;
 import java.util.AbstractList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import org.apache.calcite.plan.Convention;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
@@ -48,6 +51,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.common.setting.Settings.Key;
 import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics;
+import org.opensearch.sql.opensearch.statistics.IndexStatistics.FieldStatistics;
 import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,7 +70,7 @@ public class CalciteIndexScanCostTest {
   void setUp() {
     RelTraitSet traitSet = mock(RelTraitSet.class);
     when(cluster.traitSetOf(any(Convention.class))).thenReturn(traitSet);
-    when(osIndex.getMaxResultWindow()).thenReturn(10000);
+    lenient().when(osIndex.getMaxResultWindow()).thenReturn(10000);
     Settings settings = mock(Settings.class);
     when(settings.getSettingValue(Key.CALCITE_PUSHDOWN_ROWCOUNT_ESTIMATION_FACTOR)).thenReturn(0.9);
     when(osIndex.getSettings()).thenReturn(settings);
@@ -151,6 +156,83 @@ public class CalciteIndexScanCostTest {
     assertEquals(13500, Objects.requireNonNull(scan.computeSelfCost(planner, mq)).getRows());
   }
 
+  @Test
+  void test_cost_on_filter_pushdown_with_statistics() {
+    RelDataType relDataType = mock(RelDataType.class);
+    lenient().when(relDataType.getFieldList()).thenReturn(new MockFieldList(10));
+    lenient().when(table.getRowType()).thenReturn(relDataType);
+    when(osIndex.getIndexStatistics())
+        .thenReturn(
+            Optional.of(
+                new IndexStatistics(
+                    1000, Map.of("A", new FieldStatistics(100, null, null)))));
+
+    CalciteLogicalIndexScan scan = new CalciteLogicalIndexScan(cluster, table, osIndex);
+
+    RexNode condition =
+        builder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            builder.makeInputRef(scan, 0),
+            builder.makeLiteral("Hello"));
+    FilterDigest filterDigest = new FilterDigest(0, condition, List.of("A"));
+    scan.getPushDownContext()
+        .add(
+            new PushDownOperation(
+                PushDownType.FILTER, filterDigest, (OSRequestBuilderAction) req -> {}));
+    assertEquals(90, Objects.requireNonNull(scan.computeSelfCost(planner, mq)).getRows());
+  }
+
+  @Test
+  void test_cost_on_non_pushdown_with_statistics() {
+    RelDataType relDataType = mock(RelDataType.class);
+    lenient().when(relDataType.getFieldList()).thenReturn(new MockFieldList(10));
+    lenient().when(table.getRowType()).thenReturn(relDataType);
+    when(osIndex.getIndexStatistics()).thenReturn(Optional.of(new IndexStatistics(1000, Map.of())));
+
+    CalciteLogicalIndexScan scan = new CalciteLogicalIndexScan(cluster, table, osIndex);
+
+    // The doc count replaces the max result window as the scanned row count
+    assertEquals(1000, scan.estimateRowCount(mq));
+    assertEquals(9000, Objects.requireNonNull(scan.computeSelfCost(planner, mq)).getRows());
+  }
+
+  @Test
+  void test_cost_on_range_filter_pushdown_with_statistics() {
+    RelDataType relDataType = mock(RelDataType.class);
+    lenient().when(relDataType.getFieldList()).thenReturn(new MockFieldList(10));
+    lenient().when(table.getRowType()).thenReturn(relDataType);
+    when(osIndex.getIndexStatistics())
+        .thenReturn(
+            Optional.of(
+                new IndexStatistics(
+                    1000, Map.of("B", new FieldStatistics(50, 0.0, 100.0)))));
+
+    CalciteLogicalIndexScan scan = new CalciteLogicalIndexScan(cluster, table, osIndex);
+
+    // B > 30 is estimated from the range of B, C = 30 is guessed since C has no statistics
+    RexNode condition =
+        builder.makeCall(
+            SqlStdOperatorTable.AND,
+            builder.makeCall(
+                SqlStdOperatorTable.GREATER_THAN,
+                builder.makeInputRef(scan, 1),
+                builder.makeExactLiteral(BigDecimal.valueOf(30))),
+            builder.makeCall(
+                SqlStdOperatorTable.EQUALS,
+                builder.makeInputRef(scan, 2),
+                builder.makeExactLiteral(BigDecimal.valueOf(30))));
+    FilterDigest filterDigest = new FilterDigest(0, condition, List.of("A", "B", "C"));
+    scan.getPushDownContext()
+        .add(
+            new PushDownOperation(
+                PushDownType.FILTER, filterDigest, (OSRequestBuilderAction) req -> {}));
+    assertEquals(1000 * 0.7 * 0.15, scan.estimateRowCount(mq), 1e-6);
+    assertEquals(
+        1000 * 0.7 * 0.15 * 10 * 0.9,
+        Objects.requireNonNull(scan.computeSelfCost(planner, mq)).getRows(),
+        1e-6);
+  }
+
   @Test
   void test_cost_on_filter_script_pushdown() {
     RelDataType relDataType = mock(RelDataType.class);
@@ -0,0 +1,212 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.volcano.VolcanoPlanner;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rel.logical.LogicalAggregate;
+import org.apache.calcite.rel.logical.LogicalFilter;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.runtime.Hook;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Holder;
+import org.apache.calcite.util.ImmutableBitSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder.ScriptField;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
+import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
+import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
+
+/** Pushes the expressions of projects down to a scan of the fields name and age. */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CalciteLogicalIndexScanScriptProjectTest {
+
+  private final RexBuilder rexBuilder = new RexBuilder(OpenSearchTypeFactory.TYPE_FACTORY);
+
+  private final RelOptCluster cluster = RelOptCluster.create(new VolcanoPlanner(), rexBuilder);
+
+  private final CalciteLogicalIndexScan scan = scan();
+
+  private Hook.Closeable currentTime;
+
+  @BeforeEach
+  void setUp() {
+    currentTime = Hook.CURRENT_TIME.addThread((Consumer<Holder<Long>>) h -> h.set(0L));
+  }
+
+  @AfterEach
+  void tearDown() {
+    currentTime.close();
+  }
+
+  @Test
+  void push_down_expressions_of_index_fields_and_fetch_the_other_columns() {
+    RelNode pushed = pushDown(List.of(field(0), agePlus(1)), List.of("name", "age_plus"));
+
+    CalciteLogicalIndexScan newScan = assertInstanceOf(CalciteLogicalIndexScan.class, pushed);
+    assertEquals(List.of("name", "age_plus"), newScan.getRowType().getFieldNames());
+    SearchSourceBuilder source = sourceBuilder(newScan);
+    assertEquals(
+        List.of("age_plus"), source.scriptFields().stream().map(ScriptField::fieldName).toList());
+    assertTrue(source.fetchSource().fetchSource());
+    assertEquals(List.of("name"), List.of(source.fetchSource().includes()));
+    assertTrue(
+        RelOptUtil.toString(pushed).contains("SCRIPT_PROJECT->[age_plus=+($1, 1)]"),
+        RelOptUtil.toString(pushed));
+  }
+
+  @Test
+  void do_not_fetch_source_if_every_output_is_a_script_field() {
+    RelNode pushed = pushDown(List.of(agePlus(1)), List.of("age_plus"));
+
+    SearchSourceBuilder source = sourceBuilder((CalciteLogicalIndexScan) pushed);
+    assertEquals(1, source.scriptFields().size());
+    assertFalse(source.fetchSource().fetchSource());
+  }
+
+  @Test
+  void keep_expressions_which_scripts_cannot_compute_in_the_project() {
+    // a constant, a field as it is and an expression named like an index field
+    assertNull(
+        pushDown(
+            List.of(rexBuilder.makeExactLiteral(BigDecimal.ONE), field(0), agePlus(1)),
+            List.of("one", "name", "age")));
+  }
+
+  @Test
+  void keep_expressions_beyond_max_script_fields_in_the_project() {
+    List<RexNode> projects = new ArrayList<>();
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i <= CalciteLogicalIndexScan.DEFAULT_MAX_SCRIPT_FIELDS; i++) {
+      projects.add(agePlus(i));
+      names.add("age_plus_" + i);
+    }
+
+    Project project = assertInstanceOf(LogicalProject.class, pushDown(projects, names));
+    CalciteLogicalIndexScan newScan = (CalciteLogicalIndexScan) project.getInput();
+    assertEquals(
+        CalciteLogicalIndexScan.DEFAULT_MAX_SCRIPT_FIELDS,
+        sourceBuilder(newScan).scriptFields().size());
+    assertEquals("age", newScan.getRowType().getFieldNames().get(0));
+    assertEquals(
+        "+($0, " + CalciteLogicalIndexScan.DEFAULT_MAX_SCRIPT_FIELDS + ")",
+        project.getProjects().get(CalciteLogicalIndexScan.DEFAULT_MAX_SCRIPT_FIELDS).toString());
+  }
+
+  @Test
+  void do_not_push_down_past_script_fields() {
+    CalciteLogicalIndexScan pushed =
+        (CalciteLogicalIndexScan) pushDown(List.of(field(0), agePlus(1)), List.of("name", "a"));
+
+    assertNull(
+        pushed.pushDownFilter(
+            LogicalFilter.create(
+                pushed,
+                rexBuilder.makeCall(
+                    SqlStdOperatorTable.GREATER_THAN,
+                    rexBuilder.makeInputRef(pushed, 1),
+                    rexBuilder.makeExactLiteral(BigDecimal.ONE)))));
+    assertNull(pushed.pushDownSort(List.of(new RelFieldCollation(1))));
+    assertNull(
+        pushed.pushDownAggregate(
+            LogicalAggregate.create(pushed, List.of(), ImmutableBitSet.of(1), null, List.of()),
+            null));
+    assertNull(pushed.pushDownCollapse(null, "name"));
+    assertNull(pushed.pushDownProject(List.of(1)));
+    assertNull(
+        pushed.pushDownScriptProject(
+            LogicalProject.create(
+                pushed,
+                List.of(),
+                List.of(
+                    rexBuilder.makeCall(
+                        SqlStdOperatorTable.MULTIPLY,
+                        rexBuilder.makeInputRef(pushed, 1),
+                        rexBuilder.makeExactLiteral(BigDecimal.TEN))),
+                List.of("b"),
+                Set.of())));
+  }
+
+  private RelNode pushDown(List<RexNode> projects, List<String> names) {
+    return scan.pushDownScriptProject(
+        LogicalProject.create(scan, List.of(), projects, names, Set.of()));
+  }
+
+  private RexNode field(int index) {
+    return rexBuilder.makeInputRef(scan, index);
+  }
+
+  private RexNode agePlus(int value) {
+    return rexBuilder.makeCall(
+        SqlStdOperatorTable.PLUS, field(1), rexBuilder.makeExactLiteral(BigDecimal.valueOf(value)));
+  }
+
+  private static SearchSourceBuilder sourceBuilder(CalciteLogicalIndexScan scan) {
+    return scan.getPushDownContext().getRequestBuilder().getSourceBuilder();
+  }
+
+  private CalciteLogicalIndexScan scan() {
+    RelDataType rowType =
+        rexBuilder
+            .getTypeFactory()
+            .builder()
+            .add("name", SqlTypeName.VARCHAR)
+            .add("age", SqlTypeName.INTEGER)
+            .build();
+    RelOptTable table = mock(RelOptTable.class);
+    when(table.getRowType()).thenReturn(rowType);
+    when(table.getQualifiedName()).thenReturn(List.of("people"));
+
+    Settings settings = mock(Settings.class);
+    Map<String, ExprType> fieldTypes =
+        Map.of(
+            "name", OpenSearchDataType.of(MappingType.Keyword),
+            "age", OpenSearchDataType.of(MappingType.Integer));
+    OpenSearchIndex osIndex = mock(OpenSearchIndex.class);
+    when(osIndex.getSettings()).thenReturn(settings);
+    when(osIndex.getFieldTypes()).thenReturn(fieldTypes);
+    when(osIndex.getAliasMapping()).thenReturn(Map.of());
+    when(osIndex.createRequestBuilder())
+        .thenAnswer(
+            invocation ->
+                new OpenSearchRequestBuilder(
+                    new OpenSearchExprValueFactory(Map.of(), false), 10000, settings));
+    return new CalciteLogicalIndexScan(cluster, table, osIndex);
+  }
+}
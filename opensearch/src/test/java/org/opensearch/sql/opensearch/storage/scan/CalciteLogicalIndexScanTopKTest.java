@@ -0,0 +1,313 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptTable;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.plan.volcano.VolcanoPlanner;
+import org.apache.calcite.rel.RelCollations;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelFieldCollation.Direction;
+import org.apache.calcite.rel.RelFieldCollation.NullDirection;
+import org.apache.calcite.rel.logical.LogicalProject;
+import org.apache.calcite.rel.logical.LogicalSort;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.runtime.Hook;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Holder;
+import org.apache.lucene.search.TotalHits;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.opensearch.common.document.DocumentField;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilder;
+import org.opensearch.index.query.ScriptQueryBuilder;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
+import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
+import org.opensearch.sql.opensearch.request.TopKThreshold;
+import org.opensearch.sql.opensearch.storage.OpenSearchIndex;
+import org.opensearch.sql.opensearch.storage.serde.RelJsonSerializer;
+import org.opensearch.sql.opensearch.storage.serde.SerializationWrapper;
+
+/**
+ * Pushes the top K of a sort with a limit down to a scan of the fields name and age, which returns
+ * the script field age_plus = age + 1.
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CalciteLogicalIndexScanTopKTest {
+
+  private final RexBuilder rexBuilder = new RexBuilder(OpenSearchTypeFactory.TYPE_FACTORY);
+
+  private final RelOptCluster cluster = RelOptCluster.create(new VolcanoPlanner(), rexBuilder);
+
+  private final CalciteLogicalIndexScan scan = scan();
+
+  private Hook.Closeable currentTime;
+
+  @BeforeEach
+  void setUp() {
+    currentTime = Hook.CURRENT_TIME.addThread((Consumer<Holder<Long>>) h -> h.set(0L));
+  }
+
+  @AfterEach
+  void tearDown() {
+    currentTime.close();
+  }
+
+  @Test
+  void descending_sort_keeps_values_above_the_threshold() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.DESCENDING, NullDirection.LAST), null, 2);
+
+    SearchSourceBuilder source = applyThreshold(pushed, 5, 9, 7);
+    assertEquals(">(+($1, 1), ?0)", filter(source));
+    assertEquals(7, threshold(source));
+  }
+
+  @Test
+  void ascending_sort_keeps_values_below_the_threshold() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.ASCENDING, NullDirection.LAST), null, 2);
+
+    SearchSourceBuilder source = applyThreshold(pushed, 5, 9, 7);
+    assertEquals("<(+($1, 1), ?0)", filter(source));
+    assertEquals(7, threshold(source));
+  }
+
+  @Test
+  void values_tied_with_the_threshold_are_kept_if_there_are_more_sort_keys() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(
+            List.of(
+                new RelFieldCollation(1, Direction.DESCENDING, NullDirection.LAST),
+                new RelFieldCollation(0)),
+            null,
+            2);
+
+    assertEquals(">=(+($1, 1), ?0)", filter(applyThreshold(pushed, 5, 9)));
+  }
+
+  @Test
+  void null_values_are_kept_if_they_come_first() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.ASCENDING, NullDirection.FIRST), null, 2);
+
+    SearchSourceBuilder source = applyThreshold(pushed, null, 9, 7);
+    assertEquals("OR(<(+($1, 1), ?0), IS NULL(+($1, 1)))", filter(source));
+    assertEquals(7, threshold(source));
+  }
+
+  @Test
+  void threshold_is_the_kth_value_of_offset_and_fetch() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.DESCENDING, NullDirection.LAST), 1, 2);
+
+    assertNull(applyThreshold(pushed, 5, 9).query());
+    assertEquals(5, threshold(applyThreshold(pushed, 5, 9, 7)));
+  }
+
+  @Test
+  void explain_the_top_k() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.DESCENDING, NullDirection.LAST), 1, 2);
+
+    String explain = RelOptUtil.toString(pushed);
+    assertTrue(explain.contains("TOP_K->[3 by age_plus DESC]"), explain);
+  }
+
+  @Test
+  void do_not_push_down_the_top_k_of_a_non_numeric_script_field() {
+    CalciteLogicalIndexScan scriptScan =
+        pushDownScriptProject(
+            List.of(rexBuilder.makeCall(SqlStdOperatorTable.UPPER, field(0))),
+            List.of("upper_name"));
+
+    assertNull(scriptScan.pushDownTopK(sort(scriptScan, List.of(new RelFieldCollation(0)), null)));
+  }
+
+  @Test
+  void do_not_push_down_the_top_k_of_an_index_field_or_without_a_limit() {
+    CalciteLogicalIndexScan scriptScan = pushDownScriptProject();
+
+    assertNull(scriptScan.pushDownTopK(sort(scriptScan, List.of(new RelFieldCollation(0)), null)));
+    assertNull(
+        scriptScan.pushDownTopK(
+            LogicalSort.create(
+                scriptScan, RelCollations.of(new RelFieldCollation(1)), null, null)));
+  }
+
+  @Test
+  void push_down_the_top_k_only_once() {
+    CalciteLogicalIndexScan pushed =
+        pushDownTopK(collation(Direction.DESCENDING, NullDirection.LAST), null, 2);
+
+    assertNull(pushed.pushDownTopK(sort(pushed, collation(Direction.ASCENDING, null), null)));
+  }
+
+  private static List<RelFieldCollation> collation(Direction direction, NullDirection nulls) {
+    return List.of(
+        nulls == null
+            ? new RelFieldCollation(1, direction)
+            : new RelFieldCollation(1, direction, nulls));
+  }
+
+  /** Pushes age_plus down as a script field, then the sort of the scan with a limit of 2. */
+  private CalciteLogicalIndexScan pushDownTopK(
+      List<RelFieldCollation> collations, Integer offset, int fetch) {
+    CalciteLogicalIndexScan scriptScan = pushDownScriptProject();
+    LogicalSort sort =
+        LogicalSort.create(
+            scriptScan,
+            RelCollations.of(collations),
+            offset == null ? null : literal(offset),
+            literal(fetch));
+    CalciteLogicalIndexScan pushed = scriptScan.pushDownTopK(sort);
+    assertNotNull(pushed);
+    assertEquals(scriptScan.getRowType(), pushed.getRowType());
+    return pushed;
+  }
+
+  private LogicalSort sort(
+      CalciteLogicalIndexScan input, List<RelFieldCollation> collations, Integer offset) {
+    return LogicalSort.create(
+        input, RelCollations.of(collations), offset == null ? null : literal(offset), literal(2));
+  }
+
+  private CalciteLogicalIndexScan pushDownScriptProject() {
+    return pushDownScriptProject(
+        List.of(
+            field(0),
+            rexBuilder.makeCall(
+                SqlStdOperatorTable.PLUS, field(1), rexBuilder.makeExactLiteral(BigDecimal.ONE))),
+        List.of("name", "age_plus"));
+  }
+
+  private CalciteLogicalIndexScan pushDownScriptProject(
+      List<RexNode> projects, List<String> names) {
+    return assertInstanceOf(
+        CalciteLogicalIndexScan.class,
+        scan.pushDownScriptProject(
+            LogicalProject.create(scan, List.of(), projects, names, Set.of())));
+  }
+
+  private RexNode field(int index) {
+    return rexBuilder.makeInputRef(scan, index);
+  }
+
+  private RexNode literal(int value) {
+    return rexBuilder.makeExactLiteral(BigDecimal.valueOf(value));
+  }
+
+  /**
+   * Reads the first page and then a page of hits with the values of age_plus, and returns the
+   * source of the page after them.
+   */
+  private static SearchSourceBuilder applyThreshold(
+      CalciteLogicalIndexScan scan, Object... values) {
+    TopKThreshold threshold = scan.getPushDownContext().getRequestBuilder().getTopKThreshold();
+    assertNotNull(threshold);
+    threshold = threshold.copy();
+    SearchSourceBuilder source = new SearchSourceBuilder();
+    threshold.apply(source);
+    assertNull(source.query());
+    threshold.offer(hits(values));
+    threshold.apply(source);
+    return source;
+  }
+
+  private static SearchHits hits(Object... values) {
+    SearchHit[] hits =
+        Arrays.stream(values)
+            .map(
+                value ->
+                    new SearchHit(
+                        0,
+                        "id",
+                        Map.of(
+                            "age_plus",
+                            new DocumentField("age_plus", Collections.singletonList(value))),
+                        Map.of()))
+            .toArray(SearchHit[]::new);
+    return new SearchHits(hits, new TotalHits(values.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+  }
+
+  private static ScriptQueryBuilder filterQuery(SearchSourceBuilder source) {
+    QueryBuilder query = source.query();
+    BoolQueryBuilder bool = assertInstanceOf(BoolQueryBuilder.class, query);
+    assertTrue(bool.must().isEmpty());
+    return assertInstanceOf(ScriptQueryBuilder.class, bool.filter().getFirst());
+  }
+
+  /** The condition of the threshold filter, as the shards read it from the script. */
+  private String filter(SearchSourceBuilder source) {
+    String code =
+        SerializationWrapper.unwrapLangType(filterQuery(source).script().getIdOrCode()).script;
+    return new RelJsonSerializer(cluster).deserialize(code).get(RelJsonSerializer.EXPR).toString();
+  }
+
+  private static Object threshold(SearchSourceBuilder source) {
+    return filterQuery(source).script().getParams().get(TopKThreshold.THRESHOLD_PARAM);
+  }
+
+  private CalciteLogicalIndexScan scan() {
+    RelDataType rowType =
+        rexBuilder
+            .getTypeFactory()
+            .builder()
+            .add("name", SqlTypeName.VARCHAR)
+            .add("age", SqlTypeName.INTEGER)
+            .build();
+    RelOptTable table = mock(RelOptTable.class);
+    when(table.getRowType()).thenReturn(rowType);
+    when(table.getQualifiedName()).thenReturn(List.of("people"));
+
+    Settings settings = mock(Settings.class);
+    Map<String, ExprType> fieldTypes =
+        Map.of(
+            "name", OpenSearchDataType.of(MappingType.Keyword),
+            "age", OpenSearchDataType.of(MappingType.Integer));
+    OpenSearchIndex osIndex = mock(OpenSearchIndex.class);
+    when(osIndex.getSettings()).thenReturn(settings);
+    when(osIndex.getFieldTypes()).thenReturn(fieldTypes);
+    when(osIndex.getAliasMapping()).thenReturn(Map.of());
+    when(osIndex.createRequestBuilder())
+        .thenAnswer(
+            invocation ->
+                new OpenSearchRequestBuilder(
+                    new OpenSearchExprValueFactory(Map.of(), false), 10000, settings));
+    return new CalciteLogicalIndexScan(cluster, table, osIndex);
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.scan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.sql.data.model.ExprValueUtils;
+import org.opensearch.sql.monitor.ResourceMonitor;
+import org.opensearch.sql.opensearch.client.OpenSearchClient;
+import org.opensearch.sql.opensearch.request.OpenSearchRequest;
+import org.opensearch.sql.opensearch.response.OpenSearchResponse;
+
+@ExtendWith(MockitoExtension.class)
+class OpenSearchIndexEnumeratorTest {
+
+  @Mock private OpenSearchClient client;
+
+  @Mock private OpenSearchRequest request;
+
+  @Mock private ResourceMonitor monitor;
+
+  @Mock private OpenSearchResponse response;
+
+  @BeforeEach
+  void setUp() {
+    when(monitor.isHealthy()).thenReturn(true);
+  }
+
+  @Test
+  void first_batch_is_read_from_prefetched_response() {
+    when(response.getHitsSize()).thenReturn(1);
+    when(response.iterator())
+        .thenReturn(List.of(ExprValueUtils.tupleValue(Map.of("a", 1))).iterator());
+
+    OpenSearchIndexEnumerator enumerator =
+        new OpenSearchIndexEnumerator(
+            client,
+            List.of("a"),
+            100,
+            10,
+            request,
+            monitor,
+            CompletableFuture.completedFuture(response));
+
+    assertTrue(enumerator.moveNext());
+    assertEquals(1, enumerator.current());
+    assertFalse(enumerator.moveNext());
+    verify(client, never()).search(request);
+  }
+
+  @Test
+  void failure_of_prefetched_search_is_thrown_on_first_move() {
+    IllegalStateException failure = new IllegalStateException("search failed");
+    OpenSearchIndexEnumerator enumerator =
+        new OpenSearchIndexEnumerator(
+            client,
+            List.of("a"),
+            100,
+            10,
+            request,
+            monitor,
+            CompletableFuture.failedFuture(failure));
+
+    assertSame(failure, assertThrows(IllegalStateException.class, enumerator::moveNext));
+  }
+
+  @Test
+  void close_cleans_up_request_of_unread_prefetched_search() {
+    CompletableFuture<OpenSearchResponse> prefetched = new CompletableFuture<>();
+    OpenSearchIndexEnumerator enumerator =
+        new OpenSearchIndexEnumerator(client, List.of("a"), 100, 10, request, monitor, prefetched);
+
+    prefetched.complete(response);
+    enumerator.close();
+    verify(client).forceCleanup(request);
+    verify(client, never()).search(request);
+  }
+
+  @Test
+  void aggregation_buckets_are_fetched_until_last_page() {
+    OpenSearchResponse lastPage = mock(OpenSearchResponse.class);
+    when(response.isAggregationResponse()).thenReturn(true);
+    when(response.iterator())
+        .thenReturn(List.of(ExprValueUtils.tupleValue(Map.of("a", 1))).iterator());
+    when(lastPage.isAggregationResponse()).thenReturn(true);
+    when(lastPage.iterator())
+        .thenReturn(List.of(ExprValueUtils.tupleValue(Map.of("a", 2))).iterator());
+    when(client.search(request)).thenReturn(response, lastPage);
+    when(request.hasAnotherBatch()).thenReturn(true, false);
+
+    OpenSearchIndexEnumerator enumerator =
+        new OpenSearchIndexEnumerator(
+            client, List.of("a"), Integer.MAX_VALUE, 10, request, monitor);
+
+    assertTrue(enumerator.moveNext());
+    assertEquals(1, enumerator.current());
+    assertTrue(enumerator.moveNext());
+    assertEquals(2, enumerator.current());
+    assertFalse(enumerator.moveNext());
+    verify(client, times(2)).search(request);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.calcite.util.Pair;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory.ExprUDT;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.expression.function.PPLBuiltinOperators;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDateType;
+import org.opensearch.sql.opensearch.request.TopKThreshold;
+import org.opensearch.sql.opensearch.storage.script.CalciteScriptEngine.ScriptDataContext;
+import org.opensearch.sql.opensearch.storage.script.CalciteScriptEngine.TimestampComparisons;
+import org.opensearch.sql.opensearch.storage.script.core.DocValueReader;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class CalciteScriptEngineTest {
+
+  private final OpenSearchTypeFactory typeFactory = OpenSearchTypeFactory.TYPE_FACTORY;
+
+  private final RexBuilder rexBuilder = new RexBuilder(typeFactory);
+
+  private final RelDataType timestampType = typeFactory.createUDT(ExprUDT.EXPR_TIMESTAMP, true);
+
+  private final RelDataType rowType =
+      typeFactory
+          .builder()
+          .add("ts", timestampType)
+          .add("name", typeFactory.createSqlType(SqlTypeName.VARCHAR))
+          .build();
+
+  private final Map<String, ExprType> fieldTypes =
+      Map.of(
+          "ts",
+          OpenSearchDateType.of(ExprCoreType.TIMESTAMP),
+          "name",
+          OpenSearchDataType.of(OpenSearchDataType.MappingType.Keyword));
+
+  private final TimestampComparisons comparisons =
+      new TimestampComparisons(rexBuilder, rowType, fieldTypes);
+
+  @Test
+  void timestamp_field_compared_with_literal_compares_epoch_times() {
+    RexNode filter =
+        rexBuilder.makeCall(
+            SqlStdOperatorTable.GREATER_THAN,
+            rexBuilder.makeInputRef(timestampType, 0),
+            timestamp("2024-01-01 00:00:00.5"));
+
+    assertEquals(">($2, 0)", filter.accept(comparisons).toString());
+    assertEquals(
+        List.of(Pair.of("ts", Instant.parse("2024-01-01T00:00:00.500Z"))),
+        comparisons.getComparisons());
+    assertEquals(List.of("ts", "name", "$cmp0"), comparisons.getScriptRowType().getFieldNames());
+  }
+
+  @Test
+  void literal_compared_with_timestamp_field_keeps_the_order_of_operands() {
+    RexNode filter =
+        rexBuilder.makeCall(
+            SqlStdOperatorTable.LESS_THAN_OR_EQUAL,
+            timestamp("2024-01-01 00:00:00"),
+            rexBuilder.makeInputRef(timestampType, 0));
+
+    assertEquals("<=(0, $2)", filter.accept(comparisons).toString());
+    assertEquals(
+        List.of(Pair.of("ts", Instant.parse("2024-01-01T00:00:00Z"))),
+        comparisons.getComparisons());
+  }
+
+  @Test
+  void timestamp_given_to_a_function_is_kept() {
+    RexNode filter =
+        rexBuilder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            rexBuilder.makeCall(
+                typeFactory.createSqlType(SqlTypeName.VARCHAR),
+                PPLBuiltinOperators.DATE_FORMAT,
+                List.of(rexBuilder.makeInputRef(timestampType, 0), rexBuilder.makeLiteral("%Y"))),
+            rexBuilder.makeLiteral("2024"));
+
+    assertSame(filter, filter.accept(comparisons));
+    assertTrue(comparisons.getComparisons().isEmpty());
+  }
+
+  @Test
+  void timestamp_literal_which_does_not_parse_is_kept() {
+    RexNode filter =
+        rexBuilder.makeCall(
+            SqlStdOperatorTable.EQUALS,
+            rexBuilder.makeInputRef(timestampType, 0),
+            timestamp("yesterday"));
+
+    assertSame(filter, filter.accept(comparisons));
+    assertTrue(comparisons.getComparisons().isEmpty());
+  }
+
+  @Test
+  void dynamic_param_is_read_from_script_params() {
+    ScriptDataContext context =
+        new ScriptDataContext(
+            Map.of(), null, Map.of(TopKThreshold.THRESHOLD_PARAM, 7), new DocValueReader[0]);
+
+    assertEquals(7, context.get("?0"));
+    assertNull(context.get("?1"));
+  }
+
+  /** A timestamp literal, as the planner writes it. */
+  private RexNode timestamp(String value) {
+    return rexBuilder.makeCall(
+        timestampType, PPLBuiltinOperators.TIMESTAMP, List.of(rexBuilder.makeLiteral(value)));
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.BytesRef;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.index.fielddata.ScriptDocValues;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class DocValueReaderTest {
+
+  @Mock private SortedNumericDocValues numericValues;
+
+  @Mock private SortedSetDocValues sortedSetValues;
+
+  @Mock private ScriptDocValues<Object> scriptDocValues;
+
+  @Test
+  void long_reader_reads_first_value_once_per_document() throws IOException {
+    when(numericValues.advanceExact(0)).thenReturn(true);
+    when(numericValues.nextValue()).thenReturn(30L);
+    DocValueReader reader = new DocValueReader.LongReader(numericValues);
+
+    assertEquals(30L, reader.get(0));
+    assertEquals(30L, reader.get(0));
+    verify(numericValues, times(1)).advanceExact(0);
+  }
+
+  @Test
+  void reader_returns_null_for_document_without_value() throws IOException {
+    when(numericValues.advanceExact(1)).thenReturn(false);
+
+    assertNull(new DocValueReader.LongReader(numericValues).get(1));
+  }
+
+  @Test
+  void date_reader_reads_epoch_millis_as_timestamp() throws IOException {
+    when(numericValues.advanceExact(0)).thenReturn(true);
+    when(numericValues.nextValue()).thenReturn(1420070400001L);
+
+    assertEquals(
+        new ExprTimestampValue(Instant.ofEpochMilli(1420070400001L)).value(),
+        new DocValueReader.DateReader(numericValues, false).get(0));
+  }
+
+  @Test
+  void date_reader_reads_epoch_nanos_as_timestamp() throws IOException {
+    when(numericValues.advanceExact(0)).thenReturn(true);
+    when(numericValues.nextValue()).thenReturn(1420070400000000001L);
+
+    assertEquals(
+        new ExprTimestampValue(Instant.ofEpochSecond(1420070400L, 1L)).value(),
+        new DocValueReader.DateReader(numericValues, true).get(0));
+  }
+
+  @Test
+  void date_reader_compares_epoch_time_without_formatting() throws IOException {
+    when(numericValues.advanceExact(0)).thenReturn(true);
+    when(numericValues.nextValue()).thenReturn(1420070400000000001L);
+    DocValueReader reader = new DocValueReader.DateReader(numericValues, true);
+
+    assertEquals(1, reader.compareTimestamp(0, 1420070400L, 0));
+    assertEquals(0, reader.compareTimestamp(0, 1420070400L, 1));
+    assertEquals(-1, reader.compareTimestamp(0, 1420070401L, 0));
+    verify(numericValues, times(1)).advanceExact(0);
+  }
+
+  @Test
+  void date_reader_compares_document_without_value_as_null() throws IOException {
+    when(numericValues.advanceExact(1)).thenReturn(false);
+
+    assertNull(new DocValueReader.DateReader(numericValues, false).compareTimestamp(1, 0L, 0));
+  }
+
+  @Test
+  void keyword_reader_reads_first_term() throws IOException {
+    when(sortedSetValues.advanceExact(0)).thenReturn(true);
+    when(sortedSetValues.nextOrd()).thenReturn(0L);
+    when(sortedSetValues.lookupOrd(0L)).thenReturn(new BytesRef("text"));
+
+    assertEquals("text", new DocValueReader.KeywordReader(sortedSetValues).get(0));
+  }
+
+  @Test
+  void script_doc_value_reader_converts_date_to_timestamp() throws IOException {
+    ZonedDateTime dateTime = ZonedDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    when(scriptDocValues.isEmpty()).thenReturn(false);
+    when(scriptDocValues.get(0)).thenReturn(dateTime);
+    DocValueReader reader =
+        new DocValueReader.ScriptDocValueReader(
+            "date", Map.<String, ScriptDocValues<?>>of("date", scriptDocValues));
+
+    assertEquals(new ExprTimestampValue(dateTime.toInstant()).value(), reader.get(0));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.storage.script.field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.lucene.index.LeafReaderContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.search.lookup.LeafSearchLookup;
+import org.opensearch.search.lookup.SearchLookup;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory;
+import org.opensearch.sql.calcite.utils.OpenSearchTypeFactory.ExprUDT;
+import org.opensearch.sql.common.setting.Settings;
+import org.opensearch.sql.data.model.ExprDateValue;
+import org.opensearch.sql.data.model.ExprTimeValue;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.value.OpenSearchExprValueFactory;
+import org.opensearch.sql.opensearch.request.OpenSearchRequestBuilder;
+
+/**
+ * Computes datetime script fields, which are returned as epoch millis and read back with the type
+ * mapping pushed along with them.
+ */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+@ExtendWith(MockitoExtension.class)
+class CalciteFieldScriptTest {
+
+  @Mock private SearchLookup lookup;
+
+  @Mock private LeafSearchLookup leafLookup;
+
+  @Mock private LeafReaderContext context;
+
+  @Mock private Settings settings;
+
+  @BeforeEach
+  void setUp() {
+    when(lookup.getLeafSearchLookup(any())).thenReturn(leafLookup);
+  }
+
+  @Test
+  void date_round_trips_through_epoch_millis() {
+    assertEquals(
+        new ExprDateValue("2024-01-02"),
+        roundTrip(ExprUDT.EXPR_DATE, "2024-01-02", 1704153600000L));
+  }
+
+  @Test
+  void time_round_trips_through_millis_of_day() {
+    assertEquals(
+        new ExprTimeValue("12:34:56"), roundTrip(ExprUDT.EXPR_TIME, "12:34:56", 45296000L));
+  }
+
+  @Test
+  void timestamp_round_trips_through_epoch_millis() {
+    assertEquals(
+        new ExprTimestampValue("2024-01-02 12:34:56.789"),
+        roundTrip(ExprUDT.EXPR_TIMESTAMP, "2024-01-02 12:34:56.789", 1704198896789L));
+  }
+
+  @Test
+  void null_is_returned_as_is() {
+    RelDataType type = OpenSearchTypeFactory.TYPE_FACTORY.createUDT(ExprUDT.EXPR_DATE);
+    assertNull(script(type, null).execute());
+  }
+
+  /**
+   * Computes the value as a script field of the type, checks the epoch millis in the hit and reads
+   * them back as the response does.
+   */
+  private ExprValue roundTrip(ExprUDT udt, String value, long epochMillis) {
+    RelDataType type = OpenSearchTypeFactory.TYPE_FACTORY.createUDT(udt);
+    Object hitValue = script(type, value).execute();
+    assertEquals(epochMillis, hitValue);
+
+    OpenSearchExprValueFactory factory = new OpenSearchExprValueFactory(Map.of(), false);
+    new OpenSearchRequestBuilder(factory, 10000, settings)
+        .pushTypeMapping(
+            Map.of(
+                "field",
+                OpenSearchDataType.of(OpenSearchTypeFactory.convertRelDataTypeToExprType(type))));
+    return factory.construct("field", hitValue, false);
+  }
+
+  private CalciteFieldScript script(RelDataType type, Object value) {
+    CalciteFieldScript script =
+        new CalciteFieldScript(
+            dataContext -> new Object[] {value}, type, List.of(), lookup, context, Map.of());
+    script.setDocument(0);
+    return script;
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.opensearch.util.MergeRules;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayNameGeneration;
+import org.junit.jupiter.api.DisplayNameGenerator;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType.MappingType;
+
+/** Merges the mapping of a field in a second index into the mapping of the first index. */
+@DisplayNameGeneration(DisplayNameGenerator.ReplaceUnderscores.class)
+class LatestRuleTest {
+
+  private final LatestRule rule = new LatestRule();
+
+  @Test
+  void keep_doc_values_of_the_same_mapping_in_every_index() {
+    OpenSearchDataType keyword = OpenSearchDataType.of(MappingType.Keyword);
+    OpenSearchDataType merged = merge(keyword, keyword);
+
+    assertEquals(MappingType.Keyword, merged.getMappingType());
+    assertTrue(merged.isDocValueFetchable());
+  }
+
+  @Test
+  void keep_doc_values_of_a_new_field() {
+    Map<String, OpenSearchDataType> target = new HashMap<>();
+    rule.mergeInto("field", OpenSearchDataType.of(MappingType.Long), target);
+
+    assertTrue(target.get("field").isDocValueFetchable());
+  }
+
+  @Test
+  void do_not_fetch_doc_values_of_conflicting_mappings() {
+    OpenSearchDataType merged =
+        merge(OpenSearchDataType.of(MappingType.Keyword), OpenSearchDataType.of(MappingType.Ip));
+
+    assertEquals(MappingType.Ip, merged.getMappingType());
+    assertFalse(merged.isDocValueFetchable());
+  }
+
+  @Test
+  void do_not_fetch_doc_values_if_an_earlier_index_cannot() {
+    OpenSearchDataType normalized =
+        OpenSearchDataType.parseMapping(
+                Map.of("field", Map.of("type", "keyword", "normalizer", "lowercase")))
+            .get("field");
+
+    OpenSearchDataType merged = merge(normalized, OpenSearchDataType.of(MappingType.Keyword));
+
+    assertEquals(MappingType.Keyword, merged.getMappingType());
+    assertFalse(merged.isDocValueFetchable());
+  }
+
+  @Test
+  void select_latest_rule_for_conflicting_mappings() {
+    Map<String, OpenSearchDataType> target = new HashMap<>();
+    target.put("field", OpenSearchDataType.of(MappingType.Integer));
+
+    MergeRuleHelper.merge(target, Map.of("field", OpenSearchDataType.of(MappingType.Long)));
+
+    assertEquals(MappingType.Long, target.get("field").getMappingType());
+    assertFalse(target.get("field").isDocValueFetchable());
+  }
+
+  private OpenSearchDataType merge(OpenSearchDataType first, OpenSearchDataType second) {
+    Map<String, OpenSearchDataType> target = new HashMap<>();
+    target.put("field", first);
+    rule.mergeInto("field", second, target);
+    return target.get("field");
+  }
+}
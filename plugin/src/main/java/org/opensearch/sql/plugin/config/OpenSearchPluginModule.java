@@ -24,6 +24,7 @@ import org.opensearch.sql.opensearch.client.OpenSearchClient;
 import org.opensearch.sql.opensearch.client.OpenSearchNodeClient;
 import org.opensearch.sql.opensearch.executor.OpenSearchExecutionEngine;
 import org.opensearch.sql.opensearch.executor.OpenSearchQueryManager;
+import org.opensearch.sql.opensearch.executor.QueryResultCache;
 import org.opensearch.sql.opensearch.executor.protector.ExecutionProtector;
 import org.opensearch.sql.opensearch.executor.protector.OpenSearchExecutionProtector;
 import org.opensearch.sql.opensearch.monitor.OpenSearchMemoryHealthy;
@@ -59,8 +60,17 @@ public class OpenSearchPluginModule extends AbstractModule {
 
   @Provides
   public ExecutionEngine executionEngine(
-      OpenSearchClient client, ExecutionProtector protector, PlanSerializer planSerializer) {
-    return new OpenSearchExecutionEngine(client, protector, planSerializer);
+      OpenSearchClient client,
+      ExecutionProtector protector,
+      PlanSerializer planSerializer,
+      QueryResultCache resultCache) {
+    return new OpenSearchExecutionEngine(client, protector, planSerializer, resultCache);
+  }
+
+  @Provides
+  @Singleton
+  public QueryResultCache queryResultCache(Settings settings) {
+    return new QueryResultCache(settings);
   }
 
   @Provides
@@ -80,8 +90,8 @@ public class OpenSearchPluginModule extends AbstractModule {
 
   @Provides
   @Singleton
-  public QueryManager queryManager(NodeClient nodeClient) {
-    return new OpenSearchQueryManager(nodeClient);
+  public QueryManager queryManager(NodeClient nodeClient, Settings settings) {
+    return new OpenSearchQueryManager(nodeClient, settings);
   }
 
   @Provides
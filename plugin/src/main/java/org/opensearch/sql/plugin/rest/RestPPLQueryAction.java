@@ -18,6 +18,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchException;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.rest.BaseRestHandler;
@@ -93,7 +94,12 @@ public class RestPPLQueryAction extends BaseRestHandler {
             new ActionListener<>() {
               @Override
               public void onResponse(TransportPPLQueryResponse response) {
-                sendResponse(channel, OK, response.getResult());
+                if (response.getContentType() != null) {
+                  channel.sendResponse(
+                      new BytesRestResponse(OK, response.getContentType(), response.getContent()));
+                } else {
+                  sendResponse(channel, OK, response.getContent());
+                }
               }
 
               @Override
@@ -129,7 +135,7 @@ public class RestPPLQueryAction extends BaseRestHandler {
             });
   }
 
-  private void sendResponse(RestChannel channel, RestStatus status, String content) {
+  private void sendResponse(RestChannel channel, RestStatus status, BytesReference content) {
     channel.sendResponse(new BytesRestResponse(status, "application/json; charset=UTF-8", content));
   }
 
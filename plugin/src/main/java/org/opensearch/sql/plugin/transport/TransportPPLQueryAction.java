@@ -9,6 +9,8 @@ import static org.opensearch.rest.BaseRestHandler.MULTI_ALLOW_EXPLICIT_INDEX;
 import static org.opensearch.sql.lang.PPLLangSpec.PPL_SPEC;
 import static org.opensearch.sql.protocol.response.format.JsonResponseFormatter.Style.PRETTY;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Supplier;
@@ -19,7 +21,10 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.inject.Injector;
 import org.opensearch.common.inject.ModulesBuilder;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.common.response.ResponseListener;
 import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.common.utils.QueryContext;
@@ -34,6 +39,7 @@ import org.opensearch.sql.plugin.config.OpenSearchPluginModule;
 import org.opensearch.sql.ppl.PPLService;
 import org.opensearch.sql.ppl.domain.PPLQueryRequest;
 import org.opensearch.sql.protocol.response.QueryResult;
+import org.opensearch.sql.protocol.response.format.ArrowResponseFormatter;
 import org.opensearch.sql.protocol.response.format.CsvResponseFormatter;
 import org.opensearch.sql.protocol.response.format.Format;
 import org.opensearch.sql.protocol.response.format.JsonResponseFormatter;
@@ -148,6 +154,9 @@ public class TransportPPLQueryAction
   private ResponseListener<ExecutionEngine.QueryResponse> createListener(
       PPLQueryRequest pplRequest, ActionListener<TransportPPLQueryResponse> listener) {
     Format format = format(pplRequest);
+    if (format.equals(Format.ARROW)) {
+      return createArrowListener(listener);
+    }
     ResponseFormatter<QueryResult> formatter;
     if (format.equals(Format.CSV)) {
       formatter = new CsvResponseFormatter(pplRequest.sanitize());
@@ -162,10 +171,13 @@ public class TransportPPLQueryAction
     return new ResponseListener<ExecutionEngine.QueryResponse>() {
       @Override
       public void onResponse(ExecutionEngine.QueryResponse response) {
-        String responseContent =
-            formatter.format(
-                new QueryResult(
-                    response.getSchema(), response.getResults(), response.getCursor(), PPL_SPEC));
+        BytesReference responseContent;
+        try {
+          responseContent = formatResponse(formatter::format, response);
+        } catch (IOException e) {
+          onFailure(e);
+          return;
+        }
         listener.onResponse(new TransportPPLQueryResponse(responseContent));
       }
 
@@ -176,6 +188,57 @@ public class TransportPPLQueryAction
     };
   }
 
+  private ResponseListener<ExecutionEngine.QueryResponse> createArrowListener(
+      ActionListener<TransportPPLQueryResponse> listener) {
+    ArrowResponseFormatter formatter = new ArrowResponseFormatter();
+    return new ResponseListener<ExecutionEngine.QueryResponse>() {
+      @Override
+      public void onResponse(ExecutionEngine.QueryResponse response) {
+        BytesReference responseContent;
+        try {
+          responseContent = formatResponse(formatter::format, response);
+        } catch (IOException e) {
+          onFailure(e);
+          return;
+        }
+        listener.onResponse(
+            new TransportPPLQueryResponse(responseContent, formatter.contentType()));
+      }
+
+      @Override
+      public void onFailure(Exception e) {
+        listener.onFailure(e);
+      }
+    };
+  }
+
+  /**
+   * Format the whole response in memory. The formatted content is handed to the REST handler in the
+   * transport response, which sends it as is, so it cannot be streamed to the channel; writing it
+   * with the formatter only saves building the object model and string of the response.
+   */
+  private static BytesReference formatResponse(
+      ResponseWriter writer, ExecutionEngine.QueryResponse response) throws IOException {
+    BytesStreamOutput content = new BytesStreamOutput();
+    QueryPhaseEvent event = new QueryPhaseEvent(QueryPhaseEvent.FORMAT);
+    event.begin();
+    try {
+      writer.write(
+          new QueryResult(
+              response.getSchema(), response.getResults(), response.getCursor(), PPL_SPEC),
+          content);
+    } finally {
+      event.finish();
+    }
+    return content.bytes();
+  }
+
+  /** Writes a query result in the format of the request. */
+  @FunctionalInterface
+  private interface ResponseWriter {
+    void write(QueryResult result, OutputStream out) throws IOException;
+  }
+
   private Format format(PPLQueryRequest pplRequest) {
     String format = pplRequest.getFormat();
     Optional<Format> optionalFormat = Format.of(format);
@@ -10,25 +10,57 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.InputStreamStreamInput;
 import org.opensearch.core.common.io.stream.OutputStreamStreamOutput;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 
-@RequiredArgsConstructor
+/**
+ * Response of the PPL transport action, holding the whole formatted response. It is serialized as
+ * the JSON or text result, then the content type and the binary content if there is a content
+ * type, the layout since the Arrow format was added.
+ */
 public class TransportPPLQueryResponse extends ActionResponse {
-  @Getter private final String result;
+  /** Formatted response, kept in bytes rather than string to avoid copying large responses. */
+  @Getter private final BytesReference content;
+
+  /** Content type of the binary content, null if the content is the JSON or text result. */
+  @Getter private final String contentType;
+
+  public TransportPPLQueryResponse(String result) {
+    this(new BytesArray(result));
+  }
+
+  public TransportPPLQueryResponse(BytesReference content) {
+    this(content, null);
+  }
+
+  public TransportPPLQueryResponse(BytesReference content, String contentType) {
+    this.content = content;
+    this.contentType = contentType;
+  }
 
   public TransportPPLQueryResponse(StreamInput in) throws IOException {
     super(in);
-    result = in.readString();
+    String result = in.readString();
+    contentType = in.readOptionalString();
+    content = contentType == null ? new BytesArray(result) : in.readBytesReference();
+  }
+
+  public String getResult() {
+    return content.utf8ToString();
   }
 
   @Override
   public void writeTo(StreamOutput out) throws IOException {
-    out.writeString(result);
+    out.writeString(contentType == null ? getResult() : "");
+    out.writeOptionalString(contentType);
+    if (contentType != null) {
+      out.writeBytesReference(content);
+    }
   }
 
   public static TransportPPLQueryResponse fromActionResponse(ActionResponse actionResponse) {
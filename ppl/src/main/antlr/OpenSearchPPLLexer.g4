@@ -60,6 +60,7 @@ BUFFER_LIMIT:                       'BUFFER_LIMIT';
 LABEL:                              'LABEL';
 AGGREGATION:                        'AGGREGATION';
 MVEXPAND :                          'MVEXPAND';
+SAMPLE:                             'SAMPLE';
 
 //Native JOIN KEYWORDS
 JOIN:                               'JOIN';
@@ -107,6 +108,7 @@ KEEPEMPTY:                          'KEEPEMPTY';
 CONSECUTIVE:                        'CONSECUTIVE';
 DEDUP_SPLITVALUES:                  'DEDUP_SPLITVALUES';
 PARTITIONS:                         'PARTITIONS';
+SEED:                               'SEED';
 ALLNUM:                             'ALLNUM';
 DELIM:                              'DELIM';
 BUCKET_NULLABLE:                    'BUCKET_NULLABLE';
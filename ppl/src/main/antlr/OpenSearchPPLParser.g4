@@ -79,6 +79,7 @@ commands
    | timechartCommand
    | rexCommand
    | mvexpandCommand
+   | sampleCommand
    ;
 
 commandName
@@ -117,6 +118,7 @@ commandName
    | APPEND
    | REX
    | MVEXPAND
+   | SAMPLE
    ;
 
 searchCommand
@@ -250,6 +252,10 @@ reverseCommand
    : REVERSE
    ;
 
+sampleCommand
+   : SAMPLE ratio = decimalLiteral (SEED EQUAL seed = integerLiteral)?
+   ;
+
 timechartCommand
    : TIMECHART timechartParameter* statsFunction (BY fieldExpression)?
    ;
@@ -1449,6 +1455,7 @@ searchableKeyWord
    | CONSECUTIVE
    | DEDUP_SPLITVALUES
    | PARTITIONS
+   | SEED
    | ALLNUM
    | DELIM
    | BUCKET_NULLABLE
@@ -11,6 +11,7 @@ import static org.opensearch.sql.executor.execution.QueryPlanFactory.NO_CONSUMER
 import lombok.extern.log4j.Log4j2;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.opensearch.sql.ast.statement.Statement;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.common.response.ResponseListener;
 import org.opensearch.sql.common.setting.Settings;
 import org.opensearch.sql.common.utils.QueryContext;
@@ -90,15 +91,22 @@ public class PPLService {
       ResponseListener<QueryResponse> queryListener,
       ResponseListener<ExplainResponse> explainListener) {
     // 1.Parse query and convert parse tree (CST) to abstract syntax tree (AST)
-    ParseTree cst = parser.parse(request.getRequest());
-    Statement statement =
-        cst.accept(
-            new AstStatementBuilder(
-                new AstBuilder(request.getRequest(), settings),
-                AstStatementBuilder.StatementBuilderContext.builder()
-                    .isExplain(request.isExplainRequest())
-                    .format(request.getFormat())
-                    .build()));
+    QueryPhaseEvent parseEvent = new QueryPhaseEvent(QueryPhaseEvent.PARSE);
+    parseEvent.begin();
+    Statement statement;
+    try {
+      ParseTree cst = parser.parse(request.getRequest());
+      statement =
+          cst.accept(
+              new AstStatementBuilder(
+                  new AstBuilder(request.getRequest(), settings),
+                  AstStatementBuilder.StatementBuilderContext.builder()
+                      .isExplain(request.isExplainRequest())
+                      .format(request.getFormat())
+                      .build()));
+    } finally {
+      parseEvent.finish();
+    }
 
     log.info(
         "[{}] Incoming request {}",
@@ -98,6 +98,7 @@ import org.opensearch.sql.ast.tree.Rename;
 import org.opensearch.sql.ast.tree.Reverse;
 import org.opensearch.sql.ast.tree.Rex;
 import org.opensearch.sql.ast.tree.SPath;
+import org.opensearch.sql.ast.tree.Sample;
 import org.opensearch.sql.ast.tree.Search;
 import org.opensearch.sql.ast.tree.Sort;
 import org.opensearch.sql.ast.tree.SpanBin;
@@ -619,6 +620,19 @@ public class AstBuilder extends OpenSearchPPLParserBaseVisitor<UnresolvedPlan> {
     return new Reverse();
   }
 
+  /** Sample command. */
+  @Override
+  public UnresolvedPlan visitSampleCommand(OpenSearchPPLParser.SampleCommandContext ctx) {
+    double ratio = Double.parseDouble(ctx.ratio.getText());
+    if (ratio <= 0 || ratio >= 1) {
+      throw new SemanticCheckException(
+          "The ratio of sample command must be greater than 0 and less than 1, but got "
+              + ctx.ratio.getText());
+    }
+    Integer seed = ctx.seed == null ? null : Integer.parseInt(ctx.seed.getText());
+    return new Sample(ratio, seed);
+  }
+
   /** Timechart command. */
   @Override
   public UnresolvedPlan visitTimechartCommand(OpenSearchPPLParser.TimechartCommandContext ctx) {
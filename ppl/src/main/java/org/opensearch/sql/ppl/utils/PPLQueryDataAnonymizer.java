@@ -79,6 +79,7 @@ import org.opensearch.sql.ast.tree.Relation;
 import org.opensearch.sql.ast.tree.Rename;
 import org.opensearch.sql.ast.tree.Reverse;
 import org.opensearch.sql.ast.tree.Rex;
+import org.opensearch.sql.ast.tree.Sample;
 import org.opensearch.sql.ast.tree.Search;
 import org.opensearch.sql.ast.tree.Sort;
 import org.opensearch.sql.ast.tree.SpanBin;
@@ -461,6 +462,14 @@ public class PPLQueryDataAnonymizer extends AbstractNodeVisitor<String, String>
     return StringUtils.format("%s | reverse", child);
   }
 
+  @Override
+  public String visitSample(Sample node, String context) {
+    String child = node.getChild().get(0).accept(this, context);
+    return node.getSeed() == null
+        ? StringUtils.format("%s | sample %s", child, node.getRatio())
+        : StringUtils.format("%s | sample %s seed=%d", child, node.getRatio(), node.getSeed());
+  }
+
   @Override
   public String visitTimechart(Timechart node, String context) {
     String child = node.getChild().get(0).accept(this, context);
@@ -0,0 +1,150 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.ppl.calcite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelOptUtil;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.RelRoot;
+import org.apache.calcite.rel.core.Project;
+import org.apache.calcite.rex.RexCall;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexLiteral;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.runtime.Hook;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.test.CalciteAssert;
+import org.junit.Test;
+import org.opensearch.sql.calcite.plan.OpenSearchRules;
+import org.opensearch.sql.exception.SemanticCheckException;
+
+public class CalcitePPLSampleTest extends CalcitePPLAbstractTest {
+  public CalcitePPLSampleTest() {
+    super(CalciteAssert.SchemaSpec.SCOTT_WITH_TEMPORAL);
+  }
+
+  @Test
+  public void testSample() {
+    String ppl = "source=EMP | sample 0.5";
+    RelNode root = getRelNode(ppl);
+    String expectedLogical =
+        "" + "LogicalSample(ratio=[0.5])\n" + "  LogicalTableScan(table=[[scott, EMP]])\n";
+    verifyLogical(root, expectedLogical);
+  }
+
+  @Test
+  public void testSampleWithSeed() {
+    String ppl = "source=EMP | sample 0.5 seed=42";
+    RelNode root = getRelNode(ppl);
+    String expectedLogical =
+        ""
+            + "LogicalSample(ratio=[0.5], seed=[42])\n"
+            + "  LogicalTableScan(table=[[scott, EMP]])\n";
+    verifyLogical(root, expectedLogical);
+  }
+
+  @Test
+  public void testSampledCountAndSumAreScaledWithErrors() {
+    String ppl = "source=EMP | sample 0.5 | stats count() as c, sum(SAL) as s by DEPTNO";
+    RelNode root = getRelNode(ppl);
+    assertEquals(
+        List.of("c", "c_error", "s", "s_error", "DEPTNO"), root.getRowType().getFieldNames());
+  }
+
+  @Test
+  public void testSampledCountAndSumScalingAndErrors() {
+    String ppl = "source=EMP | sample 0.5 | stats count() as c, sum(SAL) as s by DEPTNO";
+    Project project = (Project) getRelNode(ppl);
+    List<RexNode> projects = project.getProjects();
+    double errorFactor = 1.96 * Math.sqrt(1 - 0.5) / 0.5;
+
+    // A count is scaled and rounded, its error grows with the square root of the count
+    RexCall count = (RexCall) projects.get(0);
+    assertEquals(SqlKind.CAST, count.getKind());
+    RexCall rounded = (RexCall) count.getOperands().get(0);
+    assertEquals("ROUND", rounded.getOperator().getName());
+    assertScaled(project, rounded.getOperands().get(0), "c");
+    assertError(project, projects.get(1), errorFactor, "c");
+
+    // A sum is scaled, its error grows with the square root of the sum of squares
+    RexCall sum = (RexCall) projects.get(2);
+    assertEquals(SqlKind.CAST, sum.getKind());
+    assertScaled(project, sum.getOperands().get(0), "s");
+    assertError(project, projects.get(3), errorFactor, "__sample_sum_of_squares_1__");
+  }
+
+  @Test
+  public void testSampleExecutedWhenNotPushedDown() {
+    String ppl = "source=EMP | sample 0.5 seed=11 | stats count() as c";
+    RelNode root = getRelNode(ppl);
+    AtomicReference<String> physical = new AtomicReference<>();
+    try (Hook.Closeable rules =
+            Hook.PLANNER.addThread(
+                (Consumer<RelOptPlanner>)
+                    planner -> OpenSearchRules.OPEN_SEARCH_OPT_RULES.forEach(planner::addRule));
+        Hook.Closeable plan =
+            Hook.PLAN_BEFORE_IMPLEMENTATION.addThread(
+                (Consumer<RelRoot>) relRoot -> physical.set(RelOptUtil.toString(relRoot.rel)))) {
+      // The seeded generator keeps 9 of the 14 rows, the error is 1.96 * sqrt(0.5) / 0.5 * 3
+      verifyResult(root, "c=18; c_error=" + 1.96 * Math.sqrt(0.5) / 0.5 * 3 + "\n");
+    }
+    assertTrue(physical.get(), physical.get().contains("EnumerableSample(ratio=[0.5], seed=[11])"));
+  }
+
+  @Test
+  public void testSampledAvgAndDistinctCountAreNotScaled() {
+    String ppl = "source=EMP | sample 0.5 | stats avg(SAL) as a, distinct_count(JOB) as d";
+    RelNode root = getRelNode(ppl);
+    assertEquals(List.of("a", "d"), root.getRowType().getFieldNames());
+  }
+
+  @Test
+  public void testAggregationAfterHeadOfSampleIsNotScaled() {
+    String ppl = "source=EMP | sample 0.5 | head 5 | stats count() as c";
+    RelNode root = getRelNode(ppl);
+    assertEquals(List.of("c"), root.getRowType().getFieldNames());
+  }
+
+  @Test
+  public void testSampleRatioOutOfRange() {
+    assertThrows(SemanticCheckException.class, () -> getRelNode("source=EMP | sample 1.5"));
+  }
+
+  /** Assert the expression multiplies the field by the inverse of the ratio. */
+  private static void assertScaled(Project project, RexNode scaled, String field) {
+    assertEquals(SqlKind.TIMES, scaled.getKind());
+    List<RexNode> operands = ((RexCall) scaled).getOperands();
+    assertEquals(field, inputField(project, operands.get(0)));
+    assertEquals(2.0, ((RexLiteral) operands.get(1)).getValueAs(Double.class), 0);
+  }
+
+  /** Assert the expression is the factor times the square root of the variance field. */
+  private static void assertError(
+      Project project, RexNode error, double errorFactor, String variance) {
+    assertEquals(SqlKind.TIMES, error.getKind());
+    List<RexNode> operands = ((RexCall) error).getOperands();
+    assertEquals(errorFactor, ((RexLiteral) operands.get(0)).getValueAs(Double.class), 1e-12);
+    RexCall squareRoot = (RexCall) operands.get(1);
+    assertEquals("POWER", squareRoot.getOperator().getName());
+    assertEquals(0.5, ((RexLiteral) squareRoot.getOperands().get(1)).getValueAs(Double.class), 0);
+    assertEquals(variance, inputField(project, squareRoot.getOperands().get(0)));
+  }
+
+  /** Name of the input field an expression reads, through casts. */
+  private static String inputField(Project project, RexNode node) {
+    while (node.getKind() == SqlKind.CAST) {
+      node = ((RexCall) node).getOperands().get(0);
+    }
+    return project.getInput().getRowType().getFieldNames().get(((RexInputRef) node).getIndex());
+  }
+}
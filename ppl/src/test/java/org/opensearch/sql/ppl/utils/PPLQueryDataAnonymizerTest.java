@@ -224,6 +224,13 @@ public class PPLQueryDataAnonymizerTest {
     assertEquals("source=table | reverse", anonymize("source=t | reverse"));
   }
 
+  @Test
+  public void testSampleCommand() {
+    assertEquals("source=table | sample 0.1", anonymize("source=t | sample 0.1"));
+    assertEquals(
+        "source=table | sample 0.1 seed=42", anonymize("source=t | sample 0.1 seed=42"));
+  }
+
   @Test
   public void testTimechartCommand() {
     assertEquals(
@@ -21,6 +21,7 @@ import org.opensearch.sql.prometheus.client.PrometheusClient;
 import org.opensearch.sql.prometheus.request.PrometheusQueryRequest;
 import org.opensearch.sql.prometheus.response.PrometheusResponse;
 import org.opensearch.sql.prometheus.storage.model.PrometheusResponseFieldNames;
+import org.opensearch.sql.prometheus.storage.queryrange.StepAlignedQueryRangeExecutor;
 import org.opensearch.sql.storage.TableScanOperator;
 
 /** Prometheus metric scan operator. */
@@ -30,6 +31,9 @@ public class PrometheusMetricScan extends TableScanOperator {
 
   private final PrometheusClient prometheusClient;
 
+  /** Splits and caches range queries, null to send the request as is. */
+  private final StepAlignedQueryRangeExecutor queryRangeExecutor;
+
   @EqualsAndHashCode.Include @Getter @Setter @ToString.Include
   private PrometheusQueryRequest request;
 
@@ -45,7 +49,19 @@ public class PrometheusMetricScan extends TableScanOperator {
    * @param prometheusClient prometheusClient.
    */
   public PrometheusMetricScan(PrometheusClient prometheusClient) {
+    this(prometheusClient, null);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param prometheusClient prometheusClient.
+   * @param queryRangeExecutor executor splitting and caching range queries.
+   */
+  public PrometheusMetricScan(
+      PrometheusClient prometheusClient, StepAlignedQueryRangeExecutor queryRangeExecutor) {
     this.prometheusClient = prometheusClient;
+    this.queryRangeExecutor = queryRangeExecutor;
     this.request = new PrometheusQueryRequest();
     this.prometheusResponseFieldNames = new PrometheusResponseFieldNames();
   }
@@ -59,11 +75,17 @@ public class PrometheusMetricScan extends TableScanOperator {
                 () -> {
                   try {
                     JSONObject responseObject =
-                        prometheusClient.queryRange(
-                            request.getPromQl(),
-                            request.getStartTime(),
-                            request.getEndTime(),
-                            request.getStep());
+                        queryRangeExecutor == null
+                            ? prometheusClient.queryRange(
+                                request.getPromQl(),
+                                request.getStartTime(),
+                                request.getEndTime(),
+                                request.getStep())
+                            : queryRangeExecutor.queryRange(
+                                request.getPromQl(),
+                                request.getStartTime(),
+                                request.getEndTime(),
+                                request.getStep());
                     return new PrometheusResponse(responseObject, prometheusResponseFieldNames)
                         .iterator();
                   } catch (IOException e) {
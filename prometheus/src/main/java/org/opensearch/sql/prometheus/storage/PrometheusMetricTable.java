@@ -21,6 +21,7 @@ import org.opensearch.sql.prometheus.planner.logical.PrometheusLogicalPlanOptimi
 import org.opensearch.sql.prometheus.request.PrometheusQueryRequest;
 import org.opensearch.sql.prometheus.request.system.PrometheusDescribeMetricRequest;
 import org.opensearch.sql.prometheus.storage.implementor.PrometheusDefaultImplementor;
+import org.opensearch.sql.prometheus.storage.queryrange.StepAlignedQueryRangeExecutor;
 import org.opensearch.sql.storage.Table;
 import org.opensearch.sql.storage.read.TableScanBuilder;
 
@@ -32,6 +33,9 @@ public class PrometheusMetricTable implements Table {
 
   private final PrometheusClient prometheusClient;
 
+  /** Splits and caches range queries of metric scans, null to send them as is. */
+  private final StepAlignedQueryRangeExecutor queryRangeExecutor;
+
   @Getter private final String metricName;
 
   @Getter private final PrometheusQueryRequest prometheusQueryRequest;
@@ -41,7 +45,16 @@ public class PrometheusMetricTable implements Table {
 
   /** Constructor only with metric name. */
   public PrometheusMetricTable(PrometheusClient prometheusService, @Nonnull String metricName) {
+    this(prometheusService, metricName, null);
+  }
+
+  /** Constructor with metric name and the executor shared by the storage engine. */
+  public PrometheusMetricTable(
+      PrometheusClient prometheusService,
+      @Nonnull String metricName,
+      StepAlignedQueryRangeExecutor queryRangeExecutor) {
     this.prometheusClient = prometheusService;
+    this.queryRangeExecutor = queryRangeExecutor;
     this.metricName = metricName;
     this.prometheusQueryRequest = null;
   }
@@ -50,6 +63,7 @@ public class PrometheusMetricTable implements Table {
   public PrometheusMetricTable(
       PrometheusClient prometheusService, @Nonnull PrometheusQueryRequest prometheusQueryRequest) {
     this.prometheusClient = prometheusService;
+    this.queryRangeExecutor = null;
     this.metricName = null;
     this.prometheusQueryRequest = prometheusQueryRequest;
   }
@@ -81,7 +95,7 @@ public class PrometheusMetricTable implements Table {
 
   @Override
   public PhysicalPlan implement(LogicalPlan plan) {
-    PrometheusMetricScan metricScan = new PrometheusMetricScan(prometheusClient);
+    PrometheusMetricScan metricScan = new PrometheusMetricScan(prometheusClient, queryRangeExecutor);
     return plan.accept(new PrometheusDefaultImplementor(), metricScan);
   }
 
@@ -12,24 +12,36 @@ import static org.opensearch.sql.utils.SystemIndexUtils.isSystemIndex;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import lombok.RequiredArgsConstructor;
 import org.opensearch.sql.DataSourceSchemaName;
 import org.opensearch.sql.exception.SemanticCheckException;
 import org.opensearch.sql.expression.function.FunctionResolver;
 import org.opensearch.sql.prometheus.client.PrometheusClient;
 import org.opensearch.sql.prometheus.functions.resolver.QueryExemplarsTableFunctionResolver;
 import org.opensearch.sql.prometheus.functions.resolver.QueryRangeTableFunctionResolver;
+import org.opensearch.sql.prometheus.storage.queryrange.StepAlignedQueryRangeExecutor;
 import org.opensearch.sql.prometheus.storage.system.PrometheusSystemTable;
 import org.opensearch.sql.storage.StorageEngine;
 import org.opensearch.sql.storage.Table;
 import org.opensearch.sql.utils.SystemIndexUtils;
 
 /** Prometheus storage engine implementation. */
-@RequiredArgsConstructor
 public class PrometheusStorageEngine implements StorageEngine {
 
   private final PrometheusClient prometheusClient;
 
+  /** Range query splitter and sub-range cache shared by all metric scans of the data source. */
+  private final StepAlignedQueryRangeExecutor queryRangeExecutor;
+
+  public PrometheusStorageEngine(PrometheusClient prometheusClient) {
+    this(prometheusClient, new StepAlignedQueryRangeExecutor(prometheusClient));
+  }
+
+  public PrometheusStorageEngine(
+      PrometheusClient prometheusClient, StepAlignedQueryRangeExecutor queryRangeExecutor) {
+    this.prometheusClient = prometheusClient;
+    this.queryRangeExecutor = queryRangeExecutor;
+  }
+
   @Override
   public Collection<FunctionResolver> getFunctions() {
     ArrayList<FunctionResolver> functionList = new ArrayList<>();
@@ -45,7 +57,7 @@ public class PrometheusStorageEngine implements StorageEngine {
     } else if (INFORMATION_SCHEMA_NAME.equals(dataSourceSchemaName.getSchemaName())) {
       return resolveInformationSchemaTable(dataSourceSchemaName, tableName);
     } else {
-      return new PrometheusMetricTable(prometheusClient, tableName);
+      return new PrometheusMetricTable(prometheusClient, tableName, queryRangeExecutor);
     }
   }
 
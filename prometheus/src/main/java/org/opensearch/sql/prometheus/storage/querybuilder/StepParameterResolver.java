@@ -8,7 +8,10 @@
 package org.opensearch.sql.prometheus.storage.querybuilder;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import org.apache.commons.lang3.StringUtils;
@@ -19,6 +22,18 @@ import org.opensearch.sql.expression.span.SpanExpression;
 @NoArgsConstructor
 public class StepParameterResolver {
 
+  private static final Pattern STEP_PATTERN = Pattern.compile("^(\\d{1,9})(ms|s|m|h|d|w|y)?$");
+
+  private static final Map<String, Long> UNIT_MILLIS =
+      Map.of(
+          "ms", 1L,
+          "s", 1_000L,
+          "m", 60_000L,
+          "h", 3_600_000L,
+          "d", 86_400_000L,
+          "w", 604_800_000L,
+          "y", 31_536_000_000L);
+
   /**
    * Extract step from groupByList or apply heuristic arithmetic on endTime and startTime.
    *
@@ -52,4 +67,26 @@ public class StepParameterResolver {
         .map(expression -> (SpanExpression) expression.getDelegated())
         .findFirst();
   }
+
+  /**
+   * Convert a step string produced by {@link #resolve} into seconds.
+   *
+   * @param step step string, e.g. 1m or 14s.
+   * @return step in seconds, or empty if the step is not a positive whole number of seconds.
+   */
+  public static Optional<Long> toSeconds(String step) {
+    if (step == null) {
+      return Optional.empty();
+    }
+    Matcher matcher = STEP_PATTERN.matcher(step);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    String unit = matcher.group(2) == null ? "s" : matcher.group(2);
+    long millis = Long.parseLong(matcher.group(1)) * UNIT_MILLIS.get(unit);
+    if (millis <= 0 || millis % 1000 != 0) {
+      return Optional.empty();
+    }
+    return Optional.of(millis / 1000);
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.prometheus.storage.queryrange;
+
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.RESULT_KEY;
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.VALUES_KEY;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import java.util.concurrent.TimeUnit;
+import lombok.Value;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Bounded local cache of Prometheus query_range responses for immutable, step-aligned sub-ranges.
+ * The cache is weighted by the number of samples it holds, so wide series and long sub-ranges
+ * count for more than sparse ones.
+ */
+public class QueryRangeResultCache {
+
+  /** Default maximum number of samples held by the cache. */
+  public static final long DEFAULT_MAX_SAMPLES = 200_000;
+
+  /** Default time after which a cached sub-range is dropped even if it is still being used. */
+  public static final long DEFAULT_EXPIRE_AFTER_WRITE_MINUTES = 60;
+
+  private final Cache<Key, JSONObject> cache;
+
+  public QueryRangeResultCache() {
+    this(DEFAULT_MAX_SAMPLES, DEFAULT_EXPIRE_AFTER_WRITE_MINUTES);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxSamples maximum number of samples held by the cache.
+   * @param expireAfterWriteMinutes lifetime of a cached sub-range in minutes.
+   */
+  public QueryRangeResultCache(long maxSamples, long expireAfterWriteMinutes) {
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSamples)
+            .weigher((Key key, JSONObject value) -> sampleCount(value))
+            .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+            .recordStats()
+            .build();
+  }
+
+  /**
+   * Get the cached response of a sub-range.
+   *
+   * @param key sub-range key.
+   * @return cached query_range response, or null if absent.
+   */
+  public JSONObject get(Key key) {
+    return cache.getIfPresent(key);
+  }
+
+  /**
+   * Cache the response of a sub-range. The response must not be modified afterwards.
+   *
+   * @param key sub-range key.
+   * @param response query_range response.
+   */
+  public void put(Key key, JSONObject response) {
+    cache.put(key, response);
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  private static int sampleCount(JSONObject response) {
+    JSONArray result = response.optJSONArray(RESULT_KEY);
+    int samples = 1;
+    if (result != null) {
+      for (int i = 0; i < result.length(); i++) {
+        JSONArray values = result.getJSONObject(i).optJSONArray(VALUES_KEY);
+        samples += values == null ? 0 : values.length();
+      }
+    }
+    return samples;
+  }
+
+  /** Cache key of a step-aligned sub-range. Start and end are inclusive epoch seconds. */
+  @Value
+  public static class Key {
+    String promQl;
+    long stepSeconds;
+    long start;
+    long end;
+  }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.prometheus.storage.queryrange;
+
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.MATRIX_KEY;
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.METRIC_KEY;
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.RESULT_KEY;
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.RESULT_TYPE_KEY;
+import static org.opensearch.sql.prometheus.data.constants.PrometheusFieldConstants.VALUES_KEY;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedActionException;
+import java.security.PrivilegedExceptionAction;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Value;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.opensearch.sql.prometheus.client.PrometheusClient;
+import org.opensearch.sql.prometheus.storage.querybuilder.StepParameterResolver;
+
+/**
+ * Query-frontend style executor for Prometheus range queries. The requested range is aligned to
+ * the step and split into sub-ranges on fixed, step-aligned boundaries. The sub-ranges are
+ * fetched in parallel and merged back into a single matrix response. Complete sub-ranges that
+ * ended long enough ago are immutable and served from a {@link QueryRangeResultCache}, so a
+ * sliding dashboard window only re-queries its recent tail.
+ */
+public class StepAlignedQueryRangeExecutor {
+
+  /**
+   * Lengths of a sub-range in seconds, rounded up to a multiple of the step. A range uses the
+   * shortest one splitting it into at most {@link #MAX_SPLITS} sub-ranges, so the boundaries only
+   * change when the length of the range crosses a rung of the ladder, never as a window slides.
+   */
+  static final long[] SPLIT_INTERVALS_SECONDS = {3600, 86_400, 7 * 86_400};
+
+  /** Number of sub-ranges above which a range moves to the next split interval. */
+  static final long MAX_SPLITS = 48;
+
+  /** Sub-ranges ending within this many seconds before now may still receive samples. */
+  static final long MUTABLE_WINDOW_SECONDS = 600;
+
+  private static final int MAX_PARALLELISM = 4;
+
+  private final PrometheusClient prometheusClient;
+
+  @Getter private final QueryRangeResultCache cache;
+
+  private final ExecutorService executor;
+
+  private final Clock clock;
+
+  public StepAlignedQueryRangeExecutor(PrometheusClient prometheusClient) {
+    this(prometheusClient, new QueryRangeResultCache(), newExecutor(), Clock.systemUTC());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param prometheusClient prometheus client.
+   * @param cache cache of immutable sub-ranges.
+   * @param executor executor fetching sub-ranges in parallel.
+   * @param clock clock deciding which sub-ranges are immutable.
+   */
+  public StepAlignedQueryRangeExecutor(
+      PrometheusClient prometheusClient,
+      QueryRangeResultCache cache,
+      ExecutorService executor,
+      Clock clock) {
+    this.prometheusClient = prometheusClient;
+    this.cache = cache;
+    this.executor = executor;
+    this.clock = clock;
+  }
+
+  /**
+   * Execute a query_range request. Falls back to a single request if the step is not a whole
+   * number of seconds.
+   *
+   * @param promQl PromQL.
+   * @param start start time in epoch seconds.
+   * @param end end time in epoch seconds.
+   * @param step step of the query.
+   * @return query_range response with the same shape as {@link PrometheusClient#queryRange}.
+   * @throws IOException if any sub-range request fails.
+   */
+  public JSONObject queryRange(String promQl, Long start, Long end, String step)
+      throws IOException {
+    Optional<Long> stepSeconds = StepParameterResolver.toSeconds(step);
+    if (stepSeconds.isEmpty() || start == null || end == null || end < start) {
+      return prometheusClient.queryRange(promQl, start, end, step);
+    }
+    List<SubRange> subRanges = split(start, end, stepSeconds.get());
+    long immutableBefore = clock.millis() / 1000 - MUTABLE_WINDOW_SECONDS;
+    if (subRanges.size() == 1 && !subRanges.get(0).isCacheable(immutableBefore)) {
+      return prometheusClient.queryRange(
+          promQl, subRanges.get(0).getStart(), subRanges.get(0).getEnd(), step);
+    }
+
+    List<JSONObject> responses = new ArrayList<>(subRanges.size());
+    List<Future<JSONObject>> pending = new ArrayList<>(subRanges.size());
+    for (SubRange subRange : subRanges) {
+      JSONObject cached =
+          subRange.isCacheable(immutableBefore)
+              ? cache.get(subRange.toKey(promQl, stepSeconds.get()))
+              : null;
+      responses.add(cached);
+      pending.add(cached != null ? null : executor.submit(() -> fetch(promQl, step, subRange)));
+    }
+    for (int i = 0; i < subRanges.size(); i++) {
+      if (pending.get(i) != null) {
+        JSONObject response = await(pending.get(i));
+        if (!MATRIX_KEY.equals(response.optString(RESULT_TYPE_KEY))) {
+          // Let the response parser report the unexpected result type.
+          return response;
+        }
+        if (subRanges.get(i).isCacheable(immutableBefore)) {
+          cache.put(subRanges.get(i).toKey(promQl, stepSeconds.get()), response);
+        }
+        responses.set(i, response);
+      }
+    }
+    return merge(responses);
+  }
+
+  /**
+   * Split [start, end] into sub-ranges. Both ends are aligned down to the step, and sub-range
+   * boundaries are multiples of a split interval taken from a fixed ladder, so the same boundaries
+   * are produced for every window of similar length that overlaps them.
+   */
+  static List<SubRange> split(long start, long end, long step) {
+    long alignedStart = Math.floorDiv(start, step) * step;
+    long alignedEnd = Math.floorDiv(end, step) * step;
+    long interval = splitInterval(alignedEnd - alignedStart);
+    interval = (interval + step - 1) / step * step;
+
+    List<SubRange> subRanges = new ArrayList<>();
+    long from = alignedStart;
+    while (from <= alignedEnd) {
+      long boundary = Math.floorDiv(from, interval) * interval + interval;
+      long to = Math.min(boundary - step, alignedEnd);
+      subRanges.add(new SubRange(from, to, from % interval == 0 && to == boundary - step));
+      from = boundary;
+    }
+    return subRanges;
+  }
+
+  /** The shortest interval of the ladder splitting a range of the given length into few enough. */
+  private static long splitInterval(long length) {
+    for (long interval : SPLIT_INTERVALS_SECONDS) {
+      if (length / interval < MAX_SPLITS) {
+        return interval;
+      }
+    }
+    return SPLIT_INTERVALS_SECONDS[SPLIT_INTERVALS_SECONDS.length - 1];
+  }
+
+  private JSONObject fetch(String promQl, String step, SubRange subRange) throws IOException {
+    try {
+      return AccessController.doPrivileged(
+          (PrivilegedExceptionAction<JSONObject>)
+              () ->
+                  prometheusClient.queryRange(
+                      promQl, subRange.getStart(), subRange.getEnd(), step));
+    } catch (PrivilegedActionException e) {
+      throw (IOException) e.getException();
+    }
+  }
+
+  private static JSONObject await(Future<JSONObject> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for prometheus response", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      } else if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /** Concatenate the samples of each series across sub-ranges, in sub-range order. */
+  private static JSONObject merge(List<JSONObject> responses) {
+    Map<String, JSONObject> series = new LinkedHashMap<>();
+    for (JSONObject response : responses) {
+      JSONArray result = response.getJSONArray(RESULT_KEY);
+      for (int i = 0; i < result.length(); i++) {
+        JSONObject item = result.getJSONObject(i);
+        JSONObject metric = item.getJSONObject(METRIC_KEY);
+        JSONObject merged =
+            series.computeIfAbsent(
+                new TreeMap<>(metric.toMap()).toString(),
+                key -> new JSONObject().put(METRIC_KEY, metric).put(VALUES_KEY, new JSONArray()));
+        JSONArray values = merged.getJSONArray(VALUES_KEY);
+        item.getJSONArray(VALUES_KEY).forEach(values::put);
+      }
+    }
+    return new JSONObject()
+        .put(RESULT_TYPE_KEY, MATRIX_KEY)
+        .put(RESULT_KEY, new JSONArray(series.values()));
+  }
+
+  private static ExecutorService newExecutor() {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            MAX_PARALLELISM,
+            MAX_PARALLELISM,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("prometheus-query-range-%d")
+                .setDaemon(true)
+                .build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /** Step-aligned sub-range, start and end are inclusive epoch seconds. */
+  @Value
+  static class SubRange {
+    long start;
+    long end;
+
+    /** Whether the sub-range covers a whole split interval. */
+    boolean complete;
+
+    boolean isCacheable(long immutableBefore) {
+      return complete && end < immutableBefore;
+    }
+
+    QueryRangeResultCache.Key toKey(String promQl, long stepSeconds) {
+      return new QueryRangeResultCache.Key(promQl, stepSeconds, start, end);
+    }
+  }
+}
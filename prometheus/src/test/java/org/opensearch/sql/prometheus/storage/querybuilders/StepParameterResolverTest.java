@@ -9,6 +9,7 @@ package org.opensearch.sql.prometheus.storage.querybuilders;
 
 import java.util.Collections;
 import java.util.Date;
+import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.opensearch.sql.prometheus.storage.querybuilder.StepParameterResolver;
@@ -25,4 +26,17 @@ public class StepParameterResolverTest {
         NullPointerException.class,
         () -> stepParameterResolver.resolve(new Date().getTime(), null, Collections.emptyList()));
   }
+
+  @Test
+  void testToSeconds() {
+    Assertions.assertEquals(Optional.of(60L), StepParameterResolver.toSeconds("1m"));
+    Assertions.assertEquals(Optional.of(14L), StepParameterResolver.toSeconds("14s"));
+    Assertions.assertEquals(Optional.of(14L), StepParameterResolver.toSeconds("14"));
+    Assertions.assertEquals(Optional.of(7200L), StepParameterResolver.toSeconds("2h"));
+    Assertions.assertEquals(Optional.of(2L), StepParameterResolver.toSeconds("2000ms"));
+    Assertions.assertEquals(Optional.empty(), StepParameterResolver.toSeconds("500ms"));
+    Assertions.assertEquals(Optional.empty(), StepParameterResolver.toSeconds("1M"));
+    Assertions.assertEquals(Optional.empty(), StepParameterResolver.toSeconds("0s"));
+    Assertions.assertEquals(Optional.empty(), StepParameterResolver.toSeconds(null));
+  }
 }
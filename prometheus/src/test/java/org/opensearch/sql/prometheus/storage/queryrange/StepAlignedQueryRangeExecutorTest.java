@@ -0,0 +1,183 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.prometheus.storage.queryrange;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import lombok.SneakyThrows;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.opensearch.sql.prometheus.client.PrometheusClient;
+import org.opensearch.sql.prometheus.storage.queryrange.StepAlignedQueryRangeExecutor.SubRange;
+
+@ExtendWith(MockitoExtension.class)
+class StepAlignedQueryRangeExecutorTest {
+
+  private static final long NOW = 1_700_006_400L;
+
+  private static final String QUERY = "avg by(job) (up)";
+
+  @Mock private PrometheusClient prometheusClient;
+
+  private StepAlignedQueryRangeExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    executor =
+        new StepAlignedQueryRangeExecutor(
+            prometheusClient,
+            new QueryRangeResultCache(),
+            MoreExecutors.newDirectExecutorService(),
+            Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+  }
+
+  @Test
+  void splitAlignsToStepAndIntervalBoundaries() {
+    List<SubRange> subRanges = StepAlignedQueryRangeExecutor.split(3_590, 10_830, 60);
+
+    assertEquals(
+        List.of(
+            new SubRange(3_540, 3_540, false),
+            new SubRange(3_600, 7_140, true),
+            new SubRange(7_200, 10_740, true),
+            new SubRange(10_800, 10_800, false)),
+        subRanges);
+  }
+
+  @Test
+  void splitUsesLongerIntervalsForLongRanges() {
+    List<SubRange> subRanges = StepAlignedQueryRangeExecutor.split(0, 30 * 86_400, 60);
+
+    assertTrue(subRanges.size() <= StepAlignedQueryRangeExecutor.MAX_SPLITS + 1);
+    assertEquals(0, subRanges.get(0).getStart());
+    assertEquals(30 * 86_400, subRanges.get(subRanges.size() - 1).getEnd());
+  }
+
+  @Test
+  void splitBoundariesDoNotDependOnWindowPosition() {
+    long day = 86_400;
+    List<SubRange> first = StepAlignedQueryRangeExecutor.split(600, 30 * day + 600, 60);
+    List<SubRange> slid = StepAlignedQueryRangeExecutor.split(4_200, 30 * day + 4_200, 60);
+
+    // Whole days on the ladder, whatever the exact length of the window.
+    assertEquals(new SubRange(day, 2 * day - 60, true), first.get(1));
+    assertEquals(first.subList(1, first.size() - 1), slid.subList(1, slid.size() - 1));
+    assertEquals(
+        new SubRange(day, 2 * day - 60, true),
+        StepAlignedQueryRangeExecutor.split(0, 40 * day + 3_600, 60).get(1));
+  }
+
+  @Test
+  @SneakyThrows
+  void mergeSeriesAcrossSubRanges() {
+    when(prometheusClient.queryRange(eq(QUERY), anyLong(), anyLong(), eq("1m")))
+        .thenAnswer(
+            invocation ->
+                response(
+                    List.of("prometheus", "node"),
+                    invocation.getArgument(1),
+                    invocation.getArgument(2)));
+
+    JSONObject response = executor.queryRange(QUERY, NOW - 3 * 3600, NOW, "1m");
+
+    assertEquals("matrix", response.getString("resultType"));
+    JSONArray result = response.getJSONArray("result");
+    assertEquals(2, result.length());
+    assertEquals("prometheus", result.getJSONObject(0).getJSONObject("metric").getString("job"));
+    JSONArray values = result.getJSONObject(0).getJSONArray("values");
+    assertEquals(181, values.length());
+    for (int i = 1; i < values.length(); i++) {
+      assertEquals(
+          values.getJSONArray(i - 1).getLong(0) + 60, values.getJSONArray(i).getLong(0));
+    }
+  }
+
+  @Test
+  @SneakyThrows
+  void onlyRecentTailIsRequeriedForSlidingWindow() {
+    when(prometheusClient.queryRange(eq(QUERY), anyLong(), anyLong(), eq("1m")))
+        .thenAnswer(
+            invocation ->
+                response(
+                    List.of("prometheus"), invocation.getArgument(1), invocation.getArgument(2)));
+
+    executor.queryRange(QUERY, NOW - 6 * 3600 + 30, NOW, "1m");
+    verify(prometheusClient, times(7)).queryRange(eq(QUERY), anyLong(), anyLong(), eq("1m"));
+
+    executor.queryRange(QUERY, NOW - 6 * 3600 + 90, NOW + 60, "1m");
+    // Partial head and recent hours only, the complete past hours come from the cache.
+    verify(prometheusClient, times(10)).queryRange(eq(QUERY), anyLong(), anyLong(), eq("1m"));
+    verify(prometheusClient).queryRange(QUERY, NOW - 6 * 3600 + 60, NOW - 5 * 3600 - 60, "1m");
+    verify(prometheusClient, times(2)).queryRange(QUERY, NOW - 3600, NOW - 60, "1m");
+    verify(prometheusClient).queryRange(QUERY, NOW, NOW + 60, "1m");
+    assertEquals(4, executor.getCache().stats().hitCount());
+  }
+
+  @Test
+  @SneakyThrows
+  void shortRangeIsSentAsSingleRequest() {
+    JSONObject expected = response(List.of("prometheus"), NOW - 1200, NOW - 60);
+    when(prometheusClient.queryRange(QUERY, NOW - 1200, NOW - 60, "1m")).thenReturn(expected);
+
+    assertSame(expected, executor.queryRange(QUERY, NOW - 1200, NOW - 60, "1m"));
+    verifyNoMoreInteractions(prometheusClient);
+  }
+
+  @Test
+  @SneakyThrows
+  void unsupportedStepFallsBackToClient() {
+    JSONObject expected = response(List.of("prometheus"), NOW - 86_400, NOW);
+    when(prometheusClient.queryRange(QUERY, NOW - 86_400, NOW, "1M")).thenReturn(expected);
+
+    assertSame(expected, executor.queryRange(QUERY, NOW - 86_400, NOW, "1M"));
+    assertEquals(0, executor.getCache().stats().requestCount());
+  }
+
+  @Test
+  @SneakyThrows
+  void nonMatrixResponseIsReturnedAsIs() {
+    JSONObject vector = new JSONObject().put("resultType", "vector").put("result", new JSONArray());
+    when(prometheusClient.queryRange(any(), any(), any(), any())).thenReturn(vector);
+
+    JSONObject response = executor.queryRange(QUERY, NOW - 3 * 3600, NOW, "1m");
+
+    assertSame(vector, response);
+  }
+
+  private static JSONObject response(List<String> jobs, long start, long end) {
+    JSONArray result = new JSONArray();
+    for (String job : jobs) {
+      JSONArray values = new JSONArray();
+      for (long t = start; t <= end; t += 60) {
+        values.put(new JSONArray().put(t).put("1"));
+      }
+      result.put(
+          new JSONObject()
+              .put("metric", new JSONObject().put("job", job))
+              .put("values", values));
+    }
+    return new JSONObject().put("resultType", "matrix").put("result", result);
+  }
+}
@@ -27,7 +27,7 @@ public class QueryResult implements Iterable<Object[]> {
   @Getter private final ExecutionEngine.Schema schema;
 
   /** Results which are collection of expression. */
-  private final Collection<ExprValue> exprValues;
+  @Getter private final Collection<ExprValue> exprValues;
 
   @Getter private final Cursor cursor;
 
@@ -0,0 +1,76 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.executor.pagination.Cursor;
+import org.opensearch.sql.protocol.response.QueryResult;
+
+/**
+ * Response formatter to format response to an Apache Arrow IPC stream, for clients loading results
+ * into dataframes. Columns are encoded by type, keyword columns are dictionary encoded, and rows
+ * are written in record batches. The cursor of a paginated response is in the schema metadata.
+ *
+ * <p>The response is binary, so unlike the other formatters it is not formatted into a string. It
+ * is an alternate serialization of the same fully collected result as the other formats, not a
+ * streamed response: the rows are all in the {@link QueryResult} before the first batch is
+ * encoded, and the endpoints write the stream into an in-memory buffer sent as one response.
+ */
+@RequiredArgsConstructor
+public class ArrowResponseFormatter {
+
+  public static final String CONTENT_TYPE = "application/vnd.apache.arrow.stream";
+
+  /** Key of the cursor in the schema metadata. */
+  public static final String CURSOR_METADATA_KEY = "cursor";
+
+  private static final int DEFAULT_BATCH_SIZE = 8192;
+
+  /** Maximum number of rows in a record batch. */
+  private final int batchSize;
+
+  public ArrowResponseFormatter() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  /**
+   * Write response as an Arrow IPC stream, a record batch at a time. Only the column buffers of
+   * one batch are held on top of the rows of the response.
+   *
+   * @param response response
+   * @param out stream to write to
+   */
+  public void format(QueryResult response, OutputStream out) throws IOException {
+    ArrowStreamWriter writer =
+        new ArrowStreamWriter(response.getSchema().getColumns(), out, batchSize);
+    writer.writeSchema(
+        response.getCursor().equals(Cursor.None)
+            ? Map.of()
+            : Map.of(CURSOR_METADATA_KEY, response.getCursor().toString()));
+    for (ExprValue row : response.getExprValues()) {
+      writer.write(row);
+    }
+    writer.finish();
+  }
+
+  /**
+   * Format an exception into string. Errors are returned as JSON, like with the other formats.
+   *
+   * @param t exception occurred
+   * @return string with exception content formatted
+   */
+  public String format(Throwable t) {
+    return ErrorFormatter.compactFormat(t);
+  }
+
+  public String contentType() {
+    return CONTENT_TYPE;
+  }
+}
@@ -0,0 +1,623 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import static org.opensearch.sql.data.type.ExprCoreType.ARRAY;
+import static org.opensearch.sql.data.type.ExprCoreType.STRUCT;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.data.type.ExprCoreType;
+import org.opensearch.sql.data.type.ExprType;
+import org.opensearch.sql.executor.ExecutionEngine.Schema.Column;
+import org.opensearch.sql.opensearch.data.type.OpenSearchDataType;
+
+/**
+ * Writer of query results in the Arrow IPC streaming format: a schema message, then record
+ * batches of at most batch size rows, each preceded by the new entries of the dictionaries of its
+ * dictionary encoded columns, and the end of stream marker. Values are copied from the {@link
+ * ExprValue}s into column buffers, without boxing them or converting them to strings.
+ */
+class ArrowStreamWriter {
+
+  private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+
+  private static final short METADATA_VERSION_V5 = 4;
+
+  // Message header types
+  private static final byte HEADER_SCHEMA = 1;
+  private static final byte HEADER_DICTIONARY_BATCH = 2;
+  private static final byte HEADER_RECORD_BATCH = 3;
+
+  // Field types
+  private static final byte TYPE_INT = 2;
+  private static final byte TYPE_FLOATING_POINT = 3;
+  private static final byte TYPE_UTF8 = 5;
+  private static final byte TYPE_BOOL = 6;
+  private static final byte TYPE_DATE = 8;
+  private static final byte TYPE_TIME = 9;
+  private static final byte TYPE_TIMESTAMP = 10;
+
+  private static final short PRECISION_SINGLE = 1;
+  private static final short PRECISION_DOUBLE = 2;
+  private static final short DATE_UNIT_DAY = 0;
+  private static final short TIME_UNIT_MICROSECOND = 2;
+
+  private final OutputStream out;
+
+  private final int batchSize;
+
+  private final List<ColumnVector> vectors = new ArrayList<>();
+
+  private int rowCount;
+
+  private boolean started;
+
+  ArrowStreamWriter(List<Column> columns, OutputStream out, int batchSize) {
+    this.out = out;
+    this.batchSize = batchSize;
+    for (Column column : columns) {
+      String name = column.getAlias() != null ? column.getAlias() : column.getName();
+      vectors.add(vector(name, column.getExprType(), vectors.size()));
+    }
+  }
+
+  /** Write the schema message, with the given metadata, e.g. the cursor of the next page. */
+  void writeSchema(Map<String, String> metadata) throws IOException {
+    FlatBufferBuilder fb = new FlatBufferBuilder();
+    int[] fields = new int[vectors.size()];
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = vectors.get(i).field(fb);
+    }
+    int fieldVector = fb.createVector(fields);
+    int[] keyValues = new int[metadata.size()];
+    int i = 0;
+    for (Map.Entry<String, String> entry : metadata.entrySet()) {
+      int key = fb.createString(entry.getKey());
+      int value = fb.createString(entry.getValue());
+      fb.startTable(2);
+      fb.addOffset(0, key);
+      fb.addOffset(1, value);
+      keyValues[i++] = fb.endTable();
+    }
+    int metadataVector = fb.createVector(keyValues);
+    fb.startTable(4);
+    fb.addOffset(1, fieldVector);
+    fb.addOffset(2, metadataVector);
+    writeMessage(fb, HEADER_SCHEMA, fb.endTable(), List.of());
+  }
+
+  /** Add a row, writing the current batch once it is full. */
+  void write(ExprValue row) throws IOException {
+    Iterator<ExprValue> values = row.tupleValue().values().iterator();
+    for (ColumnVector vector : vectors) {
+      vector.append(values.hasNext() ? values.next() : null);
+    }
+    if (++rowCount == batchSize) {
+      writeBatch();
+    }
+  }
+
+  /** Write the last batch and the end of stream marker. */
+  void finish() throws IOException {
+    if (rowCount > 0) {
+      writeBatch();
+    }
+    writeInt(CONTINUATION_MARKER);
+    writeInt(0);
+    out.flush();
+  }
+
+  private void writeBatch() throws IOException {
+    for (ColumnVector vector : vectors) {
+      if (vector instanceof DictionaryVector) {
+        DictionaryVector dictionaryVector = (DictionaryVector) vector;
+        if (!started || dictionaryVector.entries.valueCount > 0) {
+          writeDictionaryBatch(dictionaryVector, started);
+        }
+      }
+    }
+    writeRecordBatch(vectors, rowCount, HEADER_RECORD_BATCH, -1, false);
+    vectors.forEach(ColumnVector::reset);
+    rowCount = 0;
+    started = true;
+  }
+
+  private void writeDictionaryBatch(DictionaryVector vector, boolean delta) throws IOException {
+    Utf8Vector entries = vector.entries;
+    writeRecordBatch(
+        List.of(entries), entries.valueCount, HEADER_DICTIONARY_BATCH, vector.id, delta);
+    entries.reset();
+  }
+
+  private void writeRecordBatch(
+      List<ColumnVector> columns, int length, byte headerType, long dictionaryId, boolean delta)
+      throws IOException {
+    List<ArrowBuffer> body = new ArrayList<>();
+    long[] nodes = new long[2 * columns.size()];
+    for (int i = 0; i < columns.size(); i++) {
+      ColumnVector column = columns.get(i);
+      nodes[2 * i] = column.valueCount;
+      nodes[2 * i + 1] = column.nullCount;
+      body.addAll(column.buffers());
+    }
+    long[] buffers = new long[2 * body.size()];
+    long bodyOffset = 0;
+    for (int i = 0; i < body.size(); i++) {
+      buffers[2 * i] = bodyOffset;
+      buffers[2 * i + 1] = body.get(i).length;
+      bodyOffset += align(body.get(i).length);
+    }
+
+    FlatBufferBuilder fb = new FlatBufferBuilder();
+    int nodeVector = fb.createLongPairVector(nodes);
+    int bufferVector = fb.createLongPairVector(buffers);
+    fb.startTable(5);
+    fb.addLong(0, length);
+    fb.addOffset(1, nodeVector);
+    fb.addOffset(2, bufferVector);
+    int recordBatch = fb.endTable();
+    if (headerType == HEADER_DICTIONARY_BATCH) {
+      fb.startTable(3);
+      fb.addLong(0, dictionaryId);
+      fb.addOffset(1, recordBatch);
+      fb.addBoolean(2, delta);
+      recordBatch = fb.endTable();
+    }
+    writeMessage(fb, headerType, recordBatch, body);
+  }
+
+  /** Write an encapsulated message: marker, metadata length, metadata and body, 8-byte aligned. */
+  private void writeMessage(
+      FlatBufferBuilder fb, byte headerType, int header, List<ArrowBuffer> body)
+      throws IOException {
+    long bodyLength = 0;
+    for (ArrowBuffer buffer : body) {
+      bodyLength += align(buffer.length);
+    }
+    fb.startTable(5);
+    fb.addLong(3, bodyLength);
+    fb.addOffset(2, header);
+    fb.addShort(0, METADATA_VERSION_V5);
+    fb.addByte(1, headerType);
+    byte[] metadata = fb.finish(fb.endTable());
+
+    int metadataLength = (int) align(metadata.length + 2 * Integer.BYTES) - 2 * Integer.BYTES;
+    writeInt(CONTINUATION_MARKER);
+    writeInt(metadataLength);
+    out.write(metadata);
+    writePadding(metadataLength - metadata.length);
+    for (ArrowBuffer buffer : body) {
+      out.write(buffer.bytes, 0, buffer.length);
+      writePadding((int) (align(buffer.length) - buffer.length));
+    }
+  }
+
+  private void writeInt(int value) throws IOException {
+    for (int i = 0; i < Integer.BYTES; i++) {
+      out.write(value >>> (8 * i));
+    }
+  }
+
+  private void writePadding(int length) throws IOException {
+    for (int i = 0; i < length; i++) {
+      out.write(0);
+    }
+  }
+
+  private static long align(long length) {
+    return (length + 7) & ~7L;
+  }
+
+  private static ColumnVector vector(String name, ExprType type, int index) {
+    if (type instanceof OpenSearchDataType) {
+      type = ((OpenSearchDataType) type).getExprCoreType();
+    }
+    if (!(type instanceof ExprCoreType)) {
+      return new Utf8Vector(name);
+    }
+    switch ((ExprCoreType) type) {
+      case BYTE:
+        return new IntVector(name, 8, (buffer, value) -> buffer.putByte(value.byteValue()));
+      case SHORT:
+        return new IntVector(name, 16, (buffer, value) -> buffer.putShort(value.shortValue()));
+      case INTEGER:
+        return new IntVector(name, 32, (buffer, value) -> buffer.putInt(value.integerValue()));
+      case LONG:
+        return new IntVector(name, 64, (buffer, value) -> buffer.putLong(value.longValue()));
+      case FLOAT:
+        return new FixedWidthVector(
+            name,
+            TYPE_FLOATING_POINT,
+            Float.BYTES,
+            fb -> floatingPoint(fb, PRECISION_SINGLE),
+            (buffer, value) -> buffer.putInt(Float.floatToRawIntBits(value.floatValue())));
+      case DOUBLE:
+        return new FixedWidthVector(
+            name,
+            TYPE_FLOATING_POINT,
+            Double.BYTES,
+            fb -> floatingPoint(fb, PRECISION_DOUBLE),
+            (buffer, value) -> buffer.putLong(Double.doubleToRawLongBits(value.doubleValue())));
+      case DATE:
+        return new FixedWidthVector(
+            name,
+            TYPE_DATE,
+            Integer.BYTES,
+            fb -> unitTable(fb, DATE_UNIT_DAY),
+            (buffer, value) -> buffer.putInt((int) value.dateValue().toEpochDay()));
+      case TIME:
+        return new FixedWidthVector(
+            name,
+            TYPE_TIME,
+            Long.BYTES,
+            fb -> {
+              fb.startTable(2);
+              fb.addInt(1, 64);
+              fb.addShort(0, TIME_UNIT_MICROSECOND);
+              return fb.endTable();
+            },
+            (buffer, value) -> buffer.putLong(value.timeValue().toNanoOfDay() / 1000));
+      case TIMESTAMP:
+        return new FixedWidthVector(
+            name,
+            TYPE_TIMESTAMP,
+            Long.BYTES,
+            fb -> unitTable(fb, TIME_UNIT_MICROSECOND),
+            (buffer, value) ->
+                buffer.putLong(ChronoUnit.MICROS.between(Instant.EPOCH, value.timestampValue())));
+      case BOOLEAN:
+        return new BoolVector(name);
+      case STRING:
+        return new DictionaryVector(name, index);
+      default:
+        return new Utf8Vector(name);
+    }
+  }
+
+  private static int floatingPoint(FlatBufferBuilder fb, short precision) {
+    fb.startTable(1);
+    fb.addShort(0, precision);
+    return fb.endTable();
+  }
+
+  private static int unitTable(FlatBufferBuilder fb, short unit) {
+    fb.startTable(2);
+    fb.addShort(0, unit);
+    return fb.endTable();
+  }
+
+  private static int intType(FlatBufferBuilder fb, int bitWidth) {
+    fb.startTable(2);
+    fb.addInt(0, bitWidth);
+    fb.addBoolean(1, true);
+    return fb.endTable();
+  }
+
+  private static int emptyTable(FlatBufferBuilder fb) {
+    fb.startTable(0);
+    return fb.endTable();
+  }
+
+  /** Growable little endian byte buffer. */
+  static class ArrowBuffer {
+    private byte[] bytes = new byte[64];
+    private int length;
+
+    void putByte(int value) {
+      ensureCapacity(length + Byte.BYTES);
+      bytes[length++] = (byte) value;
+    }
+
+    void putShort(int value) {
+      putByte(value);
+      putByte(value >>> 8);
+    }
+
+    void putInt(int value) {
+      ensureCapacity(length + Integer.BYTES);
+      for (int i = 0; i < Integer.BYTES; i++) {
+        bytes[length++] = (byte) (value >>> (8 * i));
+      }
+    }
+
+    void putLong(long value) {
+      putInt((int) value);
+      putInt((int) (value >>> 32));
+    }
+
+    void putBytes(byte[] value) {
+      ensureCapacity(length + value.length);
+      System.arraycopy(value, 0, bytes, length, value.length);
+      length += value.length;
+    }
+
+    /** Set a bit of a bitmap, growing it to cover the given number of bits. */
+    void setBit(int index, boolean value, int bitCount) {
+      int bitmapLength = (bitCount + 7) / 8;
+      ensureCapacity(bitmapLength);
+      length = Math.max(length, bitmapLength);
+      if (value) {
+        bytes[index / 8] |= (byte) (1 << (index % 8));
+      }
+    }
+
+    void clear() {
+      Arrays.fill(bytes, 0, length, (byte) 0);
+      length = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+      if (capacity > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(capacity, 2 * bytes.length));
+      }
+    }
+  }
+
+  @FunctionalInterface
+  interface ValueWriter {
+    void write(ArrowBuffer buffer, ExprValue value);
+  }
+
+  @FunctionalInterface
+  interface TypeWriter {
+    int write(FlatBufferBuilder fb);
+  }
+
+  /** Values of a column in the current batch, with the validity bitmap of the values. */
+  abstract static class ColumnVector {
+    final String name;
+    final byte typeId;
+    final ArrowBuffer validity = new ArrowBuffer();
+    int valueCount;
+    int nullCount;
+
+    ColumnVector(String name, byte typeId) {
+      this.name = name;
+      this.typeId = typeId;
+    }
+
+    void append(ExprValue value) {
+      boolean isNull = value == null || value.isNull() || value.isMissing();
+      validity.setBit(valueCount, !isNull, valueCount + 1);
+      if (isNull) {
+        nullCount++;
+        appendNull();
+      } else {
+        appendValue(value);
+      }
+      valueCount++;
+    }
+
+    /** Write the field of the column in the schema. */
+    int field(FlatBufferBuilder fb) {
+      int nameOffset = fb.createString(name);
+      int type = type(fb);
+      int dictionary = dictionary(fb);
+      int children = fb.createVector();
+      fb.startTable(7);
+      fb.addOffset(0, nameOffset);
+      fb.addOffset(3, type);
+      if (dictionary != 0) {
+        fb.addOffset(4, dictionary);
+      }
+      fb.addOffset(5, children);
+      fb.addBoolean(1, true);
+      fb.addByte(2, typeId);
+      return fb.endTable();
+    }
+
+    int dictionary(FlatBufferBuilder fb) {
+      return 0;
+    }
+
+    /** Buffers of the batch, the validity bitmap is empty if no value is null. */
+    List<ArrowBuffer> buffers() {
+      List<ArrowBuffer> buffers = new ArrayList<>();
+      buffers.add(nullCount > 0 ? validity : new ArrowBuffer());
+      buffers.addAll(dataBuffers());
+      return buffers;
+    }
+
+    void reset() {
+      validity.clear();
+      dataBuffers().forEach(ArrowBuffer::clear);
+      valueCount = 0;
+      nullCount = 0;
+    }
+
+    abstract int type(FlatBufferBuilder fb);
+
+    abstract void appendValue(ExprValue value);
+
+    abstract void appendNull();
+
+    abstract List<ArrowBuffer> dataBuffers();
+  }
+
+  static class FixedWidthVector extends ColumnVector {
+    private final int width;
+    private final TypeWriter typeWriter;
+    private final ValueWriter valueWriter;
+    private final ArrowBuffer values = new ArrowBuffer();
+
+    FixedWidthVector(
+        String name, byte typeId, int width, TypeWriter typeWriter, ValueWriter valueWriter) {
+      super(name, typeId);
+      this.width = width;
+      this.typeWriter = typeWriter;
+      this.valueWriter = valueWriter;
+    }
+
+    @Override
+    int type(FlatBufferBuilder fb) {
+      return typeWriter.write(fb);
+    }
+
+    @Override
+    void appendValue(ExprValue value) {
+      valueWriter.write(values, value);
+    }
+
+    @Override
+    void appendNull() {
+      for (int i = 0; i < width; i++) {
+        values.putByte(0);
+      }
+    }
+
+    @Override
+    List<ArrowBuffer> dataBuffers() {
+      return List.of(values);
+    }
+  }
+
+  static class IntVector extends FixedWidthVector {
+    IntVector(String name, int bitWidth, ValueWriter valueWriter) {
+      super(name, TYPE_INT, bitWidth / 8, fb -> intType(fb, bitWidth), valueWriter);
+    }
+  }
+
+  static class BoolVector extends ColumnVector {
+    private final ArrowBuffer values = new ArrowBuffer();
+
+    BoolVector(String name) {
+      super(name, TYPE_BOOL);
+    }
+
+    @Override
+    int type(FlatBufferBuilder fb) {
+      return emptyTable(fb);
+    }
+
+    @Override
+    void appendValue(ExprValue value) {
+      values.setBit(valueCount, value.booleanValue(), valueCount + 1);
+    }
+
+    @Override
+    void appendNull() {
+      values.setBit(valueCount, false, valueCount + 1);
+    }
+
+    @Override
+    List<ArrowBuffer> dataBuffers() {
+      return List.of(values);
+    }
+  }
+
+  /** Strings, and values of other types as strings, e.g. structs and arrays as JSON. */
+  static class Utf8Vector extends ColumnVector {
+    private final ArrowBuffer offsets = new ArrowBuffer();
+    private final ArrowBuffer data = new ArrowBuffer();
+
+    Utf8Vector(String name) {
+      super(name, TYPE_UTF8);
+      offsets.putInt(0);
+    }
+
+    @Override
+    int type(FlatBufferBuilder fb) {
+      return emptyTable(fb);
+    }
+
+    @Override
+    void appendValue(ExprValue value) {
+      appendString(asString(value));
+    }
+
+    void appendString(String value) {
+      data.putBytes(value.getBytes(StandardCharsets.UTF_8));
+      offsets.putInt(data.length);
+    }
+
+    @Override
+    void appendNull() {
+      offsets.putInt(data.length);
+    }
+
+    @Override
+    List<ArrowBuffer> dataBuffers() {
+      return List.of(offsets, data);
+    }
+
+    @Override
+    void reset() {
+      super.reset();
+      offsets.putInt(0);
+    }
+
+    private static String asString(ExprValue value) {
+      if (value.type() == STRUCT || value.type() == ARRAY) {
+        return ErrorFormatter.compactJsonify(value.value());
+      }
+      return String.valueOf(value.value());
+    }
+  }
+
+  /**
+   * Dictionary encoded strings, for keyword columns which usually have few distinct values. The
+   * dictionary grows along the stream, the entries new in a batch are written before the batch.
+   */
+  static class DictionaryVector extends ColumnVector {
+    private final long id;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final ArrowBuffer indices = new ArrowBuffer();
+    private final Utf8Vector entries;
+
+    DictionaryVector(String name, long id) {
+      super(name, TYPE_UTF8);
+      this.id = id;
+      this.entries = new Utf8Vector(name);
+    }
+
+    @Override
+    int type(FlatBufferBuilder fb) {
+      return emptyTable(fb);
+    }
+
+    @Override
+    int dictionary(FlatBufferBuilder fb) {
+      int indexType = intType(fb, 32);
+      fb.startTable(4);
+      fb.addLong(0, id);
+      fb.addOffset(1, indexType);
+      return fb.endTable();
+    }
+
+    @Override
+    void appendValue(ExprValue value) {
+      String string = value.stringValue();
+      Integer index = ids.get(string);
+      if (index == null) {
+        index = ids.size();
+        ids.put(string, index);
+        entries.append(value);
+      }
+      indices.putInt(index);
+    }
+
+    @Override
+    void appendNull() {
+      indices.putInt(0);
+    }
+
+    @Override
+    List<ArrowBuffer> dataBuffers() {
+      return List.of(indices);
+    }
+  }
+}
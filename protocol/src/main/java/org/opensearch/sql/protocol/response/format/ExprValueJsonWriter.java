@@ -0,0 +1,132 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import lombok.experimental.UtilityClass;
+import org.opensearch.sql.data.model.ExprCollectionValue;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.protocol.response.QueryResult;
+import org.opensearch.sql.utils.SerializeUtils;
+
+/**
+ * Writes query results with a streaming JSON generator, one value at a time, instead of copying
+ * them into an object model serialized by reflection. The output is the same as Gson's for the
+ * values of the object model: null fields of structs are omitted while null array elements are
+ * kept.
+ */
+@UtilityClass
+class ExprValueJsonWriter {
+
+  /** Gson only serializes values of types unknown to the writer, e.g. geo points. */
+  private static final Gson GSON =
+      AccessController.doPrivileged(
+          (PrivilegedAction<Gson>) () -> SerializeUtils.getGsonBuilder().create());
+
+  /** Write the rows of the result as an array of arrays of column values. */
+  static void writeDataRows(JsonGenerator generator, QueryResult response) throws IOException {
+    generator.writeStartArray();
+    for (ExprValue row : response.getExprValues()) {
+      generator.writeStartArray();
+      for (ExprValue value : row.tupleValue().values()) {
+        writeValue(generator, value);
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndArray();
+  }
+
+  static void writeValue(JsonGenerator generator, ExprValue value) throws IOException {
+    if (value == null || value.isNull() || value.isMissing()) {
+      generator.writeNull();
+    } else if (value instanceof ExprTupleValue) {
+      generator.writeStartObject();
+      for (Map.Entry<String, ExprValue> field : value.tupleValue().entrySet()) {
+        ExprValue fieldValue = field.getValue();
+        if (fieldValue != null && !fieldValue.isNull() && !fieldValue.isMissing()) {
+          generator.writeFieldName(field.getKey());
+          writeValue(generator, fieldValue);
+        }
+      }
+      generator.writeEndObject();
+    } else if (value instanceof ExprCollectionValue) {
+      generator.writeStartArray();
+      for (ExprValue element : value.collectionValue()) {
+        writeValue(generator, element);
+      }
+      generator.writeEndArray();
+    } else {
+      writeObject(generator, value.value());
+    }
+  }
+
+  private static void writeObject(JsonGenerator generator, Object object) throws IOException {
+    if (object == null) {
+      generator.writeNull();
+    } else if (object instanceof String) {
+      generator.writeString((String) object);
+    } else if (object instanceof Boolean) {
+      generator.writeBoolean((Boolean) object);
+    } else if (object instanceof Integer
+        || object instanceof Long
+        || object instanceof Short
+        || object instanceof Byte) {
+      generator.writeNumber(((Number) object).longValue());
+    } else if (object instanceof Double) {
+      generator.writeNumber((Double) object);
+    } else if (object instanceof Float) {
+      generator.writeNumber((Float) object);
+    } else if (object instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) object);
+    } else if (object instanceof BigInteger) {
+      generator.writeNumber((BigInteger) object);
+    } else {
+      writeJsonElement(
+          generator,
+          AccessController.doPrivileged(
+              (PrivilegedAction<JsonElement>) () -> GSON.toJsonTree(object)));
+    }
+  }
+
+  private static void writeJsonElement(JsonGenerator generator, JsonElement element)
+      throws IOException {
+    if (element.isJsonNull()) {
+      generator.writeNull();
+    } else if (element.isJsonArray()) {
+      generator.writeStartArray();
+      for (JsonElement child : element.getAsJsonArray()) {
+        writeJsonElement(generator, child);
+      }
+      generator.writeEndArray();
+    } else if (element.isJsonObject()) {
+      generator.writeStartObject();
+      for (Map.Entry<String, JsonElement> field : element.getAsJsonObject().entrySet()) {
+        generator.writeFieldName(field.getKey());
+        writeJsonElement(generator, field.getValue());
+      }
+      generator.writeEndObject();
+    } else {
+      JsonPrimitive primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        generator.writeBoolean(primitive.getAsBoolean());
+      } else if (primitive.isNumber()) {
+        generator.writeNumber(primitive.getAsNumber().toString());
+      } else {
+        generator.writeString(primitive.getAsString());
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Minimal FlatBuffers builder, enough to encode the metadata of Arrow IPC messages. As in the
+ * reference implementation, the buffer is built back to front so that every object is written
+ * before the objects referencing it, and offsets returned by the builder are positions from the
+ * end of the buffer.
+ *
+ * <p>The Arrow and FlatBuffers libraries are only used by the tests, to read the streams back: the
+ * Arrow memory allocator needs java.nio opened to it, which a plugin cannot do in the JVM of the
+ * node.
+ */
+class FlatBufferBuilder {
+
+  private byte[] buf = new byte[256];
+
+  /** Position of the first written byte, everything after it is the buffer built so far. */
+  private int space = buf.length;
+
+  private int minAlign = 1;
+
+  /** Positions of the fields of the table being built, 0 for fields not set. */
+  private int[] vtable;
+
+  private int tableStart;
+
+  private int vectorLength;
+
+  int createString(String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    prep(Integer.BYTES, bytes.length + 1);
+    putByte(0);
+    space -= bytes.length;
+    System.arraycopy(bytes, 0, buf, space, bytes.length);
+    putInt(bytes.length);
+    return offset();
+  }
+
+  /** Create a vector of the given tables or strings. */
+  int createVector(int... offsets) {
+    startVector(Integer.BYTES, offsets.length, Integer.BYTES);
+    for (int i = offsets.length - 1; i >= 0; i--) {
+      addOffset(offsets[i]);
+    }
+    return endVector();
+  }
+
+  /**
+   * Create a vector of structs made of two longs, like Arrow's FieldNode and Buffer.
+   *
+   * @param values struct fields, first and second field of each struct one after the other.
+   */
+  int createLongPairVector(long[] values) {
+    int count = values.length / 2;
+    startVector(2 * Long.BYTES, count, Long.BYTES);
+    for (int i = count - 1; i >= 0; i--) {
+      prep(Long.BYTES, 2 * Long.BYTES);
+      putLong(values[2 * i + 1]);
+      putLong(values[2 * i]);
+    }
+    return endVector();
+  }
+
+  void startTable(int fieldCount) {
+    vtable = new int[fieldCount];
+    tableStart = offset();
+  }
+
+  void addBoolean(int field, boolean value) {
+    addByte(field, value ? 1 : 0);
+  }
+
+  void addByte(int field, int value) {
+    prep(Byte.BYTES, 0);
+    putByte(value);
+    vtable[field] = offset();
+  }
+
+  void addShort(int field, int value) {
+    prep(Short.BYTES, 0);
+    putShort(value);
+    vtable[field] = offset();
+  }
+
+  void addInt(int field, int value) {
+    prep(Integer.BYTES, 0);
+    putInt(value);
+    vtable[field] = offset();
+  }
+
+  void addLong(int field, long value) {
+    prep(Long.BYTES, 0);
+    putLong(value);
+    vtable[field] = offset();
+  }
+
+  void addOffset(int field, int offset) {
+    addOffset(offset);
+    vtable[field] = offset();
+  }
+
+  /** Write the vtable of the table being built, just before the table. */
+  int endTable() {
+    prep(Integer.BYTES, 0);
+    putInt(0);
+    int table = offset();
+    int lastField = vtable.length - 1;
+    while (lastField >= 0 && vtable[lastField] == 0) {
+      lastField--;
+    }
+    for (int i = lastField; i >= 0; i--) {
+      prep(Short.BYTES, 0);
+      putShort(vtable[i] == 0 ? 0 : table - vtable[i]);
+    }
+    prep(Short.BYTES, 0);
+    putShort(table - tableStart);
+    prep(Short.BYTES, 0);
+    putShort((lastField + 3) * Short.BYTES);
+    // The table starts with the signed distance back to its vtable
+    writeInt(buf.length - table, offset() - table);
+    vtable = null;
+    return table;
+  }
+
+  /** Finish the buffer with the given root table and return its bytes. */
+  byte[] finish(int root) {
+    prep(minAlign, Integer.BYTES);
+    addOffset(root);
+    return Arrays.copyOfRange(buf, space, buf.length);
+  }
+
+  private int offset() {
+    return buf.length - space;
+  }
+
+  private void startVector(int elementSize, int count, int alignment) {
+    vectorLength = count;
+    prep(Integer.BYTES, elementSize * count);
+    prep(alignment, elementSize * count);
+  }
+
+  private int endVector() {
+    putInt(vectorLength);
+    return offset();
+  }
+
+  private void addOffset(int offset) {
+    prep(Integer.BYTES, 0);
+    putInt(offset() - offset + Integer.BYTES);
+  }
+
+  /**
+   * Prepare to write an element of the given size after additional bytes, by padding so that the
+   * element is aligned once the additional bytes are written.
+   */
+  private void prep(int size, int additionalBytes) {
+    minAlign = Math.max(minAlign, size);
+    int alignSize = -(offset() + additionalBytes) & (size - 1);
+    int needed = alignSize + size + additionalBytes;
+    if (space < needed) {
+      int length = Math.max(buf.length * 2, buf.length + needed);
+      byte[] grown = new byte[length];
+      System.arraycopy(buf, 0, grown, length - buf.length, buf.length);
+      space += length - buf.length;
+      buf = grown;
+    }
+    space -= alignSize;
+  }
+
+  private void putByte(int value) {
+    buf[--space] = (byte) value;
+  }
+
+  private void putShort(int value) {
+    space -= Short.BYTES;
+    buf[space] = (byte) value;
+    buf[space + 1] = (byte) (value >>> 8);
+  }
+
+  private void putInt(int value) {
+    space -= Integer.BYTES;
+    writeInt(space, value);
+  }
+
+  private void putLong(long value) {
+    space -= Long.BYTES;
+    writeInt(space, (int) value);
+    writeInt(space + Integer.BYTES, (int) (value >>> 32));
+  }
+
+  private void writeInt(int position, int value) {
+    for (int i = 0; i < Integer.BYTES; i++) {
+      buf[position + i] = (byte) (value >>> (8 * i));
+    }
+  }
+}
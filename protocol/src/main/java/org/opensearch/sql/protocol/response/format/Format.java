@@ -18,6 +18,7 @@ public enum Format {
   CSV("csv"),
   RAW("raw"),
   VIZ("viz"),
+  ARROW("arrow"),
   // format of explain response
   SIMPLE("simple"),
   STANDARD("standard"),
@@ -37,6 +38,7 @@ public enum Format {
     builder.put(CSV.formatName, CSV);
     builder.put(RAW.formatName, RAW);
     builder.put(VIZ.formatName, VIZ);
+    builder.put(ARROW.formatName, ARROW);
     RESPONSE_FORMATS = builder.build();
 
     builder = new ImmutableMap.Builder<>();
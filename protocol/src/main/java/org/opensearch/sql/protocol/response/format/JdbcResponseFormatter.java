@@ -5,6 +5,9 @@
 
 package org.opensearch.sql.protocol.response.format;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import lombok.Builder;
 import lombok.Getter;
@@ -30,6 +33,44 @@ public class JdbcResponseFormatter extends JsonResponseFormatter<QueryResult> {
     super(style);
   }
 
+  @Override
+  public String format(QueryResult response) {
+    return formatToString(response);
+  }
+
+  /**
+   * Write response in the layout of {@link JdbcResponse}, streaming data rows to the output rather
+   * than building the response in memory first.
+   */
+  @Override
+  public void format(QueryResult response, OutputStream out) throws IOException {
+    try (JsonGenerator generator = createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("schema");
+      for (Schema.Column col : response.getSchema().getColumns()) {
+        Column column = fetchColumn(col);
+        generator.writeStartObject();
+        generator.writeStringField("name", column.getName());
+        if (column.getAlias() != null) {
+          generator.writeStringField("alias", column.getAlias());
+        }
+        generator.writeStringField("type", column.getType());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeFieldName("datarows");
+      ExprValueJsonWriter.writeDataRows(generator, response);
+      generator.writeNumberField("total", response.size());
+      generator.writeNumberField("size", response.size());
+      generator.writeNumberField("status", 200);
+      if (!response.getCursor().equals(Cursor.None)) {
+        generator.writeStringField("cursor", response.getCursor().toString());
+      }
+      generator.writeEndObject();
+    }
+  }
+
+  /** Object model of the response, which {@link #format(QueryResult)} streams in same layout. */
   @Override
   protected Object buildJsonObject(QueryResult response) {
     JdbcResponse.JdbcResponseBuilder json = JdbcResponse.builder();
@@ -11,6 +11,17 @@ import static org.opensearch.sql.protocol.response.format.ErrorFormatter.prettyF
 import static org.opensearch.sql.protocol.response.format.ErrorFormatter.prettyJsonify;
 import static org.opensearch.sql.protocol.response.format.JsonResponseFormatter.Style.PRETTY;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import com.fasterxml.jackson.core.util.Separators;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +45,10 @@ public abstract class JsonResponseFormatter<R> implements ResponseFormatter<R> {
 
   public static final String CONTENT_TYPE = "application/json; charset=UTF-8";
 
+  /** Factory of generators streaming the response, the caller owns and closes the stream. */
+  private static final JsonFactory JSON_FACTORY =
+      JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+
   @Override
   public String format(R response) {
     return jsonify(buildJsonObject(response));
@@ -57,6 +72,40 @@ public abstract class JsonResponseFormatter<R> implements ResponseFormatter<R> {
    */
   protected abstract Object buildJsonObject(R response);
 
+  /**
+   * Create a generator streaming JSON to the output stream, in the same layout as {@link
+   * #jsonify(Object)} so that streamed and jsonified responses are identical.
+   *
+   * @param out stream to write to
+   * @return JSON generator
+   */
+  protected JsonGenerator createGenerator(OutputStream out) throws IOException {
+    JsonGenerator generator = JSON_FACTORY.createGenerator(out);
+    if (style == PRETTY) {
+      DefaultIndenter indenter = new DefaultIndenter("  ", "\n");
+      generator.setPrettyPrinter(
+          new DefaultPrettyPrinter(
+                  Separators.createDefaultInstance()
+                      .withObjectFieldValueSpacing(Separators.Spacing.AFTER)
+                      .withObjectEmptySeparator("")
+                      .withArrayEmptySeparator(""))
+              .withObjectIndenter(indenter)
+              .withArrayIndenter(indenter));
+    }
+    return generator;
+  }
+
+  /** Format response into string by writing it with {@link #format(Object, OutputStream)}. */
+  protected String formatToString(R response) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      format(response, out);
+    } catch (IOException e) {
+      throw new UncheckedIOException("failed to format response in json format", e);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
   protected String jsonify(Object jsonObject) {
     return AccessController.doPrivileged(
         (PrivilegedAction<String>)
@@ -5,6 +5,10 @@
 
 package org.opensearch.sql.protocol.response.format;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 /** Response formatter to format response to different formats. */
 public interface ResponseFormatter<R> {
 
@@ -16,6 +20,17 @@ public interface ResponseFormatter<R> {
    */
   String format(R response);
 
+  /**
+   * Write response in expected format to the output stream. By default, the response is formatted
+   * into string first, formatters of large responses write it as it is formatted instead.
+   *
+   * @param response response
+   * @param out stream to write to
+   */
+  default void format(R response, OutputStream out) throws IOException {
+    out.write(format(response).getBytes(StandardCharsets.UTF_8));
+  }
+
   /**
    * Format an exception into string.
    *
@@ -5,7 +5,11 @@
 
 package org.opensearch.sql.protocol.response.format;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +42,36 @@ public class SimpleJsonResponseFormatter extends JsonResponseFormatter<QueryResu
     super(style);
   }
 
+  @Override
+  public String format(QueryResult response) {
+    return formatToString(response);
+  }
+
+  /**
+   * Write response in the layout of {@link JsonResponse}, streaming data rows to the output rather
+   * than building the response in memory first.
+   */
+  @Override
+  public void format(QueryResult response, OutputStream out) throws IOException {
+    try (JsonGenerator generator = createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("schema");
+      for (Map.Entry<String, String> column : response.columnNameTypes().entrySet()) {
+        generator.writeStartObject();
+        generator.writeStringField("name", column.getKey());
+        generator.writeStringField("type", column.getValue());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeFieldName("datarows");
+      ExprValueJsonWriter.writeDataRows(generator, response);
+      generator.writeNumberField("total", response.size());
+      generator.writeNumberField("size", response.size());
+      generator.writeEndObject();
+    }
+  }
+
+  /** Object model of the response, which {@link #format(QueryResult)} streams in same layout. */
   @Override
   public Object buildJsonObject(QueryResult response) {
     JsonResponse.JsonResponseBuilder json = JsonResponse.builder();
@@ -0,0 +1,225 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.sql.protocol.response.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_NULL;
+import static org.opensearch.sql.data.model.ExprValueUtils.tupleValue;
+import static org.opensearch.sql.data.type.ExprCoreType.DOUBLE;
+import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
+import static org.opensearch.sql.data.type.ExprCoreType.STRING;
+import static org.opensearch.sql.data.type.ExprCoreType.STRUCT;
+import static org.opensearch.sql.data.type.ExprCoreType.TIMESTAMP;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opensearch.sql.data.model.ExprTimestampValue;
+import org.opensearch.sql.data.model.ExprTupleValue;
+import org.opensearch.sql.data.model.ExprValue;
+import org.opensearch.sql.executor.ExecutionEngine;
+import org.opensearch.sql.executor.pagination.Cursor;
+import org.opensearch.sql.protocol.response.QueryResult;
+
+/** Unit test for {@link ArrowResponseFormatter}, reading the stream written with Arrow itself. */
+class ArrowResponseFormatterTest {
+
+  private final BufferAllocator allocator = new RootAllocator();
+
+  private final ExecutionEngine.Schema schema =
+      new ExecutionEngine.Schema(
+          ImmutableList.of(
+              new ExecutionEngine.Schema.Column("name", null, STRING),
+              new ExecutionEngine.Schema.Column("age", "years", INTEGER),
+              new ExecutionEngine.Schema.Column("balance", null, DOUBLE),
+              new ExecutionEngine.Schema.Column("@timestamp", null, TIMESTAMP),
+              new ExecutionEngine.Schema.Column("address", null, STRUCT)));
+
+  @AfterEach
+  void closeAllocator() {
+    allocator.close();
+  }
+
+  @Test
+  void format_response_in_record_batches() throws IOException {
+    QueryResult response =
+        new QueryResult(
+            schema,
+            Arrays.asList(
+                row("John", 20, 1.5, "2020-01-01 00:00:00", ImmutableMap.of("city", "Seattle")),
+                row("Smith", 30, 2.5, "2020-01-01 00:00:01", ImmutableMap.of("city", "Austin")),
+                row("John", 40, 3.5, "2020-01-01 00:00:02", ImmutableMap.of())));
+
+    try (ArrowStreamReader reader = reader(new ArrowResponseFormatter(2), response)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      List<Field> fields = root.getSchema().getFields();
+      assertEquals(
+          List.of("name", "years", "balance", "@timestamp", "address"),
+          fields.stream().map(Field::getName).toList());
+      assertNotNull(fields.get(0).getDictionary());
+      assertEquals(new ArrowType.Int(32, true), fields.get(1).getType());
+      assertEquals(
+          new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE), fields.get(2).getType());
+      assertEquals(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null), fields.get(3).getType());
+      assertEquals(ArrowType.Utf8.INSTANCE, fields.get(4).getType());
+      assertTrue(root.getSchema().getCustomMetadata().isEmpty());
+
+      assertTrue(reader.loadNextBatch());
+      assertEquals(2, root.getRowCount());
+      assertEquals(List.of("John", "Smith"), names(reader, root));
+      assertEquals(20, ((IntVector) root.getVector("years")).get(0));
+      assertEquals(30, ((IntVector) root.getVector("years")).get(1));
+      assertEquals(1.5, ((Float8Vector) root.getVector("balance")).get(0));
+      assertEquals(
+          1577836800000000L, ((TimeStampMicroVector) root.getVector("@timestamp")).get(0));
+      assertEquals("{\"city\":\"Seattle\"}", root.getVector("address").getObject(0).toString());
+
+      // No new name in the second batch, the indices still point into the first dictionary
+      assertTrue(reader.loadNextBatch());
+      assertEquals(1, root.getRowCount());
+      assertEquals(List.of("John"), names(reader, root));
+      assertEquals(40, ((IntVector) root.getVector("years")).get(0));
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  void format_new_keywords_as_delta_dictionaries() throws IOException {
+    QueryResult response =
+        new QueryResult(
+            schema,
+            Arrays.asList(
+                row("John", 20, 1.5, "2020-01-01 00:00:00", ImmutableMap.of()),
+                row("Smith", 30, 2.5, "2020-01-01 00:00:01", ImmutableMap.of()),
+                row("Jane", 40, 3.5, "2020-01-01 00:00:02", ImmutableMap.of()),
+                row("John", 50, 4.5, "2020-01-01 00:00:03", ImmutableMap.of())));
+
+    try (ArrowStreamReader reader = reader(new ArrowResponseFormatter(2), response)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertTrue(reader.loadNextBatch());
+      assertEquals(List.of("John", "Smith"), names(reader, root));
+      assertEquals(2, dictionary(reader, root).getVector().getValueCount());
+
+      // The delta only holds the new name, appended after the names of the first batch
+      assertTrue(reader.loadNextBatch());
+      assertEquals(List.of("Jane", "John"), names(reader, root));
+      assertEquals(3, dictionary(reader, root).getVector().getValueCount());
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  void format_null_values() throws IOException {
+    Map<String, ExprValue> nullRow = new LinkedHashMap<>();
+    schema.getColumns().forEach(column -> nullRow.put(column.getName(), LITERAL_NULL));
+    QueryResult response =
+        new QueryResult(
+            schema,
+            Arrays.asList(
+                row("John", 20, 1.5, "2020-01-01 00:00:00", ImmutableMap.of()),
+                ExprTupleValue.fromExprValueMap(nullRow)));
+
+    try (ArrowStreamReader reader = reader(new ArrowResponseFormatter(), response)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertTrue(reader.loadNextBatch());
+      assertEquals(2, root.getRowCount());
+      for (FieldVector vector : root.getFieldVectors()) {
+        assertFalse(vector.isNull(0), vector.getName());
+        assertTrue(vector.isNull(1), vector.getName());
+        assertEquals(1, vector.getNullCount(), vector.getName());
+      }
+      assertEquals(Arrays.asList("John", null), names(reader, root));
+    }
+  }
+
+  @Test
+  void format_empty_response_with_cursor() throws IOException {
+    QueryResult response = new QueryResult(schema, List.of(), new Cursor("n:cursor"));
+
+    try (ArrowStreamReader reader = reader(new ArrowResponseFormatter(), response)) {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      assertEquals(
+          Map.of(ArrowResponseFormatter.CURSOR_METADATA_KEY, "n:cursor"),
+          root.getSchema().getCustomMetadata());
+      assertEquals(5, root.getFieldVectors().size());
+      assertFalse(reader.loadNextBatch());
+    }
+  }
+
+  @Test
+  void content_type() {
+    ArrowResponseFormatter formatter = new ArrowResponseFormatter();
+    assertEquals("application/vnd.apache.arrow.stream", formatter.contentType());
+    String error = formatter.format(new IllegalArgumentException("bad"));
+    assertTrue(error.contains("IllegalArgumentException"));
+    assertFalse(error.contains("\n"));
+  }
+
+  private static ExprTupleValue row(
+      String name, int age, double balance, String timestamp, Map<String, Object> address) {
+    Map<String, Object> values = new LinkedHashMap<>();
+    values.put("name", name);
+    values.put("age", age);
+    values.put("balance", balance);
+    values.put("@timestamp", new ExprTimestampValue(timestamp));
+    values.put("address", address);
+    return (ExprTupleValue) tupleValue(values);
+  }
+
+  private ArrowStreamReader reader(ArrowResponseFormatter formatter, QueryResult response)
+      throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    formatter.format(response, out);
+    return new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator);
+  }
+
+  private static Dictionary dictionary(ArrowStreamReader reader, VectorSchemaRoot root)
+      throws IOException {
+    long id = root.getVector("name").getField().getDictionary().getId();
+    return reader.getDictionaryVectors().get(id);
+  }
+
+  /** Decode the dictionary encoded names of the current batch. */
+  private static List<String> names(ArrowStreamReader reader, VectorSchemaRoot root)
+      throws IOException {
+    List<String> names = new ArrayList<>();
+    try (ValueVector decoded =
+        DictionaryEncoder.decode(root.getVector("name"), dictionary(reader, root))) {
+      for (int i = 0; i < decoded.getValueCount(); i++) {
+        names.add(decoded.isNull(i) ? null : ((VarCharVector) decoded).getObject(i).toString());
+      }
+    }
+    return names;
+  }
+}
@@ -43,6 +43,13 @@ public class FormatTest {
     assertEquals(Format.RAW, format.get());
   }
 
+  @Test
+  void arrow() {
+    Optional<Format> format = Format.of("arrow");
+    assertTrue(format.isPresent());
+    assertEquals(Format.ARROW, format.get());
+  }
+
   @Test
   void extended() {
     Optional<Format> format = Format.ofExplain("extended");
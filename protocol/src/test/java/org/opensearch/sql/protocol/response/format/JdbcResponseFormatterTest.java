@@ -127,6 +127,36 @@ class JdbcResponseFormatterTest {
         formatter.format(response));
   }
 
+  @Test
+  void format_response_same_as_object_model() {
+    QueryResult response =
+        new QueryResult(
+            new Schema(
+                ImmutableList.of(
+                    new Column("name", "n", STRING),
+                    new Column("address", null, STRUCT),
+                    new Column("tags", null, ARRAY))),
+            Arrays.asList(
+                tupleValue(
+                    ImmutableMap.of(
+                        "name",
+                        "John\t\"Doe\"",
+                        "address",
+                        ImmutableMap.of("city", "Seattle", "geo", ImmutableMap.of()),
+                        "tags",
+                        Arrays.asList(1, 2.5, "three"))),
+                ExprTupleValue.fromExprValueMap(
+                    ImmutableMap.of(
+                        "name", LITERAL_NULL, "address", LITERAL_MISSING, "tags", LITERAL_NULL))),
+            new Cursor("test_cursor"));
+
+    for (JsonResponseFormatter.Style style : JsonResponseFormatter.Style.values()) {
+      JdbcResponseFormatter formatter = new JdbcResponseFormatter(style);
+      assertEquals(
+          formatter.jsonify(formatter.buildJsonObject(response)), formatter.format(response));
+    }
+  }
+
   @Test
   void format_response_with_missing_and_null_value() {
     QueryResult response =
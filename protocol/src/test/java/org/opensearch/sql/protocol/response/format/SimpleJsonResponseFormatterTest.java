@@ -7,6 +7,7 @@ package org.opensearch.sql.protocol.response.format;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_MISSING;
+import static org.opensearch.sql.data.model.ExprValueUtils.LITERAL_NULL;
 import static org.opensearch.sql.data.model.ExprValueUtils.stringValue;
 import static org.opensearch.sql.data.model.ExprValueUtils.tupleValue;
 import static org.opensearch.sql.data.type.ExprCoreType.INTEGER;
@@ -16,7 +17,13 @@ import static org.opensearch.sql.protocol.response.format.JsonResponseFormatter.
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.opensearch.sql.data.model.ExprTupleValue;
 import org.opensearch.sql.executor.ExecutionEngine;
@@ -160,6 +167,48 @@ class SimpleJsonResponseFormatterTest {
         formatter.format(response));
   }
 
+  @Test
+  void formatResponseSameAsObjectModel() {
+    Map<String, Object> address = new LinkedHashMap<>();
+    address.put("state", "WA");
+    address.put("zip", null);
+    address.put("location", ImmutableMap.of());
+    QueryResult response =
+        new QueryResult(
+            schema,
+            Arrays.asList(
+                tupleValue(
+                    ImmutableMap.of(
+                        "name",
+                        "Smith \"Jr\"\n<b>",
+                        "address",
+                        ImmutableList.of(address, Arrays.asList(1.5, 2L, null), List.of()))),
+                ExprTupleValue.fromExprValueMap(
+                    ImmutableMap.of("name", LITERAL_NULL, "address", LITERAL_MISSING))));
+
+    for (JsonResponseFormatter.Style style : JsonResponseFormatter.Style.values()) {
+      SimpleJsonResponseFormatter formatter = new SimpleJsonResponseFormatter(style);
+      assertEquals(
+          formatter.jsonify(formatter.buildJsonObject(response)), formatter.format(response));
+    }
+  }
+
+  @Test
+  void formatResponseToOutputStream() throws IOException {
+    QueryResult response =
+        new QueryResult(
+            schema,
+            Arrays.asList(
+                tupleValue(ImmutableMap.of("firstname", "John", "age", 20)),
+                tupleValue(ImmutableMap.of("firstname", "Smith", "age", 30))));
+    SimpleJsonResponseFormatter formatter = new SimpleJsonResponseFormatter(PRETTY);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    formatter.format(response, out);
+
+    assertEquals(formatter.format(response), out.toString(StandardCharsets.UTF_8));
+  }
+
   @Test
   void formatError() {
     SimpleJsonResponseFormatter formatter = new SimpleJsonResponseFormatter(COMPACT);
@@ -10,6 +10,7 @@ import static org.opensearch.sql.executor.execution.QueryPlanFactory.NO_CONSUMER
 import lombok.RequiredArgsConstructor;
 import org.antlr.v4.runtime.tree.ParseTree;
 import org.opensearch.sql.ast.statement.Statement;
+import org.opensearch.sql.common.jfr.QueryPhaseEvent;
 import org.opensearch.sql.common.response.ResponseListener;
 import org.opensearch.sql.executor.ExecutionEngine.ExplainResponse;
 import org.opensearch.sql.executor.ExecutionEngine.QueryResponse;
@@ -91,16 +92,23 @@ public class SQLService {
           explainListener);
     } else {
       // 1.Parse query and convert parse tree (CST) to abstract syntax tree (AST)
-      ParseTree cst = parser.parse(request.getQuery());
-      Statement statement =
-          cst.accept(
-              new AstStatementBuilder(
-                  new AstBuilder(request.getQuery()),
-                  AstStatementBuilder.StatementBuilderContext.builder()
-                      .isExplain(isExplainRequest)
-                      .fetchSize(request.getFetchSize())
-                      .format(request.getFormat())
-                      .build()));
+      QueryPhaseEvent parseEvent = new QueryPhaseEvent(QueryPhaseEvent.PARSE);
+      parseEvent.begin();
+      Statement statement;
+      try {
+        ParseTree cst = parser.parse(request.getQuery());
+        statement =
+            cst.accept(
+                new AstStatementBuilder(
+                    new AstBuilder(request.getQuery()),
+                    AstStatementBuilder.StatementBuilderContext.builder()
+                        .isExplain(isExplainRequest)
+                        .fetchSize(request.getFetchSize())
+                        .format(request.getFormat())
+                        .build()));
+      } finally {
+        parseEvent.finish();
+      }
 
       return queryExecutionFactory.create(statement, queryListener, explainListener);
     }
@@ -146,7 +146,7 @@ public class SQLQueryRequest {
   }
 
   private boolean isSupportedFormat() {
-    return Stream.of("csv", "jdbc", "raw").anyMatch(format::equalsIgnoreCase);
+    return Stream.of("csv", "jdbc", "raw", "arrow").anyMatch(format::equalsIgnoreCase);
   }
 
   private boolean isSupportedExplainFormat() {
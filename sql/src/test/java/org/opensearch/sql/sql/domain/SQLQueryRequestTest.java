@@ -284,6 +284,14 @@ public class SQLQueryRequestTest {
     assertTrue(csvRequest.isSupported());
   }
 
+  @Test
+  public void should_support_arrow_format() {
+    SQLQueryRequest arrowRequest =
+        SQLQueryRequestBuilder.request("SELECT 1").format("arrow").build();
+    assertTrue(arrowRequest.isSupported());
+    assertEquals(Format.ARROW, arrowRequest.format());
+  }
+
   /** SQL query request build helper to improve test data setup readability. */
   private static class SQLQueryRequestBuilder {
     private String jsonContent;